@@ -0,0 +1,95 @@
+package org.company.price.benchmark;
+
+import io.vavr.control.Try;
+import org.company.price.application.utils.ApplicationDateParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ApplicationDateParser} on a rotating set of valid {@code dd/MM/yyyy HH:mm:ss} inputs and on
+ * an invalid one, against the previous implementation ({@code legacy*}: {@code LocalDateTime.parse}
+ * wrapped in a Vavr {@code Try}, called twice per request).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApplicationDateParserBenchmark {
+
+    private static final int INPUTS = 1 << 10;
+    private static final DateTimeFormatter DMY_HMS = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+    private static final String INVALID = "31/04/2020 10:00:00";
+
+    String[] inputs;
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var random = new SplittableRandom(3);
+        inputs = new String[INPUTS];
+        for (var i = 0; i < INPUTS; i++) {
+            inputs[i] = LocalDateTime.of(2020, 1, 1, 0, 0).plusSeconds(random.nextInt(366 * 24 * 3600)).format(DMY_HMS);
+        }
+    }
+
+    @Benchmark
+    public long epochSecond() {
+        return ApplicationDateParser.parseEpochSecond(next());
+    }
+
+    @Benchmark
+    public LocalDateTime localDateTime() {
+        return ApplicationDateParser.parse(next());
+    }
+
+    @Benchmark
+    public LocalDateTime legacy() {
+        var input = next();
+        legacyParse(input);
+        return legacyParse(input);
+    }
+
+    @Benchmark
+    public Object invalid() {
+        try {
+            return ApplicationDateParser.parseEpochSecond(INVALID);
+        } catch (DateTimeParseException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object legacyInvalid() {
+        try {
+            return legacyParse("31/13/2020 10:00:00");
+        } catch (DateTimeParseException e) {
+            return e;
+        }
+    }
+
+    private String next() {
+        return inputs[cursor++ & (INPUTS - 1)];
+    }
+
+    private static LocalDateTime legacyParse(String input) {
+        return Try.of(() -> LocalDateTime.parse(input, DMY_HMS))
+                .getOrElseThrow(() -> new DateTimeParseException("Unrecognized date/time format", input, 0));
+    }
+}
@@ -0,0 +1,168 @@
+package org.company.price.benchmark;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.testdata.DatabaseScripts;
+import org.company.price.testdata.PriceDataset;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Pooled in-memory H2 database created from {@code data.sql} and padded with synthetic rows.
+ * <p>
+ * The synthetic products are those of a {@link PriceDataset} with its defaults over 2020: four rows
+ * each, shaped like the sample data, a year-long base price (priority 0) plus three shorter,
+ * higher-priority promotions. {@code rows} is the size of the whole table, so {@code rows = 4} is
+ * the sample data alone.
+ */
+public final class BenchmarkDatabase implements AutoCloseable {
+
+    public static final int FIRST_SYNTHETIC_PRODUCT = 100_000;
+    public static final int SAMPLE_ROWS = 4;
+    static final int SAMPLE_PRODUCT = 35455;
+    static final LocalDateTime SAMPLE_START = LocalDateTime.of(2020, 6, 14, 0, 0);
+    static final LocalDateTime SYNTHETIC_YEAR = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private final ConnectionPool pool;
+    private final DatabaseClient databaseClient;
+    private final String jdbcUrl;
+    private final int products;
+
+    private BenchmarkDatabase(ConnectionPool pool, String jdbcUrl, int products) {
+        this.pool = pool;
+        this.databaseClient = DatabaseClient.create(pool);
+        this.jdbcUrl = jdbcUrl;
+        this.products = products;
+    }
+
+    public static BenchmarkDatabase create(String name, int rows, boolean sqlIndex) {
+        return create(ConnectionFactories.get("r2dbc:h2:mem:///" + name + ";DB_CLOSE_DELAY=-1"),
+                "jdbc:h2:mem:" + name, rows, sqlIndex, 4, 8);
+    }
+
+    /**
+     * Same table in an H2 database file under {@code directory}, behind a pool of exactly
+     * {@code poolSize} pre-opened connections.
+     */
+    public static BenchmarkDatabase createOnDisk(Path directory, int rows, int poolSize) {
+        var file = directory.toAbsolutePath().resolve("prices").toString();
+        var connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.builder()
+                .option(ConnectionFactoryOptions.DRIVER, "h2")
+                .option(ConnectionFactoryOptions.PROTOCOL, "file")
+                .option(ConnectionFactoryOptions.DATABASE, file)
+                .build());
+        var database = create(connectionFactory, "jdbc:h2:file:" + file, rows, true, poolSize, poolSize);
+        // flush the load now rather than in the background during the measurement
+        database.execute("ANALYZE");
+        database.execute("CHECKPOINT SYNC");
+        return database;
+    }
+
+    private static BenchmarkDatabase create(ConnectionFactory connectionFactory, String jdbcUrl, int rows, boolean sqlIndex,
+                                            int initialSize, int maxSize) {
+        var pool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .build());
+        pool.warmup().block();
+        DatabaseScripts.run(pool, new ClassPathResource("data.sql"));
+
+        var database = new BenchmarkDatabase(pool, jdbcUrl, Math.max(0, rows - SAMPLE_ROWS) / 4);
+        if (database.products > 0) {
+            database.insertSyntheticRows();
+        }
+        if (sqlIndex) {
+            database.execute("CREATE INDEX IF NOT EXISTS idx_prices_lookup ON prices (brand_id, product_id, start_date)");
+        }
+        return database;
+    }
+
+    public R2dbcEntityTemplate template() {
+        return new R2dbcEntityTemplate(pool);
+    }
+
+    public DatabaseClient databaseClient() {
+        return databaseClient;
+    }
+
+    /**
+     * JDBC URL of the same database, which a JDBC connection opened in this JVM shares with the pool.
+     */
+    public String jdbcUrl() {
+        return jdbcUrl;
+    }
+
+    /**
+     * Number of synthetic products; zero when the table only holds the sample data.
+     */
+    public int products() {
+        return products;
+    }
+
+    /**
+     * Pre-builds lookups for random synthetic products at random instants of the synthetic year
+     * (or for the sample product during its validity when there are none), so the benchmark loop
+     * itself does not allocate criteria.
+     */
+    public PriceSearchCriteria[] randomLookups(int count, long seed) {
+        var random = new SplittableRandom(seed);
+        var lookups = new PriceSearchCriteria[count];
+        for (var i = 0; i < count; i++) {
+            var date = products == 0
+                    ? SAMPLE_START.plusMinutes(random.nextInt(200 * 24 * 60))
+                    : SYNTHETIC_YEAR.plusMinutes(random.nextInt(365 * 24 * 60));
+            lookups[i] = PriceSearchCriteria.builder()
+                    .brandId(1)
+                    .productId(products == 0 ? SAMPLE_PRODUCT : FIRST_SYNTHETIC_PRODUCT + random.nextInt(products))
+                    .applicationStart(date)
+                    .applicationEnd(date)
+                    .orderByDirection("DESC")
+                    .orderByColumnName("priority")
+                    .limit(1)
+                    .build();
+        }
+        return lookups;
+    }
+
+    private void insertSyntheticRows() {
+        var dataset = PriceDataset.builder()
+                .productsPerBrand(products)
+                .firstProductId(FIRST_SYNTHETIC_PRODUCT)
+                .from(SYNTHETIC_YEAR)
+                .to(SYNTHETIC_YEAR.plusYears(1))
+                .build();
+        try {
+            var script = Files.createTempFile("benchmark-prices", ".sql");
+            try {
+                dataset.writeSql(script, 1000);
+                execute("RUNSCRIPT FROM '" + script.toAbsolutePath() + "'");
+            } finally {
+                Files.delete(script);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void execute(String sql) {
+        databaseClient.sql(sql).fetch().rowsUpdated().block();
+    }
+
+    @Override
+    public void close() {
+        execute("DROP ALL OBJECTS");
+        pool.dispose();
+    }
+}
@@ -0,0 +1,107 @@
+package org.company.price.benchmark;
+
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.company.price.infrastructure.adapter.out.JdbcPriceRepositoryAdapter;
+import org.company.price.infrastructure.adapter.out.PriceRepositoryAdapter;
+import org.company.price.infrastructure.mapper.rd2.PriceEntityMapperImpl;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The R2DBC source against the blocking JDBC one on virtual threads, both on the same file-backed
+ * H2 table of 100k rows with 8 connections: {@code lookups} keeps {@code concurrency} lookups in
+ * flight from a single caller, the way the event loop issues them for concurrent requests.
+ * Throughput gives lookups per millisecond and {@code -prof gc} the bytes allocated per lookup,
+ * virtual thread stacks included; the load test gives the latencies of both behind the endpoint.
+ * <p>
+ * The R2DBC path (driver, pool and entity template) takes about 15 s of lookups to compile: with
+ * a shorter warm-up it is measured mostly interpreted, well below {@code ConnectionPoolBenchmark},
+ * whose 32 callers run the same code.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 4)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BlockingJdbcBenchmark {
+
+    private static final int LOOKUPS = 1 << 16;
+    private static final int BATCH = 256;
+    private static final int CONNECTIONS = 8;
+
+    @Param({"r2dbc", "jdbc"})
+    String source;
+
+    @Param({"1", "8", "64", "256"})
+    int concurrency;
+
+    @Param({"100000"})
+    int rows;
+
+    Path directory;
+    BenchmarkDatabase database;
+    PriceRepositoryPort repository;
+    PriceSearchCriteria[] lookups;
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("jdbc-benchmark");
+        database = BenchmarkDatabase.createOnDisk(directory, rows, CONNECTIONS);
+        repository = switch (source) {
+            case "r2dbc" -> new PriceRepositoryAdapter(database.template(), new PriceEntityMapperImpl());
+            case "jdbc" -> {
+                var pool = JdbcConnectionPool.create(database.jdbcUrl(), "", "");
+                pool.setMaxConnections(CONNECTIONS);
+                yield new JdbcPriceRepositoryAdapter(pool, CONNECTIONS, Duration.ofSeconds(5));
+            }
+            default -> throw new IllegalArgumentException(source);
+        };
+        lookups = database.randomLookups(LOOKUPS, 7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (repository instanceof JdbcPriceRepositoryAdapter jdbc) {
+            jdbc.destroy();
+        }
+        database.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long lookups() {
+        var start = cursor;
+        cursor = (cursor + BATCH) & (LOOKUPS - 1);
+        return Flux.range(start, BATCH)
+                .flatMap(i -> repository.findTopApplicablePrice(lookups[i]), concurrency)
+                .map(Price::priceList)
+                .count()
+                .block();
+    }
+}
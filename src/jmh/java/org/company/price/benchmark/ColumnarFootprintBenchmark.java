@@ -0,0 +1,76 @@
+package org.company.price.benchmark;
+
+import org.company.price.infrastructure.adapter.out.memory.ColumnarPriceCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap retained by a {@link ColumnarPriceCatalog} of four promotions per product: heap used after a
+ * forced full collection with the catalog reachable, minus the same without it, printed per row after
+ * every iteration next to the catalog's own {@code footprintBytes()}. The score is the build time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-XX:+UseSerialGC"})
+public class ColumnarFootprintBenchmark {
+
+    private static final long YEAR = LocalDateTime.of(2020, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+
+    @Param({"1000000", "10000000"})
+    int rows;
+
+    ColumnarPriceCatalog catalog;
+    long heapAtIterationStart;
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        catalog = null;
+        heapAtIterationStart = usedHeapAfterGc();
+    }
+
+    @TearDown(Level.Iteration)
+    public void endIteration() {
+        var retained = usedHeapAfterGc() - heapAtIterationStart;
+        System.out.printf("%n%d rows: %.1f bytes per row retained, %.1f by footprintBytes()%n",
+                rows, (double) retained / rows, (double) catalog.footprintBytes() / rows);
+    }
+
+    @Benchmark
+    public ColumnarPriceCatalog build() {
+        var builder = ColumnarPriceCatalog.builder(rows);
+        for (var row = 0; row < rows; row++) {
+            var promotion = row % 4;
+            var start = YEAR + promotion * 90L * 86_400;
+            builder.add(1, 100_000 + row / 4, promotion + 1, start, start + 30L * 86_400, promotion == 0 ? 0 : 1,
+                    1_000 + row % 9_000, "EUR");
+        }
+        catalog = builder.build();
+        return catalog;
+    }
+
+    private static long usedHeapAfterGc() {
+        var runtime = Runtime.getRuntime();
+        for (var i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,75 @@
+package org.company.price.benchmark;
+
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.company.price.infrastructure.adapter.out.PriceRepositoryAdapter;
+import org.company.price.infrastructure.mapper.rd2.PriceEntityMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * R2DBC lookups from 32 concurrent callers against a file-backed H2 table of 100k rows, by size of
+ * the connection pool. Throughput gives lookups per second, sample time their latency percentiles;
+ * the time a caller waits for a connection is part of both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(32)
+public class ConnectionPoolBenchmark {
+
+    private static final int LOOKUPS = 1 << 16;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    int poolSize;
+
+    @Param({"100000"})
+    int rows;
+
+    Path directory;
+    BenchmarkDatabase database;
+    PriceRepositoryAdapter adapter;
+    PriceSearchCriteria[] lookups;
+    AtomicInteger cursor = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("pool-benchmark");
+        database = BenchmarkDatabase.createOnDisk(directory, rows, poolSize);
+        adapter = new PriceRepositoryAdapter(database.template(), new PriceEntityMapperImpl());
+        lookups = database.randomLookups(LOOKUPS, 7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Price lookup() {
+        return adapter.findTopApplicablePrice(lookups[cursor.getAndIncrement() & (LOOKUPS - 1)]).block();
+    }
+}
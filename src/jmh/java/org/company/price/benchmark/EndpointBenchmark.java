@@ -0,0 +1,102 @@
+package org.company.price.benchmark;
+
+import org.company.price.PricesServiceApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.netty.http.client.HttpClient;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /api/v1/prices} over a real socket against the whole application, served either by the
+ * generated annotated controller or by the functional endpoint ({@code prices.api.endpoint}). The
+ * sample data sits behind the segment cache, so the web layer dominates. Sample-time mode reports
+ * the latency percentiles (p0.99 is the p99); CPU time of the process per request, client included
+ * in both modes, is printed after every iteration. The default and error paths are measured apart:
+ * a found price and an invalid date.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+public class EndpointBenchmark {
+
+    private static final String FOUND = "/api/v1/prices?brandId=1&productId=35455&applicationDate=14/06/2020%2016:00:00";
+    private static final String INVALID = "/api/v1/prices?brandId=1&productId=35455&applicationDate=31/02/2020%2016:00";
+
+    @Param({"annotated", "functional"})
+    String endpoint;
+
+    ConfigurableApplicationContext application;
+    HttpClient client;
+    com.sun.management.OperatingSystemMXBean os;
+    long cpuAtIterationStart;
+    long requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new SpringApplicationBuilder(PricesServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "prices.api.endpoint=" + endpoint,
+                        "logging.level.root=WARN",
+                        "logging.level.org.company=WARN"
+                )
+                .run();
+        var port = ((WebServerApplicationContext) application).getWebServer().getPort();
+        client = HttpClient.create().baseUrl("http://localhost:" + port);
+        os = (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        cpuAtIterationStart = os.getProcessCpuTime();
+        requests = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void endIteration() {
+        var cpu = os.getProcessCpuTime() - cpuAtIterationStart;
+        System.out.printf("%n%s: %.1f µs CPU per request over %d requests%n", endpoint, cpu / 1_000.0 / requests, requests);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public byte[] found() {
+        return get(FOUND);
+    }
+
+    @Benchmark
+    public byte[] invalid() {
+        return get(INVALID);
+    }
+
+    private byte[] get(String uri) {
+        requests++;
+        return client.get()
+                .uri(uri)
+                .responseSingle((response, body) -> body.asByteArray())
+                .block();
+    }
+}
@@ -0,0 +1,96 @@
+package org.company.price.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.application.mapper.PriceMapperImpl;
+import org.company.price.application.service.PriceService;
+import org.company.price.domain.model.Price;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.company.price.infrastructure.adapter.in.api.controller.PriceResponseBodyCache;
+import org.company.price.infrastructure.adapter.out.decorator.TimedPriceRepository;
+import org.company.price.infrastructure.mapper.openapi.PriceApiMapperImpl;
+import org.company.price.infrastructure.metrics.MicrometerPriceLookupObserver;
+import org.company.price.infrastructure.metrics.PriceLookupMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the lookup stage timers on the hot path of a found price: {@link PriceService} over a
+ * stub source behind {@link TimedPriceRepository}, then the body from {@link PriceResponseBodyCache},
+ * i.e. the parse, repository, source, mapping and serialization stages. {@code none} registers the
+ * meters in a registry without backends, so they are no-ops; {@code prometheus} records them as the
+ * application does. Run with {@code -prof gc} to compare bytes allocated per lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LookupMetricsBenchmark {
+
+    @Param({"none", "prometheus"})
+    String registry;
+
+    PriceService service;
+    PriceResponseBodyCache cache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MeterRegistry meterRegistry = "prometheus".equals(registry)
+                ? new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)
+                : new CompositeMeterRegistry();
+        var price = Price.builder()
+                .brandId(1)
+                .productId(35455)
+                .priceList(2)
+                .startDate(LocalDateTime.of(2020, 6, 14, 15, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 18, 30))
+                .priority(1)
+                .price(new BigDecimal("25.45"))
+                .currency("EUR")
+                .build();
+        var found = Mono.just(price);
+        var source = new TimedPriceRepository(new PriceRepositoryPort() {
+            @Override
+            public Mono<Price> findTopApplicablePrice(PriceSearchCriteria priceSearchCriteria) {
+                return found;
+            }
+
+            @Override
+            public Flux<Price> findPrices(Integer brandId, Integer productId) {
+                return Flux.just(price);
+            }
+        }, PriceLookupMetrics.stageTimer(meterRegistry, PriceLookupMetrics.SOURCE));
+        service = new PriceService(source, new PriceMapperImpl(), new MicrometerPriceLookupObserver(meterRegistry));
+        cache = new PriceResponseBodyCache(new PriceApiMapperImpl(), new ObjectMapper(), DataSize.ofMegabytes(1), meterRegistry);
+    }
+
+    @Benchmark
+    public byte[] foundPrice() {
+        return service.getApplicablePrice(1, 35455, "14/06/2020 16:00:00")
+                .map(cache::body)
+                .block();
+    }
+}
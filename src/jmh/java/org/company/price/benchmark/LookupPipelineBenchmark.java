@@ -0,0 +1,116 @@
+package org.company.price.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.company.price.application.mapper.PriceMapperImpl;
+import org.company.price.application.service.PriceService;
+import org.company.price.infrastructure.adapter.in.api.controller.PriceController;
+import org.company.price.infrastructure.adapter.in.api.controller.PriceResponseBodyCache;
+import org.company.price.infrastructure.adapter.in.api.error.GlobalExceptionHandler;
+import org.company.price.infrastructure.adapter.in.api.model.PriceResponse;
+import org.company.price.infrastructure.adapter.out.PriceRepositoryAdapter;
+import org.company.price.infrastructure.config.PriceApiProperties;
+import org.company.price.infrastructure.mapper.openapi.PriceApiMapperImpl;
+import org.company.price.infrastructure.mapper.rd2.PriceEntityMapperImpl;
+import org.company.price.infrastructure.metrics.MicrometerPriceLookupObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end in-process lookup against R2DBC on H2 (with the lookup index), from the sample data alone
+ * up to millions of rows: {@code controller} calls the controller, service, adapter and mappers
+ * directly; {@code webFlux} adds WebFlux dispatch, argument resolution and JSON encoding through a
+ * {@link WebTestClient} bound to the controller, without a network socket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class LookupPipelineBenchmark {
+
+    private static final int LOOKUPS = 1 << 12;
+
+    @Param({"4", "10000", "1000000"})
+    int rows;
+
+    BenchmarkDatabase database;
+    PriceController controller;
+    WebTestClient client;
+    ServerWebExchange exchange;
+    int[] productIds;
+    String[] applicationDates;
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.create("pipeline-benchmark", rows, true);
+        var repository = new PriceRepositoryAdapter(database.template(), new PriceEntityMapperImpl());
+        var properties = new PriceApiProperties("annotated",
+                new PriceApiProperties.ResponseCache(false, DataSize.ofMegabytes(4)),
+                new PriceApiProperties.HttpCache(Duration.ofHours(1)));
+        controller = new PriceController(new PriceService(repository, new PriceMapperImpl(), new MicrometerPriceLookupObserver(new SimpleMeterRegistry())),
+                new PriceApiMapperImpl(), (PriceResponseBodyCache) null, properties);
+        client = WebTestClient.bindToController(controller)
+                .controllerAdvice(new GlobalExceptionHandler())
+                .build();
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/prices"));
+
+        var format = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+        var lookups = database.randomLookups(LOOKUPS, 5);
+        productIds = new int[LOOKUPS];
+        applicationDates = new String[LOOKUPS];
+        for (var i = 0; i < LOOKUPS; i++) {
+            productIds[i] = lookups[i].productId();
+            applicationDates[i] = lookups[i].applicationStart().format(format);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<PriceResponse> controller() {
+        var i = cursor++ & (LOOKUPS - 1);
+        return controller.apiV1PricesGet(1, productIds[i], applicationDates[i], null, exchange).block();
+    }
+
+    @Benchmark
+    public byte[] webFlux() {
+        var i = cursor++ & (LOOKUPS - 1);
+        return client.get()
+                .uri(uri -> uri.path("/api/v1/prices")
+                        .queryParam("brandId", 1)
+                        .queryParam("productId", productIds[i])
+                        .queryParam("applicationDate", applicationDates[i])
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+    }
+}
@@ -0,0 +1,106 @@
+package org.company.price.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.company.price.application.mapper.PriceMapperImpl;
+import org.company.price.application.service.PriceService;
+import org.company.price.domain.exception.PriceNotFoundException;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.company.price.infrastructure.adapter.in.api.error.GlobalExceptionHandler;
+import org.company.price.infrastructure.adapter.out.PriceRepositoryAdapter;
+import org.company.price.infrastructure.adapter.out.decorator.KnownKeysPriceRepository;
+import org.company.price.infrastructure.adapter.out.memory.KnownPriceKeys;
+import org.company.price.infrastructure.adapter.out.memory.PriceTableLoader;
+import org.company.price.infrastructure.config.PriceRepositoryProperties;
+import org.company.price.infrastructure.mapper.rd2.PriceEntityMapperImpl;
+import org.company.price.infrastructure.metrics.MicrometerPriceLookupObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service plus error handler at a 50% miss rate: every other lookup asks for a product without
+ * prices and ends in the 404 problem response. {@code knownKeys} puts the Bloom filter in front of
+ * the R2DBC repository so those misses never reach the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class NotFoundBenchmark {
+
+    private static final int LOOKUPS = 1 << 16;
+    private static final DateTimeFormatter API_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+    @Param({"100000"})
+    int rows;
+
+    @Param({"false", "true"})
+    boolean knownKeys;
+
+    BenchmarkDatabase database;
+    PriceService service;
+    GlobalExceptionHandler handler;
+    ServerWebExchange exchange;
+    int[] productIds;
+    String[] applicationDates;
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.create("not-found-benchmark", rows, true);
+        var mapper = new PriceEntityMapperImpl();
+        PriceRepositoryPort repository = new PriceRepositoryAdapter(database.template(), mapper);
+        if (knownKeys) {
+            var keys = new KnownPriceKeys(new PriceTableLoader(database.template(), mapper),
+                    new PriceRepositoryProperties.KnownKeys(true, 0.01, Duration.ofHours(1)));
+            keys.reload().block();
+            repository = new KnownKeysPriceRepository(repository, keys, new SimpleMeterRegistry());
+        }
+        service = new PriceService(repository, new PriceMapperImpl(), new MicrometerPriceLookupObserver(new SimpleMeterRegistry()));
+        handler = new GlobalExceptionHandler();
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/prices"));
+
+        var lookups = database.randomLookups(LOOKUPS, 11);
+        productIds = new int[LOOKUPS];
+        applicationDates = new String[LOOKUPS];
+        for (var i = 0; i < LOOKUPS; i++) {
+            var productId = lookups[i].productId();
+            productIds[i] = i % 2 == 0 ? productId : productId + database.products();
+            applicationDates[i] = lookups[i].applicationStart().format(API_FORMAT);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> lookup() {
+        var i = cursor++ & (LOOKUPS - 1);
+        return service.getApplicablePrice(1, productIds[i], applicationDates[i])
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(PriceNotFoundException.class, e -> handler.handlePriceNotFound(e, exchange))
+                .block();
+    }
+}
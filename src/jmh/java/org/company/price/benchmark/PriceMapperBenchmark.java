@@ -0,0 +1,87 @@
+package org.company.price.benchmark;
+
+import org.company.price.application.dto.PriceResponseDTO;
+import org.company.price.application.mapper.PriceMapper;
+import org.company.price.application.mapper.PriceMapperImpl;
+import org.company.price.domain.model.Price;
+import org.company.price.infrastructure.adapter.in.api.model.PriceResponse;
+import org.company.price.infrastructure.mapper.openapi.PriceApiMapper;
+import org.company.price.infrastructure.mapper.openapi.PriceApiMapperImpl;
+import org.company.price.infrastructure.mapper.rd2.PriceEntityMapper;
+import org.company.price.infrastructure.mapper.rd2.PriceEntityMapperImpl;
+import org.company.price.infrastructure.repository.entity.PriceEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The three MapStruct hops of a lookup, one by one and chained: entity to domain
+ * ({@link PriceEntityMapper}), domain to DTO ({@link PriceMapper}) and DTO to API model ({@link PriceApiMapper}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PriceMapperBenchmark {
+
+    PriceEntityMapper entityMapper;
+    PriceMapper priceMapper;
+    PriceApiMapper apiMapper;
+    PriceEntity entity;
+    Price price;
+    PriceResponseDTO dto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        entityMapper = new PriceEntityMapperImpl();
+        priceMapper = new PriceMapperImpl();
+        apiMapper = new PriceApiMapperImpl();
+        entity = PriceEntity.builder()
+                .id(2L)
+                .brandId(1)
+                .productId(35455)
+                .priceList(2)
+                .startDate(LocalDateTime.of(2020, 6, 14, 15, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 18, 30))
+                .priority(1)
+                .price(new BigDecimal("25.45"))
+                .currency("EUR")
+                .build();
+        price = entityMapper.toPrice(entity);
+        dto = priceMapper.toDto(price);
+    }
+
+    @Benchmark
+    public Price entityToDomain() {
+        return entityMapper.toPrice(entity);
+    }
+
+    @Benchmark
+    public PriceResponseDTO domainToDto() {
+        return priceMapper.toDto(price);
+    }
+
+    @Benchmark
+    public PriceResponse dtoToApi() {
+        return apiMapper.toPriceResponse(dto);
+    }
+
+    @Benchmark
+    public PriceResponse allHops() {
+        return apiMapper.toPriceResponse(priceMapper.toDto(entityMapper.toPrice(entity)));
+    }
+}
@@ -0,0 +1,120 @@
+package org.company.price.benchmark;
+
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.company.price.infrastructure.adapter.out.PriceRepositoryAdapter;
+import org.company.price.infrastructure.adapter.out.memory.ColumnarPriceRepositoryAdapter;
+import org.company.price.infrastructure.adapter.out.memory.InMemoryPriceRepositoryAdapter;
+import org.company.price.infrastructure.adapter.out.memory.PriceTableLoader;
+import org.company.price.infrastructure.adapter.out.memory.TimelinePriceRepositoryAdapter;
+import org.company.price.infrastructure.config.PriceRepositoryProperties;
+import org.company.price.infrastructure.mapper.rd2.PriceEntityMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * R2DBC query vs the in-memory interval index, effective-price timeline and columnar catalog (on the
+ * heap and memory-mapped from a snapshot) for {@code findTopApplicablePrice}.
+ * {@code sqlIndex} adds a (brand_id, product_id, start_date) index on top of the schema's (brand_id, product_id) one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PriceRepositoryBenchmark {
+
+    private static final int LOOKUPS = 1 << 16;
+    static final PriceRepositoryProperties.Snapshot NO_SNAPSHOT =
+            new PriceRepositoryProperties.Snapshot(null, Duration.ofDays(1), true, false);
+    static final PriceRepositoryProperties.Sync SYNC = new PriceRepositoryProperties.Sync(true, Duration.ofSeconds(1), 1000, 5000);
+
+    @Param({"4", "10000", "1000000"})
+    int rows;
+
+    @Param({"false", "true"})
+    boolean sqlIndex;
+
+    BenchmarkDatabase database;
+    PriceRepositoryAdapter r2dbcAdapter;
+    InMemoryPriceRepositoryAdapter inMemoryAdapter;
+    TimelinePriceRepositoryAdapter timelineAdapter;
+    ColumnarPriceRepositoryAdapter columnarAdapter;
+    ColumnarPriceRepositoryAdapter mappedAdapter;
+    Path snapshot;
+    PriceSearchCriteria[] lookups;
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = BenchmarkDatabase.create("repository-benchmark", rows, sqlIndex);
+        var mapper = new PriceEntityMapperImpl();
+        r2dbcAdapter = new PriceRepositoryAdapter(database.template(), mapper);
+        var loader = new PriceTableLoader(database.template(), mapper);
+        inMemoryAdapter = new InMemoryPriceRepositoryAdapter(loader);
+        inMemoryAdapter.load();
+        timelineAdapter = new TimelinePriceRepositoryAdapter(loader);
+        timelineAdapter.load();
+        columnarAdapter = new ColumnarPriceRepositoryAdapter(loader, NO_SNAPSHOT, SYNC, Clock.systemUTC());
+        columnarAdapter.load();
+        snapshot = Files.createTempFile("prices", ".snapshot");
+        mappedAdapter = new ColumnarPriceRepositoryAdapter(loader,
+                new PriceRepositoryProperties.Snapshot(snapshot.toString(), Duration.ofDays(1), true, true), SYNC, Clock.systemUTC());
+        mappedAdapter.load();
+        lookups = database.randomLookups(LOOKUPS, 7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Benchmark
+    public Price r2dbc() {
+        return r2dbcAdapter.findTopApplicablePrice(next()).block();
+    }
+
+    @Benchmark
+    public Price inMemory() {
+        return inMemoryAdapter.findTopApplicablePrice(next()).block();
+    }
+
+    @Benchmark
+    public Price timeline() {
+        return timelineAdapter.findTopApplicablePrice(next()).block();
+    }
+
+    @Benchmark
+    public Price columnar() {
+        return columnarAdapter.findTopApplicablePrice(next()).block();
+    }
+
+    @Benchmark
+    public Price mappedSnapshot() {
+        return mappedAdapter.findTopApplicablePrice(next()).block();
+    }
+
+    private PriceSearchCriteria next() {
+        return lookups[cursor++ & (LOOKUPS - 1)];
+    }
+}
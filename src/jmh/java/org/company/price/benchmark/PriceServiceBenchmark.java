@@ -0,0 +1,73 @@
+package org.company.price.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.company.price.application.dto.PriceResponseDTO;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.application.mapper.PriceMapperImpl;
+import org.company.price.application.service.PriceService;
+import org.company.price.domain.model.Price;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.company.price.infrastructure.metrics.MicrometerPriceLookupObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PriceService#getApplicablePrice} over a stub repository that answers immediately, isolating
+ * the service overhead: date parsing, criteria building, the Reactor chain and the domain to DTO mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PriceServiceBenchmark {
+
+    PriceService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var price = Price.builder()
+                .brandId(1)
+                .productId(35455)
+                .priceList(2)
+                .startDate(LocalDateTime.of(2020, 6, 14, 15, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 18, 30))
+                .priority(1)
+                .price(new BigDecimal("25.45"))
+                .currency("EUR")
+                .build();
+        var found = Mono.just(price);
+        service = new PriceService(new PriceRepositoryPort() {
+            @Override
+            public Mono<Price> findTopApplicablePrice(PriceSearchCriteria priceSearchCriteria) {
+                return found;
+            }
+
+            @Override
+            public Flux<Price> findPrices(Integer brandId, Integer productId) {
+                return Flux.just(price);
+            }
+        }, new PriceMapperImpl(), new MicrometerPriceLookupObserver(new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public PriceResponseDTO getApplicablePrice() {
+        return service.getApplicablePrice(1, 35455, "14/06/2020 16:00:00").block();
+    }
+}
@@ -0,0 +1,151 @@
+package org.company.price.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.company.price.application.dto.PriceBatchItemDTO;
+import org.company.price.application.dto.PriceQueryDTO;
+import org.company.price.application.dto.PriceResponseDTO;
+import org.company.price.application.dto.PriceSegmentDTO;
+import org.company.price.application.dto.PriceSeriesQueryDTO;
+import org.company.price.application.port.PriceUseCasePort;
+import org.company.price.infrastructure.adapter.in.api.controller.PriceController;
+import org.company.price.infrastructure.adapter.in.api.controller.PriceResponseBodyCache;
+import org.company.price.infrastructure.adapter.in.api.error.GlobalExceptionHandler;
+import org.company.price.infrastructure.adapter.in.api.model.PriceResponse;
+import org.company.price.infrastructure.config.PriceApiProperties;
+import org.company.price.infrastructure.mapper.openapi.PriceApiMapper;
+import org.company.price.infrastructure.mapper.openapi.PriceApiMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of producing the body of a found price, with and without {@link PriceResponseBodyCache}, over
+ * a stub use case cycling through {@code prices} distinct prices (all cached after the first round).
+ * {@code encode} isolates the body: API mapping plus Jackson into a pooled Netty buffer, against a
+ * cache lookup and a wrap of the cached bytes. {@code webFlux} is the whole exchange through a
+ * {@link WebTestClient} bound to the controller, client-side decoding included in both modes.
+ * Run with {@code -prof gc} to compare bytes allocated per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    private static final int PRICES = 1 << 10;
+    private static final ResolvableType RESPONSE_TYPE = ResolvableType.forClass(PriceResponse.class);
+
+    @Param({"false", "true"})
+    boolean responseCache;
+
+    PriceApiMapper apiMapper;
+    PriceResponseBodyCache cache;
+    Jackson2JsonEncoder encoder;
+    NettyDataBufferFactory bufferFactory;
+    WebTestClient client;
+    PriceResponseDTO[] prices;
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        prices = new PriceResponseDTO[PRICES];
+        for (var i = 0; i < PRICES; i++) {
+            var start = LocalDateTime.of(2020, 6, 14, 0, 0).plusHours(i);
+            prices[i] = new PriceResponseDTO(1, 35455, i + 1, start, start.plusHours(1),
+                    BigDecimal.valueOf(2545 + i, 2), "EUR");
+        }
+        var objectMapper = new ObjectMapper();
+        apiMapper = new PriceApiMapperImpl();
+        cache = responseCache
+                ? new PriceResponseBodyCache(apiMapper, objectMapper, DataSize.ofMegabytes(4), new SimpleMeterRegistry())
+                : null;
+        encoder = new Jackson2JsonEncoder(objectMapper);
+        bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+        var useCase = new PriceUseCasePort() {
+            @Override
+            public Mono<PriceResponseDTO> getApplicablePrice(Integer brandId, Integer productId, String applicationDate) {
+                return Mono.just(prices[cursor++ & (PRICES - 1)]);
+            }
+
+            @Override
+            public Mono<PriceSegmentDTO> getApplicableSegment(Integer brandId, Integer productId, String applicationDate) {
+                var price = prices[cursor++ & (PRICES - 1)];
+                return Mono.just(new PriceSegmentDTO(price, price.startDate(), price.endDate()));
+            }
+
+            @Override
+            public Mono<List<PriceBatchItemDTO>> getApplicablePrices(List<PriceQueryDTO> queries) {
+                return Mono.just(List.of());
+            }
+
+            @Override
+            public Flux<PriceBatchItemDTO> getPriceSeries(PriceSeriesQueryDTO query) {
+                return Flux.empty();
+            }
+
+            @Override
+            public Flux<PriceSegmentDTO> getPriceCalendar(Integer brandId, Integer productId, LocalDateTime from, LocalDateTime to) {
+                return Flux.empty();
+            }
+        };
+        var properties = new PriceApiProperties("annotated",
+                new PriceApiProperties.ResponseCache(responseCache, DataSize.ofMegabytes(4)),
+                new PriceApiProperties.HttpCache(Duration.ofHours(1)));
+        client = WebTestClient.bindToController(new PriceController(useCase, apiMapper, cache, properties))
+                .controllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Benchmark
+    public int encode() {
+        var price = prices[cursor++ & (PRICES - 1)];
+        DataBuffer buffer = cache != null
+                ? bufferFactory.wrap(cache.body(price))
+                : encoder.encodeValue(apiMapper.toPriceResponse(price), bufferFactory, RESPONSE_TYPE,
+                        MediaType.APPLICATION_JSON, null);
+        var size = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return size;
+    }
+
+    @Benchmark
+    public byte[] webFlux() {
+        return client.get()
+                .uri("/api/v1/prices?brandId=1&productId=35455&applicationDate=14/06/2020 16:00:00")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+    }
+}
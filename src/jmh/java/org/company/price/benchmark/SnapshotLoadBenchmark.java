@@ -0,0 +1,74 @@
+package org.company.price.benchmark;
+
+import org.company.price.infrastructure.adapter.out.memory.PriceCatalog;
+import org.company.price.infrastructure.adapter.out.memory.PriceCatalogSnapshot;
+import org.company.price.infrastructure.adapter.out.memory.PriceTableLoader;
+import org.company.price.infrastructure.mapper.rd2.PriceEntityMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-start cost of the columnar source: loading the catalog from the database vs mapping a
+ * {@link PriceCatalogSnapshot}, with and without checksum validation of the whole file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SnapshotLoadBenchmark {
+
+    @Param({"10000", "1000000"})
+    int rows;
+
+    BenchmarkDatabase database;
+    PriceTableLoader loader;
+    Path snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = BenchmarkDatabase.create("snapshot-benchmark", rows, false);
+        loader = new PriceTableLoader(database.template(), new PriceEntityMapperImpl());
+        snapshot = Files.createTempFile("prices", ".snapshot");
+        PriceCatalogSnapshot.write(loader.loadCatalog().block(), snapshot, Clock.systemUTC());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Benchmark
+    public PriceCatalog database() {
+        return loader.loadCatalog().block();
+    }
+
+    @Benchmark
+    public PriceCatalog snapshot() throws IOException {
+        return PriceCatalogSnapshot.open(snapshot, false);
+    }
+
+    @Benchmark
+    public PriceCatalog verifiedSnapshot() throws IOException {
+        return PriceCatalogSnapshot.open(snapshot, true);
+    }
+}
@@ -0,0 +1,153 @@
+package org.company.price.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one step at a fixed rate, recorded from the response callbacks in
+ * nanoseconds.
+ * <p>
+ * The response time of a request runs from the instant it was scheduled to be sent, not from when it
+ * actually was: a sender falling behind (a pause, a saturated CPU) shows up as latency instead of
+ * quietly sending fewer requests. The service time, from the actual send, is kept apart, so the gap
+ * between the two shows how much coordinated omission a closed-loop client would have hidden.
+ */
+final class LatencyReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Map<RequestKind, Recorder> responseTimes = new EnumMap<>(RequestKind.class);
+    private final Map<RequestKind, Histogram> responseTimeTotals = new EnumMap<>(RequestKind.class);
+    private final Map<RequestKind, LongAdder> expected = new EnumMap<>(RequestKind.class);
+    private final Map<RequestKind, LongAdder> unexpected = new EnumMap<>(RequestKind.class);
+    private final Map<RequestKind, LongAdder> failed = new EnumMap<>(RequestKind.class);
+    private final Map<RequestKind, LongAdder> shed = new EnumMap<>(RequestKind.class);
+    private final Recorder serviceTimes = new Recorder(3);
+    private final Histogram serviceTimeTotal = new Histogram(3);
+    private final Recorder sendLags = new Recorder(3);
+    private final Histogram sendLagTotal = new Histogram(3);
+
+    LatencyReport() {
+        for (var kind : RequestKind.values()) {
+            responseTimes.put(kind, new Recorder(3));
+            responseTimeTotals.put(kind, new Histogram(3));
+            expected.put(kind, new LongAdder());
+            unexpected.put(kind, new LongAdder());
+            failed.put(kind, new LongAdder());
+            shed.put(kind, new LongAdder());
+        }
+    }
+
+    void sent(long intendedNanos, long sentNanos) {
+        sendLags.recordValue(sentNanos - intendedNanos);
+    }
+
+    void shed(RequestKind kind) {
+        shed.get(kind).increment();
+    }
+
+    void answered(RequestKind kind, int status, long intendedNanos, long sentNanos, long doneNanos) {
+        (status == kind.expectedStatus ? expected : unexpected).get(kind).increment();
+        record(kind, intendedNanos, sentNanos, doneNanos);
+    }
+
+    void failed(RequestKind kind, long intendedNanos, long sentNanos, long doneNanos) {
+        failed.get(kind).increment();
+        record(kind, intendedNanos, sentNanos, doneNanos);
+    }
+
+    private void record(RequestKind kind, long intendedNanos, long sentNanos, long doneNanos) {
+        responseTimes.get(kind).recordValue(doneNanos - intendedNanos);
+        serviceTimes.recordValue(doneNanos - sentNanos);
+    }
+
+    /**
+     * Folds what was recorded since the last call into the totals, and returns it merged across kinds.
+     */
+    synchronized Histogram harvest() {
+        var interval = new Histogram(3);
+        responseTimes.forEach((kind, recorder) -> {
+            var histogram = recorder.getIntervalHistogram();
+            responseTimeTotals.get(kind).add(histogram);
+            interval.add(histogram);
+        });
+        serviceTimeTotal.add(serviceTimes.getIntervalHistogram());
+        sendLagTotal.add(sendLags.getIntervalHistogram());
+        return interval;
+    }
+
+    synchronized void print(PrintStream out, int rate, long durationNanos, long cpuNanos) {
+        harvest();
+        var all = all();
+        var seconds = durationNanos / 1e9;
+        var shedTotal = shed.values().stream().mapToLong(LongAdder::sum).sum();
+        out.printf("%nrate %,d/s: %,d answered over %.0f s (%,.0f/s), %,d shed, send lag p99 %.2f ms max %.2f ms, %.0f µs CPU per request%n",
+                rate, all.getTotalCount(), seconds, all.getTotalCount() / seconds, shedTotal,
+                millis(sendLagTotal.getValueAtPercentile(99)), millis(sendLagTotal.getMaxValue()),
+                cpuNanos / 1_000.0 / Math.max(all.getTotalCount(), 1));
+        out.printf("%-12s %10s %10s %8s", "ms", "answered", "unexpected", "failed");
+        for (var percentile : PERCENTILES) {
+            out.printf(" %8s", "p" + format(percentile));
+        }
+        out.printf(" %8s%n", "max");
+        for (var kind : RequestKind.values()) {
+            row(out, kind.label(), responseTimeTotals.get(kind), expected.get(kind).sum() + unexpected.get(kind).sum(),
+                    unexpected.get(kind).sum(), failed.get(kind).sum());
+        }
+        var unexpectedTotal = unexpected.values().stream().mapToLong(LongAdder::sum).sum();
+        var failedTotal = failed.values().stream().mapToLong(LongAdder::sum).sum();
+        row(out, "all", all, all.getTotalCount() - failedTotal, unexpectedTotal, failedTotal);
+        row(out, "all/service", serviceTimeTotal, all.getTotalCount() - failedTotal, unexpectedTotal, failedTotal);
+    }
+
+    /**
+     * Writes the percentile distribution of each kind, of all kinds and of the service time, in the
+     * {@code .hgrm} format the HdrHistogram plotter reads, to compare runs side by side.
+     */
+    synchronized void write(Path directory, int rate) throws IOException {
+        Files.createDirectories(directory);
+        for (var kind : RequestKind.values()) {
+            write(directory.resolve(rate + "-" + kind.label() + ".hgrm"), responseTimeTotals.get(kind));
+        }
+        write(directory.resolve(rate + "-all.hgrm"), all());
+        write(directory.resolve(rate + "-all-service.hgrm"), serviceTimeTotal);
+    }
+
+    private Histogram all() {
+        var all = new Histogram(3);
+        responseTimeTotals.values().forEach(all::add);
+        return all;
+    }
+
+    private static void write(Path file, Histogram histogram) throws IOException {
+        try (var out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+
+    private static void row(PrintStream out, String name, Histogram histogram, long answered, long unexpected, long failed) {
+        out.printf("%-12s %,10d %,10d %,8d", name, answered, unexpected, failed);
+        for (var percentile : PERCENTILES) {
+            out.printf(" %8.2f", millis(histogram.getValueAtPercentile(percentile)));
+        }
+        out.printf(" %8.2f%n", millis(histogram.getMaxValue()));
+    }
+
+    static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? Integer.toString((int) percentile) : Double.toString(percentile);
+    }
+}
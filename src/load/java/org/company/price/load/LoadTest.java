@@ -0,0 +1,84 @@
+package org.company.price.load;
+
+import io.netty.channel.ChannelOption;
+import org.company.price.PricesServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test of {@code GET /api/v1/prices} against an embedded instance of the whole application on a
+ * random local port: for each arrival rate in turn, a warm-up then a measured step of an
+ * {@link OpenLoopDriver}, reported as percentiles on the console and as {@code .hgrm} files under
+ * {@code <report-directory>/<label>}. The client runs on its own event loops, apart from the server's,
+ * but in the same process: the CPU time reported per request includes its own.
+ * <p>
+ * Run with: {@code mvn -Pload test-compile exec:exec -Dload.args="--rates=5000,10000 --label=main"};
+ * see {@link LoadTestOptions} for the arguments.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        var options = LoadTestOptions.parse(args);
+
+        // as command line arguments, over application.yaml
+        var properties = new LinkedHashMap<>(Map.of(
+                "server.port", "0",
+                "logging.level.root", "WARN",
+                "logging.level.org.company", "ERROR"
+        ));
+        properties.putAll(options.applicationProperties());
+        var application = new SpringApplicationBuilder(PricesServiceApplication.class)
+                .run(properties.entrySet().stream().map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+
+        var loops = LoopResources.create("load-client", LoopResources.DEFAULT_IO_WORKER_COUNT, true);
+        var connections = ConnectionProvider.builder("load-client")
+                .maxConnections(options.connections())
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(options.timeout())
+                .build();
+        try {
+            var port = ((WebServerApplicationContext) application).getWebServer().getPort();
+            var client = HttpClient.create(connections)
+                    .runOn(loops)
+                    .baseUrl("http://localhost:" + port)
+                    .option(ChannelOption.TCP_NODELAY, true);
+            var mix = new RequestMix(options.mix(), options.seed());
+            var os = (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+            var reportDirectory = options.reportDirectory().resolve(options.label());
+
+            System.out.printf("Load test '%s' on port %d: mix %s, %d connections, warm-up %s, %s per rate%n",
+                    options.label(), port, options.mix(), options.connections(), options.warmUp(), options.duration());
+            var previousRate = Math.max(1, Math.min(options.rates().getFirst() / 10, 100));
+            for (var rate : options.rates()) {
+                System.out.printf("%nrate %,d/s: warming up for %s from %,d/s%n", rate, options.warmUp(), previousRate);
+                new OpenLoopDriver(client, mix, options.maxInFlight(), options.timeout(), options.seed())
+                        .ramp(previousRate, rate, options.warmUp());
+
+                System.out.printf("rate %,d/s: measuring for %s%n", rate, options.duration());
+                var cpuAtStart = os.getProcessCpuTime();
+                var report = new OpenLoopDriver(client, mix, options.maxInFlight(), options.timeout(), options.seed() + rate)
+                        .run(rate, options.duration(), System.out);
+                report.print(System.out, rate, options.duration().toNanos(), os.getProcessCpuTime() - cpuAtStart);
+                report.write(reportDirectory, rate);
+                previousRate = rate;
+            }
+            System.out.printf("%nHistograms written to %s%n", reportDirectory.toAbsolutePath());
+        } finally {
+            connections.dispose();
+            loops.dispose();
+            application.close();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.company.price.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Options of a load test, from {@code --name=value} arguments. Any argument that is not one of them
+ * is handed to the embedded application as a property, e.g. {@code --prices.api.endpoint=functional}.
+ *
+ * @param rates          arrival rates in requests per second, one step each, in order
+ * @param warmUp         load rising to each rate from the previous one before measuring, not reported
+ * @param duration       measured load at each rate
+ * @param mix            relative weights of the request kinds
+ * @param connections    client connections to the application
+ * @param maxInFlight    requests awaiting a response beyond which arrivals are shed and counted
+ * @param timeout        response timeout, after which a request counts as failed
+ * @param seed           seed of the requests sent and their order
+ * @param label          name of the run, e.g. the branch, under which its histograms are written
+ * @param reportDirectory directory of the histogram files of the runs
+ * @param applicationProperties properties of the embedded application
+ */
+record LoadTestOptions(
+        List<Integer> rates,
+        Duration warmUp,
+        Duration duration,
+        Map<RequestKind, Integer> mix,
+        int connections,
+        int maxInFlight,
+        Duration timeout,
+        long seed,
+        String label,
+        Path reportDirectory,
+        Map<String, String> applicationProperties
+) {
+
+    static LoadTestOptions parse(String... args) {
+        var rates = List.of(5_000, 10_000, 20_000, 50_000);
+        var warmUp = Duration.ofSeconds(10);
+        var duration = Duration.ofSeconds(30);
+        var mix = mix("hit:80,miss:15,invalid:5");
+        var connections = 64;
+        var maxInFlight = 10_000;
+        var timeout = Duration.ofSeconds(5);
+        var seed = 42L;
+        var label = "run";
+        var reportDirectory = Path.of("target", "load");
+        var applicationProperties = new LinkedHashMap<String, String>();
+
+        for (var arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            var name = arg.substring(2, arg.indexOf('='));
+            var value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "rates" -> rates = Arrays.stream(value.split(",")).map(String::trim).map(Integer::valueOf).toList();
+                case "warm-up" -> warmUp = DurationStyle.detectAndParse(value);
+                case "duration" -> duration = DurationStyle.detectAndParse(value);
+                case "mix" -> mix = mix(value);
+                case "connections" -> connections = Integer.parseInt(value);
+                case "max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "timeout" -> timeout = DurationStyle.detectAndParse(value);
+                case "seed" -> seed = Long.parseLong(value);
+                case "label" -> label = value;
+                case "report-directory" -> reportDirectory = Path.of(value);
+                default -> applicationProperties.put(name, value);
+            }
+        }
+        if (rates.stream().anyMatch(rate -> rate <= 0)) {
+            throw new IllegalArgumentException("Rates must be positive: " + rates);
+        }
+        return new LoadTestOptions(rates, warmUp, duration, mix, connections, maxInFlight, timeout, seed, label,
+                reportDirectory, applicationProperties);
+    }
+
+    /**
+     * Parses {@code hit:80,miss:15,invalid:5}; kinds left out get no requests.
+     */
+    private static Map<RequestKind, Integer> mix(String value) {
+        var mix = new EnumMap<RequestKind, Integer>(RequestKind.class);
+        for (var part : value.split(",")) {
+            var weight = part.split(":");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Expected kind:weight in the mix, got: " + part);
+            }
+            mix.put(RequestKind.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+        return mix;
+    }
+}
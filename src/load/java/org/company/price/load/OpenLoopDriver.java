@@ -0,0 +1,124 @@
+package org.company.price.load;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a fixed arrival rate whatever the responses do (an open model): request
+ * {@code i} of a step is due {@code i / rate} seconds after its start, and a single thread sends each
+ * one once due without waiting for any response. A sender that falls behind catches up by sending the
+ * overdue requests at once, each still timed from its due instant (see {@link LatencyReport}).
+ * <p>
+ * Arrivals are only shed, and counted, when more than {@code maxInFlight} requests await a response,
+ * to keep the client's memory bounded when the application cannot keep up.
+ */
+final class OpenLoopDriver {
+
+    private final HttpClient client;
+    private final RequestMix mix;
+    private final int maxInFlight;
+    private final Duration timeout;
+    private final SplittableRandom random;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenLoopDriver(HttpClient client, RequestMix mix, int maxInFlight, Duration timeout, long seed) {
+        this.client = client;
+        this.mix = mix;
+        this.maxInFlight = maxInFlight;
+        this.timeout = timeout;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Runs one step at {@code rate} requests per second for {@code duration}, then waits for the
+     * requests still in flight, printing a progress line every second when {@code progress} is set.
+     */
+    LatencyReport run(int rate, Duration duration, PrintStream progress) {
+        return run(rate, rate, duration, progress);
+    }
+
+    /**
+     * Same, with the rate rising linearly from {@code fromRate} to {@code rate} over the step, so a
+     * cold application is not overwhelmed before its code is compiled.
+     */
+    LatencyReport ramp(int fromRate, int rate, Duration duration) {
+        return run(fromRate, rate, duration, null);
+    }
+
+    private LatencyReport run(int fromRate, int rate, Duration duration, PrintStream progress) {
+        var report = new LatencyReport();
+        var ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "load-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var start = System.nanoTime();
+        if (progress != null) {
+            ticker.scheduleAtFixedRate(() -> progress(progress, report, start), 1, 1, TimeUnit.SECONDS);
+        }
+
+        var seconds = duration.toNanos() / 1e9;
+        var count = (long) ((fromRate + rate) / 2.0 * seconds);
+        // with a rate of r0 + a·t, request i is due when r0·t + a·t²/2 = i
+        var acceleration = (rate - fromRate) / seconds;
+        for (long i = 0; i < count; i++) {
+            var dueSeconds = acceleration == 0
+                    ? i / (double) rate
+                    : (Math.sqrt((double) fromRate * fromRate + 2 * acceleration * i) - fromRate) / acceleration;
+            var due = start + (long) (dueSeconds * 1e9);
+            long now;
+            while ((now = System.nanoTime()) < due) {
+                LockSupport.parkNanos(due - now);
+            }
+            send(report, mix.nextKind(random), due);
+        }
+
+        var drainDeadline = System.nanoTime() + timeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        ticker.shutdownNow();
+        return report;
+    }
+
+    private void send(LatencyReport report, RequestKind kind, long due) {
+        var uri = mix.nextUri(kind, random);
+        if (inFlight.get() >= maxInFlight) {
+            report.shed(kind);
+            return;
+        }
+        inFlight.incrementAndGet();
+        var sent = System.nanoTime();
+        report.sent(due, sent);
+        client.get()
+                .uri(uri)
+                .responseSingle((response, body) -> body.then(Mono.fromSupplier(() -> response.status().code())))
+                .timeout(timeout)
+                .subscribe(
+                        status -> {
+                            inFlight.decrementAndGet();
+                            report.answered(kind, status, due, sent, System.nanoTime());
+                        },
+                        error -> {
+                            inFlight.decrementAndGet();
+                            report.failed(kind, due, sent, System.nanoTime());
+                        });
+    }
+
+    private void progress(PrintStream out, LatencyReport report, long start) {
+        var interval = report.harvest();
+        out.printf("  %3ds  %,8d answered  %,6d in flight  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms%n",
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), interval.getTotalCount(), inFlight.get(),
+                LatencyReport.millis(interval.getValueAtPercentile(50)),
+                LatencyReport.millis(interval.getValueAtPercentile(99)),
+                LatencyReport.millis(interval.getMaxValue()));
+    }
+}
@@ -0,0 +1,30 @@
+package org.company.price.load;
+
+/**
+ * What a generated request asks for, and the status it should be answered with.
+ */
+enum RequestKind {
+
+    /**
+     * A date covered by a price of the sample product.
+     */
+    HIT(200),
+    /**
+     * A product without prices, or a date none of the sample product's prices covers.
+     */
+    MISS(404),
+    /**
+     * A malformed date or parameter, rejected before any lookup.
+     */
+    INVALID(400);
+
+    final int expectedStatus;
+
+    RequestKind(int expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+
+    String label() {
+        return name().toLowerCase();
+    }
+}
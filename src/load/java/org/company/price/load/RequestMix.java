@@ -0,0 +1,80 @@
+package org.company.price.load;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted mix of hit, miss and invalid requests against the sample data ({@code data.sql}: brand 1,
+ * product 35455, prices from 14/06/2020 to 31/12/2020). The URIs are drawn once from the seed, so two
+ * runs with the same seed send the same requests in the same order and no formatting is left on the
+ * sending thread.
+ */
+final class RequestMix {
+
+    static final int URIS_PER_KIND = 4096;
+
+    private static final String PATH = "/api/v1/prices";
+    private static final int BRAND = 1;
+    private static final int PRODUCT = 35455;
+    private static final LocalDateTime FIRST_PRICED = LocalDateTime.of(2020, 6, 14, 0, 0);
+    private static final LocalDateTime LAST_PRICED = LocalDateTime.of(2020, 12, 31, 23, 59, 59);
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy'%20'HH:mm:ss");
+    private static final List<String> MALFORMED = List.of(
+            "brandId=1&productId=35455&applicationDate=31/02/2020%2010:00:00",
+            "brandId=1&productId=35455&applicationDate=2020-06-14T10:00:00",
+            "brandId=1&productId=35455&applicationDate=14/06/2020",
+            "brandId=x&productId=35455&applicationDate=14/06/2020%2010:00:00",
+            "brandId=1&applicationDate=14/06/2020%2010:00:00"
+    );
+
+    private final RequestKind[] kinds;
+    private final Map<RequestKind, String[]> uris = new EnumMap<>(RequestKind.class);
+
+    RequestMix(Map<RequestKind, Integer> weights, long seed) {
+        var table = new ArrayList<RequestKind>();
+        weights.forEach((kind, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                table.add(kind);
+            }
+        });
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("The request mix needs at least one positive weight");
+        }
+        this.kinds = table.toArray(RequestKind[]::new);
+
+        var random = new SplittableRandom(seed);
+        var pricedMinutes = ChronoUnit.MINUTES.between(FIRST_PRICED, LAST_PRICED);
+        var hits = new String[URIS_PER_KIND];
+        var misses = new String[URIS_PER_KIND];
+        var invalid = new String[URIS_PER_KIND];
+        for (int i = 0; i < URIS_PER_KIND; i++) {
+            hits[i] = uri(BRAND, PRODUCT, FIRST_PRICED.plusMinutes(random.nextLong(pricedMinutes)));
+            // alternately a product without prices and a date before the first price of the sample product
+            misses[i] = i % 2 == 0
+                    ? uri(BRAND, PRODUCT + 1 + random.nextInt(100_000), FIRST_PRICED.plusMinutes(random.nextLong(pricedMinutes)))
+                    : uri(BRAND, PRODUCT, FIRST_PRICED.minusMinutes(1 + random.nextLong(pricedMinutes)));
+            invalid[i] = PATH + "?" + MALFORMED.get(random.nextInt(MALFORMED.size()));
+        }
+        uris.put(RequestKind.HIT, hits);
+        uris.put(RequestKind.MISS, misses);
+        uris.put(RequestKind.INVALID, invalid);
+    }
+
+    RequestKind nextKind(SplittableRandom random) {
+        return kinds[random.nextInt(kinds.length)];
+    }
+
+    String nextUri(RequestKind kind, SplittableRandom random) {
+        return uris.get(kind)[random.nextInt(URIS_PER_KIND)];
+    }
+
+    private static String uri(int brandId, int productId, LocalDateTime applicationDate) {
+        return PATH + "?brandId=" + brandId + "&productId=" + productId + "&applicationDate=" + DATE.format(applicationDate);
+    }
+}
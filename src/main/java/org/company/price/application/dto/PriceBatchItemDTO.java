@@ -0,0 +1,14 @@
+package org.company.price.application.dto;
+
+import lombok.Builder;
+
+/**
+ * Result of one tuple of a batch lookup; {@code price} is null when no price applies.
+ */
+@Builder(toBuilder = true)
+public record PriceBatchItemDTO(
+        Integer brandId,
+        Integer productId,
+        String applicationDate,
+        PriceResponseDTO price
+) {}
@@ -0,0 +1,10 @@
+package org.company.price.application.dto;
+
+import lombok.Builder;
+
+@Builder(toBuilder = true)
+public record PriceQueryDTO(
+        Integer brandId,
+        Integer productId,
+        String applicationDate
+) {}
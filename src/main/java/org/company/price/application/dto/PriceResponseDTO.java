@@ -3,6 +3,7 @@ package org.company.price.application.dto;
 import lombok.Builder;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Builder(toBuilder = true)
@@ -13,5 +14,12 @@ public record PriceResponseDTO(
         LocalDateTime startDate,
         LocalDateTime endDate,
         BigDecimal price,
-        String currency
-) {}
+        String currency,
+        Instant staleSince
+) {
+
+    public PriceResponseDTO(Integer brandId, Integer productId, Integer priceList, LocalDateTime startDate,
+                            LocalDateTime endDate, BigDecimal price, String currency) {
+        this(brandId, productId, priceList, startDate, endDate, price, currency, null);
+    }
+}
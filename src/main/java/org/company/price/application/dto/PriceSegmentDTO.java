@@ -0,0 +1,16 @@
+package org.company.price.application.dto;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Window of time, both ends inclusive, during which {@code price} is the applicable price of its
+ * brand/product.
+ */
+@Builder(toBuilder = true)
+public record PriceSegmentDTO(
+        PriceResponseDTO price,
+        LocalDateTime startDate,
+        LocalDateTime endDate
+) {}
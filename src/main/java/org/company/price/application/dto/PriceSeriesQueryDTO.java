@@ -0,0 +1,22 @@
+package org.company.price.application.dto;
+
+import lombok.Builder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Dates at which to resolve one brand/product: either {@code applicationDates}, or every
+ * {@code step} from {@code from} to {@code to}, both included. The bounds of a range are parsed and
+ * checked by the caller; listed dates are kept as sent, since each item echoes its own.
+ */
+@Builder(toBuilder = true)
+public record PriceSeriesQueryDTO(
+        Integer brandId,
+        Integer productId,
+        List<String> applicationDates,
+        LocalDateTime from,
+        LocalDateTime to,
+        Duration step
+) {}
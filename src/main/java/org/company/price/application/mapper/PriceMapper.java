@@ -1,11 +1,15 @@
 package org.company.price.application.mapper;
 
 import org.company.price.application.dto.PriceResponseDTO;
+import org.company.price.application.dto.PriceSegmentDTO;
 import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
 import org.mapstruct.Mapper;
 
 @Mapper(componentModel = "spring")
 public interface PriceMapper {
 
     PriceResponseDTO toDto(Price price);
+
+    PriceSegmentDTO toSegmentDto(PriceSegment segment);
 }
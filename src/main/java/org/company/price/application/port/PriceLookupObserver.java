@@ -0,0 +1,33 @@
+package org.company.price.application.port;
+
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Observes the stages of a lookup that the use case runs itself. Implemented by the infrastructure,
+ * which times them, so that the application layer does not depend on a metrics library.
+ */
+public interface PriceLookupObserver {
+
+    enum Stage {
+        /** Parsing of the {@code applicationDate} parameter. */
+        PARSE,
+        /** The whole repository chain as seen by the use case, decorators included. */
+        REPOSITORY,
+        /** The read of every row of a brand/product behind a series or a calendar. */
+        SCAN,
+        /** Domain price to response DTO. */
+        MAPPING
+    }
+
+    /**
+     * Runs a synchronous stage.
+     */
+    <T> T observe(Stage stage, Supplier<T> step);
+
+    /**
+     * A stage that lasts from subscription to termination or cancellation.
+     */
+    <T> Mono<T> observe(Stage stage, Mono<T> step);
+}
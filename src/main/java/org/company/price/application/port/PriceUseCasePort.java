@@ -1,8 +1,35 @@
 package org.company.price.application.port;
 
+import org.company.price.application.dto.PriceBatchItemDTO;
+import org.company.price.application.dto.PriceQueryDTO;
 import org.company.price.application.dto.PriceResponseDTO;
+import org.company.price.application.dto.PriceSegmentDTO;
+import org.company.price.application.dto.PriceSeriesQueryDTO;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 public interface PriceUseCasePort {
     Mono<PriceResponseDTO> getApplicablePrice(Integer brandId, Integer productId, String applicationDate);
+
+    /**
+     * The applicable price together with the window around the date during which it stays the answer.
+     */
+    Mono<PriceSegmentDTO> getApplicableSegment(Integer brandId, Integer productId, String applicationDate);
+
+    Mono<List<PriceBatchItemDTO>> getApplicablePrices(List<PriceQueryDTO> queries);
+
+    /**
+     * The applicable price of one brand/product at every date of the query, in ascending date order;
+     * items without an applicable price have a null {@code price}.
+     */
+    Flux<PriceBatchItemDTO> getPriceSeries(PriceSeriesQueryDTO query);
+
+    /**
+     * The effective segments of one brand/product overlapping the window from {@code from} to
+     * {@code to}, both included, in ascending order; each keeps its own bounds.
+     */
+    Flux<PriceSegmentDTO> getPriceCalendar(Integer brandId, Integer productId, LocalDateTime from, LocalDateTime to);
 }
@@ -1,47 +1,157 @@
 package org.company.price.application.service;
 
 import lombok.AccessLevel;
-import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.company.price.application.dto.PriceBatchItemDTO;
+import org.company.price.application.dto.PriceQueryDTO;
 import org.company.price.application.dto.PriceResponseDTO;
 import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.application.dto.PriceSegmentDTO;
+import org.company.price.application.dto.PriceSeriesQueryDTO;
 import org.company.price.application.mapper.PriceMapper;
+import org.company.price.application.port.PriceLookupObserver;
+import org.company.price.application.port.PriceLookupObserver.Stage;
 import org.company.price.application.port.PriceUseCasePort;
 import org.company.price.application.utils.ApplicationDateParser;
 import org.company.price.domain.exception.PriceNotFoundException;
 import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.company.price.domain.service.PriceSegmentCursor;
+import org.company.price.domain.service.PriceSegmentFlattener;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
 @Service
-@RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class PriceService implements PriceUseCasePort {
 
     PriceRepositoryPort repository;
     PriceMapper mapper;
+    PriceLookupObserver observer;
     static String ORDER_BY_DIRECTION_DESC = "DESC";
     static String ORDER_BY_COLUMN_PRIORITY = "priority";
+    static DateTimeFormatter SERIES_DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+    public PriceService(PriceRepositoryPort repository, PriceMapper mapper, PriceLookupObserver observer) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.observer = observer;
+    }
 
     @Override
     public Mono<PriceResponseDTO> getApplicablePrice(Integer brandId, Integer productId, String applicationDate) {
 
-        return repository.findTopApplicablePrice(
-                        PriceSearchCriteria.builder()
-                                .productId(productId)
-                                .brandId(brandId)
-                                .applicationStart(ApplicationDateParser.parse(applicationDate))
-                                .applicationEnd(ApplicationDateParser.parse(applicationDate))
-                                .orderByDirection(ORDER_BY_DIRECTION_DESC)
-                                .orderByColumnName(ORDER_BY_COLUMN_PRIORITY)
-                                .limit(1)
-                                .build()
-                )
-                .map(mapper::toDto)
-                .switchIfEmpty(Mono.error(new PriceNotFoundException(
-                        "Applicable price not found for product=" + productId +
-                                ", brand=" + brandId +
-                                ", date=" + applicationDate
-                )));
+        var lookup = repository.findTopApplicablePrice(criteria(brandId, productId, applicationDate));
+        return observer.observe(Stage.REPOSITORY, lookup)
+                .map(price -> observer.observe(Stage.MAPPING, () -> mapper.toDto(price)))
+                .switchIfEmpty(Mono.error(() -> new PriceNotFoundException(brandId, productId, applicationDate)));
+    }
+
+    @Override
+    public Mono<PriceSegmentDTO> getApplicableSegment(Integer brandId, Integer productId, String applicationDate) {
+
+        var applicationDateTime = observer.observe(Stage.PARSE, () -> ApplicationDateParser.parse(applicationDate));
+        var lookup = repository.findApplicableSegment(brandId, productId, applicationDateTime);
+        return observer.observe(Stage.REPOSITORY, lookup)
+                .map(segment -> observer.observe(Stage.MAPPING, () -> mapper.toSegmentDto(segment)))
+                .switchIfEmpty(Mono.error(() -> new PriceNotFoundException(brandId, productId, applicationDate)));
+    }
+
+    @Override
+    public Mono<List<PriceBatchItemDTO>> getApplicablePrices(List<PriceQueryDTO> queries) {
+
+        return Mono.fromCallable(() -> queries.stream()
+                        .map(query -> criteria(query.brandId(), query.productId(), query.applicationDate()))
+                        .toList())
+                .flatMap(repository::findTopApplicablePrices)
+                .map(pricesByPosition -> {
+                    var items = new ArrayList<PriceBatchItemDTO>(queries.size());
+                    for (var i = 0; i < queries.size(); i++) {
+                        var query = queries.get(i);
+                        var price = pricesByPosition.get(i);
+                        items.add(new PriceBatchItemDTO(
+                                query.brandId(),
+                                query.productId(),
+                                query.applicationDate(),
+                                price == null ? null : mapper.toDto(price)
+                        ));
+                    }
+                    return items;
+                });
     }
+
+    /**
+     * Reads the rows of the brand/product once and resolves every date with one sweep over their
+     * effective segments. Listed dates are parsed before the read, so a malformed one fails the whole
+     * query before anything is streamed; a range is generated lazily, as the response is written.
+     */
+    @Override
+    public Flux<PriceBatchItemDTO> getPriceSeries(PriceSeriesQueryDTO query) {
+        return Mono.fromCallable(() -> seriesDates(query)).flatMapMany(dates -> {
+            var rows = repository.findPrices(query.brandId(), query.productId()).collectList();
+            return observer.observe(Stage.SCAN, rows).flatMapMany(prices -> {
+                var cursor = PriceSegmentCursor.of(prices);
+                return dates.map(date -> new PriceBatchItemDTO(
+                        query.brandId(),
+                        query.productId(),
+                        date.text(),
+                        cursor.at(date.value()).map(mapper::toDto).orElse(null)
+                ));
+            });
+        });
+    }
+
+    /**
+     * Reads the rows of the brand/product once and flattens them with the precedence of the point
+     * lookup, keeping the segments that overlap the window.
+     */
+    @Override
+    public Flux<PriceSegmentDTO> getPriceCalendar(Integer brandId, Integer productId, LocalDateTime from, LocalDateTime to) {
+        var rows = repository.findPrices(brandId, productId).collectList();
+        return observer.observe(Stage.SCAN, rows)
+                .flatMapIterable(PriceSegmentFlattener::flatten)
+                .skipWhile(segment -> segment.endDate().isBefore(from))
+                .takeWhile(segment -> !segment.startDate().isAfter(to))
+                .map(mapper::toSegmentDto);
+    }
+
+    private Flux<SeriesDate> seriesDates(PriceSeriesQueryDTO query) {
+        if (query.applicationDates() != null && !query.applicationDates().isEmpty()) {
+            var dates = new ArrayList<SeriesDate>(query.applicationDates().size());
+            for (var text : query.applicationDates()) {
+                dates.add(new SeriesDate(text, observer.observe(Stage.PARSE, () -> ApplicationDateParser.parse(text))));
+            }
+            dates.sort(Comparator.comparing(SeriesDate::value));
+            return Flux.fromIterable(dates);
+        }
+        return Flux.generate(query::from, (date, sink) -> {
+            if (date.isAfter(query.to())) {
+                sink.complete();
+            } else {
+                sink.next(new SeriesDate(SERIES_DATE_FORMAT.format(date), date));
+            }
+            return date.plus(query.step());
+        });
+    }
+
+    private PriceSearchCriteria criteria(Integer brandId, Integer productId, String applicationDate) {
+        var applicationDateTime = observer.observe(Stage.PARSE, () -> ApplicationDateParser.parse(applicationDate));
+        return PriceSearchCriteria.builder()
+                .productId(productId)
+                .brandId(brandId)
+                .applicationStart(applicationDateTime)
+                .applicationEnd(applicationDateTime)
+                .orderByDirection(ORDER_BY_DIRECTION_DESC)
+                .orderByColumnName(ORDER_BY_COLUMN_PRIORITY)
+                .limit(1)
+                .build();
+    }
+
+    private record SeriesDate(String text, LocalDateTime value) {}
 }
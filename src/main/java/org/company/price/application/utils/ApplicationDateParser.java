@@ -2,19 +2,97 @@ package org.company.price.application.utils;
 
 import lombok.experimental.UtilityClass;
 
-import io.vavr.control.Try;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeParseException;
 
+/**
+ * Parser of the API {@code applicationDate}: {@code dd/MM/yyyy HH:mm} with optional {@code :ss},
+ * as accepted by the OpenAPI pattern.
+ * <p>
+ * The fixed layout is validated and converted in a single pass over the chars, straight to epoch
+ * seconds (UTC, the convention of the in-memory indexes), without intermediate objects. Dates that
+ * do not exist in the calendar, such as 31/04 or 29/02 of a common year, are rejected.
+ */
 @UtilityClass
 public final class ApplicationDateParser {
 
-    private static final DateTimeFormatter DMY_HMS = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+    private static final int SHORT_LENGTH = 16;
+    private static final int LONG_LENGTH = 19;
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final int DAYS_0000_TO_1970 = 719_468;
 
+    /**
+     * The date as the {@code LocalDateTime} the repository port takes: the one object this parser
+     * allocates, on top of {@link #parseEpochSecond(CharSequence)}.
+     */
     public static LocalDateTime parse(String input) {
+        return LocalDateTime.ofEpochSecond(parseEpochSecond(input), 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the epoch second (UTC) of the given {@code dd/MM/yyyy HH:mm[:ss]} date.
+     *
+     * @throws DateTimeParseException when the input does not follow the layout or is not a valid date
+     */
+    public static long parseEpochSecond(CharSequence input) {
+        var length = input == null ? 0 : input.length();
+        if (length != SHORT_LENGTH && length != LONG_LENGTH
+                || input.charAt(2) != '/' || input.charAt(5) != '/' || input.charAt(10) != ' ' || input.charAt(13) != ':'
+                || length == LONG_LENGTH && input.charAt(16) != ':') {
+            throw invalid(input);
+        }
+
+        var day = twoDigits(input, 0);
+        var month = twoDigits(input, 3);
+        var year = twoDigits(input, 6) * 100 + twoDigits(input, 8);
+        var hour = twoDigits(input, 11);
+        var minute = twoDigits(input, 14);
+        var second = length == LONG_LENGTH ? twoDigits(input, 17) : 0;
+
+        if (day < 1 || month < 1 || month > 12 || year < 1 || day > lengthOfMonth(year, month)
+                || hour > 23 || minute > 59 || second > 59) {
+            throw invalid(input);
+        }
+        return epochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second;
+    }
+
+    /**
+     * Two decimal digits at the given offset.
+     *
+     * @throws DateTimeParseException when either char is not a digit
+     */
+    private static int twoDigits(CharSequence input, int offset) {
+        var tens = input.charAt(offset) - '0';
+        var units = input.charAt(offset + 1) - '0';
+        if (tens < 0 || tens > 9 || units < 0 || units > 9) {
+            throw invalid(input);
+        }
+        return tens * 10 + units;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * Days since 1970-01-01 of a proleptic Gregorian date (civil-from-days inverse, eras of 400 years).
+     */
+    private static long epochDay(int year, int month, int day) {
+        var y = month <= 2 ? year - 1 : year;
+        var era = y / 400;
+        var yearOfEra = y - era * 400;
+        var dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        var dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - DAYS_0000_TO_1970;
+    }
 
-        return Try.of(() -> LocalDateTime.parse(input, DMY_HMS))
-                .getOrElseThrow(() -> new DateTimeParseException("Unrecognized date/time format", input, 0));
+    private static DateTimeParseException invalid(CharSequence input) {
+        return new DateTimeParseException("Unrecognized date/time format, expected dd/MM/yyyy HH:mm[:ss]",
+                input == null ? "" : input, 0);
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,37 @@
 package org.company.price.domain.exception;
 
+/**
+ * Signals that no price applies to a lookup. It is an expected outcome rather than a failure, so
+ * the exception is stackless and its message is only formatted when read.
+ */
 public class PriceNotFoundException extends RuntimeException {
+
+    private final Integer brandId;
+    private final Integer productId;
+    private final String applicationDate;
+
     public PriceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.brandId = null;
+        this.productId = null;
+        this.applicationDate = null;
+    }
+
+    public PriceNotFoundException(Integer brandId, Integer productId, String applicationDate) {
+        super(null, null, false, false);
+        this.brandId = brandId;
+        this.productId = productId;
+        this.applicationDate = applicationDate;
+    }
+
+    @Override
+    public String getMessage() {
+        var message = super.getMessage();
+        if (message != null) {
+            return message;
+        }
+        return "Applicable price not found for product=" + productId +
+                ", brand=" + brandId +
+                ", date=" + applicationDate;
     }
-}
\ No newline at end of file
+}
@@ -3,7 +3,9 @@ package org.company.price.domain.model;
 import lombok.Builder;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 
     @Builder(toBuilder = true)
     public record Price(
@@ -14,5 +16,33 @@ import java.time.LocalDateTime;
             LocalDateTime endDate,
             Integer priority,
             BigDecimal price,
-            String currency
-    ) {}
\ No newline at end of file
+            String currency,
+            Instant staleSince
+    ) {
+
+        /**
+         * Precedence between overlapping prices: the greater one wins.
+         * Higher priority first; on equal priority the most recently started price wins,
+         * then the highest price list.
+         */
+        public static final Comparator<Price> PRECEDENCE = Comparator
+                .comparing(Price::priority)
+                .thenComparing(Price::startDate)
+                .thenComparing(Price::priceList);
+
+        /**
+         * A price as just read from its source.
+         */
+        public Price(Integer brandId, Integer productId, Integer priceList, LocalDateTime startDate,
+                     LocalDateTime endDate, Integer priority, BigDecimal price, String currency) {
+            this(brandId, productId, priceList, startDate, endDate, priority, price, currency, null);
+        }
+
+        /**
+         * Whether the source could not be reached and this price was served from the last rows it
+         * returned, read at {@link #staleSince()}.
+         */
+        public boolean stale() {
+            return staleSince != null;
+        }
+    }
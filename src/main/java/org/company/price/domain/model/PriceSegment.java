@@ -0,0 +1,33 @@
+package org.company.price.domain.model;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Window of time, both ends inclusive, during which {@code price} is the applicable price of its
+ * brand/product: no other row covering the window takes precedence over it. Without a price, the
+ * segment is a gap during which no price applies at all.
+ */
+@Builder(toBuilder = true)
+public record PriceSegment(
+        Price price,
+        LocalDateTime startDate,
+        LocalDateTime endDate
+) {
+
+    /**
+     * A window during which no price applies; {@link LocalDateTime#MIN} and {@link LocalDateTime#MAX}
+     * stand for no bound.
+     */
+    public static PriceSegment gap(LocalDateTime startDate, LocalDateTime endDate) {
+        return new PriceSegment(null, startDate, endDate);
+    }
+
+    /**
+     * Whether a price applies during the segment; false for a gap.
+     */
+    public boolean priced() {
+        return price != null;
+    }
+}
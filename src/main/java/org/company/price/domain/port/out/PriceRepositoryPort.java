@@ -2,10 +2,55 @@ package org.company.price.domain.port.out;
 
 import org.company.price.application.dto.PriceSearchCriteria;
 import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
+import org.company.price.domain.service.PriceSegmentFlattener;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
 public interface PriceRepositoryPort {
 
     Mono<Price> findTopApplicablePrice(PriceSearchCriteria priceSearchCriteria);
 
-}
\ No newline at end of file
+    /**
+     * Resolves several criteria at once. The result maps the position of each criteria in the list
+     * to its top applicable price; positions without an applicable price are absent.
+     * Implementations backed by a remote store should override this with a single round trip.
+     */
+    default Mono<Map<Integer, Price>> findTopApplicablePrices(List<PriceSearchCriteria> priceSearchCriteria) {
+        return Flux.range(0, priceSearchCriteria.size())
+                .flatMap(i -> findTopApplicablePrice(priceSearchCriteria.get(i)).map(price -> Map.entry(i, price)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    /**
+     * Returns every row of a brand/product, whatever its validity.
+     */
+    Flux<Price> findPrices(Integer brandId, Integer productId);
+
+    /**
+     * Returns the effective segment of a brand/product covering the given date: the winning price
+     * together with the window, bounded by its own validity and by the rows that take precedence
+     * over it, during which it stays the answer. Empty when no price applies at that date.
+     */
+    default Mono<PriceSegment> findApplicableSegment(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+        return findPrices(brandId, productId)
+                .collectList()
+                .flatMap(prices -> Mono.justOrEmpty(PriceSegmentFlattener.segmentAt(prices, applicationDate)));
+    }
+
+    /**
+     * Like {@link #findApplicableSegment}, but a date at which no price applies resolves to the
+     * {@link PriceSegment#gap gap} around it, bounded by the neighbouring rows, so that callers can
+     * also remember for how long there is no price. Never empty.
+     */
+    default Mono<PriceSegment> findSegmentOrGap(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+        return findPrices(brandId, productId)
+                .collectList()
+                .map(prices -> PriceSegmentFlattener.segmentOrGapAt(prices, applicationDate));
+    }
+
+}
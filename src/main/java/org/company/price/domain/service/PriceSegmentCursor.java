@@ -0,0 +1,54 @@
+package org.company.price.domain.service;
+
+import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Sweeps the ordered {@link PriceSegment}s of one brand/product, as {@link PriceSegmentFlattener}
+ * produces them, answering the applicable price at ascending dates. Every call resumes from the
+ * segment the previous one stopped at, so resolving {@code d} dates over {@code s} segments costs
+ * {@code O(s + d)} in total instead of a lookup per date.
+ * <p>
+ * Not thread-safe: one cursor serves one sequence of dates.
+ */
+public final class PriceSegmentCursor {
+
+    private final List<PriceSegment> segments;
+    private int current;
+    private LocalDateTime last;
+
+    public PriceSegmentCursor(List<PriceSegment> segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Cursor over the segments the given rows flatten to.
+     */
+    public static PriceSegmentCursor of(Collection<Price> prices) {
+        return new PriceSegmentCursor(PriceSegmentFlattener.flatten(prices));
+    }
+
+    /**
+     * Returns the price applicable at the given date, if any.
+     *
+     * @throws IllegalArgumentException when the date is before the one of the previous call
+     */
+    public Optional<Price> at(LocalDateTime date) {
+        if (last != null && date.isBefore(last)) {
+            throw new IllegalArgumentException("Dates must be ascending: " + date + " after " + last);
+        }
+        last = date;
+        while (current < segments.size() && segments.get(current).endDate().isBefore(date)) {
+            current++;
+        }
+        if (current < segments.size() && !segments.get(current).startDate().isAfter(date)) {
+            return Optional.of(segments.get(current).price());
+        }
+        return Optional.empty();
+    }
+}
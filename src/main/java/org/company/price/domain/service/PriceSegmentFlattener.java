@@ -0,0 +1,115 @@
+package org.company.price.domain.service;
+
+import lombok.experimental.UtilityClass;
+import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Flattens the overlapping rows of one brand/product into the ordered, non-overlapping sequence of
+ * {@link PriceSegment}s that a point lookup would resolve to, deciding every overlap once with
+ * {@link Price#PRECEDENCE}. Boundaries are resolved at second granularity, as the API accepts.
+ */
+@UtilityClass
+public final class PriceSegmentFlattener {
+
+    public static List<PriceSegment> flatten(Collection<Price> prices) {
+        var rows = prices.toArray(Price[]::new);
+        if (rows.length == 0) {
+            return List.of();
+        }
+
+        var starts = new long[rows.length];
+        var ends = new long[rows.length];
+        var boundaries = new long[rows.length * 2];
+        for (var i = 0; i < rows.length; i++) {
+            starts[i] = toEpochSecond(rows[i].startDate());
+            ends[i] = toEpochSecond(rows[i].endDate()) + 1;
+            boundaries[2 * i] = starts[i];
+            boundaries[2 * i + 1] = ends[i];
+        }
+        Arrays.sort(boundaries);
+
+        var byStart = new Integer[rows.length];
+        for (var i = 0; i < rows.length; i++) {
+            byStart[i] = i;
+        }
+        Arrays.sort(byStart, Comparator.comparingLong(i -> starts[i]));
+
+        var active = new PriorityQueue<Integer>(Comparator.comparing((Integer i) -> rows[i], Price.PRECEDENCE).reversed());
+        var segments = new ArrayList<PriceSegment>();
+        var next = 0;
+        Price current = null;
+        var currentStart = 0L;
+
+        for (var b = 0; b < boundaries.length; b++) {
+            var at = boundaries[b];
+            if (b > 0 && at == boundaries[b - 1]) {
+                continue;
+            }
+            while (next < byStart.length && starts[byStart[next]] <= at) {
+                active.add(byStart[next++]);
+            }
+            while (!active.isEmpty() && ends[active.peek()] <= at) {
+                active.poll();
+            }
+            var winner = active.isEmpty() ? null : rows[active.peek()];
+            if (winner != current) {
+                if (current != null) {
+                    segments.add(segment(current, currentStart, at));
+                }
+                current = winner;
+                currentStart = at;
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Returns the segment of {@link #flatten(Collection)} covering the given instant, if any.
+     */
+    public static Optional<PriceSegment> segmentAt(Collection<Price> prices, LocalDateTime at) {
+        return flatten(prices).stream()
+                .filter(segment -> !segment.startDate().isAfter(at) && !segment.endDate().isBefore(at))
+                .findFirst();
+    }
+
+    /**
+     * Returns the segment of {@link #flatten(Collection)} covering the given instant or, when none
+     * does, the {@link PriceSegment#gap gap} around it, up to the neighbouring segments.
+     */
+    public static PriceSegment segmentOrGapAt(Collection<Price> prices, LocalDateTime at) {
+        var gapStart = LocalDateTime.MIN;
+        for (var segment : flatten(prices)) {
+            if (segment.startDate().isAfter(at)) {
+                return PriceSegment.gap(gapStart, segment.startDate().minusSeconds(1));
+            }
+            if (!segment.endDate().isBefore(at)) {
+                return segment;
+            }
+            gapStart = segment.endDate().plusSeconds(1);
+        }
+        return PriceSegment.gap(gapStart, LocalDateTime.MAX);
+    }
+
+    private static PriceSegment segment(Price price, long start, long endExclusive) {
+        return new PriceSegment(price, toDateTime(start), toDateTime(endExclusive - 1));
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
@@ -3,16 +3,38 @@ package org.company.price.infrastructure.adapter.in.api.controller;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import lombok.RequiredArgsConstructor;
+import org.company.price.application.dto.PriceSegmentDTO;
+import org.company.price.application.dto.PriceSeriesQueryDTO;
 import org.company.price.application.port.PriceUseCasePort;
+import org.company.price.application.utils.ApplicationDateParser;
 
 import org.company.price.infrastructure.adapter.in.api.PricesApi;
+import org.company.price.infrastructure.adapter.in.api.error.InvalidParametersException;
+import org.company.price.infrastructure.adapter.in.api.error.ValidationError;
+import org.company.price.infrastructure.adapter.in.api.model.PriceBatchItem;
+import org.company.price.infrastructure.adapter.in.api.model.PriceBatchRequest;
+import org.company.price.infrastructure.adapter.in.api.model.PriceBatchResponse;
+import org.company.price.infrastructure.adapter.in.api.model.PriceCalendarSegment;
 import org.company.price.infrastructure.adapter.in.api.model.PriceResponse;
+import org.company.price.infrastructure.adapter.in.api.model.PriceSeriesRequest;
+import org.company.price.infrastructure.config.PriceApiProperties;
 import org.company.price.infrastructure.mapper.openapi.PriceApiMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
@@ -20,16 +42,189 @@ public class PriceController implements PricesApi {
 
     PriceUseCasePort priceUseCasePort;
     PriceApiMapper priceApiMapper;
+    PriceResponseBodyCache priceResponseBodyCache;
+    PriceApiProperties priceApiProperties;
+
+    /**
+     * Most dates a series query may resolve, listed or as a range: the {@code maxItems} of
+     * {@code applicationDates} in the contract.
+     */
+    static int MAX_SERIES_DATES = 10_000;
+
+    /**
+     * The response body cache is absent with {@code prices.api.response-cache.enabled=false}.
+     */
+    @Autowired
+    public PriceController(
+            PriceUseCasePort priceUseCasePort,
+            PriceApiMapper priceApiMapper,
+            ObjectProvider<PriceResponseBodyCache> priceResponseBodyCache,
+            PriceApiProperties priceApiProperties
+    ) {
+        this(priceUseCasePort, priceApiMapper, priceResponseBodyCache.getIfAvailable(), priceApiProperties);
+    }
 
     @Override
     public Mono<ResponseEntity<PriceResponse>> apiV1PricesGet(
             Integer brandId,
             Integer productId,
             String applicationDate,
+            String ifNoneMatch,
             ServerWebExchange exchange
     ) {
-        return priceUseCasePort.getApplicablePrice(brandId, productId, applicationDate)
-                .map(priceApiMapper::toPriceResponse)
+        var maxAge = priceApiProperties.httpCache().maxAge();
+        var lookup = priceUseCasePort.getApplicableSegment(brandId, productId, applicationDate);
+        return lookup.flatMap(segment -> {
+            if (PriceResponseHeaders.notModified(ifNoneMatch, PriceResponseHeaders.etag(segment.price()))) {
+                return notModified(exchange, segment, maxAge);
+            }
+            if (priceResponseBodyCache != null) {
+                return writeBody(exchange, segment, maxAge, priceResponseBodyCache.body(segment.price()));
+            }
+            return Mono.just(ResponseEntity.ok()
+                    .headers(headers -> PriceResponseHeaders.write(headers, segment, maxAge))
+                    .body(priceApiMapper.toPriceResponse(segment.price())));
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<PriceBatchResponse>> apiV1PricesBatchPost(
+            Mono<PriceBatchRequest> priceBatchRequest,
+            ServerWebExchange exchange
+    ) {
+        return priceBatchRequest
+                .map(request -> request.getItems().stream().map(priceApiMapper::toPriceQuery).toList())
+                .flatMap(priceUseCasePort::getApplicablePrices)
+                .map(items -> new PriceBatchResponse().items(items.stream().map(priceApiMapper::toPriceBatchItem).toList()))
                 .map(ResponseEntity::ok);
     }
-}
\ No newline at end of file
+
+    @Override
+    public Mono<ResponseEntity<Flux<PriceBatchItem>>> apiV1PricesSeriesPost(
+            Mono<PriceSeriesRequest> priceSeriesRequest,
+            ServerWebExchange exchange
+    ) {
+        return priceSeriesRequest
+                .map(PriceController::toPriceSeriesQuery)
+                .map(query -> ResponseEntity.ok(priceUseCasePort.getPriceSeries(query).map(priceApiMapper::toPriceBatchItem)));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<PriceCalendarSegment>>> apiV1PricesCalendarGet(
+            Integer brandId,
+            Integer productId,
+            String from,
+            String to,
+            ServerWebExchange exchange
+    ) {
+        var errors = new ArrayList<ValidationError>();
+        var start = windowBound("from", from, errors);
+        var end = windowBound("to", to, errors);
+        if (errors.isEmpty() && end.isBefore(start)) {
+            errors.add(new ValidationError("to", to, "to must not be before from"));
+        }
+        if (!errors.isEmpty()) {
+            return Mono.error(new InvalidParametersException(errors));
+        }
+        var segments = priceUseCasePort.getPriceCalendar(brandId, productId, start, end)
+                .map(priceApiMapper::toPriceCalendarSegment);
+        return Mono.just(ResponseEntity.ok(segments));
+    }
+
+    private static LocalDateTime windowBound(String field, String value, List<ValidationError> errors) {
+        if (value == null) {
+            errors.add(new ValidationError(field, null, field + " is required"));
+            return null;
+        }
+        try {
+            return ApplicationDateParser.parse(value);
+        } catch (DateTimeParseException ex) {
+            errors.add(new ValidationError(field, value, field + " must be a valid date in dd/MM/yyyy HH:mm[:ss] format"));
+            return null;
+        }
+    }
+
+    /**
+     * Checks what the contract cannot express: exactly one of the two forms of dates, a step of whole
+     * seconds no longer than the range, and no more dates in a range than may be listed.
+     */
+    private static PriceSeriesQueryDTO toPriceSeriesQuery(PriceSeriesRequest request) {
+        var query = PriceSeriesQueryDTO.builder()
+                .brandId(request.getBrandId())
+                .productId(request.getProductId());
+        var listed = request.getApplicationDates() != null && !request.getApplicationDates().isEmpty();
+        var ranged = request.getFrom() != null || request.getTo() != null || request.getStep() != null;
+        if (listed == ranged) {
+            throw new InvalidParametersException(List.of(new ValidationError("applicationDates", null,
+                    "either applicationDates or from, to and step are required")));
+        }
+        if (listed) {
+            return query.applicationDates(request.getApplicationDates()).build();
+        }
+
+        var errors = new ArrayList<ValidationError>();
+        var from = windowBound("from", request.getFrom(), errors);
+        var to = windowBound("to", request.getTo(), errors);
+        var step = step(request.getStep(), errors);
+        if (!errors.isEmpty()) {
+            throw new InvalidParametersException(errors);
+        }
+        if (to.isBefore(from)) {
+            throw new InvalidParametersException(List.of(new ValidationError("to", request.getTo(), "to must not be before from")));
+        }
+        var range = Duration.between(from, to);
+        if (step.compareTo(range) > 0) {
+            throw new InvalidParametersException(List.of(new ValidationError("step", request.getStep(),
+                    "step must not be longer than the range from from to to")));
+        }
+        if (range.toSeconds() / step.toSeconds() >= MAX_SERIES_DATES) {
+            throw new InvalidParametersException(List.of(new ValidationError("step", request.getStep(),
+                    "from, to and step must give at most " + MAX_SERIES_DATES + " dates")));
+        }
+        return query.from(from).to(to).step(step).build();
+    }
+
+    private static Duration step(String step, List<ValidationError> errors) {
+        if (step == null) {
+            errors.add(new ValidationError("step", null, "step is required"));
+            return null;
+        }
+        try {
+            var duration = Duration.parse(step);
+            if (duration.getNano() == 0 && duration.toSeconds() > 0) {
+                return duration;
+            }
+        } catch (DateTimeParseException ex) {
+            // reported below
+        }
+        errors.add(new ValidationError("step", step, "step must be an ISO-8601 duration of whole seconds, at least PT1S"));
+        return null;
+    }
+
+    /**
+     * Writes an already encoded body straight to the response and completes empty, so no message
+     * writer runs for this request.
+     */
+    private static Mono<ResponseEntity<PriceResponse>> writeBody(ServerWebExchange exchange, PriceSegmentDTO segment,
+                                                                 Duration maxAge, byte[] body) {
+        var response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        PriceResponseHeaders.write(response.getHeaders(), segment, maxAge);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)))
+                .then(Mono.empty());
+    }
+
+    /**
+     * Completes a 304 with the caching headers of the price and no body, before the price is mapped
+     * or encoded.
+     */
+    private static Mono<ResponseEntity<PriceResponse>> notModified(ServerWebExchange exchange, PriceSegmentDTO segment,
+                                                                   Duration maxAge) {
+        var response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.NOT_MODIFIED);
+        PriceResponseHeaders.write(response.getHeaders(), segment, maxAge);
+        return response.setComplete().then(Mono.empty());
+    }
+}
@@ -0,0 +1,92 @@
+package org.company.price.infrastructure.adapter.in.api.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.company.price.application.dto.PriceResponseDTO;
+import org.company.price.infrastructure.adapter.in.api.model.PriceResponse;
+import org.company.price.infrastructure.mapper.openapi.PriceApiMapper;
+import org.company.price.infrastructure.metrics.PriceLookupMetrics;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Encoded JSON bodies of {@link PriceResponse}, produced once per distinct price and kept as bytes.
+ * <p>
+ * The body of a price never changes, so a lookup resolving a price already seen skips the API mapper
+ * and Jackson altogether and its bytes are wrapped, not copied, into the response buffer. The key is
+ * the whole {@link PriceResponseDTO}: an updated price is a different entry, so nothing needs to be
+ * invalidated and superseded bodies simply age out of the memory budget.
+ */
+public class PriceResponseBodyCache {
+
+    /**
+     * Estimated retained size of one entry besides its body: cache node, key, its dates and price.
+     */
+    static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final Cache<PriceResponseDTO, byte[]> cache;
+    private final PriceApiMapper priceApiMapper;
+    private final ObjectWriter writer;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer serialization;
+
+    public PriceResponseBodyCache(PriceApiMapper priceApiMapper, ObjectMapper objectMapper, DataSize maxMemory, MeterRegistry meterRegistry) {
+        this.priceApiMapper = priceApiMapper;
+        this.writer = objectMapper.writerFor(PriceResponse.class);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((PriceResponseDTO price, byte[] body) -> ENTRY_OVERHEAD_BYTES + body.length)
+                .executor(Runnable::run)
+                .build();
+
+        this.hits = Counter.builder("prices.api.response.cache.requests")
+                .description("Price responses by whether their encoded body was cached")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("prices.api.response.cache.requests")
+                .description("Price responses by whether their encoded body was cached")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.serialization = PriceLookupMetrics.stageTimer(meterRegistry, PriceLookupMetrics.SERIALIZATION);
+        Gauge.builder("prices.api.response.cache.size", cache, Cache::estimatedSize)
+                .description("Encoded price response bodies currently cached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The JSON body of the given price, encoded on the first request only. The returned array is
+     * shared and must not be modified. Timed as the serialization stage, hit or miss.
+     */
+    public byte[] body(PriceResponseDTO price) {
+        return serialization.record(() -> lookup(price));
+    }
+
+    private byte[] lookup(PriceResponseDTO price) {
+        var body = cache.getIfPresent(price);
+        if (body != null) {
+            hits.increment();
+            return body;
+        }
+        misses.increment();
+        body = encode(price);
+        cache.put(price, body);
+        return body;
+    }
+
+    private byte[] encode(PriceResponseDTO price) {
+        try {
+            return writer.writeValueAsBytes(priceApiMapper.toPriceResponse(price));
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
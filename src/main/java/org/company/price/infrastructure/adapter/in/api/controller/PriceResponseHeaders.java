@@ -0,0 +1,91 @@
+package org.company.price.infrastructure.adapter.in.api.controller;
+
+import lombok.experimental.UtilityClass;
+import org.company.price.application.dto.PriceResponseDTO;
+import org.company.price.application.dto.PriceSegmentDTO;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Headers of a found price, shared by the annotated and functional endpoints.
+ * <p>
+ * The strong {@code ETag} is made of the fields the body is made of, so two answers share a tag
+ * exactly when their bodies are identical, and an updated row gets a new one. A request whose
+ * {@code If-None-Match} holds the tag of the price found is answered {@code 304} without a body.
+ * <p>
+ * An answer is fresh ({@code Cache-Control: max-age}, and {@code Expires}) until its effective
+ * segment ends, so a client that keeps it as the current price asks again when the price changes;
+ * at most {@code maxAge}, the bound on how long an update of the table may go unnoticed. A segment
+ * that has already ended can no longer change with time and gets the whole {@code maxAge}. Stale
+ * prices, answered while the database is unreachable, must be revalidated ({@code no-cache}).
+ */
+@UtilityClass
+public final class PriceResponseHeaders {
+
+    /**
+     * Seconds since a price served while the database was unreachable was last read from it; absent
+     * on fresh prices.
+     */
+    public static final String STALENESS = "Price-Staleness";
+
+    public static void write(HttpHeaders headers, PriceSegmentDTO segment, Duration maxAge) {
+        write(headers, segment, maxAge, Clock.systemDefaultZone());
+    }
+
+    static void write(HttpHeaders headers, PriceSegmentDTO segment, Duration maxAge, Clock clock) {
+        var price = segment.price();
+        headers.setETag(etag(price));
+        if (price.staleSince() != null) {
+            var age = Duration.between(price.staleSince(), clock.instant()).toSeconds();
+            headers.set(STALENESS, Long.toString(Math.max(age, 0)));
+            headers.setCacheControl(CacheControl.noCache());
+            return;
+        }
+        var freshness = freshness(segment, maxAge, LocalDateTime.now(clock));
+        headers.setCacheControl(CacheControl.maxAge(freshness).cachePublic());
+        headers.setExpires(clock.millis() + freshness.toMillis());
+    }
+
+    /**
+     * Strong entity tag of the body of the given price.
+     */
+    public static String etag(PriceResponseDTO price) {
+        return "\"" + price.brandId() + '-' + price.productId() + '-' + price.priceList()
+                + '-' + price.startDate().toEpochSecond(ZoneOffset.UTC) + '-' + price.endDate().toEpochSecond(ZoneOffset.UTC)
+                + '-' + price.price().toPlainString() + '-' + price.currency() + "\"";
+    }
+
+    /**
+     * Whether an {@code If-None-Match} value, a comma-separated list of tags, matches the given tag
+     * with the weak comparison RFC 9110 prescribes for it.
+     */
+    public static boolean notModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (var tag : ifNoneMatch.split(",")) {
+            var candidate = tag.strip();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static Duration freshness(PriceSegmentDTO segment, Duration maxAge, LocalDateTime now) {
+        var end = segment.endDate().plusSeconds(1);
+        if (!end.isAfter(now)) {
+            return maxAge;
+        }
+        var remaining = Duration.ofSeconds(Duration.between(now, end).toSeconds());
+        return remaining.compareTo(maxAge) < 0 ? remaining : maxAge;
+    }
+}
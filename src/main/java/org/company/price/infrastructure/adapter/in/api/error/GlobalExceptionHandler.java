@@ -5,24 +5,30 @@ import lombok.extern.slf4j.Slf4j;
 import org.company.price.domain.exception.PriceNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.TypeMismatchException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.MissingRequestValueException;
 import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
 
+    private static volatile Timestamp lastTimestamp;
 
     @ExceptionHandler(PriceNotFoundException.class)
     public Mono<ResponseEntity<ProblemDetails>> handlePriceNotFound(
@@ -31,7 +37,7 @@ public class GlobalExceptionHandler {
     ) {
         var traceId = traceId(exchange);
 
-        log.info("Price not found at path={} traceId={} message={}",
+        log.debug("Price not found at path={} traceId={} message={}",
                 exchange.getRequest().getPath(), traceId, ex.getMessage());
 
         var problem = new ProblemDetails(
@@ -40,7 +46,7 @@ public class GlobalExceptionHandler {
                 HttpStatus.NOT_FOUND.value(),
                 ex.getMessage(),
                 exchange.getRequest().getPath().value(),
-                OffsetDateTime.now().toString(),
+                timestamp(),
                 traceId,
                 List.of()
         );
@@ -70,7 +76,7 @@ public class GlobalExceptionHandler {
                 HttpStatus.BAD_REQUEST.value(),
                 "One or more parameters are invalid.",
                 exchange.getRequest().getPath().value(),
-                OffsetDateTime.now().toString(),
+                timestamp(),
                 traceId,
                 errors
         );
@@ -100,7 +106,122 @@ public class GlobalExceptionHandler {
                 HttpStatus.BAD_REQUEST.value(),
                 "One or more constraints were violated.",
                 exchange.getRequest().getPath().value(),
-                OffsetDateTime.now().toString(),
+                timestamp(),
+                traceId,
+                errors
+        );
+
+        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.valueOf("application/problem+json"))
+                .body(problem));
+    }
+
+    @ExceptionHandler(DateTimeParseException.class)
+    public Mono<ResponseEntity<ProblemDetails>> handleDateTimeParse(
+            DateTimeParseException ex,
+            ServerWebExchange exchange
+    ) {
+        var traceId = traceId(exchange);
+
+        log.warn("Invalid date at path={} traceId={} value={}",
+                exchange.getRequest().getPath(), traceId, ex.getParsedString());
+
+        var problem = new ProblemDetails(
+                "https://example.com/probs/validation",
+                "Validation failed",
+                HttpStatus.BAD_REQUEST.value(),
+                "One or more parameters are invalid.",
+                exchange.getRequest().getPath().value(),
+                timestamp(),
+                traceId,
+                List.of(new ValidationError("applicationDate", ex.getParsedString(),
+                        "applicationDate must be a valid date in dd/MM/yyyy HH:mm[:ss] format"))
+        );
+
+        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.valueOf("application/problem+json"))
+                .body(problem));
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public Mono<ResponseEntity<ProblemDetails>> handleServerWebInput(
+            ServerWebInputException ex,
+            ServerWebExchange exchange
+    ) {
+        var parameter = ex instanceof MissingRequestValueException missing
+                ? missing.getName()
+                : ex.getMethodParameter() != null ? ex.getMethodParameter().getParameterName() : null;
+        if (parameter == null) {
+            return handleException(ex, exchange);
+        }
+        ValidationError error;
+        if (ex instanceof MissingRequestValueException) {
+            error = new ValidationError(parameter, null, parameter + " is required");
+        } else if (ex.getCause() instanceof TypeMismatchException mismatch && mismatch.getRequiredType() != null) {
+            error = new ValidationError(parameter, mismatch.getValue(),
+                    parameter + " must be a valid " + mismatch.getRequiredType().getSimpleName().toLowerCase());
+        } else {
+            error = new ValidationError(parameter, null, parameter + " is invalid");
+        }
+        return handleInvalidParameters(List.of(error), exchange);
+    }
+
+    @ExceptionHandler(InvalidParametersException.class)
+    public Mono<ResponseEntity<ProblemDetails>> handleInvalidParametersException(
+            InvalidParametersException ex,
+            ServerWebExchange exchange
+    ) {
+        return handleInvalidParameters(ex.getErrors(), exchange);
+    }
+
+    /**
+     * 400 problem for request parameters rejected before reaching the use case.
+     */
+    public Mono<ResponseEntity<ProblemDetails>> handleInvalidParameters(
+            List<ValidationError> errors,
+            ServerWebExchange exchange
+    ) {
+        var traceId = traceId(exchange);
+
+        log.warn("Invalid parameters at path={} traceId={} errors={}",
+                exchange.getRequest().getPath(), traceId, errors);
+
+        var problem = new ProblemDetails(
+                "https://example.com/probs/validation",
+                "Validation failed",
+                HttpStatus.BAD_REQUEST.value(),
+                "One or more parameters are invalid.",
+                exchange.getRequest().getPath().value(),
+                timestamp(),
+                traceId,
+                errors
+        );
+
+        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.valueOf("application/problem+json"))
+                .body(problem));
+    }
+
+    /**
+     * 400 problem for parameters breaking a constraint of the API contract, as bean validation of the
+     * generated {@code PricesApi} reports them.
+     */
+    public Mono<ResponseEntity<ProblemDetails>> handleConstraintViolations(
+            List<ValidationError> errors,
+            ServerWebExchange exchange
+    ) {
+        var traceId = traceId(exchange);
+
+        log.warn("Constraint violation at path={} traceId={} violations={}",
+                exchange.getRequest().getPath(), traceId, errors);
+
+        var problem = new ProblemDetails(
+                "https://example.com/probs/validation",
+                "Validation failed",
+                HttpStatus.BAD_REQUEST.value(),
+                "One or more constraints were violated.",
+                exchange.getRequest().getPath().value(),
+                timestamp(),
                 traceId,
                 errors
         );
@@ -125,7 +246,7 @@ public class GlobalExceptionHandler {
                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
                 ex.getMessage() != null ? ex.getMessage() : "Unexpected error",
                 exchange.getRequest().getPath().value(),
-                OffsetDateTime.now().toString(),
+                timestamp(),
                 traceId,
                 List.of()
         );
@@ -151,7 +272,7 @@ public class GlobalExceptionHandler {
                 HttpStatus.SERVICE_UNAVAILABLE.value(),
                 ex.getMessage(),
                 exchange.getRequest().getPath().value(),
-                OffsetDateTime.now().toString(),
+                timestamp(),
                 traceId,
                 List.of()
         );
@@ -161,8 +282,42 @@ public class GlobalExceptionHandler {
                 .body(problem));
     }
 
+    /**
+     * Problem response for an error raised outside annotated controllers, such as the functional
+     * price endpoint, chosen as the matching {@code @ExceptionHandler} would be.
+     */
+    public Mono<ResponseEntity<ProblemDetails>> handle(Throwable ex, ServerWebExchange exchange) {
+        return switch (ex) {
+            case PriceNotFoundException notFound -> handlePriceNotFound(notFound, exchange);
+            case DateTimeParseException dateTimeParse -> handleDateTimeParse(dateTimeParse, exchange);
+            case ServiceUnavailableException unavailable -> handleServiceUnavailable(unavailable, exchange);
+            case ConstraintViolationException violation -> handleConstraintViolation(violation, exchange);
+            case ServerWebInputException input -> handleServerWebInput(input, exchange);
+            case InvalidParametersException invalid -> handleInvalidParametersException(invalid, exchange);
+            case Exception other -> handleException(other, exchange);
+            default -> Mono.error(ex);
+        };
+    }
+
     private String traceId(ServerWebExchange exchange) {
         var header = exchange.getRequest().getHeaders().getFirst("X-Request-Id");
-        return header != null && !header.isBlank() ? header : UUID.randomUUID().toString();
+        return header != null && !header.isBlank() ? header : exchange.getRequest().getId();
+    }
+
+    /**
+     * Problem timestamps have second precision, so the formatted value is shared by every error
+     * raised within the same second.
+     */
+    private static String timestamp() {
+        var epochSecond = System.currentTimeMillis() / 1000;
+        var cached = lastTimestamp;
+        if (cached == null || cached.epochSecond() != epochSecond) {
+            cached = new Timestamp(epochSecond,
+                    OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault()).toString());
+            lastTimestamp = cached;
+        }
+        return cached.value();
     }
+
+    private record Timestamp(long epochSecond, String value) {}
 }
\ No newline at end of file
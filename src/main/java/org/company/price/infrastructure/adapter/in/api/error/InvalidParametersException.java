@@ -0,0 +1,22 @@
+package org.company.price.infrastructure.adapter.in.api.error;
+
+import java.util.List;
+
+/**
+ * Request parameters a controller rejects before reaching the use case, such as a combination the
+ * API contract cannot express; answered with the 400 problem of
+ * {@link GlobalExceptionHandler#handleInvalidParameters}.
+ */
+public class InvalidParametersException extends RuntimeException {
+
+    private final List<ValidationError> errors;
+
+    public InvalidParametersException(List<ValidationError> errors) {
+        super(errors.toString(), null, false, false);
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<ValidationError> getErrors() {
+        return errors;
+    }
+}
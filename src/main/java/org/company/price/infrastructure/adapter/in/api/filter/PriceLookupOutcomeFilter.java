@@ -0,0 +1,68 @@
+package org.company.price.infrastructure.adapter.in.api.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.company.price.infrastructure.metrics.PriceLookupMetrics;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Counts the answers of {@code GET /api/v1/prices} by outcome, from the status committed to the
+ * response, so the annotated and functional endpoints are counted alike. Every outcome is registered
+ * up front and reported at zero until it happens.
+ */
+public class PriceLookupOutcomeFilter implements WebFilter {
+
+    static final String PATH = "/api/v1/prices";
+
+    private final Counter found;
+    private final Counter notModified;
+    private final Counter notFound;
+    private final Counter validationError;
+    private final Counter unavailable;
+    private final Counter error;
+
+    public PriceLookupOutcomeFilter(MeterRegistry meterRegistry) {
+        this.found = outcome(meterRegistry, "found");
+        this.notModified = outcome(meterRegistry, "not-modified");
+        this.notFound = outcome(meterRegistry, "not-found");
+        this.validationError = outcome(meterRegistry, "validation-error");
+        this.unavailable = outcome(meterRegistry, "unavailable");
+        this.error = outcome(meterRegistry, "error");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        var request = exchange.getRequest();
+        if (request.getMethod() == HttpMethod.GET && PATH.equals(request.getPath().value())) {
+            var response = exchange.getResponse();
+            response.beforeCommit(() -> {
+                counter(response.getStatusCode()).increment();
+                return Mono.empty();
+            });
+        }
+        return chain.filter(exchange);
+    }
+
+    private Counter counter(HttpStatusCode status) {
+        return switch (status == null ? 200 : status.value()) {
+            case 200 -> found;
+            case 304 -> notModified;
+            case 404 -> notFound;
+            case 400 -> validationError;
+            case 503 -> unavailable;
+            default -> error;
+        };
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(PriceLookupMetrics.OUTCOME_COUNTER)
+                .description("Answers of single price lookups by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
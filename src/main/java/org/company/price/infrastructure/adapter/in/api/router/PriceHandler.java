@@ -0,0 +1,214 @@
+package org.company.price.infrastructure.adapter.in.api.router;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.company.price.application.dto.PriceSegmentDTO;
+import org.company.price.application.port.PriceUseCasePort;
+import org.company.price.infrastructure.adapter.in.api.controller.PriceController;
+import org.company.price.infrastructure.adapter.in.api.controller.PriceResponseBodyCache;
+import org.company.price.infrastructure.adapter.in.api.controller.PriceResponseHeaders;
+import org.company.price.infrastructure.adapter.in.api.error.GlobalExceptionHandler;
+import org.company.price.infrastructure.adapter.in.api.error.ProblemDetails;
+import org.company.price.infrastructure.adapter.in.api.error.ValidationError;
+import org.company.price.infrastructure.mapper.openapi.PriceApiMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Functional alternative to {@link PriceController} for {@code GET /api/v1/prices}, enabled with
+ * {@code prices.api.endpoint=functional}.
+ * <p>
+ * The raw query string is scanned once, instead of going through annotated handler mapping, argument
+ * resolution and bean validation, and the body is written without {@code ResponseEntity} wrapping.
+ * The contract is that of the annotated endpoint, checks run in the same order and every error body
+ * comes from {@link GlobalExceptionHandler}.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PriceHandler {
+
+    static String BRAND_ID = "brandId";
+    static String PRODUCT_ID = "productId";
+    static String APPLICATION_DATE = "applicationDate";
+    static String APPLICATION_DATE_REGEXP = "^\\d{2}/\\d{2}/\\d{4}\\s\\d{2}:\\d{2}(:\\d{2})?$";
+    static Pattern APPLICATION_DATE_PATTERN = Pattern.compile(APPLICATION_DATE_REGEXP);
+
+    PriceUseCasePort priceUseCasePort;
+    PriceApiMapper priceApiMapper;
+    PriceResponseBodyCache priceResponseBodyCache;
+    GlobalExceptionHandler globalExceptionHandler;
+    Duration maxAge;
+
+    public Mono<ServerResponse> getApplicablePrice(ServerRequest request) {
+        return getApplicablePrice(request, request.uri().getRawQuery());
+    }
+
+    /**
+     * Serves the request from the given raw query. A {@code java.net.URI} never holds a malformed
+     * escape, the server rejects those first, so the query is taken apart from the request to check
+     * that decoding failures still end as invalid parameters.
+     */
+    Mono<ServerResponse> getApplicablePrice(ServerRequest request, String query) {
+        var brandId = integer(query, BRAND_ID);
+        if (brandId.error() != null) {
+            return invalid(request, brandId.error());
+        }
+        var productId = integer(query, PRODUCT_ID);
+        if (productId.error() != null) {
+            return invalid(request, productId.error());
+        }
+        var applicationDateParameter = value(query, APPLICATION_DATE);
+        if (applicationDateParameter.error() != null) {
+            return invalid(request, applicationDateParameter.error());
+        }
+        var applicationDate = applicationDateParameter.value();
+        if (applicationDate == null || applicationDate.isEmpty()) {
+            return invalid(request, required(APPLICATION_DATE));
+        }
+        if (!APPLICATION_DATE_PATTERN.matcher(applicationDate).matches()) {
+            var violation = new ValidationError("apiV1PricesGet." + APPLICATION_DATE, applicationDate,
+                    "must match \"" + APPLICATION_DATE_REGEXP + "\"");
+            return globalExceptionHandler.handleConstraintViolations(List.of(violation), request.exchange())
+                    .flatMap(PriceHandler::problem);
+        }
+
+        var ifNoneMatch = String.join(",", request.headers().header(HttpHeaders.IF_NONE_MATCH));
+        return Mono.defer(() -> priceUseCasePort.getApplicableSegment(brandId.value(), productId.value(), applicationDate))
+                .flatMap(segment -> PriceResponseHeaders.notModified(ifNoneMatch, PriceResponseHeaders.etag(segment.price()))
+                        ? ServerResponse.status(HttpStatus.NOT_MODIFIED)
+                                .headers(headers -> PriceResponseHeaders.write(headers, segment, maxAge))
+                                .build()
+                        : ok(segment))
+                .onErrorResume(ex -> globalExceptionHandler.handle(ex, request.exchange()).flatMap(PriceHandler::problem));
+    }
+
+    private Mono<ServerResponse> ok(PriceSegmentDTO segment) {
+        if (priceResponseBodyCache == null) {
+            return ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .headers(headers -> PriceResponseHeaders.write(headers, segment, maxAge))
+                    .bodyValue(priceApiMapper.toPriceResponse(segment.price()));
+        }
+        var body = priceResponseBodyCache.body(segment.price());
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(headers -> PriceResponseHeaders.write(headers, segment, maxAge))
+                .contentLength(body.length)
+                .body((response, context) -> response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body))));
+    }
+
+    private Mono<ServerResponse> invalid(ServerRequest request, ValidationError error) {
+        return globalExceptionHandler.handleInvalidParameters(List.of(error), request.exchange())
+                .flatMap(PriceHandler::problem);
+    }
+
+    private static Mono<ServerResponse> problem(ResponseEntity<ProblemDetails> problem) {
+        return ServerResponse.status(problem.getStatusCode())
+                .headers(headers -> headers.addAll(problem.getHeaders()))
+                .bodyValue(problem.getBody());
+    }
+
+    /**
+     * Required integer parameter, parsed in place from the raw query unless it has to be decoded
+     * first.
+     */
+    private static Parameter<Integer> integer(String query, String name) {
+        var start = valueStart(query, name);
+        if (start < 0) {
+            return new Parameter<>(null, required(name));
+        }
+        var end = valueEnd(query, start);
+        if (!encoded(query, start, end)) {
+            return integer(query, start, end, name);
+        }
+        var decoded = decode(query, start, end, name);
+        return decoded.error() != null
+                ? new Parameter<>(null, decoded.error())
+                : integer(decoded.value(), 0, decoded.value().length(), name);
+    }
+
+    private static Parameter<Integer> integer(String text, int start, int end, String name) {
+        if (start == end) {
+            return new Parameter<>(null, required(name));
+        }
+        try {
+            return new Parameter<>(Integer.parseInt(text, start, end, 10), null);
+        } catch (NumberFormatException ex) {
+            return new Parameter<>(null, new ValidationError(name, text.substring(start, end),
+                    name + " must be a valid integer"));
+        }
+    }
+
+    /**
+     * First value of the parameter, decoded; a null value when absent.
+     */
+    private static Parameter<String> value(String query, String name) {
+        var start = valueStart(query, name);
+        return start < 0 ? new Parameter<>(null, null) : decode(query, start, valueEnd(query, start), name);
+    }
+
+    /**
+     * Index of the first char of the parameter value in the raw query, or -1 when absent.
+     */
+    private static int valueStart(String query, String name) {
+        if (query == null) {
+            return -1;
+        }
+        for (var start = 0; start < query.length(); start = valueEnd(query, start) + 1) {
+            var equals = start + name.length();
+            if (query.startsWith(name, start) && equals < query.length() && query.charAt(equals) == '=') {
+                return equals + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static int valueEnd(String query, int start) {
+        var end = query.indexOf('&', start);
+        return end < 0 ? query.length() : end;
+    }
+
+    private static boolean encoded(String query, int start, int end) {
+        for (var i = start; i < end; i++) {
+            var c = query.charAt(i);
+            if (c == '%' || c == '+') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The value between the indexes, decoded as the annotated endpoint does; a malformed escape is
+     * reported as an invalid parameter, as a 400 and not a 500.
+     */
+    private static Parameter<String> decode(String query, int start, int end, String name) {
+        var raw = query.substring(start, end);
+        if (!encoded(query, start, end)) {
+            return new Parameter<>(raw, null);
+        }
+        try {
+            return new Parameter<>(URLDecoder.decode(raw, StandardCharsets.UTF_8), null);
+        } catch (IllegalArgumentException ex) {
+            return new Parameter<>(null, new ValidationError(name, raw, name + " must be a valid URL-encoded value"));
+        }
+    }
+
+    private static ValidationError required(String name) {
+        return new ValidationError(name, null, name + " is required");
+    }
+
+    private record Parameter<T>(T value, ValidationError error) {}
+}
@@ -0,0 +1,31 @@
+package org.company.price.infrastructure.adapter.in.importer;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Price file layouts accepted by the bulk import, one row per line.
+ * <ul>
+ *     <li>{@code CSV}: a header line with the PRICES column names, then comma-separated values.</li>
+ *     <li>{@code NDJSON}: one JSON object per line, keyed by the same column names.</li>
+ * </ul>
+ */
+public enum PriceFileFormat {
+
+    CSV,
+    NDJSON;
+
+    /**
+     * Format of a file, from its extension: {@code .csv}, {@code .ndjson} or {@code .jsonl}.
+     */
+    public static PriceFileFormat of(Path file) {
+        var name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the format of " + file + ", expected .csv, .ndjson or .jsonl");
+    }
+}
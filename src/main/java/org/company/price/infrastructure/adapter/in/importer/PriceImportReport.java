@@ -0,0 +1,19 @@
+package org.company.price.infrastructure.adapter.in.importer;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import.
+ *
+ * @param imported rows written to the table
+ * @param rejected rows that failed validation and were skipped
+ * @param errors   the first rejections, with their line numbers
+ * @param elapsed  wall time of the whole import, index rebuild included
+ */
+public record PriceImportReport(long imported, long rejected, List<String> errors, Duration elapsed) {
+
+    public double rowsPerSecond() {
+        return imported * 1e9 / Math.max(1, elapsed.toNanos());
+    }
+}
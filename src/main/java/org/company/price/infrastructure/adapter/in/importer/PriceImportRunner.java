@@ -0,0 +1,38 @@
+package org.company.price.infrastructure.adapter.in.importer;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.company.price.infrastructure.config.PriceImportProperties;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Imports {@code prices.import.file} once the application has started, e.g.
+ * {@code java -jar prices-service.jar --prices.import.file=prices.csv}. Add
+ * {@code --spring.main.web-application-type=none} to exit once the import is done.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "prices.import.file")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PriceImportRunner implements ApplicationRunner {
+
+    PriceImporter priceImporter;
+    PriceImportProperties settings;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var file = Path.of(settings.file());
+        var format = settings.format() != null ? settings.format() : PriceFileFormat.of(file);
+        log.info("Importing {} prices from {}", format, file);
+        var report = priceImporter.importFile(file, format).block();
+        report.errors().forEach(error -> log.warn("Rejected {}", error));
+    }
+}
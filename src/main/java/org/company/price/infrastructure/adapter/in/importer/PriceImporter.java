@@ -0,0 +1,168 @@
+package org.company.price.infrastructure.adapter.in.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.company.price.domain.model.Price;
+import org.company.price.infrastructure.adapter.out.PriceBatchWriter;
+import org.company.price.infrastructure.adapter.out.memory.PriceChangeFeed;
+import org.company.price.infrastructure.adapter.out.memory.PriceChangeListener;
+import org.company.price.infrastructure.config.PriceImportProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams price files into the PRICES table.
+ * <p>
+ * Lines are read on demand, validated, grouped into batches of {@code prices.import.batch-size} and
+ * written by at most {@code prices.import.concurrency} batched INSERT statements at a time. The
+ * writes pull the reader, so at most about {@code (concurrency + 1) * batch-size} rows are held in
+ * memory whatever the file size. Invalid rows are skipped and counted.
+ * <p>
+ * The change feed is paused while rows are written and every derived structure is rebuilt once at
+ * the end: table statistics, then every {@link PriceChangeListener} through
+ * {@link PriceChangeFeed#resync()}: the in-memory, timeline and columnar sources (the latter
+ * re-exporting its snapshot when it exports one), the cache and the known keys. With the feed
+ * disabled, the listener beans (the source and the known keys) are reloaded directly; cache entries
+ * then only go once their segment ends, as for any other write without the feed.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PriceImporter {
+
+    PriceBatchWriter priceBatchWriter;
+    ObjectProvider<PriceChangeFeed> priceChangeFeed;
+    ObjectProvider<PriceChangeListener> priceChangeListeners;
+    PriceImportProperties settings;
+    PriceRowParser parser;
+    Counter importedRows;
+    Counter rejectedRows;
+
+    public PriceImporter(PriceBatchWriter priceBatchWriter, ObjectProvider<PriceChangeFeed> priceChangeFeed,
+                         ObjectProvider<PriceChangeListener> priceChangeListeners, PriceImportProperties settings,
+                         ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.priceBatchWriter = priceBatchWriter;
+        this.priceChangeFeed = priceChangeFeed;
+        this.priceChangeListeners = priceChangeListeners;
+        this.settings = settings;
+        this.parser = new PriceRowParser(objectMapper);
+        this.importedRows = Counter.builder("prices.import.rows")
+                .description("Rows read by the bulk import")
+                .tag("result", "imported")
+                .register(meterRegistry);
+        this.rejectedRows = Counter.builder("prices.import.rows")
+                .description("Rows read by the bulk import")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+    }
+
+    public Mono<PriceImportReport> importFile(Path file, PriceFileFormat format) {
+        var lines = Flux.using(
+                () -> Files.newBufferedReader(file),
+                reader -> Flux.fromStream(reader.lines()),
+                PriceImporter::close
+        );
+        return importLines(lines, format);
+    }
+
+    /**
+     * Imports the lines of a price file, requested from {@code lines} only as fast as they are written.
+     */
+    public Mono<PriceImportReport> importLines(Flux<String> lines, PriceFileFormat format) {
+        return Mono.defer(() -> {
+            var startedAt = System.nanoTime();
+            var progress = new Progress(settings.maxReportedErrors());
+            var changeFeed = priceChangeFeed.getIfAvailable();
+            if (changeFeed != null) {
+                changeFeed.pause();
+            }
+            var rebuild = changeFeed != null
+                    ? changeFeed.resync().then()
+                    : Flux.fromStream(priceChangeListeners::orderedStream).concatMap(PriceChangeListener::reload).then();
+
+            return lines.index()
+                    .<Price>handle((numbered, sink) -> {
+                        var lineNumber = numbered.getT1() + 1;
+                        var line = numbered.getT2();
+                        if (format == PriceFileFormat.CSV && lineNumber == 1) {
+                            parser.checkCsvHeader(line);
+                            return;
+                        }
+                        if (line.isBlank()) {
+                            return;
+                        }
+                        try {
+                            sink.next(parser.parse(format, line));
+                        } catch (IllegalArgumentException ex) {
+                            progress.reject(lineNumber, ex.getMessage());
+                        }
+                    })
+                    .buffer(settings.batchSize())
+                    .flatMap(priceBatchWriter::insert, settings.concurrency())
+                    .doOnNext(progress::imported)
+                    .then(priceBatchWriter.analyze())
+                    .then(rebuild)
+                    .then(Mono.fromSupplier(() -> progress.report(Duration.ofNanos(System.nanoTime() - startedAt))))
+                    .onErrorResume(ex -> rebuild.then(Mono.error(ex)))
+                    .doOnNext(report -> log.info("Imported {} prices in {} ms ({} rows/s), {} rejected",
+                            report.imported(), report.elapsed().toMillis(), Math.round(report.rowsPerSecond()), report.rejected()));
+        });
+    }
+
+    private static void close(BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Counts of one import. Rejections are only recorded by the parsing step and imports only by the
+     * merged write results, each serially, so only the totals need to be atomic.
+     */
+    private final class Progress {
+
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final List<String> errors = new ArrayList<>();
+        private final int maxErrors;
+
+        private Progress(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void imported(long rows) {
+            imported.addAndGet(rows);
+            importedRows.increment(rows);
+        }
+
+        private void reject(long lineNumber, String message) {
+            rejected.incrementAndGet();
+            rejectedRows.increment();
+            if (errors.size() < maxErrors) {
+                errors.add("line " + lineNumber + ": " + message);
+            }
+        }
+
+        private PriceImportReport report(Duration elapsed) {
+            return new PriceImportReport(imported.get(), rejected.get(), List.copyOf(errors), elapsed);
+        }
+    }
+}
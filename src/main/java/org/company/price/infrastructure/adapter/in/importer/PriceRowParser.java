@@ -0,0 +1,147 @@
+package org.company.price.infrastructure.adapter.in.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.company.price.domain.model.Price;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Turns one line of a price file into a {@link Price}, enforcing the constraints of the PRICES table.
+ * Any invalid value is reported as an {@link IllegalArgumentException} naming the column.
+ */
+final class PriceRowParser {
+
+    static final List<String> COLUMNS =
+            List.of("brand_id", "product_id", "price_list", "start_date", "end_date", "priority", "price", "curr");
+    static final String CSV_HEADER = String.join(",", COLUMNS);
+
+    private static final Pattern CURRENCY = Pattern.compile("[A-Z]{3}");
+    private static final int PRICE_SCALE = 2;
+    private static final int PRICE_PRECISION = 10;
+
+    private final ObjectMapper objectMapper;
+
+    PriceRowParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    void checkCsvHeader(String line) {
+        if (!line.strip().replace(" ", "").equalsIgnoreCase(CSV_HEADER)) {
+            throw new IllegalArgumentException("CSV header must be '" + CSV_HEADER + "', was '" + line + "'");
+        }
+    }
+
+    Price parse(PriceFileFormat format, String line) {
+        var values = format == PriceFileFormat.CSV ? csvValues(line) : jsonValues(line);
+        var startDate = dateTime(values, 3);
+        var endDate = dateTime(values, 4);
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("end_date is before start_date");
+        }
+        return new Price(
+                positiveInt(values, 0),
+                positiveInt(values, 1),
+                positiveInt(values, 2),
+                startDate,
+                endDate,
+                nonNegativeInt(values, 5),
+                price(values, 6),
+                currency(values, 7)
+        );
+    }
+
+    private static String[] csvValues(String line) {
+        var values = line.split(",", -1);
+        if (values.length != COLUMNS.size()) {
+            throw new IllegalArgumentException("expected " + COLUMNS.size() + " values, found " + values.length);
+        }
+        for (var i = 0; i < values.length; i++) {
+            values[i] = unquote(values[i].strip());
+        }
+        return values;
+    }
+
+    private String[] jsonValues(String line) {
+        try {
+            var node = objectMapper.readTree(line);
+            if (node == null || !node.isObject()) {
+                throw new IllegalArgumentException("expected a JSON object");
+            }
+            var values = new String[COLUMNS.size()];
+            for (var i = 0; i < values.length; i++) {
+                var value = node.get(COLUMNS.get(i));
+                if (value == null || value.isNull()) {
+                    throw new IllegalArgumentException(COLUMNS.get(i) + " is missing");
+                }
+                values[i] = value.asText();
+            }
+            return values;
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    private static int positiveInt(String[] values, int column) {
+        var value = integer(values, column);
+        if (value <= 0) {
+            throw invalid(values, column, "a positive integer");
+        }
+        return value;
+    }
+
+    private static int nonNegativeInt(String[] values, int column) {
+        var value = integer(values, column);
+        if (value < 0) {
+            throw invalid(values, column, "a non-negative integer");
+        }
+        return value;
+    }
+
+    private static int integer(String[] values, int column) {
+        try {
+            return Integer.parseInt(values[column]);
+        } catch (NumberFormatException ex) {
+            throw invalid(values, column, "an integer");
+        }
+    }
+
+    private static LocalDateTime dateTime(String[] values, int column) {
+        try {
+            return LocalDateTime.parse(values[column].replace(' ', 'T'));
+        } catch (DateTimeParseException ex) {
+            throw invalid(values, column, "a date-time like 2020-06-14 15:00:00");
+        }
+    }
+
+    private static BigDecimal price(String[] values, int column) {
+        try {
+            var price = new BigDecimal(values[column]);
+            if (price.signum() < 0 || price.scale() > PRICE_SCALE || price.precision() - price.scale() > PRICE_PRECISION - PRICE_SCALE) {
+                throw invalid(values, column, "a non-negative DECIMAL(10, 2)");
+            }
+            return price.setScale(PRICE_SCALE);
+        } catch (NumberFormatException ex) {
+            throw invalid(values, column, "a decimal number");
+        }
+    }
+
+    private static String currency(String[] values, int column) {
+        if (!CURRENCY.matcher(values[column]).matches()) {
+            throw invalid(values, column, "a three-letter ISO currency code");
+        }
+        return values[column];
+    }
+
+    private static String unquote(String value) {
+        return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"") ? value.substring(1, value.length() - 1) : value;
+    }
+
+    private static IllegalArgumentException invalid(String[] values, int column, String expected) {
+        return new IllegalArgumentException(COLUMNS.get(column) + " must be " + expected + ", was '" + values[column] + "'");
+    }
+}
@@ -0,0 +1,246 @@
+package org.company.price.infrastructure.adapter.out;
+
+import io.r2dbc.h2.H2ConnectionFactoryProvider;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.company.price.infrastructure.adapter.in.api.error.ServiceUnavailableException;
+import org.company.price.infrastructure.config.PriceRepositoryProperties;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocking JDBC source: each lookup runs the same SQL as {@link PriceRepositoryAdapter} through a
+ * {@link JdbcTemplate} on a virtual thread of its own, so the event loop never blocks and a waiting
+ * query costs a parked virtual thread instead of a platform thread.
+ * <p>
+ * Queries beyond {@code prices.repository.jdbc.max-connections} wait on a semaphore for at most
+ * {@code acquire-timeout}, then fail with a {@link ServiceUnavailableException} like a saturated
+ * R2DBC pool does; the H2 pool itself never makes a virtual thread wait inside its monitor.
+ * Enabled with {@code prices.repository.type=jdbc}, against the database {@code spring.r2dbc.url} names,
+ * or {@code prices.repository.jdbc.url} when set.
+ */
+@Component
+@PriceRepositorySource
+@DependsOnDatabaseInitialization
+@ConditionalOnProperty(name = "prices.repository.type", havingValue = "jdbc")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class JdbcPriceRepositoryAdapter implements PriceRepositoryPort, DisposableBean {
+
+    static String SELECT = "SELECT brand_id, product_id, price_list, start_date, end_date, priority, price, curr FROM prices";
+
+    static String TOP_QUERY = SELECT + " WHERE brand_id = ? AND product_id = ? AND start_date <= ? AND end_date >= ?"
+            + " ORDER BY %s %s, start_date DESC, price_list DESC LIMIT ?";
+
+    static String SERIES_QUERY = SELECT + " WHERE brand_id = ? AND product_id = ?";
+
+    /**
+     * Columns a lookup may be ordered by, as they are written into the SQL text.
+     */
+    static Set<String> ORDER_COLUMNS = Set.of("priority", "start_date", "end_date", "price_list", "price");
+
+    static RowMapper<Price> PRICE_ROW = (rs, rowNum) -> new Price(
+            rs.getInt("brand_id"),
+            rs.getInt("product_id"),
+            rs.getInt("price_list"),
+            rs.getObject("start_date", LocalDateTime.class),
+            rs.getObject("end_date", LocalDateTime.class),
+            rs.getInt("priority"),
+            rs.getBigDecimal("price"),
+            rs.getString("curr"));
+
+    JdbcTemplate jdbcTemplate;
+    NamedParameterJdbcTemplate namedJdbcTemplate;
+    Semaphore connections;
+    Duration acquireTimeout;
+    Scheduler scheduler;
+    AutoCloseable resources;
+
+    @Autowired
+    public JdbcPriceRepositoryAdapter(PriceRepositoryProperties properties, R2dbcProperties r2dbcProperties) {
+        this(pool(properties.jdbc(), r2dbcProperties), properties.jdbc().maxConnections(), properties.jdbc().acquireTimeout());
+    }
+
+    /**
+     * Queries through {@code dataSource}, disposed of with this adapter.
+     */
+    public JdbcPriceRepositoryAdapter(JdbcConnectionPool dataSource, int maxConnections, Duration acquireTimeout) {
+        this(dataSource, maxConnections, acquireTimeout, dataSource::dispose);
+    }
+
+    JdbcPriceRepositoryAdapter(DataSource dataSource, int maxConnections, Duration acquireTimeout, AutoCloseable dataSourceCloser) {
+        var executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("price-jdbc-", 0).factory());
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.connections = new Semaphore(maxConnections, true);
+        this.acquireTimeout = acquireTimeout;
+        this.scheduler = Schedulers.fromExecutorService(executor, "price-jdbc");
+        this.resources = () -> {
+            scheduler.dispose();
+            dataSourceCloser.close();
+        };
+    }
+
+    @Override
+    public Mono<Price> findTopApplicablePrice(PriceSearchCriteria priceSearchCriteria) {
+        return blocking(() -> {
+            var prices = jdbcTemplate.query(topQuery(priceSearchCriteria), PRICE_ROW,
+                    priceSearchCriteria.brandId(), priceSearchCriteria.productId(),
+                    priceSearchCriteria.applicationStart(), priceSearchCriteria.applicationEnd(),
+                    priceSearchCriteria.limit());
+            return prices.isEmpty() ? null : prices.getFirst();
+        });
+    }
+
+    @Override
+    public Mono<Map<Integer, Price>> findTopApplicablePrices(List<PriceSearchCriteria> priceSearchCriteria) {
+        if (priceSearchCriteria.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        var values = new StringBuilder();
+        var arguments = new ArrayList<>(priceSearchCriteria.size() * 5);
+        for (var i = 0; i < priceSearchCriteria.size(); i++) {
+            var criteria = priceSearchCriteria.get(i);
+            values.append(i == 0 ? "" : ", ")
+                    .append("(CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP))");
+            arguments.add(i);
+            arguments.add(criteria.brandId());
+            arguments.add(criteria.productId());
+            arguments.add(criteria.applicationStart());
+            arguments.add(criteria.applicationEnd());
+        }
+
+        return blocking(() -> {
+            var prices = new HashMap<Integer, Price>();
+            jdbcTemplate.query(PriceRepositoryAdapter.BATCH_QUERY.formatted(values),
+                    (RowCallbackHandler) rs -> prices.put(rs.getInt("query_index"), PRICE_ROW.mapRow(rs, rs.getRow())),
+                    arguments.toArray());
+            return Map.copyOf(prices);
+        });
+    }
+
+    @Override
+    public Flux<Price> findPrices(Integer brandId, Integer productId) {
+        return blocking(() -> jdbcTemplate.query(SERIES_QUERY, PRICE_ROW, brandId, productId))
+                .flatMapIterable(prices -> prices);
+    }
+
+    @Override
+    public Mono<PriceSegment> findApplicableSegment(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+        var arguments = Map.of("brandId", brandId, "productId", productId, "applicationDate", applicationDate);
+        return blocking(() -> {
+            var segments = namedJdbcTemplate.query(PriceRepositoryAdapter.SEGMENT_QUERY, arguments,
+                    (rs, rowNum) -> PriceRepositoryAdapter.segment(PRICE_ROW.mapRow(rs, rowNum),
+                            rs.getObject("previous_end", LocalDateTime.class),
+                            rs.getObject("next_start", LocalDateTime.class)));
+            return segments.isEmpty() ? null : segments.getFirst();
+        });
+    }
+
+    @Override
+    public Mono<PriceSegment> findSegmentOrGap(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+        var arguments = Map.of("brandId", brandId, "productId", productId, "applicationDate", applicationDate);
+        var gap = blocking(() -> namedJdbcTemplate.queryForObject(PriceRepositoryAdapter.GAP_QUERY, arguments,
+                (rs, rowNum) -> PriceRepositoryAdapter.gap(
+                        rs.getObject("previous_end", LocalDateTime.class),
+                        rs.getObject("next_start", LocalDateTime.class))));
+        return findApplicableSegment(brandId, productId, applicationDate).switchIfEmpty(gap);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        resources.close();
+    }
+
+    /**
+     * Runs {@code query} on a virtual thread once a connection is free, completing empty on a null
+     * result; connection failures and a pool still full after the acquire timeout become a
+     * {@link ServiceUnavailableException}.
+     */
+    private <T> Mono<T> blocking(Callable<T> query) {
+        return Mono.fromCallable(() -> {
+                    if (!connections.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                        throw new ServiceUnavailableException("No JDBC connection available within " + acquireTimeout);
+                    }
+                    try {
+                        return query.call();
+                    } finally {
+                        connections.release();
+                    }
+                })
+                .onErrorMap(DataAccessResourceFailureException.class,
+                        ex -> new ServiceUnavailableException("The JDBC price source is unreachable.", ex))
+                .subscribeOn(scheduler);
+    }
+
+    private static String topQuery(PriceSearchCriteria priceSearchCriteria) {
+        var column = priceSearchCriteria.orderByColumnName();
+        if (!ORDER_COLUMNS.contains(column)) {
+            throw new IllegalArgumentException("Unsupported order column: " + column);
+        }
+        var direction = "ASC".equalsIgnoreCase(priceSearchCriteria.orderByDirection()) ? "ASC" : "DESC";
+        return TOP_QUERY.formatted(column, direction);
+    }
+
+    /**
+     * JDBC URL of the H2 database an R2DBC URL names, built the way the R2DBC H2 driver builds its own:
+     * {@code r2dbc:h2:mem:///pricesdb;DB_CLOSE_DELAY=-1} gives {@code jdbc:h2:mem:pricesdb;DB_CLOSE_DELAY=-1}.
+     */
+    static String jdbcUrl(String r2dbcUrl) {
+        var options = ConnectionFactoryOptions.parse(r2dbcUrl);
+        if (H2ConnectionFactoryProvider.H2_DRIVER.equals(options.getValue(ConnectionFactoryOptions.DRIVER))) {
+            if (options.hasOption(H2ConnectionFactoryProvider.URL)) {
+                return "jdbc:h2:" + options.getValue(H2ConnectionFactoryProvider.URL);
+            }
+            var protocol = options.getValue(ConnectionFactoryOptions.PROTOCOL);
+            if (H2ConnectionFactoryProvider.PROTOCOL_MEM.equals(protocol) || H2ConnectionFactoryProvider.PROTOCOL_FILE.equals(protocol)) {
+                var url = "jdbc:h2:" + protocol + ":" + options.getValue(ConnectionFactoryOptions.DATABASE);
+                var extra = options.getValue(H2ConnectionFactoryProvider.OPTIONS);
+                return extra == null ? url : url + ";" + extra;
+            }
+        }
+        throw new IllegalStateException("Cannot derive a JDBC URL from " + r2dbcUrl + ": set prices.repository.jdbc.url");
+    }
+
+    private static JdbcConnectionPool pool(PriceRepositoryProperties.Jdbc properties, R2dbcProperties r2dbcProperties) {
+        var url = properties.url() != null ? properties.url() : jdbcUrl(r2dbcProperties.getUrl());
+        var username = properties.username() != null ? properties.username() : Objects.requireNonNullElse(r2dbcProperties.getUsername(), "sa");
+        var password = properties.password() != null ? properties.password() : Objects.requireNonNullElse(r2dbcProperties.getPassword(), "");
+        var pool = JdbcConnectionPool.create(url, username, password);
+        pool.setMaxConnections(properties.maxConnections());
+        return pool;
+    }
+}
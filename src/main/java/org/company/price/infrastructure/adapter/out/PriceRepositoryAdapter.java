@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.company.price.application.dto.PriceSearchCriteria;
 import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
 import org.company.price.infrastructure.mapper.rd2.PriceEntityMapper;
 import org.company.price.infrastructure.repository.entity.PriceEntity;
 import org.company.price.domain.port.out.PriceRepositoryPort;
@@ -13,13 +14,81 @@ import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.query.Query;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
 @Component
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class PriceRepositoryAdapter implements PriceRepositoryPort {
 
+    /**
+     * Tie-breakers applied after the requested order, matching {@link Price#PRECEDENCE}.
+     */
+    static Sort PRECEDENCE_TIE_BREAKERS = Sort.by(Sort.Direction.DESC, "start_date", "price_list");
+
+    /**
+     * Top-1-per-tuple query: the requested tuples are joined as an inline VALUES table and ranked
+     * per tuple with ROW_NUMBER, in {@link Price#PRECEDENCE} order.
+     */
+    static String BATCH_QUERY = """
+            SELECT ranked.* FROM (
+                SELECT q.query_index, p.*,
+                       ROW_NUMBER() OVER (
+                           PARTITION BY q.query_index
+                           ORDER BY p.priority DESC, p.start_date DESC, p.price_list DESC
+                       ) AS rn
+                FROM (VALUES %s) AS q(query_index, brand_id, product_id, application_start, application_end)
+                JOIN prices p
+                  ON p.brand_id = q.brand_id
+                 AND p.product_id = q.product_id
+                 AND p.start_date <= q.application_start
+                 AND p.end_date >= q.application_end
+            ) ranked
+            WHERE ranked.rn = 1
+            """;
+
+    /**
+     * Winner at a date, ranked as by {@link #findTopApplicablePrice}, with the bounds of its effective
+     * segment: the last end, since it started and before the date, of a row that takes precedence
+     * over it, and the first start, after the date and before it ends, of a row that would. Both are
+     * aggregates over the rows of the same brand/product, so a segment costs one round trip instead
+     * of reading every row.
+     */
+    static String SEGMENT_QUERY = """
+            SELECT p.*,
+                   (SELECT MAX(o.end_date) FROM prices o
+                     WHERE o.brand_id = p.brand_id AND o.product_id = p.product_id
+                       AND o.end_date >= p.start_date AND o.end_date < :applicationDate
+                       AND (o.priority > p.priority
+                            OR o.priority = p.priority AND (o.start_date > p.start_date
+                                OR o.start_date = p.start_date AND o.price_list > p.price_list))) AS previous_end,
+                   (SELECT MIN(o.start_date) FROM prices o
+                     WHERE o.brand_id = p.brand_id AND o.product_id = p.product_id
+                       AND o.start_date > :applicationDate AND o.start_date <= p.end_date
+                       AND o.priority >= p.priority) AS next_start
+            FROM prices p
+            WHERE p.brand_id = :brandId AND p.product_id = :productId
+              AND p.start_date <= :applicationDate AND p.end_date >= :applicationDate
+            ORDER BY p.priority DESC, p.start_date DESC, p.price_list DESC
+            LIMIT 1
+            """;
+
+    /**
+     * Bounds of the gap around a date at which no row applies: the last end before it and the first
+     * start after it.
+     */
+    static String GAP_QUERY = """
+            SELECT (SELECT MAX(end_date) FROM prices
+                     WHERE brand_id = :brandId AND product_id = :productId AND end_date < :applicationDate) AS previous_end,
+                   (SELECT MIN(start_date) FROM prices
+                     WHERE brand_id = :brandId AND product_id = :productId AND start_date > :applicationDate) AS next_start
+            """;
+
     R2dbcEntityTemplate template;
     PriceEntityMapper priceEntityMapper;
 
@@ -32,7 +101,8 @@ public class PriceRepositoryAdapter implements PriceRepositoryPort {
                 .and("end_date").greaterThanOrEquals(priceSearchCriteria.applicationEnd());
 
         var query = Query.query(criteria)
-                .sort(Sort.by(new Sort.Order(Sort.Direction.valueOf(priceSearchCriteria.orderByDirection()), priceSearchCriteria.orderByColumnName())))
+                .sort(Sort.by(new Sort.Order(Sort.Direction.valueOf(priceSearchCriteria.orderByDirection()), priceSearchCriteria.orderByColumnName()))
+                        .and(PRECEDENCE_TIE_BREAKERS))
                 .limit(priceSearchCriteria.limit());
 
         return template.select(query, PriceEntity.class)
@@ -40,4 +110,89 @@ public class PriceRepositoryAdapter implements PriceRepositoryPort {
                 .map(priceEntityMapper::toPrice)
                 .switchIfEmpty(Mono.empty());
     }
-}
\ No newline at end of file
+
+    @Override
+    public Mono<Map<Integer, Price>> findTopApplicablePrices(List<PriceSearchCriteria> priceSearchCriteria) {
+        if (priceSearchCriteria.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        var values = new StringBuilder();
+        for (var i = 0; i < priceSearchCriteria.size(); i++) {
+            values.append(i == 0 ? "" : ", ")
+                    .append("(CAST(:i").append(i).append(" AS INT), CAST(:b").append(i).append(" AS INT), ")
+                    .append("CAST(:p").append(i).append(" AS INT), CAST(:s").append(i).append(" AS TIMESTAMP), ")
+                    .append("CAST(:e").append(i).append(" AS TIMESTAMP))");
+        }
+
+        var spec = template.getDatabaseClient().sql(BATCH_QUERY.formatted(values));
+        for (var i = 0; i < priceSearchCriteria.size(); i++) {
+            var criteria = priceSearchCriteria.get(i);
+            spec = spec.bind("i" + i, i)
+                    .bind("b" + i, criteria.brandId())
+                    .bind("p" + i, criteria.productId())
+                    .bind("s" + i, criteria.applicationStart())
+                    .bind("e" + i, criteria.applicationEnd());
+        }
+
+        var converter = template.getConverter();
+        return spec.map((row, metadata) -> Map.entry(
+                        row.get("query_index", Integer.class),
+                        priceEntityMapper.toPrice(converter.read(PriceEntity.class, row, metadata))))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    @Override
+    public Flux<Price> findPrices(Integer brandId, Integer productId) {
+        var criteria = Criteria.where("brand_id").is(brandId)
+                .and("product_id").is(productId);
+
+        return template.select(Query.query(criteria), PriceEntity.class)
+                .map(priceEntityMapper::toPrice);
+    }
+
+    @Override
+    public Mono<PriceSegment> findApplicableSegment(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+        var converter = template.getConverter();
+        return template.getDatabaseClient().sql(SEGMENT_QUERY)
+                .bind("brandId", brandId)
+                .bind("productId", productId)
+                .bind("applicationDate", applicationDate)
+                .map((row, metadata) -> segment(
+                        priceEntityMapper.toPrice(converter.read(PriceEntity.class, row, metadata)),
+                        row.get("previous_end", LocalDateTime.class),
+                        row.get("next_start", LocalDateTime.class)))
+                .first();
+    }
+
+    @Override
+    public Mono<PriceSegment> findSegmentOrGap(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+        var gap = template.getDatabaseClient().sql(GAP_QUERY)
+                .bind("brandId", brandId)
+                .bind("productId", productId)
+                .bind("applicationDate", applicationDate)
+                .map(row -> gap(row.get("previous_end", LocalDateTime.class), row.get("next_start", LocalDateTime.class)))
+                .one();
+        return findApplicableSegment(brandId, productId, applicationDate).switchIfEmpty(gap);
+    }
+
+    /**
+     * The segment of the winner of {@link #SEGMENT_QUERY}: its own validity, cut after the previous
+     * end and before the next start of the rows that take precedence over it, when there are any.
+     */
+    static PriceSegment segment(Price price, LocalDateTime previousEnd, LocalDateTime nextStart) {
+        return new PriceSegment(price,
+                previousEnd == null ? price.startDate() : previousEnd.plusSeconds(1),
+                nextStart == null ? price.endDate() : nextStart.minusSeconds(1));
+    }
+
+    /**
+     * The gap of {@link #GAP_QUERY}, unbounded on a side without any row.
+     */
+    static PriceSegment gap(LocalDateTime previousEnd, LocalDateTime nextStart) {
+        return PriceSegment.gap(
+                previousEnd == null ? LocalDateTime.MIN : previousEnd.plusSeconds(1),
+                nextStart == null ? LocalDateTime.MAX : nextStart.minusSeconds(1));
+    }
+}
@@ -0,0 +1,19 @@
+package org.company.price.infrastructure.adapter.out;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the {@code PriceRepositoryPort} implementation selected by {@code prices.repository.type}.
+ * The primary port handed to the application is this source wrapped by the decorators assembled in
+ * {@code PriceRepositoryConfig}.
+ */
+@Qualifier
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD})
+public @interface PriceRepositorySource {
+}
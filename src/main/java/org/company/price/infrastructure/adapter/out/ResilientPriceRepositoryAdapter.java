@@ -0,0 +1,205 @@
+package org.company.price.infrastructure.adapter.out;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.R2dbcNonTransientException;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.company.price.infrastructure.adapter.in.api.error.ServiceUnavailableException;
+import org.company.price.infrastructure.adapter.out.decorator.TimedPriceRepository;
+import org.company.price.infrastructure.adapter.out.resilience.LastKnownPrices;
+import org.company.price.infrastructure.adapter.out.resilience.RetryBudget;
+import org.company.price.infrastructure.config.PriceRepositoryProperties;
+import org.company.price.infrastructure.metrics.PriceLookupMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * R2DBC source guarded by Reactor operators, innermost first: a time limit on the query, a bulkhead
+ * capping concurrent queries, the circuit breaker, and a retry whose attempts each go through all
+ * three and are drawn from a {@link RetryBudget}. The time limiter, bulkhead and circuit breaker
+ * are the {@code resilience4j} instances of the same names, metrics included.
+ * <p>
+ * Whatever still fails, an open circuit and a full bulkhead included, is answered from
+ * {@link LastKnownPrices} when it can tell, with prices marked {@link Price#stale()}; otherwise it
+ * ends in a {@link ServiceUnavailableException}.
+ */
+@Component
+@PriceRepositorySource
+@ConditionalOnProperty(name = "prices.repository.type", havingValue = "r2dbc", matchIfMissing = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ResilientPriceRepositoryAdapter implements PriceRepositoryPort {
+
+    static String CIRCUIT_BREAKER_NAME = "priceR2dbcCircuitBreaker";
+    static String TIME_LIMITER_NAME = "priceR2dbcTimeLimiter";
+    static String BULKHEAD_NAME = "priceR2dbcBulkhead";
+
+    PriceRepositoryPort target;
+    CircuitBreaker circuitBreaker;
+    TimeLimiter timeLimiter;
+    Bulkhead bulkhead;
+    RetryBudget retryBudget;
+    Retry retry;
+    LastKnownPrices lastKnownPrices;
+    Counter retried;
+    Counter retriesDenied;
+
+    public ResilientPriceRepositoryAdapter(
+            PriceRepositoryAdapter priceRepositoryAdapter,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            TimeLimiterRegistry timeLimiterRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            PriceRepositoryProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        // timed inside the resilience operators: the query stage, apart from the source stage timed outside
+        this.target = new TimedPriceRepository(priceRepositoryAdapter,
+                PriceLookupMetrics.stageTimer(meterRegistry, PriceLookupMetrics.QUERY));
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER_NAME);
+        this.timeLimiter = timeLimiterRegistry.timeLimiter(TIME_LIMITER_NAME);
+        this.bulkhead = bulkheadRegistry.bulkhead(BULKHEAD_NAME);
+        this.lastKnownPrices = properties.lastKnownGood().enabled()
+                ? new LastKnownPrices(properties.lastKnownGood().maxMemory(), meterRegistry)
+                : null;
+
+        var retryProperties = properties.retry();
+        this.retryBudget = new RetryBudget(retryProperties.budgetRatio(), retryProperties.budgetMinPerSecond());
+        this.retry = budgetedRetry(retryProperties.maxAttempts(), retryProperties.backoff());
+        this.retried = Counter.builder("prices.repository.retry.requests")
+                .description("Failed query attempts by whether they were retried or the retry budget was spent")
+                .tag("result", "retried")
+                .register(meterRegistry);
+        this.retriesDenied = Counter.builder("prices.repository.retry.requests")
+                .description("Failed query attempts by whether they were retried or the retry budget was spent")
+                .tag("result", "denied")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Price> findTopApplicablePrice(PriceSearchCriteria priceSearchCriteria) {
+        var lookup = guarded(() -> target.findTopApplicablePrice(priceSearchCriteria));
+        if (lastKnownPrices == null) {
+            return lookup.onErrorMap(this::unavailable);
+        }
+        return lookup
+                .doOnNext(lastKnownPrices::remember)
+                .onErrorResume(ex -> lastKnownPrices.topApplicablePrice(priceSearchCriteria, () -> unavailable(ex)));
+    }
+
+    @Override
+    public Mono<Map<Integer, Price>> findTopApplicablePrices(List<PriceSearchCriteria> priceSearchCriteria) {
+        var lookup = guarded(() -> target.findTopApplicablePrices(priceSearchCriteria));
+        if (lastKnownPrices == null) {
+            return lookup.onErrorMap(this::unavailable);
+        }
+        return lookup
+                .doOnNext(prices -> prices.values().forEach(lastKnownPrices::remember))
+                .onErrorResume(ex -> Flux.range(0, priceSearchCriteria.size())
+                        .concatMap(i -> lastKnownPrices.topApplicablePrice(priceSearchCriteria.get(i), () -> unavailable(ex))
+                                .map(price -> Map.entry(i, price)))
+                        .collectMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    @Override
+    public Flux<Price> findPrices(Integer brandId, Integer productId) {
+        var lookup = guarded(() -> target.findPrices(brandId, productId).collectList());
+        if (lastKnownPrices == null) {
+            return lookup.onErrorMap(this::unavailable).flatMapIterable(rows -> rows);
+        }
+        return lookup
+                .doOnNext(rows -> lastKnownPrices.rememberAll(brandId, productId, rows))
+                .onErrorResume(ex -> lastKnownPrices.prices(brandId, productId, () -> unavailable(ex)))
+                .flatMapIterable(rows -> rows);
+    }
+
+    @Override
+    public Mono<PriceSegment> findApplicableSegment(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+        var lookup = guarded(() -> target.findApplicableSegment(brandId, productId, applicationDate));
+        if (lastKnownPrices == null) {
+            return lookup.onErrorMap(this::unavailable);
+        }
+        return lookup
+                .doOnNext(segment -> lastKnownPrices.remember(segment.price()))
+                .onErrorResume(ex -> lastKnownPrices.segment(brandId, productId, applicationDate, () -> unavailable(ex)));
+    }
+
+    /**
+     * A gap answered from the last known prices spans the date alone: it is not marked stale, and
+     * must not be remembered for longer by the cache in front.
+     */
+    @Override
+    public Mono<PriceSegment> findSegmentOrGap(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+        var lookup = guarded(() -> target.findSegmentOrGap(brandId, productId, applicationDate));
+        if (lastKnownPrices == null) {
+            return lookup.onErrorMap(this::unavailable);
+        }
+        return lookup
+                .doOnNext(segment -> {
+                    if (segment.priced()) {
+                        lastKnownPrices.remember(segment.price());
+                    }
+                })
+                .onErrorResume(ex -> lastKnownPrices.segment(brandId, productId, applicationDate, () -> unavailable(ex))
+                        .defaultIfEmpty(PriceSegment.gap(applicationDate, applicationDate)));
+    }
+
+    private <T> Mono<T> guarded(Supplier<Mono<T>> call) {
+        var attempt = Mono.defer(call)
+                .transformDeferred(TimeLimiterOperator.of(timeLimiter))
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+        return Mono.defer(() -> {
+            retryBudget.call();
+            return attempt.retryWhen(retry);
+        });
+    }
+
+    /**
+     * Retries transient failures with an exponential backoff while both the attempts and the budget
+     * allow it. Rejections by the circuit breaker or the bulkhead are load being shed, never retried.
+     */
+    private Retry budgetedRetry(int maxAttempts, Duration backoff) {
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            var failure = signal.failure();
+            if (signal.totalRetries() >= maxAttempts || failure instanceof CallNotPermittedException
+                    || failure instanceof BulkheadFullException || failure instanceof R2dbcNonTransientException) {
+                return Mono.error(failure);
+            }
+            if (!retryBudget.tryRetry()) {
+                retriesDenied.increment();
+                return Mono.error(failure);
+            }
+            retried.increment();
+            return Mono.delay(backoff.multipliedBy(1L << signal.totalRetries()));
+        }));
+    }
+
+    private ServiceUnavailableException unavailable(Throwable failure) {
+        var message = String.format("Circuit Breaker '%s' is open or encountered a persistent error while accessing R2DBC.", CIRCUIT_BREAKER_NAME);
+        return new ServiceUnavailableException(message, failure);
+    }
+}
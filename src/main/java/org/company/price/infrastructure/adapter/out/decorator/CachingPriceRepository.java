@@ -0,0 +1,225 @@
+package org.company.price.infrastructure.adapter.out.decorator;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.company.price.infrastructure.adapter.out.memory.PriceChangeListener;
+import org.company.price.infrastructure.adapter.out.memory.PriceChanges;
+import org.company.price.infrastructure.adapter.out.memory.PriceKey;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Validity-aware result cache keyed by brand/product.
+ * <p>
+ * Each entry holds the last effective {@link PriceSegment} resolved for its brand/product, so any
+ * point lookup whose date falls inside that segment is answered without reaching the delegate,
+ * whatever the date. A date without price is cached the same way, as the {@link PriceSegment#gap gap}
+ * between the neighbouring rows, so repeated lookups of a product between two prices do not reach
+ * the delegate either. A lookup outside the window is a miss, resolved by the bounded
+ * {@link PriceRepositoryPort#findSegmentOrGap} of the delegate, and replaces the entry.
+ * <p>
+ * Entries expire when their segment ends rather than after a fixed TTL; a segment that had already
+ * ended when it was cached can no longer change with time and is only evicted by size, and a gap
+ * without a next row never expires by time. The size bound is a memory budget, converted to
+ * entries with a conservative per-entry estimate.
+ * Range lookups ({@code applicationStart != applicationEnd}) are not cached.
+ * <p>
+ * Entries of the brand/products reported by the change feed are dropped; a lookup that was already
+ * running when they changed does not cache its possibly outdated answer. Nor is a segment of
+ * {@link Price#stale() stale} prices cached, so the source is asked again on the next lookup.
+ */
+public class CachingPriceRepository implements PriceRepositoryPort, PriceChangeListener {
+
+    /**
+     * Estimated retained size of one entry: cache node, key, segment, price and their dates.
+     */
+    static final int ENTRY_BYTES = 512;
+
+    private final PriceRepositoryPort delegate;
+    private final Cache<PriceKey, PriceSegment> cache;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter misses;
+    private final Map<RemovalCause, Counter> evictions = new EnumMap<>(RemovalCause.class);
+    private final AtomicLong changes = new AtomicLong();
+
+    public CachingPriceRepository(PriceRepositoryPort delegate, DataSize maxMemory, MeterRegistry meterRegistry) {
+        this(delegate, maxMemory, meterRegistry, Clock.systemDefaultZone(), Ticker.systemTicker());
+    }
+
+    CachingPriceRepository(PriceRepositoryPort delegate, DataSize maxMemory, MeterRegistry meterRegistry, Clock clock, Ticker ticker) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((PriceKey key, PriceSegment segment) -> ENTRY_BYTES)
+                .expireAfter(new SegmentEndExpiry())
+                .evictionListener((PriceKey key, PriceSegment segment, RemovalCause cause) -> evictions.get(cause).increment())
+                .executor(Runnable::run)
+                .ticker(ticker)
+                .build();
+
+        this.hits = Counter.builder("prices.repository.cache.requests")
+                .description("Point lookups by whether a cached segment covered the requested date")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("prices.repository.cache.requests")
+                .description("Point lookups by whether a cached segment covered the requested date")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        for (var cause : RemovalCause.values()) {
+            if (cause.wasEvicted()) {
+                evictions.put(cause, Counter.builder("prices.repository.cache.evictions")
+                        .description("Entries evicted from the price cache")
+                        .tag("cause", cause.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+        }
+        Gauge.builder("prices.repository.cache.size", cache, Cache::estimatedSize)
+                .description("Brand/product entries currently cached")
+                .register(meterRegistry);
+        Gauge.builder("prices.repository.cache.memory", cache, c -> c.policy().eviction().orElseThrow().weightedSize().orElse(0))
+                .description("Estimated memory held by the price cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Price> findTopApplicablePrice(PriceSearchCriteria priceSearchCriteria) {
+        if (!priceSearchCriteria.applicationStart().equals(priceSearchCriteria.applicationEnd())) {
+            return delegate.findTopApplicablePrice(priceSearchCriteria);
+        }
+        return findApplicableSegment(
+                priceSearchCriteria.brandId(),
+                priceSearchCriteria.productId(),
+                priceSearchCriteria.applicationStart()
+        ).map(PriceSegment::price);
+    }
+
+    @Override
+    public Mono<Map<Integer, Price>> findTopApplicablePrices(List<PriceSearchCriteria> priceSearchCriteria) {
+        return Mono.defer(() -> {
+            var found = new HashMap<Integer, Price>();
+            var missing = new ArrayList<PriceSearchCriteria>();
+            var missingPositions = new ArrayList<Integer>();
+            for (var i = 0; i < priceSearchCriteria.size(); i++) {
+                var criteria = priceSearchCriteria.get(i);
+                var segment = criteria.applicationStart().equals(criteria.applicationEnd())
+                        ? cached(criteria.brandId(), criteria.productId(), criteria.applicationStart())
+                        : null;
+                if (segment != null) {
+                    if (segment.priced()) {
+                        found.put(i, segment.price());
+                    }
+                } else {
+                    missing.add(criteria);
+                    missingPositions.add(i);
+                }
+            }
+            if (missing.isEmpty()) {
+                return Mono.just(found);
+            }
+            return delegate.findTopApplicablePrices(missing).map(prices -> {
+                prices.forEach((position, price) -> found.put(missingPositions.get(position), price));
+                return found;
+            });
+        });
+    }
+
+    @Override
+    public Flux<Price> findPrices(Integer brandId, Integer productId) {
+        return delegate.findPrices(brandId, productId);
+    }
+
+    @Override
+    public Mono<PriceSegment> findApplicableSegment(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+        return findSegmentOrGap(brandId, productId, applicationDate).filter(PriceSegment::priced);
+    }
+
+    @Override
+    public Mono<PriceSegment> findSegmentOrGap(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+        return Mono.defer(() -> {
+            var segment = cached(brandId, productId, applicationDate);
+            if (segment != null) {
+                return Mono.just(segment);
+            }
+            var observedChanges = changes.get();
+            return delegate.findSegmentOrGap(brandId, productId, applicationDate)
+                    .doOnNext(resolved -> {
+                        if (changes.get() == observedChanges && !(resolved.priced() && resolved.price().stale())) {
+                            cache.put(new PriceKey(brandId, productId), resolved);
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public void apply(PriceChanges changes) {
+        this.changes.incrementAndGet();
+        cache.invalidateAll(changes.series().keySet());
+    }
+
+    @Override
+    public Mono<Integer> reload() {
+        return Mono.fromSupplier(() -> {
+            changes.incrementAndGet();
+            cache.invalidateAll();
+            return 0;
+        });
+    }
+
+    private PriceSegment cached(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+        var segment = cache.getIfPresent(new PriceKey(brandId, productId));
+        if (segment != null && !segment.startDate().isAfter(applicationDate) && !segment.endDate().isBefore(applicationDate)) {
+            hits.increment();
+            return segment;
+        }
+        misses.increment();
+        return null;
+    }
+
+    private final class SegmentEndExpiry implements Expiry<PriceKey, PriceSegment> {
+
+        @Override
+        public long expireAfterCreate(PriceKey key, PriceSegment segment, long currentTime) {
+            // one second past the end, without overflowing the end of an unbounded gap
+            var remaining = Duration.between(LocalDateTime.now(clock), segment.endDate()).plusSeconds(1);
+            if (remaining.isNegative() || remaining.isZero()) {
+                return Long.MAX_VALUE;
+            }
+            return TimeUnit.SECONDS.toNanos(remaining.getSeconds());
+        }
+
+        @Override
+        public long expireAfterUpdate(PriceKey key, PriceSegment segment, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, segment, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(PriceKey key, PriceSegment segment, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.company.price.infrastructure.adapter.out.decorator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight layer: concurrent lookups for the same {@link PriceSearchCriteria}, or for the segment
+ * of the same brand/product at the same date, share one in-flight call to the delegate instead of
+ * issuing one query each.
+ * <p>
+ * The shared call is reference counted: it starts with the first subscriber, every subscriber
+ * receives the same value or error, and it is cancelled only once all of its subscribers have
+ * cancelled. It leaves the in-flight table as soon as it terminates, so results are never cached;
+ * a lookup that joined it while its value was being delivered still receives that value.
+ */
+public class CoalescingPriceRepository implements PriceRepositoryPort {
+
+    private final PriceRepositoryPort delegate;
+    private final Map<PriceSearchCriteria, Mono<Price>> inFlight = new ConcurrentHashMap<>();
+    private final Map<SegmentLookup, Mono<PriceSegment>> segmentsInFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public CoalescingPriceRepository(PriceRepositoryPort delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executed = Counter.builder("prices.repository.coalescing.requests")
+                .description("Lookups by whether they reached the repository or joined an identical in-flight lookup")
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("prices.repository.coalescing.requests")
+                .description("Lookups by whether they reached the repository or joined an identical in-flight lookup")
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("prices.repository.coalescing.ratio", this, CoalescingPriceRepository::coalescingRatio)
+                .description("Share of lookups served by an in-flight lookup instead of a repository call")
+                .register(meterRegistry);
+        Gauge.builder("prices.repository.coalescing.in.flight", this, repository -> repository.inFlight.size() + repository.segmentsInFlight.size())
+                .description("Distinct lookups currently in flight")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Price> findTopApplicablePrice(PriceSearchCriteria priceSearchCriteria) {
+        return coalesce(inFlight, priceSearchCriteria, () -> delegate.findTopApplicablePrice(priceSearchCriteria));
+    }
+
+    @Override
+    public Mono<Map<Integer, Price>> findTopApplicablePrices(List<PriceSearchCriteria> priceSearchCriteria) {
+        return delegate.findTopApplicablePrices(priceSearchCriteria);
+    }
+
+    @Override
+    public Flux<Price> findPrices(Integer brandId, Integer productId) {
+        return delegate.findPrices(brandId, productId);
+    }
+
+    @Override
+    public Mono<PriceSegment> findApplicableSegment(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+        return coalesce(segmentsInFlight, new SegmentLookup(brandId, productId, applicationDate, false),
+                () -> delegate.findApplicableSegment(brandId, productId, applicationDate));
+    }
+
+    @Override
+    public Mono<PriceSegment> findSegmentOrGap(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+        return coalesce(segmentsInFlight, new SegmentLookup(brandId, productId, applicationDate, true),
+                () -> delegate.findSegmentOrGap(brandId, productId, applicationDate));
+    }
+
+    private <K, V> Mono<V> coalesce(Map<K, Mono<V>> inFlight, K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> {
+            var existing = inFlight.get(key);
+            if (existing != null) {
+                coalesced.increment();
+                return existing;
+            }
+            var flight = newFlight(inFlight, key, call);
+            existing = inFlight.putIfAbsent(key, flight);
+            if (existing != null) {
+                coalesced.increment();
+                return existing;
+            }
+            executed.increment();
+            return flight;
+        });
+    }
+
+    private static <K, V> Mono<V> newFlight(Map<K, Mono<V>> inFlight, K key, Supplier<Mono<V>> call) {
+        var self = new AtomicReference<Mono<V>>();
+        var flight = Mono.defer(call)
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .share();
+        self.set(flight);
+        return flight;
+    }
+
+    private double coalescingRatio() {
+        var total = executed.count() + coalesced.count();
+        return total == 0 ? 0 : coalesced.count() / total;
+    }
+
+    private record SegmentLookup(Integer brandId, Integer productId, LocalDateTime applicationDate, boolean gaps) {}
+}
@@ -0,0 +1,105 @@
+package org.company.price.infrastructure.adapter.out.decorator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.company.price.infrastructure.adapter.out.memory.KnownPriceKeys;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Negative-lookup fast path: lookups for a brand/product that has no row at all complete empty
+ * right away, without reaching the delegate. Backed by {@link KnownPriceKeys}, whose false
+ * positives simply fall through to the delegate.
+ */
+public class KnownKeysPriceRepository implements PriceRepositoryPort {
+
+    private final PriceRepositoryPort delegate;
+    private final KnownPriceKeys knownPriceKeys;
+    private final Counter rejected;
+    private final Counter passed;
+
+    public KnownKeysPriceRepository(PriceRepositoryPort delegate, KnownPriceKeys knownPriceKeys, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.knownPriceKeys = knownPriceKeys;
+        this.rejected = Counter.builder("prices.repository.known.keys.requests")
+                .description("Lookups by whether the known-keys filter answered them or let them through")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+        this.passed = Counter.builder("prices.repository.known.keys.requests")
+                .description("Lookups by whether the known-keys filter answered them or let them through")
+                .tag("result", "passed")
+                .register(meterRegistry);
+        Gauge.builder("prices.repository.known.keys.size", knownPriceKeys, KnownPriceKeys::size)
+                .description("Brand/product pairs in the known-keys filter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Price> findTopApplicablePrice(PriceSearchCriteria priceSearchCriteria) {
+        if (!known(priceSearchCriteria.brandId(), priceSearchCriteria.productId())) {
+            return Mono.empty();
+        }
+        return delegate.findTopApplicablePrice(priceSearchCriteria);
+    }
+
+    @Override
+    public Mono<Map<Integer, Price>> findTopApplicablePrices(List<PriceSearchCriteria> priceSearchCriteria) {
+        var forwarded = new ArrayList<PriceSearchCriteria>(priceSearchCriteria.size());
+        var forwardedPositions = new ArrayList<Integer>(priceSearchCriteria.size());
+        for (var i = 0; i < priceSearchCriteria.size(); i++) {
+            var criteria = priceSearchCriteria.get(i);
+            if (known(criteria.brandId(), criteria.productId())) {
+                forwarded.add(criteria);
+                forwardedPositions.add(i);
+            }
+        }
+        if (forwarded.size() == priceSearchCriteria.size()) {
+            return delegate.findTopApplicablePrices(priceSearchCriteria);
+        }
+        if (forwarded.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return delegate.findTopApplicablePrices(forwarded).map(prices -> {
+            var found = new HashMap<Integer, Price>(prices.size() * 4 / 3 + 1);
+            prices.forEach((position, price) -> found.put(forwardedPositions.get(position), price));
+            return found;
+        });
+    }
+
+    @Override
+    public Flux<Price> findPrices(Integer brandId, Integer productId) {
+        return known(brandId, productId) ? delegate.findPrices(brandId, productId) : Flux.empty();
+    }
+
+    @Override
+    public Mono<PriceSegment> findApplicableSegment(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+        return known(brandId, productId) ? delegate.findApplicableSegment(brandId, productId, applicationDate) : Mono.empty();
+    }
+
+    @Override
+    public Mono<PriceSegment> findSegmentOrGap(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+        return known(brandId, productId)
+                ? delegate.findSegmentOrGap(brandId, productId, applicationDate)
+                : Mono.just(PriceSegment.gap(LocalDateTime.MIN, LocalDateTime.MAX));
+    }
+
+    private boolean known(Integer brandId, Integer productId) {
+        if (knownPriceKeys.mightContain(brandId, productId)) {
+            passed.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+}
@@ -0,0 +1,54 @@
+package org.company.price.infrastructure.adapter.out.decorator;
+
+import io.micrometer.core.instrument.Timer;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.company.price.infrastructure.metrics.PriceLookupMetrics;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the time of the single lookups reaching the delegate, from subscription to termination,
+ * into one {@link PriceLookupMetrics#STAGE_TIMER} stage. Batch lookups are passed through untimed.
+ */
+public class TimedPriceRepository implements PriceRepositoryPort {
+
+    private final PriceRepositoryPort delegate;
+    private final Timer timer;
+
+    public TimedPriceRepository(PriceRepositoryPort delegate, Timer timer) {
+        this.delegate = delegate;
+        this.timer = timer;
+    }
+
+    @Override
+    public Mono<Price> findTopApplicablePrice(PriceSearchCriteria priceSearchCriteria) {
+        return PriceLookupMetrics.timed(delegate.findTopApplicablePrice(priceSearchCriteria), timer);
+    }
+
+    @Override
+    public Mono<Map<Integer, Price>> findTopApplicablePrices(List<PriceSearchCriteria> priceSearchCriteria) {
+        return delegate.findTopApplicablePrices(priceSearchCriteria);
+    }
+
+    @Override
+    public Flux<Price> findPrices(Integer brandId, Integer productId) {
+        return PriceLookupMetrics.timed(delegate.findPrices(brandId, productId), timer);
+    }
+
+    @Override
+    public Mono<PriceSegment> findApplicableSegment(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+        return PriceLookupMetrics.timed(delegate.findApplicableSegment(brandId, productId, applicationDate), timer);
+    }
+
+    @Override
+    public Mono<PriceSegment> findSegmentOrGap(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+        return PriceLookupMetrics.timed(delegate.findSegmentOrGap(brandId, productId, applicationDate), timer);
+    }
+}
@@ -0,0 +1,348 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import org.company.price.domain.model.Price;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable, columnar copy of the PRICES table held in parallel primitive arrays, so the whole
+ * catalog costs a few dozen bytes per row instead of a graph of {@link Price} objects.
+ * <p>
+ * Rows are sorted by brand/product and start date. Brand and product are stored once per series
+ * (a sorted {@code long} key and the offset of its first row) rather than once per row; every row
+ * keeps its price list and priority as {@code int}, its validity as epoch seconds (UTC), its price
+ * in minor units (the table scale of 2) and a one-byte index into the currency dictionary.
+ * {@link Price} objects are only materialized for the rows a lookup returns.
+ */
+public final class ColumnarPriceCatalog implements PriceCatalog {
+
+    static final int PRICE_SCALE = 2;
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    // package-private for PriceCatalogSnapshot, which writes the columns as they are
+    final long[] keys;
+    final int[] offsets;
+    final int[] priceLists;
+    final int[] priorities;
+    final long[] starts;
+    final long[] ends;
+    final long[] prices;
+    final byte[] currencies;
+    final String[] currencyCodes;
+    final long version;
+
+    private ColumnarPriceCatalog(long[] keys, int[] offsets, int[] priceLists, int[] priorities, long[] starts,
+                                 long[] ends, long[] prices, byte[] currencies, String[] currencyCodes, long version) {
+        this.keys = keys;
+        this.offsets = offsets;
+        this.priceLists = priceLists;
+        this.priorities = priorities;
+        this.starts = starts;
+        this.ends = ends;
+        this.prices = prices;
+        this.currencies = currencies;
+        this.currencyCodes = currencyCodes;
+        this.version = version;
+    }
+
+    public static Builder builder() {
+        return new Builder(1024);
+    }
+
+    public static Builder builder(int expectedRows) {
+        return new Builder(expectedRows);
+    }
+
+    @Override
+    public Price find(int brandId, int productId, LocalDateTime applicationStart, LocalDateTime applicationEnd) {
+        var row = findRow(brandId, productId, toEpochSecond(applicationStart), toEpochSecond(applicationEnd));
+        return row < 0 ? null : materialize(brandId, productId, row);
+    }
+
+    /**
+     * Row index of the winning price, or -1. Rows of a series are sorted by start, so the scan stops
+     * at the first row starting after the requested range.
+     */
+    public int findRow(int brandId, int productId, long applicationStart, long applicationEnd) {
+        var k = Arrays.binarySearch(keys, key(brandId, productId));
+        if (k < 0) {
+            return -1;
+        }
+        var best = -1;
+        for (var row = offsets[k]; row < offsets[k + 1] && starts[row] <= applicationStart; row++) {
+            if (ends[row] >= applicationEnd && (best < 0 || precedes(best, row))) {
+                best = row;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public List<Price> prices(int brandId, int productId) {
+        var k = Arrays.binarySearch(keys, key(brandId, productId));
+        if (k < 0) {
+            return List.of();
+        }
+        var result = new ArrayList<Price>(offsets[k + 1] - offsets[k]);
+        for (var row = offsets[k]; row < offsets[k + 1]; row++) {
+            result.add(materialize(brandId, productId, row));
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return starts.length;
+    }
+
+    @Override
+    public int keyCount() {
+        return keys.length;
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Exact heap retained by the column arrays, headers included; the currency strings are shared.
+     */
+    public long footprintBytes() {
+        return array(keys.length, Long.BYTES) + array(offsets.length, Integer.BYTES)
+                + array(priceLists.length, Integer.BYTES) + array(priorities.length, Integer.BYTES)
+                + array(starts.length, Long.BYTES) + array(ends.length, Long.BYTES)
+                + array(prices.length, Long.BYTES) + array(currencies.length, Byte.BYTES)
+                + array(currencyCodes.length, Integer.BYTES);
+    }
+
+    private boolean precedes(int current, int candidate) {
+        if (priorities[candidate] != priorities[current]) {
+            return priorities[candidate] > priorities[current];
+        }
+        if (starts[candidate] != starts[current]) {
+            return starts[candidate] > starts[current];
+        }
+        return priceLists[candidate] > priceLists[current];
+    }
+
+    private Price materialize(int brandId, int productId, int row) {
+        return new Price(
+                brandId,
+                productId,
+                priceLists[row],
+                toDateTime(starts[row]),
+                toDateTime(ends[row]),
+                priorities[row],
+                BigDecimal.valueOf(prices[row], PRICE_SCALE),
+                currencyCodes[currencies[row] & 0xFF]
+        );
+    }
+
+    private static long array(int length, int elementBytes) {
+        return (ARRAY_HEADER_BYTES + (long) length * elementBytes + 7) & ~7L;
+    }
+
+    static long key(int brandId, int productId) {
+        return ((long) brandId << 32) | (productId & 0xFFFFFFFFL);
+    }
+
+    static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Accumulates rows in any order. Rows appended already sorted by brand/product and start date,
+     * as an ordered table scan returns them, are not sorted again.
+     */
+    public static final class Builder {
+
+        private long[] rowKeys;
+        private int[] priceLists;
+        private int[] priorities;
+        private long[] starts;
+        private long[] ends;
+        private long[] prices;
+        private byte[] currencies;
+        private final List<String> currencyCodes = new ArrayList<>();
+        private int size;
+        private boolean sorted = true;
+        private long version;
+
+        private Builder(int expectedRows) {
+            var capacity = Math.max(16, expectedRows);
+            rowKeys = new long[capacity];
+            priceLists = new int[capacity];
+            priorities = new int[capacity];
+            starts = new long[capacity];
+            ends = new long[capacity];
+            prices = new long[capacity];
+            currencies = new byte[capacity];
+        }
+
+        public Builder add(Price price) {
+            return add(price.brandId(), price.productId(), price.priceList(), toEpochSecond(price.startDate()),
+                    toEpochSecond(price.endDate()), price.priority(),
+                    price.price().setScale(PRICE_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact(),
+                    price.currency());
+        }
+
+        public Builder add(int brandId, int productId, int priceList, long start, long end, int priority,
+                           long priceMinorUnits, String currency) {
+            if (size == starts.length) {
+                grow();
+            }
+            var key = key(brandId, productId);
+            if (size > 0 && (key < rowKeys[size - 1] || key == rowKeys[size - 1] && start < starts[size - 1])) {
+                sorted = false;
+            }
+            rowKeys[size] = key;
+            priceLists[size] = priceList;
+            priorities[size] = priority;
+            starts[size] = start;
+            ends[size] = end;
+            prices[size] = priceMinorUnits;
+            currencies[size] = currencyCode(currency);
+            size++;
+            return this;
+        }
+
+        /**
+         * Table version the rows were read at; see {@link PriceCatalog#version()}.
+         */
+        public Builder version(long version) {
+            this.version = version;
+            return this;
+        }
+
+        public ColumnarPriceCatalog build() {
+            if (!sorted) {
+                sort();
+            }
+            trim();
+
+            var keyCount = 0;
+            for (var row = 0; row < size; row++) {
+                if (row == 0 || rowKeys[row] != rowKeys[row - 1]) {
+                    keyCount++;
+                }
+            }
+            var keys = new long[keyCount];
+            var offsets = new int[keyCount + 1];
+            var k = 0;
+            for (var row = 0; row < size; row++) {
+                if (row == 0 || rowKeys[row] != rowKeys[row - 1]) {
+                    keys[k] = rowKeys[row];
+                    offsets[k++] = row;
+                }
+            }
+            offsets[keyCount] = size;
+            rowKeys = null;
+
+            return new ColumnarPriceCatalog(keys, offsets, priceLists, priorities, starts, ends, prices,
+                    currencies, currencyCodes.toArray(String[]::new), version);
+        }
+
+        private byte currencyCode(String currency) {
+            var code = currencyCodes.indexOf(currency);
+            if (code < 0) {
+                if (currencyCodes.size() == 256) {
+                    throw new IllegalStateException("More than 256 distinct currencies");
+                }
+                currencyCodes.add(currency);
+                code = currencyCodes.size() - 1;
+            }
+            return (byte) code;
+        }
+
+        private void grow() {
+            var capacity = starts.length + (starts.length >> 1);
+            rowKeys = Arrays.copyOf(rowKeys, capacity);
+            priceLists = Arrays.copyOf(priceLists, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            currencies = Arrays.copyOf(currencies, capacity);
+        }
+
+        private void trim() {
+            if (size == starts.length) {
+                return;
+            }
+            rowKeys = Arrays.copyOf(rowKeys, size);
+            priceLists = Arrays.copyOf(priceLists, size);
+            priorities = Arrays.copyOf(priorities, size);
+            starts = Arrays.copyOf(starts, size);
+            ends = Arrays.copyOf(ends, size);
+            prices = Arrays.copyOf(prices, size);
+            currencies = Arrays.copyOf(currencies, size);
+        }
+
+        /**
+         * Bottom-up merge sort of a row permutation by (key, start), then one gather per column.
+         */
+        private void sort() {
+            var order = new int[size];
+            var buffer = new int[size];
+            for (var i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            for (var width = 1; width < size; width <<= 1) {
+                for (var lo = 0; lo < size; lo += width << 1) {
+                    var mid = Math.min(lo + width, size);
+                    var hi = Math.min(lo + (width << 1), size);
+                    var left = lo;
+                    var right = mid;
+                    for (var out = lo; out < hi; out++) {
+                        buffer[out] = right >= hi || left < mid && !before(order[right], order[left])
+                                ? order[left++]
+                                : order[right++];
+                    }
+                }
+                var swap = order;
+                order = buffer;
+                buffer = swap;
+            }
+
+            rowKeys = gather(rowKeys, order);
+            starts = gather(starts, order);
+            ends = gather(ends, order);
+            prices = gather(prices, order);
+            var sortedPriceLists = new int[size];
+            var sortedPriorities = new int[size];
+            var sortedCurrencies = new byte[size];
+            for (var i = 0; i < size; i++) {
+                sortedPriceLists[i] = priceLists[order[i]];
+                sortedPriorities[i] = priorities[order[i]];
+                sortedCurrencies[i] = currencies[order[i]];
+            }
+            priceLists = sortedPriceLists;
+            priorities = sortedPriorities;
+            currencies = sortedCurrencies;
+            sorted = true;
+        }
+
+        private boolean before(int a, int b) {
+            return rowKeys[a] != rowKeys[b] ? rowKeys[a] < rowKeys[b] : starts[a] < starts[b];
+        }
+
+        private long[] gather(long[] column, int[] order) {
+            var sortedColumn = new long[size];
+            for (var i = 0; i < size; i++) {
+                sortedColumn[i] = column[order[i]];
+            }
+            return sortedColumn;
+        }
+    }
+}
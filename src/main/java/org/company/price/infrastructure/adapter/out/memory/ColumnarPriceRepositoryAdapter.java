@@ -0,0 +1,197 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.company.price.infrastructure.adapter.out.PriceRepositorySource;
+import org.company.price.infrastructure.config.PriceRepositoryProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serves lookups from a {@link PriceCatalog}: the whole PRICES table in primitive columns. Meant for
+ * catalogs too large to hold as objects. Enabled with {@code prices.repository.type=columnar}.
+ * <p>
+ * Without a snapshot the table is loaded once at startup (after the SQL init scripts) into a heap
+ * {@link ColumnarPriceCatalog}. With {@code prices.repository.snapshot.path}, startup maps the
+ * {@link PriceCatalogSnapshot} instead; a missing, stale or corrupt snapshot falls back to the
+ * database load, after which a fresh snapshot is exported and served from.
+ * <p>
+ * The catalog itself is immutable. Series handed over by the {@link PriceChangeFeed}, and on startup
+ * the rows written since a mapped snapshot's table version, are indexed next to it and take precedence
+ * over its rows until the next {@link #reload()} folds them into a fresh catalog.
+ */
+@Slf4j
+@Component
+@PriceRepositorySource
+@DependsOnDatabaseInitialization
+@ConditionalOnProperty(name = "prices.repository.type", havingValue = "columnar")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ColumnarPriceRepositoryAdapter implements PriceRepositoryPort, PriceChangeListener {
+
+    PriceTableLoader priceTableLoader;
+    PriceRepositoryProperties.Snapshot snapshot;
+    PriceRepositoryProperties.Sync sync;
+    Clock clock;
+
+    @NonFinal
+    volatile Served served = new Served(ColumnarPriceCatalog.builder().build(), Map.of());
+
+    @Autowired
+    public ColumnarPriceRepositoryAdapter(PriceTableLoader priceTableLoader, PriceRepositoryProperties properties) {
+        this(priceTableLoader, properties.snapshot(), properties.sync(), Clock.systemUTC());
+    }
+
+    /**
+     * @param sync how far below a mapped snapshot's table version the startup catch-up re-reads row
+     *             versions, and how many it applies at a time, as the {@link PriceChangeFeed} does
+     */
+    public ColumnarPriceRepositoryAdapter(PriceTableLoader priceTableLoader, PriceRepositoryProperties.Snapshot snapshot,
+                                          PriceRepositoryProperties.Sync sync, Clock clock) {
+        this.priceTableLoader = priceTableLoader;
+        this.snapshot = snapshot;
+        this.sync = sync;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void load() {
+        var mapped = snapshot.enabled() ? openSnapshot(Path.of(snapshot.path())) : null;
+        if (mapped != null) {
+            served = new Served(mapped, Map.of());
+            log.info("Mapped {} prices from snapshot {} ({} brand/product keys, {} bytes) at version {}",
+                    mapped.size(), snapshot.path(), mapped.keyCount(), mapped.mappedBytes(), mapped.version());
+            var rows = catchUp(Math.max(0, mapped.version() - sync.versionLag()));
+            if (rows > 0) {
+                log.info("Applied {} prices written since the snapshot", rows);
+            }
+            return;
+        }
+        var rows = reload().block();
+        log.info("Loaded {} prices into the columnar catalog ({} brand/product keys)", rows, served.catalog().keyCount());
+    }
+
+    /**
+     * Applies the series of every row version above {@code after}, one page of
+     * {@code prices.repository.sync.batch-size} versions at a time. Returns the number of changed rows.
+     */
+    private int catchUp(long after) {
+        var rows = 0;
+        var from = after;
+        while (true) {
+            var versions = priceTableLoader.loadVersions(from, sync.batchSize()).block();
+            var changes = priceTableLoader.loadChanges(versions).block();
+            if (!changes.isEmpty()) {
+                apply(changes);
+                rows += changes.rows();
+            }
+            if (versions.size() < sync.batchSize()) {
+                return rows;
+            }
+            from = versions.get(versions.size() - 1);
+        }
+    }
+
+    /**
+     * Loads the table from the database and, when a snapshot is configured, exports it and serves
+     * from the mapped file so the heap copy can be collected. Series applied since the previous load
+     * are dropped, as the new catalog holds them.
+     */
+    @Override
+    public Mono<Integer> reload() {
+        return priceTableLoader.loadCatalog()
+                .publishOn(Schedulers.boundedElastic())
+                .map(loaded -> {
+                    var catalog = snapshot.enabled() && snapshot.exportOnFallback() ? export(loaded) : loaded;
+                    served = new Served(catalog, Map.of());
+                    return loaded.size();
+                });
+    }
+
+    /**
+     * Indexes the changed series next to the catalog, then swaps both in one write, so a reader sees
+     * either the previous batch or this one and never waits.
+     */
+    @Override
+    public void apply(PriceChanges changes) {
+        var current = served;
+        var changed = new HashMap<>(current.changed());
+        changes.series().forEach((key, prices) -> changed.put(key, PriceIntervalIndex.of(prices)));
+        served = new Served(current.catalog(), changed);
+    }
+
+    @Override
+    public Mono<Price> findTopApplicablePrice(PriceSearchCriteria priceSearchCriteria) {
+        var current = served;
+        var changed = current.changed().get(new PriceKey(priceSearchCriteria.brandId(), priceSearchCriteria.productId()));
+        if (changed != null) {
+            return Mono.justOrEmpty(changed.find(priceSearchCriteria.applicationStart(), priceSearchCriteria.applicationEnd()));
+        }
+        return Mono.justOrEmpty(current.catalog().find(
+                priceSearchCriteria.brandId(),
+                priceSearchCriteria.productId(),
+                priceSearchCriteria.applicationStart(),
+                priceSearchCriteria.applicationEnd()
+        ));
+    }
+
+    @Override
+    public Flux<Price> findPrices(Integer brandId, Integer productId) {
+        var current = served;
+        var changed = current.changed().get(new PriceKey(brandId, productId));
+        return Flux.fromIterable(changed != null ? changed.prices() : current.catalog().prices(brandId, productId));
+    }
+
+    private MappedPriceCatalog openSnapshot(Path path) {
+        if (!Files.exists(path)) {
+            log.info("No price snapshot at {}, loading from the database", path);
+            return null;
+        }
+        try {
+            var mapped = PriceCatalogSnapshot.open(path, snapshot.verifyChecksum());
+            var age = Duration.between(mapped.createdAt(), clock.instant());
+            if (age.compareTo(snapshot.maxAge()) > 0) {
+                log.warn("Price snapshot {} is stale ({} old), loading from the database", path, age);
+                return null;
+            }
+            return mapped;
+        } catch (IOException ex) {
+            log.warn("Price snapshot {} is unusable, loading from the database: {}", path, ex.getMessage());
+            return null;
+        }
+    }
+
+    private PriceCatalog export(ColumnarPriceCatalog loaded) {
+        var path = Path.of(snapshot.path());
+        try {
+            PriceCatalogSnapshot.write(loaded, path, clock);
+            return PriceCatalogSnapshot.open(path, false);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not export the price snapshot to {}, serving from the heap: {}", path, ex.getMessage());
+            return loaded;
+        }
+    }
+
+    /**
+     * The catalog and the series changed since it was read, swapped together.
+     */
+    private record Served(PriceCatalog catalog, Map<PriceKey, PriceIntervalIndex> changed) {}
+}
@@ -0,0 +1,102 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.company.price.infrastructure.config.PriceRepositoryProperties;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Brand/product pairs present in the PRICES table, held as a {@link PriceKeyBloomFilter} so that
+ * lookups for unknown products can be answered without touching the repository.
+ * Loaded at startup and rebuilt every {@code prices.repository.known-keys.refresh-interval}; brand/products
+ * added in between are let through as soon as the {@link PriceChangeFeed} reports them.
+ * <p>
+ * Keys applied while a reload reads the table are recorded for that reload and folded into the
+ * filter it builds, so that its swap does not drop them.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class KnownPriceKeys implements PriceChangeListener {
+
+    PriceTableLoader priceTableLoader;
+    PriceRepositoryProperties.KnownKeys settings;
+
+    AtomicReference<PriceKeyBloomFilter> filter = new AtomicReference<>();
+
+    /**
+     * Keys applied during each reload in progress.
+     */
+    Set<Set<PriceKey>> appliedDuringReloads = ConcurrentHashMap.newKeySet();
+
+    @NonFinal
+    Disposable refresh;
+
+    @PostConstruct
+    public void load() {
+        var keys = reload().block();
+        log.info("Loaded {} known brand/product keys", keys);
+        var interval = settings.refreshInterval();
+        refresh = Flux.interval(interval, interval)
+                .concatMap(tick -> reload().onErrorResume(e -> {
+                    log.warn("Could not refresh the known brand/product keys, keeping the previous ones", e);
+                    return Mono.empty();
+                }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresh != null) {
+            refresh.dispose();
+        }
+    }
+
+    @Override
+    public Mono<Integer> reload() {
+        return Mono.defer(() -> {
+            Set<PriceKey> applied = ConcurrentHashMap.newKeySet();
+            appliedDuringReloads.add(applied);
+            return priceTableLoader.loadKeys()
+                    .collectList()
+                    .map(keys -> {
+                        var loaded = PriceKeyBloomFilter.of(keys, settings.falsePositiveRate());
+                        // retried when an apply swaps in between, with the keys it recorded first
+                        filter.updateAndGet(current -> applied.isEmpty() ? loaded : loaded.with(applied));
+                        return keys.size();
+                    })
+                    .doFinally(signal -> appliedDuringReloads.remove(applied));
+        });
+    }
+
+    @Override
+    public void apply(PriceChanges changes) {
+        var keys = changes.series().keySet();
+        appliedDuringReloads.forEach(applied -> applied.addAll(keys));
+        filter.updateAndGet(current -> current == null ? null : current.with(keys));
+    }
+
+    /**
+     * False only when the brand/product has no row at all; true until the filter is first loaded.
+     */
+    public boolean mightContain(int brandId, int productId) {
+        var current = filter.get();
+        return current == null || current.mightContain(brandId, productId);
+    }
+
+    public int size() {
+        var current = filter.get();
+        return current == null ? 0 : current.size();
+    }
+}
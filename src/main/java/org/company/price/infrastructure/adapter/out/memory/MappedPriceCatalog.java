@@ -0,0 +1,147 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import org.company.price.domain.model.Price;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.company.price.infrastructure.adapter.out.memory.ColumnarPriceCatalog.PRICE_SCALE;
+import static org.company.price.infrastructure.adapter.out.memory.ColumnarPriceCatalog.key;
+import static org.company.price.infrastructure.adapter.out.memory.ColumnarPriceCatalog.toDateTime;
+import static org.company.price.infrastructure.adapter.out.memory.ColumnarPriceCatalog.toEpochSecond;
+
+/**
+ * {@link ColumnarPriceCatalog} layout served straight from a memory-mapped {@link PriceCatalogSnapshot}:
+ * the same columns and lookups, read with absolute gets on read-only buffers instead of heap arrays.
+ */
+public final class MappedPriceCatalog implements PriceCatalog {
+
+    private final LongBuffer keys;
+    private final IntBuffer offsets;
+    private final IntBuffer priceLists;
+    private final IntBuffer priorities;
+    private final LongBuffer starts;
+    private final LongBuffer ends;
+    private final LongBuffer prices;
+    private final ByteBuffer currencies;
+    private final String[] currencyCodes;
+    private final Instant createdAt;
+    private final long version;
+    private final long mappedBytes;
+
+    MappedPriceCatalog(LongBuffer keys, IntBuffer offsets, IntBuffer priceLists, IntBuffer priorities, LongBuffer starts,
+                       LongBuffer ends, LongBuffer prices, ByteBuffer currencies, String[] currencyCodes,
+                       long createdAtMillis, long version, long mappedBytes) {
+        this.keys = keys;
+        this.offsets = offsets;
+        this.priceLists = priceLists;
+        this.priorities = priorities;
+        this.starts = starts;
+        this.ends = ends;
+        this.prices = prices;
+        this.currencies = currencies;
+        this.currencyCodes = currencyCodes;
+        this.createdAt = Instant.ofEpochMilli(createdAtMillis);
+        this.version = version;
+        this.mappedBytes = mappedBytes;
+    }
+
+    @Override
+    public Price find(int brandId, int productId, LocalDateTime applicationStart, LocalDateTime applicationEnd) {
+        var k = indexOf(key(brandId, productId));
+        if (k < 0) {
+            return null;
+        }
+        var start = toEpochSecond(applicationStart);
+        var end = toEpochSecond(applicationEnd);
+        var best = -1;
+        for (var row = offsets.get(k); row < offsets.get(k + 1) && starts.get(row) <= start; row++) {
+            if (ends.get(row) >= end && (best < 0 || precedes(best, row))) {
+                best = row;
+            }
+        }
+        return best < 0 ? null : materialize(brandId, productId, best);
+    }
+
+    @Override
+    public List<Price> prices(int brandId, int productId) {
+        var k = indexOf(key(brandId, productId));
+        if (k < 0) {
+            return List.of();
+        }
+        var result = new ArrayList<Price>(offsets.get(k + 1) - offsets.get(k));
+        for (var row = offsets.get(k); row < offsets.get(k + 1); row++) {
+            result.add(materialize(brandId, productId, row));
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return starts.capacity();
+    }
+
+    @Override
+    public int keyCount() {
+        return keys.capacity();
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    public long mappedBytes() {
+        return mappedBytes;
+    }
+
+    private int indexOf(long key) {
+        var low = 0;
+        var high = keys.capacity() - 1;
+        while (low <= high) {
+            var mid = (low + high) >>> 1;
+            var candidate = keys.get(mid);
+            if (candidate < key) {
+                low = mid + 1;
+            } else if (candidate > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private boolean precedes(int current, int candidate) {
+        if (priorities.get(candidate) != priorities.get(current)) {
+            return priorities.get(candidate) > priorities.get(current);
+        }
+        if (starts.get(candidate) != starts.get(current)) {
+            return starts.get(candidate) > starts.get(current);
+        }
+        return priceLists.get(candidate) > priceLists.get(current);
+    }
+
+    private Price materialize(int brandId, int productId, int row) {
+        return new Price(
+                brandId,
+                productId,
+                priceLists.get(row),
+                toDateTime(starts.get(row)),
+                toDateTime(ends.get(row)),
+                priorities.get(row),
+                BigDecimal.valueOf(prices.get(row), PRICE_SCALE),
+                currencyCodes[currencies.get(row) & 0xFF]
+        );
+    }
+}
@@ -0,0 +1,31 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import org.company.price.domain.model.Price;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only view of the whole PRICES table, grouped by brand/product, as served by the columnar
+ * source: either the heap {@link ColumnarPriceCatalog} or a memory-mapped {@link PriceCatalogSnapshot}.
+ */
+public interface PriceCatalog {
+
+    /**
+     * Returns the price with the highest {@link Price#PRECEDENCE} among those of the brand/product whose
+     * validity covers the whole [applicationStart, applicationEnd] range, or null when none does.
+     */
+    Price find(int brandId, int productId, LocalDateTime applicationStart, LocalDateTime applicationEnd);
+
+    List<Price> prices(int brandId, int productId);
+
+    int size();
+
+    int keyCount();
+
+    /**
+     * Highest row version of the table when the catalog was read, or 0 when unknown: changes above it
+     * may be missing from the catalog.
+     */
+    long version();
+}
@@ -0,0 +1,263 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.zip.CRC32C;
+
+/**
+ * Versioned binary snapshot of a {@link ColumnarPriceCatalog}, read back through {@link FileChannel#map}
+ * so lookups run directly against the page cache and instances on the same host share the pages.
+ * <p>
+ * Layout, little-endian, every section 8-byte aligned:
+ * <pre>
+ * header (64 bytes)  magic, format version, created-at millis, row/key/currency counts, body length, CRC32C of the body,
+ *                    table version of the catalog
+ * currencies         one 8-byte slot per code: length byte, then up to 7 ASCII bytes
+ * long columns       keys[keys], starts[rows], ends[rows], prices[rows]
+ * int columns        offsets[keys + 1], priceLists[rows], priorities[rows], padded to 8
+ * byte column        currencies[rows], padded to 8
+ * </pre>
+ * A snapshot with another magic, another format version, a length that does not match its counts or,
+ * when verified, a body that does not match its checksum is rejected with an {@link IOException}.
+ */
+@UtilityClass
+public final class PriceCatalogSnapshot {
+
+    static final int MAGIC = 0x50534E50;
+    static final int FORMAT_VERSION = 2;
+    static final int HEADER_BYTES = 64;
+    private static final int CURRENCY_SLOT_BYTES = 8;
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+    private static final long CHECKSUM_CHUNK_BYTES = 1L << 30;
+
+    /**
+     * Writes the catalog to a temporary file next to {@code target}, then atomically replaces {@code target},
+     * so readers only ever see a complete snapshot. Memory use is one fixed write buffer.
+     */
+    public static void write(ColumnarPriceCatalog catalog, Path target, Clock clock) throws IOException {
+        var directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        var temporary = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            try (var channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                var writer = new ColumnWriter(channel);
+                for (var currency : catalog.currencyCodes) {
+                    var bytes = currency.getBytes(StandardCharsets.US_ASCII);
+                    if (bytes.length >= CURRENCY_SLOT_BYTES) {
+                        throw new IllegalArgumentException("Currency code too long for the snapshot: " + currency);
+                    }
+                    writer.ensure(CURRENCY_SLOT_BYTES).put((byte) bytes.length).put(bytes).put(new byte[CURRENCY_SLOT_BYTES - 1 - bytes.length]);
+                }
+                writer.longs(catalog.keys);
+                writer.longs(catalog.starts);
+                writer.longs(catalog.ends);
+                writer.longs(catalog.prices);
+                writer.ints(catalog.offsets);
+                writer.ints(catalog.priceLists);
+                writer.ints(catalog.priorities);
+                writer.ints(new int[padding(intColumnsBytes(catalog.size(), catalog.keyCount())) / Integer.BYTES]);
+                writer.bytes(catalog.currencies);
+                writer.bytes(new byte[padding(catalog.size())]);
+                writer.flush();
+
+                var header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                        .putInt(MAGIC)
+                        .putInt(FORMAT_VERSION)
+                        .putLong(clock.millis())
+                        .putInt(catalog.size())
+                        .putInt(catalog.keyCount())
+                        .putInt(catalog.currencyCodes.length)
+                        .putInt(0)
+                        .putLong(writer.written)
+                        .putLong(writer.checksum.getValue())
+                        .putLong(catalog.version)
+                        .position(HEADER_BYTES)
+                        .flip();
+                channel.write(header, 0);
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Validates and maps the snapshot. The mappings outlive the channel, which is closed on return.
+     *
+     * @param verifyChecksum whether to checksum the whole body, which reads every page of the file once
+     */
+    public static MappedPriceCatalog open(Path source, boolean verifyChecksum) throws IOException {
+        try (var channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Price snapshot " + source + " is truncated: " + channel.size() + " bytes");
+            }
+            var header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("File " + source + " is not a price snapshot");
+            }
+            var formatVersion = header.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Price snapshot " + source + " has format version " + formatVersion
+                        + ", expected " + FORMAT_VERSION);
+            }
+            var createdAt = header.getLong();
+            var rows = header.getInt();
+            var keys = header.getInt();
+            var currencyCount = header.getInt();
+            header.getInt();
+            var bodyLength = header.getLong();
+            var checksum = header.getLong();
+            var version = header.getLong();
+
+            if (rows < 0 || keys < 0 || currencyCount < 0 || currencyCount > 256
+                    || bodyLength != bodyBytes(rows, keys, currencyCount) || channel.size() != HEADER_BYTES + bodyLength) {
+                throw new IOException("Price snapshot " + source + " is truncated or inconsistent: "
+                        + channel.size() + " bytes for " + rows + " rows and " + keys + " keys");
+            }
+            if (verifyChecksum && checksum(channel, bodyLength) != checksum) {
+                throw new IOException("Price snapshot " + source + " failed checksum validation");
+            }
+
+            var reader = new ColumnReader(channel);
+            var currencyCodes = new String[currencyCount];
+            var dictionary = reader.bytes((long) currencyCount * CURRENCY_SLOT_BYTES);
+            for (var i = 0; i < currencyCount; i++) {
+                var slot = new byte[CURRENCY_SLOT_BYTES];
+                dictionary.get(slot);
+                currencyCodes[i] = new String(slot, 1, slot[0], StandardCharsets.US_ASCII);
+            }
+            var keyColumn = reader.longs(keys);
+            var starts = reader.longs(rows);
+            var ends = reader.longs(rows);
+            var prices = reader.longs(rows);
+            var offsets = reader.ints(keys + 1);
+            var priceLists = reader.ints(rows);
+            var priorities = reader.ints(rows);
+            reader.skip(padding(intColumnsBytes(rows, keys)));
+            var currencies = reader.bytes(rows);
+
+            return new MappedPriceCatalog(keyColumn, offsets, priceLists, priorities, starts, ends, prices,
+                    currencies, currencyCodes, createdAt, version, channel.size());
+        }
+    }
+
+    static long bodyBytes(int rows, int keys, int currencyCount) {
+        var intColumns = intColumnsBytes(rows, keys);
+        return (long) currencyCount * CURRENCY_SLOT_BYTES
+                + ((long) keys + 3L * rows) * Long.BYTES
+                + intColumns + padding(intColumns)
+                + rows + padding(rows);
+    }
+
+    private static long intColumnsBytes(int rows, int keys) {
+        return ((long) keys + 1 + 2L * rows) * Integer.BYTES;
+    }
+
+    private static int padding(long bytes) {
+        return (int) (-bytes & 7);
+    }
+
+    private static long checksum(FileChannel channel, long bodyLength) throws IOException {
+        var crc = new CRC32C();
+        for (var position = 0L; position < bodyLength; position += CHECKSUM_CHUNK_BYTES) {
+            var length = Math.min(CHECKSUM_CHUNK_BYTES, bodyLength - position);
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + position, length));
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Sequential writer of the body through one reusable buffer, checksumming what it writes.
+     */
+    private static final class ColumnWriter {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32C checksum = new CRC32C();
+        private long written;
+
+        private ColumnWriter(FileChannel channel) throws IOException {
+            this.channel = channel;
+            channel.position(HEADER_BYTES);
+        }
+
+        private ByteBuffer ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+            return buffer;
+        }
+
+        private void longs(long[] column) throws IOException {
+            for (var value : column) {
+                ensure(Long.BYTES).putLong(value);
+            }
+        }
+
+        private void ints(int[] column) throws IOException {
+            for (var value : column) {
+                ensure(Integer.BYTES).putInt(value);
+            }
+        }
+
+        private void bytes(byte[] column) throws IOException {
+            for (var value : column) {
+                ensure(Byte.BYTES).put(value);
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            checksum.update(buffer.duplicate());
+            written += buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Maps the body section by section; each column is its own mapping, so a column may reach 2 GB.
+     */
+    private static final class ColumnReader {
+
+        private final FileChannel channel;
+        private long position = HEADER_BYTES;
+
+        private ColumnReader(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private ByteBuffer bytes(long length) throws IOException {
+            var mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, length).order(ByteOrder.LITTLE_ENDIAN);
+            position += length;
+            return mapped;
+        }
+
+        private LongBuffer longs(int count) throws IOException {
+            return bytes((long) count * Long.BYTES).asLongBuffer();
+        }
+
+        private IntBuffer ints(int count) throws IOException {
+            return bytes((long) count * Integer.BYTES).asIntBuffer();
+        }
+
+        private void skip(long length) {
+            position += length;
+        }
+    }
+}
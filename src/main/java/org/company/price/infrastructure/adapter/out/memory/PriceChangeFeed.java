@@ -0,0 +1,237 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.company.price.infrastructure.config.PriceRepositoryProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Incremental sync of the PRICES table into the registered {@link PriceChangeListener}s.
+ * <p>
+ * Every insert and update of a row takes the next value of {@code prices_version_seq}. The feed keeps
+ * the highest version already applied as its watermark and polls every
+ * {@code prices.repository.sync.poll-interval} for the series with a newer row, which the listeners
+ * swap in atomically. The watermark is read when the feed is created, before the repository sources
+ * load the table, so no change can fall between the full load and the first poll; a change read twice
+ * is harmless because whole series are replaced.
+ * <p>
+ * A version is drawn when the row is written, not when its transaction commits, so a transaction can
+ * commit a version below one already applied. Each poll therefore lists the versions above
+ * {@code watermark - prices.repository.sync.version-lag} and applies the series of those it has not
+ * applied yet; the versions applied within that window are remembered. A poll reads at most
+ * {@code prices.repository.sync.batch-size} versions beyond the window, so that a bulk write or a
+ * lagging replica is caught up one bounded page per poll rather than in one statement. A row whose transaction trails
+ * the watermark by more than the lag is only picked up by the next {@link #resync()}.
+ * <p>
+ * Deleted rows leave nothing to carry a version and are not propagated: prices are retired by moving
+ * their end date, which is an update.
+ */
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PriceChangeFeed {
+
+    PriceTableLoader priceTableLoader;
+    PriceRepositoryProperties.Sync settings;
+    Clock clock;
+    List<PriceChangeListener> listeners = new CopyOnWriteArrayList<>();
+    NavigableSet<Long> applied = new ConcurrentSkipListSet<>();
+    Counter rows;
+    Timer polls;
+
+    @NonFinal
+    volatile long watermark;
+
+    @NonFinal
+    volatile long lastSyncMillis;
+
+    @NonFinal
+    volatile double rowsPerSecond;
+
+    @NonFinal
+    volatile boolean paused;
+
+    @NonFinal
+    Disposable poller;
+
+    public PriceChangeFeed(PriceTableLoader priceTableLoader, PriceRepositoryProperties.Sync settings, MeterRegistry meterRegistry) {
+        this(priceTableLoader, settings, meterRegistry, Clock.systemUTC());
+    }
+
+    PriceChangeFeed(PriceTableLoader priceTableLoader, PriceRepositoryProperties.Sync settings, MeterRegistry meterRegistry, Clock clock) {
+        this.priceTableLoader = priceTableLoader;
+        this.settings = settings;
+        this.clock = clock;
+        this.rows = Counter.builder("prices.repository.sync.rows")
+                .description("Changed rows applied by the change feed")
+                .register(meterRegistry);
+        this.polls = Timer.builder("prices.repository.sync.duration")
+                .description("Change feed polls, query and apply")
+                .register(meterRegistry);
+        Gauge.builder("prices.repository.sync.throughput", this, feed -> feed.rowsPerSecond)
+                .description("Changed rows per second of the last non-empty poll")
+                .baseUnit("rows")
+                .register(meterRegistry);
+        Gauge.builder("prices.repository.sync.version", this, feed -> feed.watermark)
+                .description("Highest row version applied")
+                .register(meterRegistry);
+        TimeGauge.builder("prices.repository.sync.lag", this, TimeUnit.MILLISECONDS, PriceChangeFeed::lagMillis)
+                .description("Time since the in-memory view was last known to match the table")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        watermark = priceTableLoader.loadVersion().block();
+        resetApplied(priceTableLoader.loadVersions(windowStart(), settings.versionLag()).block());
+        lastSyncMillis = clock.millis();
+        log.info("Price change feed starts at version {}", watermark);
+    }
+
+    /**
+     * Polling starts once the application is ready, so every listener is registered by then.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        var interval = settings.pollInterval();
+        poller = Flux.interval(interval, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> poll().onErrorResume(e -> {
+                    log.warn("Price change feed poll failed, retrying from version {}", watermark, e);
+                    return Mono.empty();
+                }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (poller != null) {
+            poller.dispose();
+        }
+    }
+
+    public void register(PriceChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Stops applying changes until {@link #resync()}, for bulk writes whose batches would otherwise
+     * be applied one poll at a time.
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    /**
+     * Reloads every listener from the table once, moves the watermark past everything they loaded
+     * and resumes polling. Emits the new watermark.
+     */
+    public Mono<Long> resync() {
+        return priceTableLoader.loadVersion()
+                .zipWhen(version -> priceTableLoader.loadVersions(Math.max(0, version - settings.versionLag()), settings.versionLag()))
+                .flatMap(loaded -> Flux.fromIterable(listeners)
+                        .concatMap(PriceChangeListener::reload)
+                        .then(Mono.fromSupplier(() -> {
+                            var version = loaded.getT1();
+                            watermark = version;
+                            resetApplied(loaded.getT2());
+                            lastSyncMillis = clock.millis();
+                            paused = false;
+                            log.info("Price change feed resynced at version {}", version);
+                            return version;
+                        })));
+    }
+
+    /**
+     * Pulls the series with a version not applied yet, from the lag window below the watermark up to
+     * one page of new versions, hands them to every listener and advances the watermark to the end of
+     * that page. Emits the number of changed rows.
+     */
+    public Mono<Integer> poll() {
+        return Mono.defer(() -> {
+            if (paused) {
+                return Mono.just(0);
+            }
+            var startedAt = System.nanoTime();
+            // the window holds at most version-lag versions, so the page reaches batch-size past it
+            var page = settings.versionLag() + settings.batchSize();
+            return priceTableLoader.loadVersions(windowStart(), page).flatMap(versions -> {
+                var pending = pending(versions);
+                return priceTableLoader.loadChanges(pending).map(changes -> {
+                    if (!changes.isEmpty()) {
+                        listeners.forEach(listener -> listener.apply(changes));
+                        applied.addAll(pending);
+                        watermark = Math.max(watermark, changes.version());
+                        applied.headSet(windowStart(), true).clear();
+                        rows.increment(changes.rows());
+                        var elapsed = System.nanoTime() - startedAt;
+                        rowsPerSecond = changes.rows() * 1e9 / Math.max(1, elapsed);
+                        log.debug("Applied {} changed prices ({} brand/product keys) up to version {}",
+                                changes.rows(), changes.series().size(), changes.version());
+                    }
+                    lastSyncMillis = clock.millis();
+                    polls.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    return changes.rows();
+                });
+            });
+        });
+    }
+
+    public long watermark() {
+        return watermark;
+    }
+
+    /**
+     * Versions at or below this one are not re-read: they are either applied or lost to the lag.
+     */
+    private long windowStart() {
+        return Math.max(0, watermark - settings.versionLag());
+    }
+
+    /**
+     * The versions not applied yet: those left behind in the window, then at most batch-size new ones.
+     */
+    private List<Long> pending(List<Long> versions) {
+        var pending = new ArrayList<Long>();
+        var fresh = 0;
+        for (var version : versions) {
+            if (applied.contains(version)) {
+                continue;
+            }
+            if (version > watermark && ++fresh > settings.batchSize()) {
+                break;
+            }
+            pending.add(version);
+        }
+        return pending;
+    }
+
+    private void resetApplied(List<Long> versions) {
+        applied.clear();
+        applied.addAll(versions);
+    }
+
+    private double lagMillis() {
+        return clock.millis() - lastSyncMillis;
+    }
+}
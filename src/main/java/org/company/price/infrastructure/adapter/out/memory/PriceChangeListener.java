@@ -0,0 +1,21 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory view of the PRICES table kept current by the {@link PriceChangeFeed}.
+ */
+public interface PriceChangeListener {
+
+    /**
+     * Replaces whatever is held for the brand/products of the batch with their current rows. Called
+     * from the feed's poller thread, one batch at a time, and never with an empty batch.
+     */
+    void apply(PriceChanges changes);
+
+    /**
+     * Rebuilds the whole view from the table, after changes too large to apply series by series.
+     * Emits the number of rows or keys now held.
+     */
+    Mono<Integer> reload();
+}
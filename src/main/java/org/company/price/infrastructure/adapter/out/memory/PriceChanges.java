@@ -0,0 +1,20 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import org.company.price.domain.model.Price;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One batch of the PRICES change feed.
+ *
+ * @param series  every current row of each brand/product with at least one changed row
+ * @param version highest row version of the batch
+ * @param rows    row versions of the batch, each an insert or update not applied before
+ */
+public record PriceChanges(Map<PriceKey, List<Price>> series, long version, int rows) {
+
+    public boolean isEmpty() {
+        return rows == 0;
+    }
+}
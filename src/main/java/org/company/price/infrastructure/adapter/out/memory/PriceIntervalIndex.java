@@ -0,0 +1,96 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import org.company.price.domain.model.Price;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable interval tree over the prices of a single brand/product.
+ * <p>
+ * Rows are sorted by start date and laid out as an implicit balanced tree (the middle of every
+ * range is its root). Each node keeps the maximum end date of its subtree, so a lookup only
+ * descends into subtrees that can still cover the requested instant: O(log n + k), where k is the
+ * number of rows actually covering it. Dates are compared as epoch seconds (UTC).
+ */
+public final class PriceIntervalIndex {
+
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+    private final Price[] prices;
+
+    private PriceIntervalIndex(Price[] prices) {
+        this.prices = prices;
+        this.starts = new long[prices.length];
+        this.ends = new long[prices.length];
+        this.maxEnds = new long[prices.length];
+        for (var i = 0; i < prices.length; i++) {
+            starts[i] = toEpochSecond(prices[i].startDate());
+            ends[i] = toEpochSecond(prices[i].endDate());
+        }
+        augment(0, prices.length);
+    }
+
+    public static PriceIntervalIndex of(Collection<Price> prices) {
+        var sorted = prices.stream()
+                .sorted(Comparator.comparing(Price::startDate))
+                .toArray(Price[]::new);
+        return new PriceIntervalIndex(sorted);
+    }
+
+    /**
+     * Returns the price with the highest {@link Price#PRECEDENCE} among those whose validity
+     * covers the whole [applicationStart, applicationEnd] range, or null when none does.
+     */
+    public Price find(LocalDateTime applicationStart, LocalDateTime applicationEnd) {
+        return find(toEpochSecond(applicationStart), toEpochSecond(applicationEnd));
+    }
+
+    public Price find(long applicationStart, long applicationEnd) {
+        return find(0, prices.length, applicationStart, applicationEnd, null);
+    }
+
+    public List<Price> prices() {
+        return List.of(prices);
+    }
+
+    public int size() {
+        return prices.length;
+    }
+
+    private Price find(int lo, int hi, long applicationStart, long applicationEnd, Price best) {
+        while (lo < hi) {
+            var mid = (lo + hi) >>> 1;
+            if (maxEnds[mid] < applicationEnd) {
+                return best;
+            }
+            best = find(lo, mid, applicationStart, applicationEnd, best);
+            if (starts[mid] > applicationStart) {
+                return best;
+            }
+            if (ends[mid] >= applicationEnd && (best == null || Price.PRECEDENCE.compare(prices[mid], best) > 0)) {
+                best = prices[mid];
+            }
+            lo = mid + 1;
+        }
+        return best;
+    }
+
+    private long augment(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        var mid = (lo + hi) >>> 1;
+        var max = Math.max(ends[mid], Math.max(augment(lo, mid), augment(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
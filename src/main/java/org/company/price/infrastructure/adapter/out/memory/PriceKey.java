@@ -0,0 +1,13 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import org.company.price.domain.model.Price;
+
+/**
+ * Identity of a price series: every row of the PRICES table sharing brand and product.
+ */
+public record PriceKey(int brandId, int productId) {
+
+    public static PriceKey of(Price price) {
+        return new PriceKey(price.brandId(), price.productId());
+    }
+}
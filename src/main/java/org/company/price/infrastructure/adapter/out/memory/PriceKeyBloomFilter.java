@@ -0,0 +1,89 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import java.util.Collection;
+
+/**
+ * Immutable Bloom filter over brand/product pairs. {@link #mightContain} never answers false for a
+ * key it was built with; for other keys it answers true with roughly the configured probability.
+ * <p>
+ * Probes use double hashing over one 64-bit mix of the pair, so a lookup allocates nothing.
+ */
+public final class PriceKeyBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashes;
+    private final int keys;
+
+    private PriceKeyBloomFilter(int bitCount, int hashes, int keys) {
+        this.bits = new long[(bitCount + 63) >>> 6];
+        this.bitCount = bitCount;
+        this.hashes = hashes;
+        this.keys = keys;
+    }
+
+    public static PriceKeyBloomFilter of(Collection<PriceKey> keys, double falsePositiveRate) {
+        var n = Math.max(1, keys.size());
+        var bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2))));
+        var hashes = Math.max(1, (int) Math.round((double) bitCount / n * LN2));
+        var filter = new PriceKeyBloomFilter(bitCount, hashes, keys.size());
+        for (var key : keys) {
+            filter.put(key.brandId(), key.productId());
+        }
+        return filter;
+    }
+
+    /**
+     * Copy of this filter with the given keys added, same size and hash count; the false-positive
+     * rate drifts up as keys are added beyond the count it was sized for.
+     */
+    public PriceKeyBloomFilter with(Collection<PriceKey> added) {
+        var newKeys = (int) added.stream().filter(key -> !mightContain(key.brandId(), key.productId())).count();
+        var copy = new PriceKeyBloomFilter(bitCount, hashes, keys + newKeys);
+        System.arraycopy(bits, 0, copy.bits, 0, bits.length);
+        for (var key : added) {
+            copy.put(key.brandId(), key.productId());
+        }
+        return copy;
+    }
+
+    public boolean mightContain(int brandId, int productId) {
+        var hash = mix(brandId, productId);
+        var h1 = (int) hash;
+        var h2 = (int) (hash >>> 32);
+        for (var i = 1; i <= hashes; i++) {
+            var bit = index(h1 + i * h2);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return keys;
+    }
+
+    private void put(int brandId, int productId) {
+        var hash = mix(brandId, productId);
+        var h1 = (int) hash;
+        var h2 = (int) (hash >>> 32);
+        for (var i = 1; i <= hashes; i++) {
+            var bit = index(h1 + i * h2);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private int index(int combined) {
+        return (combined < 0 ? ~combined : combined) % bitCount;
+    }
+
+    private static long mix(int brandId, int productId) {
+        var z = ((long) brandId << 32) | (productId & 0xFFFFFFFFL);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
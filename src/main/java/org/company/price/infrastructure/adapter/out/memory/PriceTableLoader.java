@@ -0,0 +1,130 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.company.price.domain.model.Price;
+import org.company.price.infrastructure.mapper.rd2.PriceEntityMapper;
+import org.company.price.infrastructure.repository.entity.PriceEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the PRICES table, grouped by brand/product, to build the in-memory lookup structures.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PriceTableLoader {
+
+    private static final String CHANGES_QUERY = """
+            SELECT brand_id, product_id, price_list, start_date, end_date, priority, price, curr
+            FROM prices
+            WHERE (brand_id, product_id) IN (SELECT brand_id, product_id FROM prices WHERE version IN (:versions))
+            """;
+
+    R2dbcEntityTemplate template;
+    PriceEntityMapper priceEntityMapper;
+
+    public Mono<Map<PriceKey, List<Price>>> loadAll() {
+        return template.select(PriceEntity.class)
+                .all()
+                .map(priceEntityMapper::toPrice)
+                .collect(Collectors.groupingBy(PriceKey::of));
+    }
+
+    /**
+     * Streams the table in (brand, product, start) order straight into a {@link ColumnarPriceCatalog},
+     * without holding the rows as objects. The catalog carries the table version read just before.
+     */
+    public Mono<ColumnarPriceCatalog> loadCatalog() {
+        var ordered = Query.empty().sort(Sort.by("brand_id", "product_id", "start_date"));
+        return loadVersion().flatMap(version -> template.select(ordered, PriceEntity.class)
+                .map(priceEntityMapper::toPrice)
+                .collect(ColumnarPriceCatalog::builder, ColumnarPriceCatalog.Builder::add)
+                .map(builder -> builder.version(version).build()));
+    }
+
+    /**
+     * Highest row version in the table, or 0 when it is empty.
+     */
+    public Mono<Long> loadVersion() {
+        return template.getDatabaseClient()
+                .sql("SELECT COALESCE(MAX(version), 0) AS version FROM prices")
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    /**
+     * The lowest {@code limit} versions of the rows inserted or updated after {@code after}, in order,
+     * read from the version index alone. Callers page through a larger backlog from the last one.
+     * <p>
+     * Versions are drawn from {@code prices_version_seq} when a row is written, not when its transaction
+     * commits, so a version can become visible after higher ones: callers re-read a window below their
+     * watermark and skip the versions they have already applied.
+     */
+    public Mono<List<Long>> loadVersions(long after, long limit) {
+        return template.getDatabaseClient()
+                .sql("SELECT version FROM prices WHERE version > :after ORDER BY version LIMIT :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(row -> row.get("version", Long.class))
+                .all()
+                .collectList();
+    }
+
+    /**
+     * Every row of the brand/products with a row of one of {@code versions}, in one round trip over the
+     * version and series indexes. Whole series are returned, rather than the changed rows alone,
+     * because rows carry no identity the in-memory structures could replace. A version that has been
+     * updated away since it was listed simply matches nothing; its row carries a newer version.
+     */
+    public Mono<PriceChanges> loadChanges(Collection<Long> versions) {
+        if (versions.isEmpty()) {
+            return Mono.just(new PriceChanges(Map.of(), 0, 0));
+        }
+        return template.getDatabaseClient()
+                .sql(CHANGES_QUERY)
+                .bind("versions", versions)
+                .map(row -> new Price(
+                        row.get("brand_id", Integer.class),
+                        row.get("product_id", Integer.class),
+                        row.get("price_list", Integer.class),
+                        row.get("start_date", LocalDateTime.class),
+                        row.get("end_date", LocalDateTime.class),
+                        row.get("priority", Integer.class),
+                        row.get("price", BigDecimal.class),
+                        row.get("curr", String.class)
+                ))
+                .all()
+                .collectList()
+                .map(rows -> {
+                    var series = new HashMap<PriceKey, List<Price>>();
+                    for (var price : rows) {
+                        series.computeIfAbsent(PriceKey.of(price), key -> new ArrayList<>()).add(price);
+                    }
+                    return new PriceChanges(series, Collections.max(versions), versions.size());
+                });
+    }
+
+    public Flux<PriceKey> loadKeys() {
+        return template.getDatabaseClient()
+                .sql("SELECT DISTINCT brand_id, product_id FROM prices")
+                .map(row -> new PriceKey(row.get("brand_id", Integer.class), row.get("product_id", Integer.class)))
+                .all();
+    }
+}
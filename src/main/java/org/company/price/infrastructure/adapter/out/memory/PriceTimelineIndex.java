@@ -0,0 +1,104 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
+import org.company.price.domain.service.PriceSegmentFlattener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Effective-price timeline of a single brand/product, precomputed with {@link PriceSegmentFlattener}.
+ * <p>
+ * Segments never overlap, so a point lookup is one binary search over the segment start boundaries
+ * (epoch seconds, UTC) and no priority comparison happens at query time. The raw rows are kept for
+ * the rare range lookups ({@code applicationStart != applicationEnd}), which are resolved by a scan.
+ */
+public final class PriceTimelineIndex {
+
+    private final long[] starts;
+    private final long[] ends;
+    private final PriceSegment[] segments;
+    private final Price[] rows;
+
+    private PriceTimelineIndex(List<PriceSegment> segments, Price[] rows) {
+        this.segments = segments.toArray(PriceSegment[]::new);
+        this.rows = rows;
+        this.starts = new long[this.segments.length];
+        this.ends = new long[this.segments.length];
+        for (var i = 0; i < this.segments.length; i++) {
+            starts[i] = toEpochSecond(this.segments[i].startDate());
+            ends[i] = toEpochSecond(this.segments[i].endDate());
+        }
+    }
+
+    public static PriceTimelineIndex of(Collection<Price> prices) {
+        return new PriceTimelineIndex(PriceSegmentFlattener.flatten(prices), prices.toArray(Price[]::new));
+    }
+
+    public Price find(LocalDateTime applicationStart, LocalDateTime applicationEnd) {
+        if (!applicationStart.equals(applicationEnd)) {
+            return scan(applicationStart, applicationEnd);
+        }
+        var segment = segmentAt(toEpochSecond(applicationStart));
+        return segment == null ? null : segment.price();
+    }
+
+    /**
+     * Returns the segment covering the given instant (epoch seconds, UTC), or null in a gap.
+     */
+    public PriceSegment segmentAt(long epochSecond) {
+        var i = Arrays.binarySearch(starts, epochSecond);
+        if (i < 0) {
+            i = -i - 2;
+        }
+        return i >= 0 && ends[i] >= epochSecond ? segments[i] : null;
+    }
+
+    /**
+     * Returns the segment covering the given instant (epoch seconds, UTC) or, in a gap, the gap up to
+     * the neighbouring segments.
+     */
+    public PriceSegment segmentOrGapAt(long epochSecond) {
+        var i = Arrays.binarySearch(starts, epochSecond);
+        if (i < 0) {
+            i = -i - 2;
+        }
+        if (i >= 0 && ends[i] >= epochSecond) {
+            return segments[i];
+        }
+        return PriceSegment.gap(
+                i >= 0 ? segments[i].endDate().plusSeconds(1) : LocalDateTime.MIN,
+                i + 1 < segments.length ? segments[i + 1].startDate().minusSeconds(1) : LocalDateTime.MAX);
+    }
+
+    public List<PriceSegment> segments() {
+        return List.of(segments);
+    }
+
+    public List<Price> rows() {
+        return List.of(rows);
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    private Price scan(LocalDateTime applicationStart, LocalDateTime applicationEnd) {
+        Price best = null;
+        for (var row : rows) {
+            if (!row.startDate().isAfter(applicationStart) && !row.endDate().isBefore(applicationEnd)
+                    && (best == null || Price.PRECEDENCE.compare(row, best) > 0)) {
+                best = row;
+            }
+        }
+        return best;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
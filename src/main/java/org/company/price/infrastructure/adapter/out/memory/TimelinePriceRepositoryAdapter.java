@@ -0,0 +1,115 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.company.price.infrastructure.adapter.out.PriceRepositorySource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves lookups from the precomputed effective-price timeline of every brand/product
+ * ({@link PriceTimelineIndex}), built once at startup from the PRICES table and kept current by the
+ * {@link PriceChangeFeed}.
+ * Enabled with {@code prices.repository.type=timeline}.
+ */
+@Slf4j
+@Component
+@PriceRepositorySource
+@DependsOnDatabaseInitialization
+@ConditionalOnProperty(name = "prices.repository.type", havingValue = "timeline")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TimelinePriceRepositoryAdapter implements PriceRepositoryPort, PriceChangeListener {
+
+    PriceTableLoader priceTableLoader;
+
+    @NonFinal
+    volatile Map<PriceKey, PriceTimelineIndex> index = Map.of();
+
+    @PostConstruct
+    public void load() {
+        var rows = reload().block();
+        log.info("Loaded {} prices into the effective-price timeline ({} brand/product keys)", rows, index.size());
+    }
+
+    @Override
+    public Mono<Integer> reload() {
+        return priceTableLoader.loadAll().map(this::replaceIndex);
+    }
+
+    @Override
+    public Mono<Price> findTopApplicablePrice(PriceSearchCriteria priceSearchCriteria) {
+        var keyIndex = index.get(new PriceKey(priceSearchCriteria.brandId(), priceSearchCriteria.productId()));
+        if (keyIndex == null) {
+            return Mono.empty();
+        }
+        return Mono.justOrEmpty(keyIndex.find(
+                priceSearchCriteria.applicationStart(),
+                priceSearchCriteria.applicationEnd()
+        ));
+    }
+
+    @Override
+    public Flux<Price> findPrices(Integer brandId, Integer productId) {
+        var keyIndex = index.get(new PriceKey(brandId, productId));
+        return keyIndex == null ? Flux.empty() : Flux.fromIterable(keyIndex.rows());
+    }
+
+    @Override
+    public Mono<PriceSegment> findApplicableSegment(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+        var keyIndex = index.get(new PriceKey(brandId, productId));
+        if (keyIndex == null) {
+            return Mono.empty();
+        }
+        return Mono.justOrEmpty(keyIndex.segmentAt(applicationDate.toEpochSecond(ZoneOffset.UTC)));
+    }
+
+    @Override
+    public Mono<PriceSegment> findSegmentOrGap(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+        var keyIndex = index.get(new PriceKey(brandId, productId));
+        if (keyIndex == null) {
+            return Mono.just(PriceSegment.gap(LocalDateTime.MIN, LocalDateTime.MAX));
+        }
+        return Mono.just(keyIndex.segmentOrGapAt(applicationDate.toEpochSecond(ZoneOffset.UTC)));
+    }
+
+    /**
+     * Rebuilds the indexes of the changed brand/products only, then swaps the whole map, so a reader
+     * sees either the previous batch or this one and never waits.
+     */
+    @Override
+    public void apply(PriceChanges changes) {
+        var next = new HashMap<>(index);
+        changes.series().forEach((key, prices) -> next.put(key, PriceTimelineIndex.of(prices)));
+        index = next;
+    }
+
+    private int replaceIndex(Map<PriceKey, List<Price>> pricesByKey) {
+        var next = new HashMap<PriceKey, PriceTimelineIndex>(pricesByKey.size() * 4 / 3 + 1);
+        var rows = 0;
+        for (var entry : pricesByKey.entrySet()) {
+            var keyIndex = PriceTimelineIndex.of(entry.getValue());
+            next.put(entry.getKey(), keyIndex);
+            rows += keyIndex.size();
+        }
+        index = next;
+        return rows;
+    }
+}
@@ -0,0 +1,102 @@
+package org.company.price.infrastructure.adapter.out.pool;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.pool.PoolMetricsRecorder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the latencies the R2DBC pool reports, which the occupancy gauges bound by Spring Boot
+ * ({@code r2dbc.pool.acquired}, {@code .pending}, ...) do not cover:
+ * <ul>
+ *     <li>{@code r2dbc.pool.pending{result}}: the wait of an acquire that found no idle connection,
+ *     until one is handed over or the acquire times out;</li>
+ *     <li>{@code r2dbc.pool.allocation{result}}: opening a new connection.</li>
+ * </ul>
+ * The pool measures these in milliseconds.
+ */
+public class ConnectionPoolMetricsRecorder implements PoolMetricsRecorder {
+
+    /**
+     * Fixed histogram buckets of the pool timers, 1-2-5 steps from 10µs to 5s.
+     */
+    static final Duration[] BUCKETS = {
+            Duration.ofNanos(10_000), Duration.ofNanos(20_000), Duration.ofNanos(50_000),
+            Duration.ofNanos(100_000), Duration.ofNanos(200_000), Duration.ofNanos(500_000),
+            Duration.ofMillis(1), Duration.ofMillis(2), Duration.ofMillis(5),
+            Duration.ofMillis(10), Duration.ofMillis(20), Duration.ofMillis(50),
+            Duration.ofMillis(100), Duration.ofMillis(200), Duration.ofMillis(500),
+            Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(5)
+    };
+
+    private final Timer pendingServed;
+    private final Timer pendingFailed;
+    private final Timer allocated;
+    private final Timer allocationFailed;
+
+    public ConnectionPoolMetricsRecorder(String poolName, MeterRegistry meterRegistry) {
+        this.pendingServed = timer("r2dbc.pool.pending", "Wait of acquires that found no idle connection", poolName, "success", meterRegistry);
+        this.pendingFailed = timer("r2dbc.pool.pending", "Wait of acquires that found no idle connection", poolName, "failure", meterRegistry);
+        this.allocated = timer("r2dbc.pool.allocation", "Time to open a new pooled connection", poolName, "success", meterRegistry);
+        this.allocationFailed = timer("r2dbc.pool.allocation", "Time to open a new pooled connection", poolName, "failure", meterRegistry);
+    }
+
+    static Timer timer(String name, String description, String poolName, String result, MeterRegistry meterRegistry) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("name", poolName)
+                .tag("result", result)
+                .serviceLevelObjectives(BUCKETS)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordPendingSuccessAndLatency(long latencyMs) {
+        pendingServed.record(latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordPendingFailureAndLatency(long latencyMs) {
+        pendingFailed.record(latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordAllocationSuccessAndLatency(long latencyMs) {
+        allocated.record(latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordAllocationFailureAndLatency(long latencyMs) {
+        allocationFailed.record(latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordResetLatency(long latencyMs) {
+    }
+
+    @Override
+    public void recordDestroyLatency(long latencyMs) {
+    }
+
+    @Override
+    public void recordRecycled() {
+    }
+
+    @Override
+    public void recordLifetimeDuration(long millisecondsSinceAllocation) {
+    }
+
+    @Override
+    public void recordIdleTime(long millisecondsIdle) {
+    }
+
+    @Override
+    public void recordSlowPath() {
+    }
+
+    @Override
+    public void recordFastPath() {
+    }
+}
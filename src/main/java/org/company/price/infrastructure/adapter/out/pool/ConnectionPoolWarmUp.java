@@ -0,0 +1,70 @@
+package org.company.price.infrastructure.adapter.out.pool;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens the initial connections of the pool before the first request, then runs the lookup
+ * queries once per connection: H2 keeps parsed statements per session, and the R2DBC, mapping and
+ * resilience code paths get loaded, so the first requests do not pay for either.
+ * <p>
+ * The warm-up lookups use the criteria shape of {@code PriceService}, hence the same SQL text, at
+ * the start of the first row of the table, so that rows are decoded and mapped too; an empty table
+ * is warmed up with a brand/product that does not exist. They are counted in the lookup metrics like
+ * any other.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ConnectionPoolWarmUp {
+
+    static String FIRST_ROW_QUERY = "SELECT brand_id, product_id, start_date FROM prices FETCH FIRST 1 ROWS ONLY";
+    static LocalDateTime UNKNOWN_DATE = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    ConnectionPool connectionPool;
+    PriceRepositoryPort priceRepository;
+
+    @PostConstruct
+    public void warmUp() {
+        var started = System.nanoTime();
+        var opened = connectionPool.warmup().block();
+        var connections = Math.max(1, connectionPool.getMetrics().map(PoolMetrics::allocatedSize).orElse(opened));
+        var lookup = DatabaseClient.create(connectionPool).sql(FIRST_ROW_QUERY)
+                .map(row -> lookup(row.get("brand_id", Integer.class), row.get("product_id", Integer.class),
+                        row.get("start_date", LocalDateTime.class)))
+                .one()
+                .defaultIfEmpty(lookup(0, 0, UNKNOWN_DATE))
+                .block();
+        // one lookup of each kind in flight per connection, so that every connection prepares them
+        Flux.range(0, connections)
+                .flatMap(i -> priceRepository.findTopApplicablePrice(lookup)
+                        .then(priceRepository.findPrices(lookup.brandId(), lookup.productId()).then()), connections)
+                .then()
+                .block();
+        log.info("Warmed up {} pooled connections in {} ms", connections, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private static PriceSearchCriteria lookup(int brandId, int productId, LocalDateTime date) {
+        return PriceSearchCriteria.builder()
+                .brandId(brandId)
+                .productId(productId)
+                .applicationStart(date)
+                .applicationEnd(date)
+                .orderByDirection("DESC")
+                .orderByColumnName("priority")
+                .limit(1)
+                .build();
+    }
+}
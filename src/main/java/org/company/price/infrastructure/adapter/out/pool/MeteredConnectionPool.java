@@ -0,0 +1,38 @@
+package org.company.price.infrastructure.adapter.out.pool;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection pool timing every acquire in {@code r2dbc.pool.acquire{result}}, idle connection or
+ * not; the pool itself only reports the acquires that had to wait.
+ */
+public class MeteredConnectionPool extends ConnectionPool {
+
+    private final Timer acquired;
+    private final Timer acquireFailed;
+
+    public MeteredConnectionPool(ConnectionPoolConfiguration configuration, String poolName, MeterRegistry meterRegistry) {
+        super(configuration);
+        this.acquired = ConnectionPoolMetricsRecorder.timer("r2dbc.pool.acquire", "Time to acquire a connection from the pool",
+                poolName, "success", meterRegistry);
+        this.acquireFailed = ConnectionPoolMetricsRecorder.timer("r2dbc.pool.acquire", "Time to acquire a connection from the pool",
+                poolName, "failure", meterRegistry);
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            var start = System.nanoTime();
+            return super.create()
+                    .doOnSuccess(connection -> acquired.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(ex -> acquireFailed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+}
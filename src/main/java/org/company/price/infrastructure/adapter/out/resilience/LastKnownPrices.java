@@ -0,0 +1,170 @@
+package org.company.price.infrastructure.adapter.out.resilience;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
+import org.company.price.domain.service.PriceSegmentFlattener;
+import org.company.price.infrastructure.adapter.out.memory.PriceKey;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Last rows read from the database per brand/product, to answer from when it cannot be reached.
+ * <p>
+ * Every price is kept stamped with the instant it was read as its {@link Price#staleSince()}, so
+ * what is served from here carries its age. An entry filled from {@code findPrices} holds every row
+ * of its brand/product and is complete: a date none of them covers had no price when it was read.
+ * An entry built from point lookups only holds the prices returned so far, so a date none of them
+ * covers is unknown. The size is bounded by a memory budget, with a conservative per-price estimate.
+ */
+public class LastKnownPrices {
+
+    /**
+     * Estimated retained size of one entry besides its prices: cache node, key and list.
+     */
+    static final int ENTRY_BYTES = 160;
+    /**
+     * Estimated retained size of one stamped price, its dates, amount and stamp.
+     */
+    static final int PRICE_BYTES = 256;
+    /**
+     * Prices kept per incomplete entry; the oldest is dropped first.
+     */
+    static final int MAX_LOOKED_UP_PRICES = 8;
+
+    private final Cache<PriceKey, Entry> entries;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter misses;
+
+    public LastKnownPrices(DataSize maxMemory, MeterRegistry meterRegistry) {
+        this(maxMemory, meterRegistry, Clock.systemUTC());
+    }
+
+    LastKnownPrices(DataSize maxMemory, MeterRegistry meterRegistry, Clock clock) {
+        this.clock = clock;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((PriceKey key, Entry entry) -> ENTRY_BYTES + PRICE_BYTES * entry.prices().size())
+                .executor(Runnable::run)
+                .build();
+        this.hits = Counter.builder("prices.repository.last.known.good.requests")
+                .description("Failed lookups by whether the last known prices could answer them")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("prices.repository.last.known.good.requests")
+                .description("Failed lookups by whether the last known prices could answer them")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("prices.repository.last.known.good.size", entries, Cache::estimatedSize)
+                .description("Brand/product entries held to answer from while the database is unreachable")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replaces the entry of a brand/product with all of its rows.
+     */
+    public void rememberAll(int brandId, int productId, List<Price> rows) {
+        var stamp = clock.instant();
+        entries.put(new PriceKey(brandId, productId),
+                new Entry(rows.stream().map(row -> row.toBuilder().staleSince(stamp).build()).toList(), true));
+    }
+
+    /**
+     * Adds or refreshes one price returned by a point lookup.
+     */
+    public void remember(Price price) {
+        var stamped = price.toBuilder().staleSince(clock.instant()).build();
+        entries.asMap().compute(PriceKey.of(price), (key, entry) -> entry == null
+                ? new Entry(List.of(stamped), false)
+                : entry.with(stamped));
+    }
+
+    /**
+     * The rows of a brand/product, or the error of {@code unknown} when its entry is not complete.
+     */
+    public Mono<List<Price>> prices(int brandId, int productId, Supplier<? extends Throwable> unknown) {
+        var entry = entries.getIfPresent(new PriceKey(brandId, productId));
+        if (entry == null || !entry.complete()) {
+            misses.increment();
+            return Mono.error(unknown);
+        }
+        hits.increment();
+        return Mono.just(entry.prices());
+    }
+
+    /**
+     * The top price covering the dates of a lookup; empty when the entry is complete and none does,
+     * or the error of {@code unknown} when the answer cannot be told.
+     */
+    public Mono<Price> topApplicablePrice(PriceSearchCriteria criteria, Supplier<? extends Throwable> unknown) {
+        var entry = entries.getIfPresent(new PriceKey(criteria.brandId(), criteria.productId()));
+        var top = entry == null ? Optional.<Price>empty() : entry.top(criteria.applicationStart(), criteria.applicationEnd());
+        if (top.isEmpty() && (entry == null || !entry.complete())) {
+            misses.increment();
+            return Mono.error(unknown);
+        }
+        hits.increment();
+        return Mono.justOrEmpty(top);
+    }
+
+    /**
+     * The effective segment at a date. A complete entry tells it exactly, empty when no price applies;
+     * otherwise the prices looked up so far only tell the price, so the window is the date alone.
+     * The error of {@code unknown} when the answer cannot be told.
+     */
+    public Mono<PriceSegment> segment(int brandId, int productId, LocalDateTime date, Supplier<? extends Throwable> unknown) {
+        var entry = entries.getIfPresent(new PriceKey(brandId, productId));
+        if (entry != null && entry.complete()) {
+            hits.increment();
+            return Mono.justOrEmpty(PriceSegmentFlattener.segmentAt(entry.prices(), date));
+        }
+        var top = entry == null ? Optional.<Price>empty() : entry.top(date, date);
+        if (top.isEmpty()) {
+            misses.increment();
+            return Mono.error(unknown);
+        }
+        hits.increment();
+        return Mono.just(new PriceSegment(top.get(), date, date));
+    }
+
+    record Entry(List<Price> prices, boolean complete) {
+
+        Optional<Price> top(LocalDateTime start, LocalDateTime end) {
+            return prices.stream()
+                    .filter(price -> !price.startDate().isAfter(start) && !price.endDate().isBefore(end))
+                    .max(Price.PRECEDENCE);
+        }
+
+        Entry with(Price stamped) {
+            var prices = new ArrayList<Price>(this.prices.size() + 1);
+            for (var price : this.prices) {
+                if (!sameRow(price, stamped)) {
+                    prices.add(price);
+                }
+            }
+            if (!complete && prices.size() == MAX_LOOKED_UP_PRICES) {
+                prices.removeFirst();
+            }
+            prices.add(stamped);
+            return new Entry(List.copyOf(prices), complete);
+        }
+
+        private static boolean sameRow(Price a, Price b) {
+            return a.priceList().equals(b.priceList()) && a.startDate().equals(b.startDate())
+                    && a.endDate().equals(b.endDate()) && a.priority().equals(b.priority());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.company.price.infrastructure.adapter.out.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps retries to a share of the calls, so that retrying cannot multiply the load on a database that
+ * is already failing. Within each one-second window, a retry is granted while the retries already
+ * granted stay under {@code ratio} times the calls made plus {@code minPerSecond}, the floor that
+ * lets a lightly loaded service retry at all.
+ * <p>
+ * Counters are reset by whichever caller first sees the window elapse; a call or retry racing with
+ * the reset may be counted in either window, which only blurs the edge of the budget.
+ */
+public class RetryBudget {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double ratio;
+    private final int minPerSecond;
+    private final LongSupplier nanoTime;
+    private final AtomicLong windowStart;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+
+    public RetryBudget(double ratio, int minPerSecond) {
+        this(ratio, minPerSecond, System::nanoTime);
+    }
+
+    RetryBudget(double ratio, int minPerSecond, LongSupplier nanoTime) {
+        this.ratio = ratio;
+        this.minPerSecond = minPerSecond;
+        this.nanoTime = nanoTime;
+        this.windowStart = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    /**
+     * Records a first attempt, which earns {@code ratio} of a retry.
+     */
+    public void call() {
+        roll();
+        calls.incrementAndGet();
+    }
+
+    /**
+     * Takes one retry from the budget; false when it is spent.
+     */
+    public boolean tryRetry() {
+        roll();
+        while (true) {
+            var granted = retries.get();
+            if (granted >= minPerSecond + ratio * calls.get()) {
+                return false;
+            }
+            if (retries.compareAndSet(granted, granted + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void roll() {
+        var now = nanoTime.getAsLong();
+        var start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            calls.set(0);
+            retries.set(0);
+        }
+    }
+}
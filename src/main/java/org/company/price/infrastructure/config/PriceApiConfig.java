@@ -0,0 +1,58 @@
+package org.company.price.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.company.price.application.port.PriceUseCasePort;
+import org.company.price.infrastructure.adapter.in.api.controller.PriceResponseBodyCache;
+import org.company.price.infrastructure.adapter.in.api.error.GlobalExceptionHandler;
+import org.company.price.infrastructure.adapter.in.api.filter.PriceLookupOutcomeFilter;
+import org.company.price.infrastructure.adapter.in.api.router.PriceHandler;
+import org.company.price.infrastructure.mapper.openapi.PriceApiMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+@Configuration
+@EnableConfigurationProperties(PriceApiProperties.class)
+public class PriceApiConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "prices.api.response-cache.enabled", havingValue = "true", matchIfMissing = true)
+    public PriceResponseBodyCache priceResponseBodyCache(
+            PriceApiMapper priceApiMapper,
+            ObjectMapper objectMapper,
+            PriceApiProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        return new PriceResponseBodyCache(priceApiMapper, objectMapper, properties.responseCache().maxMemory(), meterRegistry);
+    }
+
+    @Bean
+    public PriceLookupOutcomeFilter priceLookupOutcomeFilter(MeterRegistry meterRegistry) {
+        return new PriceLookupOutcomeFilter(meterRegistry);
+    }
+
+    /**
+     * Functional {@code GET /api/v1/prices}; router functions are mapped before annotated controllers,
+     * so it takes over that route while the controller keeps serving the others.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "prices.api.endpoint", havingValue = "functional")
+    public RouterFunction<ServerResponse> priceRoutes(
+            PriceUseCasePort priceUseCasePort,
+            PriceApiMapper priceApiMapper,
+            ObjectProvider<PriceResponseBodyCache> priceResponseBodyCache,
+            GlobalExceptionHandler globalExceptionHandler,
+            PriceApiProperties properties
+    ) {
+        var handler = new PriceHandler(priceUseCasePort, priceApiMapper, priceResponseBodyCache.getIfAvailable(),
+                globalExceptionHandler, properties.httpCache().maxAge());
+        return RouterFunctions.route(RequestPredicates.GET("/api/v1/prices"), handler::getApplicablePrice);
+    }
+}
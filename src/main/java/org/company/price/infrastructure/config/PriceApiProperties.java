@@ -0,0 +1,29 @@
+package org.company.price.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings of the HTTP API, bound from {@code prices.api}.
+ *
+ * @param endpoint      handler of {@code GET /api/v1/prices}: annotated (the generated controller) or functional
+ * @param responseCache encoded JSON bodies of price responses, reused instead of serializing again
+ * @param httpCache     caching headers of price responses, for clients and shared caches
+ */
+@ConfigurationProperties(prefix = "prices.api")
+public record PriceApiProperties(
+        @DefaultValue("annotated") String endpoint,
+        @DefaultValue ResponseCache responseCache,
+        @DefaultValue HttpCache httpCache
+) {
+
+    public record ResponseCache(@DefaultValue("true") boolean enabled, @DefaultValue("4MB") DataSize maxMemory) {}
+
+    /**
+     * @param maxAge longest freshness given to a price response, however long its segment lasts
+     */
+    public record HttpCache(@DefaultValue("1h") Duration maxAge) {}
+}
@@ -0,0 +1,9 @@
+package org.company.price.infrastructure.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PriceImportProperties.class)
+public class PriceImportConfig {
+}
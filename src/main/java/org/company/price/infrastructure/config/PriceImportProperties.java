@@ -0,0 +1,23 @@
+package org.company.price.infrastructure.config;
+
+import org.company.price.infrastructure.adapter.in.importer.PriceFileFormat;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the bulk price import, bound from {@code prices.import}.
+ *
+ * @param file              file imported at startup; no import runs when blank
+ * @param format            format of {@code file}; inferred from its extension when not set
+ * @param batchSize         rows per batched INSERT statement
+ * @param concurrency       batches written at the same time, each on its own pooled connection
+ * @param maxReportedErrors rejected rows reported individually; the others are only counted
+ */
+@ConfigurationProperties(prefix = "prices.import")
+public record PriceImportProperties(
+        String file,
+        PriceFileFormat format,
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("4") int concurrency,
+        @DefaultValue("100") int maxReportedErrors
+) {}
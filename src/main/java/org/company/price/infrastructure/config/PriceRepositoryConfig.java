@@ -0,0 +1,82 @@
+package org.company.price.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.company.price.infrastructure.adapter.out.PriceRepositorySource;
+import org.company.price.infrastructure.adapter.out.decorator.CachingPriceRepository;
+import org.company.price.infrastructure.adapter.out.decorator.CoalescingPriceRepository;
+import org.company.price.infrastructure.adapter.out.decorator.KnownKeysPriceRepository;
+import org.company.price.infrastructure.adapter.out.decorator.TimedPriceRepository;
+import org.company.price.infrastructure.adapter.out.memory.KnownPriceKeys;
+import org.company.price.infrastructure.adapter.out.memory.PriceChangeFeed;
+import org.company.price.infrastructure.adapter.out.memory.PriceChangeListener;
+import org.company.price.infrastructure.adapter.out.memory.PriceTableLoader;
+import org.company.price.infrastructure.metrics.PriceLookupMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Assembles the {@link PriceRepositoryPort} used by the application: the source selected by
+ * {@code prices.repository.type} wrapped, innermost first, by the enabled decorators.
+ */
+@Configuration
+@EnableConfigurationProperties(PriceRepositoryProperties.class)
+public class PriceRepositoryConfig {
+
+    @Bean
+    @DependsOnDatabaseInitialization
+    @ConditionalOnProperty(name = "prices.repository.known-keys.enabled", havingValue = "true", matchIfMissing = true)
+    public KnownPriceKeys knownPriceKeys(PriceTableLoader priceTableLoader, PriceRepositoryProperties properties) {
+        return new KnownPriceKeys(priceTableLoader, properties.knownKeys());
+    }
+
+    @Bean
+    @DependsOnDatabaseInitialization
+    @ConditionalOnProperty(name = "prices.repository.sync.enabled", havingValue = "true", matchIfMissing = true)
+    public PriceChangeFeed priceChangeFeed(PriceTableLoader priceTableLoader, PriceRepositoryProperties properties, MeterRegistry meterRegistry) {
+        return new PriceChangeFeed(priceTableLoader, properties.sync(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public PriceRepositoryPort priceRepositoryPort(
+            @PriceRepositorySource ObjectProvider<PriceRepositoryPort> source,
+            ObjectProvider<KnownPriceKeys> knownPriceKeys,
+            ObjectProvider<PriceChangeFeed> priceChangeFeed,
+            PriceRepositoryProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        // the feed reads its watermark before the source loads the table: see PriceChangeFeed
+        var changeFeed = priceChangeFeed.getIfAvailable();
+        var repository = source.getObject();
+        var knownKeys = knownPriceKeys.getIfAvailable();
+        if (changeFeed != null) {
+            if (repository instanceof PriceChangeListener listener) {
+                changeFeed.register(listener);
+            }
+            if (knownKeys != null) {
+                changeFeed.register(knownKeys);
+            }
+        }
+        repository = new TimedPriceRepository(repository, PriceLookupMetrics.stageTimer(meterRegistry, PriceLookupMetrics.SOURCE));
+        if (properties.cache().enabled()) {
+            var cache = new CachingPriceRepository(repository, properties.cache().maxMemory(), meterRegistry);
+            if (changeFeed != null) {
+                changeFeed.register(cache);
+            }
+            repository = cache;
+        }
+        if (properties.coalescing().enabled()) {
+            repository = new CoalescingPriceRepository(repository, meterRegistry);
+        }
+        if (knownKeys != null) {
+            repository = new KnownKeysPriceRepository(repository, knownKeys, meterRegistry);
+        }
+        return repository;
+    }
+}
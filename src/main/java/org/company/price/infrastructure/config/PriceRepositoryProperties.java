@@ -0,0 +1,114 @@
+package org.company.price.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings of the price lookup pipeline, bound from {@code prices.repository}.
+ *
+ * @param type          source implementation: r2dbc, jdbc, in-memory, timeline or columnar
+ * @param cache         validity-aware result cache per brand/product
+ * @param coalescing    single-flight sharing of identical in-flight lookups
+ * @param knownKeys     Bloom filter of the brand/product pairs present in the table
+ * @param snapshot      memory-mapped binary snapshot backing the columnar source
+ * @param sync          incremental change feed from the table into the in-memory views
+ * @param retry         r2dbc only: budgeted retry of failed queries, each attempt through the circuit breaker
+ * @param lastKnownGood r2dbc only: last rows read per brand/product, served while the database fails
+ * @param pool          R2DBC connection pool additions to {@code spring.r2dbc.pool}
+ * @param jdbc          jdbc only: blocking connection pool queried from virtual threads
+ */
+@ConfigurationProperties(prefix = "prices.repository")
+public record PriceRepositoryProperties(
+        @DefaultValue("r2dbc") String type,
+        @DefaultValue Cache cache,
+        @DefaultValue Coalescing coalescing,
+        @DefaultValue KnownKeys knownKeys,
+        @DefaultValue Snapshot snapshot,
+        @DefaultValue Sync sync,
+        @DefaultValue Retry retry,
+        @DefaultValue LastKnownGood lastKnownGood,
+        @DefaultValue Pool pool,
+        @DefaultValue Jdbc jdbc
+) {
+
+    public record Cache(@DefaultValue("true") boolean enabled, @DefaultValue("16MB") DataSize maxMemory) {}
+
+    public record Coalescing(@DefaultValue("true") boolean enabled) {}
+
+    public record KnownKeys(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("0.01") double falsePositiveRate,
+            @DefaultValue("5m") Duration refreshInterval
+    ) {}
+
+    /**
+     * @param path             snapshot file; no snapshot is used when blank
+     * @param maxAge           older snapshots are stale and the table is loaded from the database instead
+     * @param verifyChecksum   checksum the whole file before serving from it
+     * @param exportOnFallback write a fresh snapshot after every database load
+     */
+    public record Snapshot(
+            String path,
+            @DefaultValue("24h") Duration maxAge,
+            @DefaultValue("true") boolean verifyChecksum,
+            @DefaultValue("true") boolean exportOnFallback
+    ) {
+
+        public boolean enabled() {
+            return path != null && !path.isBlank();
+        }
+    }
+
+    /**
+     * @param versionLag how far below the watermark every poll re-reads row versions, for the rows of
+     *                   transactions that drew their version before a higher one but committed after it
+     * @param batchSize  most new row versions a poll reads and applies; a larger backlog is worked
+     *                   through one poll at a time
+     */
+    public record Sync(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("1s") Duration pollInterval,
+            @DefaultValue("1000") long versionLag,
+            @DefaultValue("5000") int batchSize
+    ) {}
+
+    /**
+     * @param maxAttempts        retries after the first attempt; 0 disables retrying
+     * @param backoff            delay before the first retry, doubled for every next one
+     * @param budgetRatio        retries allowed per call made, over a one-second window
+     * @param budgetMinPerSecond retries allowed per second whatever the call count
+     */
+    public record Retry(
+            @DefaultValue("1") int maxAttempts,
+            @DefaultValue("20ms") Duration backoff,
+            @DefaultValue("0.1") double budgetRatio,
+            @DefaultValue("5") int budgetMinPerSecond
+    ) {}
+
+    public record LastKnownGood(@DefaultValue("true") boolean enabled, @DefaultValue("16MB") DataSize maxMemory) {}
+
+    /**
+     * @param warmUp           open the initial connections and prepare the lookup statements on them at startup
+     * @param evictionInterval period of the background sweep closing connections idle beyond
+     *                         {@code spring.r2dbc.pool.max-idle-time} or past {@code max-life-time}
+     */
+    public record Pool(@DefaultValue("true") boolean warmUp, @DefaultValue("1m") Duration evictionInterval) {}
+
+    /**
+     * @param url            JDBC URL of the database, derived from {@code spring.r2dbc.url} when not set
+     * @param username       derived from {@code spring.r2dbc.username} when not set, else {@code sa}
+     * @param password       derived from {@code spring.r2dbc.password} when not set, else empty
+     * @param maxConnections connections open at most, hence queries running at once
+     * @param acquireTimeout wait for a free connection before failing the lookup with a 503
+     */
+    public record Jdbc(
+            String url,
+            String username,
+            String password,
+            @DefaultValue("8") int maxConnections,
+            @DefaultValue("1s") Duration acquireTimeout
+    ) {}
+}
@@ -0,0 +1,74 @@
+package org.company.price.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.company.price.infrastructure.adapter.out.PriceRepositoryAdapter;
+import org.company.price.infrastructure.adapter.out.ResilientPriceRepositoryAdapter;
+import org.company.price.infrastructure.adapter.out.pool.ConnectionPoolMetricsRecorder;
+import org.company.price.infrastructure.adapter.out.pool.ConnectionPoolWarmUp;
+import org.company.price.infrastructure.adapter.out.pool.MeteredConnectionPool;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcConnectionDetails;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The R2DBC connection pool, built from {@code spring.r2dbc.pool} as Spring Boot would, which then
+ * backs off its own. Boot has no hook for acquire timing, the pool's metrics recorder or its eviction
+ * interval, hence this bean; the occupancy gauges ({@code r2dbc.pool.acquired}, ...) are still bound
+ * by Boot.
+ */
+@Configuration
+public class R2dbcPoolConfig {
+
+    /**
+     * Bean name, also the {@code name} tag of the pool metrics.
+     */
+    static final String CONNECTION_FACTORY = "connectionFactory";
+
+    @Bean(name = CONNECTION_FACTORY, destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(
+            R2dbcProperties r2dbcProperties,
+            R2dbcConnectionDetails connectionDetails,
+            PriceRepositoryProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        var pool = r2dbcProperties.getPool();
+        var builder = ConnectionPoolConfiguration.builder(ConnectionFactories.get(connectionDetails.getConnectionFactoryOptions()))
+                .name(CONNECTION_FACTORY)
+                .metricsRecorder(new ConnectionPoolMetricsRecorder(CONNECTION_FACTORY, meterRegistry))
+                .backgroundEvictionInterval(properties.pool().evictionInterval());
+        var map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        map.from(pool.getInitialSize()).to(builder::initialSize);
+        map.from(pool.getMaxSize()).to(builder::maxSize);
+        map.from(pool.getMinIdle()).to(builder::minIdle);
+        map.from(pool.getMaxIdleTime()).to(builder::maxIdleTime);
+        map.from(pool.getMaxLifeTime()).to(builder::maxLifeTime);
+        map.from(pool.getMaxAcquireTime()).to(builder::maxAcquireTime);
+        map.from(pool.getMaxCreateConnectionTime()).to(builder::maxCreateConnectionTime);
+        map.from(pool.getMaxValidationTime()).to(builder::maxValidationTime);
+        map.from(pool.getValidationQuery()).whenHasText().to(builder::validationQuery);
+        map.from(pool.getValidationDepth()).to(builder::validationDepth);
+        return new MeteredConnectionPool(builder.build(), CONNECTION_FACTORY, meterRegistry);
+    }
+
+    @Bean
+    @DependsOnDatabaseInitialization
+    @ConditionalOnProperty(name = "prices.repository.pool.warm-up", havingValue = "true", matchIfMissing = true)
+    public ConnectionPoolWarmUp connectionPoolWarmUp(
+            ConnectionPool connectionPool,
+            PriceRepositoryAdapter priceRepositoryAdapter,
+            ObjectProvider<ResilientPriceRepositoryAdapter> resilientPriceRepositoryAdapter
+    ) {
+        // with the r2dbc source, lookups run through its resilience operators: warm those up as well
+        PriceRepositoryPort lookups = resilientPriceRepositoryAdapter.getIfAvailable();
+        return new ConnectionPoolWarmUp(connectionPool, lookups != null ? lookups : priceRepositoryAdapter);
+    }
+}
@@ -0,0 +1,30 @@
+package org.company.price.infrastructure.config;
+
+import org.company.price.infrastructure.startup.DeferredInitializationPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Defers the beans that serving prices does not need, listed by package under
+ * {@code prices.startup.lazy.packages}, until their first use. Bound from the {@link Environment}
+ * directly: a bean factory post-processor runs before any {@code @ConfigurationProperties} bean exists.
+ */
+@Configuration
+public class StartupConfig {
+
+    static final List<String> DEFAULT_LAZY_PACKAGES = List.of("org.springdoc", "io.swagger");
+
+    @Bean
+    @ConditionalOnProperty(name = "prices.startup.lazy.enabled", havingValue = "true", matchIfMissing = true)
+    public static DeferredInitializationPostProcessor deferredInitializationPostProcessor(Environment environment) {
+        return new DeferredInitializationPostProcessor(Binder.get(environment)
+                .bind("prices.startup.lazy.packages", Bindable.listOf(String.class))
+                .orElse(DEFAULT_LAZY_PACKAGES));
+    }
+}
@@ -1,6 +1,12 @@
 package org.company.price.infrastructure.mapper.openapi;
 
+import org.company.price.application.dto.PriceBatchItemDTO;
+import org.company.price.application.dto.PriceQueryDTO;
 import org.company.price.application.dto.PriceResponseDTO;
+import org.company.price.application.dto.PriceSegmentDTO;
+import org.company.price.infrastructure.adapter.in.api.model.PriceBatchItem;
+import org.company.price.infrastructure.adapter.in.api.model.PriceCalendarSegment;
+import org.company.price.infrastructure.adapter.in.api.model.PriceQuery;
 import org.company.price.infrastructure.adapter.in.api.model.PriceResponse;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -14,13 +20,24 @@ import java.math.RoundingMode;
 @Mapper(componentModel = "spring")
 public interface PriceApiMapper {
 
+    DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
     @Mapping(source = "startDate", target = "startDate", qualifiedByName = "formatDate")
     @Mapping(source = "endDate", target = "endDate", qualifiedByName = "formatDate")
     PriceResponse toPriceResponse(PriceResponseDTO dto);
 
+    PriceQueryDTO toPriceQuery(PriceQuery query);
+
+    @Mapping(target = "status", expression = "java(dto.price() == null ? PriceBatchItem.StatusEnum.NOT_FOUND : PriceBatchItem.StatusEnum.FOUND)")
+    PriceBatchItem toPriceBatchItem(PriceBatchItemDTO dto);
+
+    @Mapping(source = "startDate", target = "startDate", qualifiedByName = "formatDate")
+    @Mapping(source = "endDate", target = "endDate", qualifiedByName = "formatDate")
+    PriceCalendarSegment toPriceCalendarSegment(PriceSegmentDTO dto);
+
     @Named("formatDate")
     static String formatDate(LocalDateTime dt) {
-        return dt == null ? null : dt.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
+        return dt == null ? null : dt.format(DATE_FORMAT);
     }
 
     static BigDecimal preserveTwoDecimals(BigDecimal bd) {
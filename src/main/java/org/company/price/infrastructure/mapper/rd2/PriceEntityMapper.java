@@ -3,9 +3,11 @@ package org.company.price.infrastructure.mapper.rd2;
 import org.company.price.domain.model.Price;
 import org.company.price.infrastructure.repository.entity.PriceEntity;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface PriceEntityMapper {
 
+    @Mapping(target = "staleSince", ignore = true)
     Price toPrice(PriceEntity priceEntity);
 }
\ No newline at end of file
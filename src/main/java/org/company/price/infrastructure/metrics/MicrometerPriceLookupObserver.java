@@ -0,0 +1,48 @@
+package org.company.price.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.application.port.PriceLookupObserver;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Times the use case stages into their {@link PriceLookupMetrics#STAGE_TIMER} timers.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class MicrometerPriceLookupObserver implements PriceLookupObserver {
+
+    Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+
+    public MicrometerPriceLookupObserver(MeterRegistry meterRegistry) {
+        for (var stage : Stage.values()) {
+            timers.put(stage, PriceLookupMetrics.stageTimer(meterRegistry, tag(stage)));
+        }
+    }
+
+    @Override
+    public <T> T observe(Stage stage, Supplier<T> step) {
+        return timers.get(stage).record(step);
+    }
+
+    @Override
+    public <T> Mono<T> observe(Stage stage, Mono<T> step) {
+        return PriceLookupMetrics.timed(step, timers.get(stage));
+    }
+
+    static String tag(Stage stage) {
+        return switch (stage) {
+            case PARSE -> PriceLookupMetrics.PARSE;
+            case REPOSITORY -> PriceLookupMetrics.REPOSITORY;
+            case SCAN -> PriceLookupMetrics.SCAN;
+            case MAPPING -> PriceLookupMetrics.MAPPING;
+        };
+    }
+}
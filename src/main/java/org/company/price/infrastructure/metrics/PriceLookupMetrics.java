@@ -0,0 +1,90 @@
+package org.company.price.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.experimental.UtilityClass;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the single price lookup, shared by the layers it crosses.
+ * <p>
+ * Every stage is a {@value #STAGE_TIMER} timer told apart by its {@code stage} tag only, and every
+ * answer a {@value #OUTCOME_COUNTER} counter told apart by its {@code outcome} tag: request values
+ * such as brand or product ids never become tags, so the series count is fixed. Timers publish a
+ * histogram of 19 fixed buckets, 1-2-5 steps from 1µs to 1s, instead of the ~120 of a percentile
+ * histogram over the same range; quantiles are computed by Prometheus from the buckets.
+ */
+@UtilityClass
+public final class PriceLookupMetrics {
+
+    public static final String STAGE_TIMER = "prices.lookup.stage";
+    public static final String OUTCOME_COUNTER = "prices.lookup.outcomes";
+
+    /** Parsing of the {@code applicationDate} parameter. */
+    public static final String PARSE = "parse";
+    /** The whole repository chain as seen by the use case, decorators included. */
+    public static final String REPOSITORY = "repository";
+    /** The configured source behind the decorators: for R2DBC, the circuit breaker around the query. */
+    public static final String SOURCE = "source";
+    /** The R2DBC query itself. */
+    public static final String QUERY = "query";
+    /**
+     * The read of every row of a brand/product behind a series or a calendar, kept apart from
+     * {@link #REPOSITORY} so that it does not skew the single lookup.
+     */
+    public static final String SCAN = "scan";
+    /** Domain price to response DTO. */
+    public static final String MAPPING = "mapping";
+    /** Response DTO to JSON body. */
+    public static final String SERIALIZATION = "serialization";
+
+    private static final Duration[] BUCKETS = buckets();
+
+    public static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Time spent by single price lookups in each stage")
+                .tag("stage", stage)
+                .serviceLevelObjectives(BUCKETS)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records into the timer the time from subscription to termination or cancellation.
+     */
+    public static <T> Mono<T> timed(Mono<T> mono, Timer timer) {
+        return Mono.defer(() -> {
+            var start = System.nanoTime();
+            return mono.doFinally(signal -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    /**
+     * Records into the timer the time from subscription to termination or cancellation.
+     */
+    public static <T> Flux<T> timed(Flux<T> flux, Timer timer) {
+        return Flux.defer(() -> {
+            var start = System.nanoTime();
+            return flux.doFinally(signal -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    /**
+     * 1, 2 and 5 times every power of ten from 1µs, up to 1s.
+     */
+    private static Duration[] buckets() {
+        var buckets = new Duration[19];
+        var decade = 1_000L;
+        for (var i = 0; i < buckets.length; decade *= 10) {
+            buckets[i++] = Duration.ofNanos(decade);
+            if (i < buckets.length) {
+                buckets[i++] = Duration.ofNanos(2 * decade);
+                buckets[i++] = Duration.ofNanos(5 * decade);
+            }
+        }
+        return buckets;
+    }
+}
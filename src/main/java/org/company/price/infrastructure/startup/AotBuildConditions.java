@@ -0,0 +1,140 @@
+package org.company.price.infrastructure.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Stops a boot on Spring AOT artifacts that were built with other values of the properties the
+ * application's {@code @ConditionalOnProperty} conditions read.
+ * <p>
+ * With {@code spring.aot.enabled}, bean definitions come from code generated by {@code process-aot}
+ * and those conditions are never evaluated again: a runtime {@code prices.repository.type=jdbc} on
+ * an image built for {@code r2dbc} would otherwise be ignored without a word. At build time this
+ * records the values the build resolved into {@value #RESOURCE}; at startup on AOT artifacts it
+ * compares them with the environment and fails with every difference. Registered through
+ * {@code META-INF/spring/aot.factories} for the build and {@code META-INF/spring.factories} for the
+ * startup check.
+ */
+@Slf4j
+public class AotBuildConditions implements BeanFactoryInitializationAotProcessor, ApplicationListener<ApplicationEnvironmentPreparedEvent> {
+
+    static final String RESOURCE = "META-INF/prices/aot-conditions.properties";
+
+    /**
+     * Properties read by conditions, with the value a missing one stands for.
+     */
+    static final Map<String, String> CONDITIONS = conditions(
+            "prices.repository.type", "r2dbc",
+            "prices.repository.known-keys.enabled", "true",
+            "prices.repository.sync.enabled", "true",
+            "prices.repository.pool.warm-up", "true",
+            "prices.api.endpoint", "annotated",
+            "prices.api.response-cache.enabled", "true",
+            "prices.startup.lazy.enabled", "true",
+            "prices.import.file", "false",
+            "spring.threads.virtual.enabled", "false"
+    );
+
+    /**
+     * Properties whose conditions only test that they are set, whatever the value.
+     */
+    static final Set<String> PRESENCE_ONLY = Set.of("prices.import.file");
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        var resolved = resolve(beanFactory.getBean(Environment.class));
+        return (generationContext, beanFactoryInitializationCode) ->
+                generationContext.getGeneratedFiles().addResourceFile(RESOURCE, write(resolved));
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        var resource = new ClassPathResource(RESOURCE);
+        if (!resource.exists()) {
+            log.warn("No {} in the AOT artifacts: cannot tell whether they match the runtime properties", RESOURCE);
+            return;
+        }
+        check(read(resource), resolve(event.getEnvironment()));
+    }
+
+    static Map<String, String> resolve(Environment environment) {
+        var resolved = new LinkedHashMap<String, String>();
+        CONDITIONS.forEach((property, missing) -> {
+            var value = environment.getProperty(property);
+            if (PRESENCE_ONLY.contains(property)) {
+                value = String.valueOf(value != null && !value.isBlank() && !"false".equalsIgnoreCase(value));
+            }
+            resolved.put(property, value == null ? missing : value.trim().toLowerCase(Locale.ROOT));
+        });
+        return resolved;
+    }
+
+    /**
+     * Fails when the runtime value of any condition property differs from the one built with.
+     */
+    static void check(Map<String, String> built, Map<String, String> runtime) {
+        var mismatches = runtime.entrySet().stream()
+                .filter(entry -> built.containsKey(entry.getKey()) && !built.get(entry.getKey()).equals(entry.getValue()))
+                .map(entry -> entry.getKey() + "=" + entry.getValue() + " (built with " + built.get(entry.getKey()) + ")")
+                .collect(Collectors.joining(", "));
+        if (!mismatches.isEmpty()) {
+            var message = "The AOT artifacts were built with other conditions than this run: " + mismatches
+                    + ". Rebuild with these properties, or start without -Dspring.aot.enabled=true";
+            // logged here as well: the startup failure report does not print the exception's message
+            log.error(message);
+            throw new IllegalStateException(message);
+        }
+    }
+
+    private static Map<String, String> read(ClassPathResource resource) {
+        var properties = new Properties();
+        try (var input = resource.getInputStream()) {
+            properties.load(input);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read " + RESOURCE, ex);
+        }
+        var built = new LinkedHashMap<String, String>();
+        properties.stringPropertyNames().forEach(name -> built.put(name, properties.getProperty(name)));
+        return built;
+    }
+
+    private static String write(Map<String, String> resolved) {
+        var properties = new Properties();
+        properties.putAll(resolved);
+        var content = new StringWriter();
+        try {
+            properties.store(content, "Condition properties resolved by process-aot");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return content.toString();
+    }
+
+    private static Map<String, String> conditions(String... propertyAndMissing) {
+        var conditions = new LinkedHashMap<String, String>();
+        for (var i = 0; i < propertyAndMissing.length; i += 2) {
+            conditions.put(propertyAndMissing[i], propertyAndMissing[i + 1]);
+        }
+        return conditions;
+    }
+}
@@ -0,0 +1,50 @@
+package org.company.price.infrastructure.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Marks lazy every bean whose class, or the type its factory method returns or is declared in, lives
+ * under one of the given packages: none of them is created, nor are their classes loaded, until
+ * something first asks for them. Meant for what serving prices never needs, such as the springdoc
+ * API documentation: its controllers are still mapped at startup from their bean type alone, and
+ * created on the first {@code /api-docs} or {@code /swagger-ui} request.
+ * <p>
+ * Beans another eager bean depends on are created with it anyway, lazy or not.
+ */
+@Slf4j
+public class DeferredInitializationPostProcessor implements BeanFactoryPostProcessor {
+
+    private final List<String> packages;
+
+    public DeferredInitializationPostProcessor(List<String> packages) {
+        this.packages = packages.stream().map(name -> name.endsWith(".") ? name : name + ".").toList();
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        var deferred = 0;
+        for (var name : beanFactory.getBeanDefinitionNames()) {
+            var definition = beanFactory.getBeanDefinition(name);
+            if (!definition.isLazyInit() && definition.isSingleton() && deferred(definition)) {
+                definition.setLazyInit(true);
+                deferred++;
+            }
+        }
+        log.info("Deferred {} beans from {} until first use", deferred, packages);
+    }
+
+    private boolean deferred(BeanDefinition definition) {
+        var factoryMethod = definition instanceof AnnotatedBeanDefinition annotated ? annotated.getFactoryMethodMetadata() : null;
+        var types = factoryMethod == null
+                ? Stream.of(definition.getBeanClassName())
+                : Stream.of(factoryMethod.getReturnTypeName(), factoryMethod.getDeclaringClassName());
+        return types.anyMatch(type -> type != null && packages.stream().anyMatch(type::startsWith));
+    }
+}
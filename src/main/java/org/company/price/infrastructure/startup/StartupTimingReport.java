@@ -0,0 +1,138 @@
+package org.company.price.infrastructure.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.event.ApplicationStartingEvent;
+import org.springframework.boot.context.event.SpringApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Times the phases of a boot, each from the end of the previous one, starting when the JVM did:
+ * {@code jvm} up to {@code SpringApplication.run}, then {@code environment}, {@code context}
+ * (creation and bean definition loading), {@code refresh} (bean creation and the web server),
+ * {@code runners}, and {@code first-request} until the first response is committed.
+ * <p>
+ * The report is logged once the first request is answered, with whether the bean definitions came
+ * from Spring AOT and whether classes came from a CDS archive, and published as
+ * {@code prices.startup.phase{phase}} plus {@code prices.startup.first-request} from the JVM start.
+ * Registered through {@code META-INF/spring.factories} to see the events before the context exists;
+ * it adds itself to the context as the web filter that notices the first request.
+ * <p>
+ * With {@code prices.startup.profiling.enabled}, it also hands the application a
+ * {@link BufferingApplicationStartup} before the context is created, so every startup step of the
+ * refresh (bean instantiations, post-processors, ...) is recorded with its duration and served by
+ * the {@code startup} actuator endpoint.
+ */
+@Slf4j
+public class StartupTimingReport implements ApplicationListener<SpringApplicationEvent>, WebFilter {
+
+    static final String PHASE_GAUGE = "prices.startup.phase";
+    static final String FIRST_REQUEST_GAUGE = "prices.startup.first-request";
+    static final String PROFILING_PROPERTY = "prices.startup.profiling.enabled";
+    static final String PROFILING_CAPACITY_PROPERTY = "prices.startup.profiling.capacity";
+    static final int DEFAULT_PROFILING_CAPACITY = 10_000;
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private final AtomicBoolean answered = new AtomicBoolean();
+    private long lastMillis = jvmStartMillis;
+    private volatile MeterRegistry meterRegistry;
+
+    @Override
+    public void onApplicationEvent(SpringApplicationEvent event) {
+        switch (event) {
+            case ApplicationStartingEvent ignored -> phase("jvm");
+            case ApplicationEnvironmentPreparedEvent prepared -> {
+                phase("environment");
+                var environment = prepared.getEnvironment();
+                if (environment.getProperty(PROFILING_PROPERTY, Boolean.class, false)) {
+                    // the context is created next, with the application startup set at that point
+                    prepared.getSpringApplication().setApplicationStartup(new BufferingApplicationStartup(
+                            environment.getProperty(PROFILING_CAPACITY_PROPERTY, Integer.class, DEFAULT_PROFILING_CAPACITY)));
+                }
+            }
+            case ApplicationPreparedEvent prepared -> {
+                phase("context");
+                prepared.getApplicationContext().getBeanFactory().registerSingleton("startupTimingReport", this);
+            }
+            case ApplicationStartedEvent ignored -> phase("refresh");
+            case ApplicationReadyEvent ready -> {
+                phase("runners");
+                meterRegistry = ready.getApplicationContext().getBeanProvider(MeterRegistry.class).getIfAvailable();
+            }
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!answered.get()) {
+            exchange.getResponse().beforeCommit(() -> {
+                if (answered.compareAndSet(false, true)) {
+                    firstRequest();
+                }
+                return Mono.empty();
+            });
+        }
+        return chain.filter(exchange);
+    }
+
+    /**
+     * Durations of the phases completed so far, in milliseconds, in order.
+     */
+    public synchronized Map<String, Long> phases() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(phases));
+    }
+
+    private synchronized long phase(String name) {
+        var now = System.currentTimeMillis();
+        phases.put(name, now - lastMillis);
+        lastMillis = now;
+        return now;
+    }
+
+    private void firstRequest() {
+        var sinceJvmStart = phase("first-request") - jvmStartMillis;
+        var registry = meterRegistry;
+        if (registry != null) {
+            phases().forEach((name, millis) -> TimeGauge.builder(PHASE_GAUGE, () -> millis, TimeUnit.MILLISECONDS)
+                    .description("Duration of a startup phase, from the end of the previous one")
+                    .tag("phase", name)
+                    .register(registry));
+            TimeGauge.builder(FIRST_REQUEST_GAUGE, () -> sinceJvmStart, TimeUnit.MILLISECONDS)
+                    .description("Time from the JVM start to the first response")
+                    .register(registry);
+        }
+        var report = phases().entrySet().stream()
+                .map(phase -> phase.getKey() + " " + phase.getValue() + " ms")
+                .collect(Collectors.joining(", "));
+        log.info("Startup phases (aot: {}, cds: {}, {} classes loaded): {}; first request answered {} ms after the JVM start",
+                AotDetector.useGeneratedArtifacts(), sharedArchive(),
+                ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount(), report, sinceJvmStart);
+    }
+
+    private static boolean sharedArchive() {
+        return ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .anyMatch(argument -> argument.startsWith("-XX:SharedArchiveFile"));
+    }
+}
@@ -1,3 +1,6 @@
+-- Every insert and update takes the next version, so readers can pull the rows changed since a watermark.
+CREATE SEQUENCE IF NOT EXISTS prices_version_seq;
+
 CREATE TABLE IF NOT EXISTS prices (
     id IDENTITY PRIMARY KEY,
     brand_id INT NOT NULL,
@@ -7,9 +10,13 @@ CREATE TABLE IF NOT EXISTS prices (
     end_date TIMESTAMP NOT NULL,
     priority INT NOT NULL,
     price DECIMAL(10, 2) NOT NULL,
-    curr VARCHAR(10) NOT NULL
+    curr VARCHAR(10) NOT NULL,
+    version BIGINT DEFAULT NEXT VALUE FOR prices_version_seq ON UPDATE NEXT VALUE FOR prices_version_seq NOT NULL
 );
 
+CREATE INDEX IF NOT EXISTS idx_prices_version ON prices (version);
+CREATE INDEX IF NOT EXISTS idx_prices_series ON prices (brand_id, product_id);
+
 INSERT INTO prices (brand_id, product_id, price_list, start_date, end_date, priority, price, curr)
 VALUES
 (1, 35455, 1, TIMESTAMP '2020-06-14 00:00:00', TIMESTAMP '2020-12-31 23:59:59', 0, 35.50, 'EUR'),
@@ -1,28 +1,46 @@
 package org.company.price.application.service;
 
-import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.application.dto.PriceBatchItemDTO;
+import org.company.price.application.dto.PriceQueryDTO;
 import org.company.price.application.dto.PriceResponseDTO;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.application.dto.PriceSegmentDTO;
+import org.company.price.application.dto.PriceSeriesQueryDTO;
 import org.company.price.application.mapper.PriceMapper;
+import org.company.price.application.port.PriceLookupObserver;
+import org.company.price.application.port.PriceLookupObserver.Stage;
 import org.company.price.application.utils.ApplicationDateParser;
+import org.company.price.domain.exception.PriceNotFoundException;
 import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
 import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 @ExtendWith(MockitoExtension.class)
 class PriceServiceTest {
 
@@ -32,12 +50,18 @@ class PriceServiceTest {
     @Mock
     PriceMapper mapper;
 
-    @InjectMocks
+    RecordingObserver observer = new RecordingObserver();
+
     PriceService service;
 
     @Captor
     ArgumentCaptor<PriceSearchCriteria> criteriaCaptor;
 
+    @BeforeEach
+    void setUp() {
+        service = new PriceService(repository, mapper, observer);
+    }
+
     @Test
     void getApplicablePrice_parsesDdMMyyyy_andReturnsDto() {
         Integer brandId = 1;
@@ -103,4 +127,196 @@ class PriceServiceTest {
         assertEquals(parsed, captured.applicationStart());
         assertEquals(parsed, captured.applicationEnd());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getApplicablePrices_returnsOneItemPerQueryInRequestOrder() {
+        var found = new PriceQueryDTO(1, 35455, "14/06/2020 16:00:00");
+        var missing = new PriceQueryDTO(1, 99999, "14/06/2020 16:00:00");
+
+        var price = mock(Price.class);
+        var dto = new PriceResponseDTO(1, 35455, 2, null, null, new BigDecimal("25.45"), "EUR");
+
+        when(repository.findTopApplicablePrices(any())).thenReturn(Mono.just(Map.of(1, price)));
+        when(mapper.toDto(price)).thenReturn(dto);
+
+        StepVerifier.create(service.getApplicablePrices(List.of(missing, found)))
+                .assertNext(items -> {
+                    assertThat(items).hasSize(2);
+                    assertThat(items.get(0).productId()).isEqualTo(99999);
+                    assertThat(items.get(0).price()).isNull();
+                    assertThat(items.get(1).productId()).isEqualTo(35455);
+                    assertThat(items.get(1).price()).isEqualTo(dto);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getApplicablePrice_whenNoPrice_failsWithStacklessNotFound() {
+        when(repository.findTopApplicablePrice(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.getApplicablePrice(1, 99999, "14/06/2020 16:00:00"))
+                .expectErrorSatisfies(error -> {
+                    assertThat(error).isInstanceOf(PriceNotFoundException.class)
+                            .hasMessage("Applicable price not found for product=99999, brand=1, date=14/06/2020 16:00:00");
+                    assertThat(error.getStackTrace()).isEmpty();
+                })
+                .verify();
+    }
+
+    @Test
+    void getApplicablePrice_recordsParseRepositoryAndMappingStages() {
+        var price = mock(Price.class);
+        var dto = new PriceResponseDTO(1, 35455, 2, null, null, new BigDecimal("25.45"), "EUR");
+        when(repository.findTopApplicablePrice(any())).thenReturn(Mono.just(price));
+        when(mapper.toDto(price)).thenReturn(dto);
+
+        StepVerifier.create(service.getApplicablePrice(1, 35455, "14/06/2020 16:00:00"))
+                .expectNext(dto)
+                .verifyComplete();
+
+        assertThat(observer.completed).containsExactlyInAnyOrder(Stage.PARSE, Stage.REPOSITORY, Stage.MAPPING);
+    }
+
+    @Test
+    void getApplicableSegment_resolvesTheSegmentAtTheDate_andReturnsDto() {
+        var applicationDate = ApplicationDateParser.parse("14/06/2020 16:00:00");
+        var segment = new PriceSegment(mock(Price.class), applicationDate.minusHours(1), applicationDate.plusHours(2));
+        var dto = new PriceSegmentDTO(new PriceResponseDTO(1, 35455, 2, null, null, new BigDecimal("25.45"), "EUR"),
+                segment.startDate(), segment.endDate());
+        when(repository.findApplicableSegment(1, 35455, applicationDate)).thenReturn(Mono.just(segment));
+        when(mapper.toSegmentDto(segment)).thenReturn(dto);
+
+        StepVerifier.create(service.getApplicableSegment(1, 35455, "14/06/2020 16:00:00"))
+                .expectNext(dto)
+                .verifyComplete();
+
+        assertThat(observer.completed).containsOnlyOnce(Stage.REPOSITORY);
+    }
+
+    @Test
+    void getApplicableSegment_whenNoPrice_failsWithNotFound() {
+        when(repository.findApplicableSegment(any(), any(), any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.getApplicableSegment(1, 99999, "14/06/2020 16:00:00"))
+                .expectError(PriceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void getPriceSeries_readsTheRowsOnce_andAnswersListedDatesInDateOrder() {
+        var price = Price.builder()
+                .brandId(1).productId(35455).priceList(2)
+                .startDate(ApplicationDateParser.parse("14/06/2020 15:00:00"))
+                .endDate(ApplicationDateParser.parse("14/06/2020 18:30:00"))
+                .priority(1).price(new BigDecimal("25.45")).currency("EUR")
+                .build();
+        var dto = new PriceResponseDTO(1, 35455, 2, null, null, new BigDecimal("25.45"), "EUR");
+        when(repository.findPrices(1, 35455)).thenReturn(Flux.just(price));
+        when(mapper.toDto(price)).thenReturn(dto);
+        var query = PriceSeriesQueryDTO.builder()
+                .brandId(1)
+                .productId(35455)
+                .applicationDates(List.of("14/06/2020 21:00:00", "14/06/2020 16:00", "14/06/2020 10:00:00"))
+                .build();
+
+        StepVerifier.create(service.getPriceSeries(query))
+                .expectNext(new PriceBatchItemDTO(1, 35455, "14/06/2020 10:00:00", null))
+                .expectNext(new PriceBatchItemDTO(1, 35455, "14/06/2020 16:00", dto))
+                .expectNext(new PriceBatchItemDTO(1, 35455, "14/06/2020 21:00:00", null))
+                .verifyComplete();
+
+        verify(repository, times(1)).findPrices(1, 35455);
+    }
+
+    @Test
+    void getPriceSeries_generatesTheDatesOfARange_upToAndIncludingTo() {
+        when(repository.findPrices(1, 35455)).thenReturn(Flux.empty());
+        var query = PriceSeriesQueryDTO.builder()
+                .brandId(1)
+                .productId(35455)
+                .from(ApplicationDateParser.parse("14/06/2020 10:00:00"))
+                .to(ApplicationDateParser.parse("14/06/2020 12:00:00"))
+                .step(Duration.ofHours(1))
+                .build();
+
+        StepVerifier.create(service.getPriceSeries(query).map(PriceBatchItemDTO::applicationDate))
+                .expectNext("14/06/2020 10:00:00", "14/06/2020 11:00:00", "14/06/2020 12:00:00")
+                .verifyComplete();
+    }
+
+    @Test
+    void getPriceSeries_whenADateIsMalformed_failsBeforeReadingTheRows() {
+        var query = PriceSeriesQueryDTO.builder()
+                .brandId(1)
+                .productId(35455)
+                .applicationDates(List.of("14/06/2020 10:00:00", "not a date"))
+                .build();
+
+        StepVerifier.create(service.getPriceSeries(query))
+                .expectError(DateTimeParseException.class)
+                .verify();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void getPriceCalendar_keepsTheSegmentsOverlappingTheWindow_withTheirOwnBounds() {
+        var base = price(1, "14/06/2020 00:00:00", "31/12/2020 23:59:59", 0);
+        var promotion = price(2, "14/06/2020 15:00:00", "14/06/2020 18:30:00", 1);
+        var morning = price(3, "15/06/2020 00:00:00", "15/06/2020 11:00:00", 1);
+        when(repository.findPrices(1, 35455)).thenReturn(Flux.just(base, promotion, morning));
+        when(mapper.toSegmentDto(any())).thenAnswer(invocation -> {
+            PriceSegment segment = invocation.getArgument(0);
+            var price = segment.price();
+            return new PriceSegmentDTO(new PriceResponseDTO(1, 35455, price.priceList(), null, null, price.price(), "EUR"),
+                    segment.startDate(), segment.endDate());
+        });
+
+        StepVerifier.create(service.getPriceCalendar(1, 35455,
+                        ApplicationDateParser.parse("14/06/2020 16:00:00"), ApplicationDateParser.parse("14/06/2020 20:00:00")))
+                .assertNext(segment -> {
+                    assertThat(segment.price().priceList()).isEqualTo(2);
+                    assertThat(segment.startDate()).isEqualTo(ApplicationDateParser.parse("14/06/2020 15:00:00"));
+                    assertThat(segment.endDate()).isEqualTo(ApplicationDateParser.parse("14/06/2020 18:30:00"));
+                })
+                .assertNext(segment -> {
+                    assertThat(segment.price().priceList()).isEqualTo(1);
+                    assertThat(segment.startDate()).isEqualTo(ApplicationDateParser.parse("14/06/2020 18:30:01"));
+                    assertThat(segment.endDate()).isEqualTo(ApplicationDateParser.parse("14/06/2020 23:59:59"));
+                })
+                .verifyComplete();
+
+        verify(repository, times(1)).findPrices(1, 35455);
+    }
+
+    private static Price price(int priceList, String start, String end, int priority) {
+        return Price.builder()
+                .brandId(1).productId(35455).priceList(priceList)
+                .startDate(ApplicationDateParser.parse(start))
+                .endDate(ApplicationDateParser.parse(end))
+                .priority(priority).price(BigDecimal.valueOf(priceList)).currency("EUR")
+                .build();
+    }
+
+    /**
+     * Lists the stages as they complete.
+     */
+    static class RecordingObserver implements PriceLookupObserver {
+
+        final List<Stage> completed = new ArrayList<>();
+
+        @Override
+        public <T> T observe(Stage stage, Supplier<T> step) {
+            try {
+                return step.get();
+            } finally {
+                completed.add(stage);
+            }
+        }
+
+        @Override
+        public <T> Mono<T> observe(Stage stage, Mono<T> step) {
+            return step.doFinally(signal -> completed.add(stage));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.company.price.application.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ApplicationDateParserTest {
+
+    @Test
+    @DisplayName("Should parse dd/MM/yyyy HH:mm:ss and dd/MM/yyyy HH:mm")
+    void shouldParseBothLayouts() {
+        // Act & Assert
+        assertThat(ApplicationDateParser.parse("14/06/2020 16:00:00")).isEqualTo(LocalDateTime.of(2020, 6, 14, 16, 0));
+        assertThat(ApplicationDateParser.parse("14/06/2020 16:05")).isEqualTo(LocalDateTime.of(2020, 6, 14, 16, 5));
+        assertThat(ApplicationDateParser.parseEpochSecond("01/01/1970 00:00:00")).isZero();
+        assertThat(ApplicationDateParser.parseEpochSecond("31/12/1969 23:59:59")).isEqualTo(-1);
+        assertThat(ApplicationDateParser.parse("29/02/2000 23:59:59")).isEqualTo(LocalDateTime.of(2000, 2, 29, 23, 59, 59));
+    }
+
+    @Test
+    @DisplayName("Should convert to the same epoch second as java.time on random dates")
+    void shouldMatchJavaTime() {
+        // Arrange
+        var random = new SplittableRandom(8);
+        var format = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+        for (var i = 0; i < 10_000; i++) {
+            var expected = LocalDateTime.of(1, 1, 1, 0, 0).plusSeconds(random.nextLong(315_000_000_000L));
+
+            // Act
+            var actual = ApplicationDateParser.parseEpochSecond(expected.format(format));
+
+            // Assert
+            assertThat(actual).as(expected.toString()).isEqualTo(expected.toEpochSecond(ZoneOffset.UTC));
+        }
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {
+            "", "14/06/2020", "14/06/2020 16", "14-06-2020 16:00:00", "14/06/2020T16:00:00", "14/06/2020 16:00:0",
+            "14/06/2020 16:00:00Z", "1a/06/2020 16:00:00", "00/06/2020 16:00:00", "14/13/2020 16:00:00",
+            "31/04/2020 10:00", "29/02/2019 10:00", "29/02/1900 10:00", "14/06/0000 10:00", "14/06/2020 24:00",
+            "14/06/2020 16:60", "14/06/2020 16:00:60", "14/06/2020 16:00:+1"
+    })
+    @DisplayName("Should reject inputs off the layout or outside the calendar")
+    void shouldRejectInvalidInputs(String input) {
+        // Act & Assert
+        assertThatThrownBy(() -> ApplicationDateParser.parseEpochSecond(input))
+                .isInstanceOf(DateTimeParseException.class);
+    }
+}
@@ -0,0 +1,84 @@
+package org.company.price.domain.service;
+
+import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.company.price.domain.service.PriceSegmentFlattenerTest.at;
+import static org.company.price.domain.service.PriceSegmentFlattenerTest.price;
+
+class PriceSegmentCursorTest {
+
+    @Test
+    @DisplayName("Should resolve the sample dates in one pass, repeated dates and gaps included")
+    void shouldResolveAscendingDates() {
+        // Arrange
+        var cursor = PriceSegmentCursor.of(List.of(
+                price(1, "2020-06-14T00:00:00", "2020-12-31T23:59:59", 0),
+                price(2, "2020-06-14T15:00:00", "2020-06-14T18:30:00", 1),
+                price(3, "2020-06-15T00:00:00", "2020-06-15T11:00:00", 1),
+                price(4, "2020-06-15T16:00:00", "2020-12-31T23:59:59", 1)
+        ));
+
+        // Act
+        var priceLists = List.of("2020-06-13T23:59:59", "2020-06-14T10:00:00", "2020-06-14T16:00:00",
+                        "2020-06-14T16:00:00", "2020-06-14T21:00:00", "2020-06-15T10:00:00", "2020-06-16T21:00:00",
+                        "2021-01-01T00:00:00")
+                .stream()
+                .map(date -> cursor.at(at(date)).map(Price::priceList).orElse(null))
+                .toList();
+
+        // Assert
+        assertThat(priceLists).containsExactly(null, 1, 2, 2, 1, 3, 4, null);
+    }
+
+    @Test
+    @DisplayName("Should reject a date before the previous one")
+    void shouldRejectDescendingDates() {
+        // Arrange
+        var cursor = PriceSegmentCursor.of(List.of(price(1, "2020-06-14T00:00:00", "2020-12-31T23:59:59", 0)));
+        cursor.at(at("2020-06-15T00:00:00"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> cursor.at(at("2020-06-14T00:00:00"))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should answer every date of a sweep as a lookup per date would")
+    void shouldMatchSegmentAtOnRandomData() {
+        // Arrange
+        var random = new Random(11);
+        var base = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+        for (var round = 0; round < 100; round++) {
+            var prices = new ArrayList<Price>();
+            var rows = 1 + random.nextInt(30);
+            for (var i = 0; i < rows; i++) {
+                var start = base.plusHours(random.nextInt(500));
+                prices.add(Price.builder()
+                        .brandId(1).productId(1).priceList(i)
+                        .startDate(start)
+                        .endDate(start.plusHours(random.nextInt(200)).plusMinutes(59).plusSeconds(59))
+                        .priority(random.nextInt(3))
+                        .price(BigDecimal.ONE).currency("EUR")
+                        .build());
+            }
+            var cursor = PriceSegmentCursor.of(prices);
+
+            // Act & Assert
+            for (var date = base.minusHours(1); date.isBefore(base.plusHours(720)); date = date.plusMinutes(1 + random.nextInt(240))) {
+                var expected = PriceSegmentFlattener.segmentAt(prices, date).map(PriceSegment::price);
+                assertThat(cursor.at(date)).as(date.toString()).isEqualTo(expected);
+            }
+        }
+    }
+}
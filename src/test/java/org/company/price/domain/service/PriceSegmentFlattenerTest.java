@@ -0,0 +1,162 @@
+package org.company.price.domain.service;
+
+import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class PriceSegmentFlattenerTest {
+
+    @Test
+    @DisplayName("Should flatten the sample prices into their six effective segments")
+    void shouldFlattenSamplePrices() {
+        // Arrange
+        var prices = List.of(
+                price(1, "2020-06-14T00:00:00", "2020-12-31T23:59:59", 0),
+                price(2, "2020-06-14T15:00:00", "2020-06-14T18:30:00", 1),
+                price(3, "2020-06-15T00:00:00", "2020-06-15T11:00:00", 1),
+                price(4, "2020-06-15T16:00:00", "2020-12-31T23:59:59", 1)
+        );
+
+        // Act
+        var segments = PriceSegmentFlattener.flatten(prices);
+
+        // Assert
+        assertThat(segments).extracting(s -> s.price().priceList(), PriceSegment::startDate, PriceSegment::endDate)
+                .containsExactly(
+                        tuple(1, at("2020-06-14T00:00:00"), at("2020-06-14T14:59:59")),
+                        tuple(2, at("2020-06-14T15:00:00"), at("2020-06-14T18:30:00")),
+                        tuple(1, at("2020-06-14T18:30:01"), at("2020-06-14T23:59:59")),
+                        tuple(3, at("2020-06-15T00:00:00"), at("2020-06-15T11:00:00")),
+                        tuple(1, at("2020-06-15T11:00:01"), at("2020-06-15T15:59:59")),
+                        tuple(4, at("2020-06-15T16:00:00"), at("2020-12-31T23:59:59"))
+                );
+    }
+
+    @Test
+    @DisplayName("Should find the segment covering an instant, bounds included, and none in a gap")
+    void shouldFindSegmentAtInstant() {
+        // Arrange
+        var prices = List.of(
+                price(1, "2020-06-14T00:00:00", "2020-06-14T23:59:59", 0),
+                price(2, "2020-06-14T15:00:00", "2020-06-14T18:30:00", 1)
+        );
+
+        // Act & Assert
+        assertThat(PriceSegmentFlattener.segmentAt(prices, at("2020-06-14T18:30:00")))
+                .hasValueSatisfying(segment -> assertThat(segment.startDate()).isEqualTo(at("2020-06-14T15:00:00")));
+        assertThat(PriceSegmentFlattener.segmentAt(prices, at("2020-06-14T18:30:01")))
+                .hasValueSatisfying(segment -> assertThat(segment.endDate()).isEqualTo(at("2020-06-14T23:59:59")));
+        assertThat(PriceSegmentFlattener.segmentAt(prices, at("2020-06-15T00:00:00"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should tell the gap around an instant no price covers, unbounded past the outermost prices")
+    void shouldFindGapAtInstant() {
+        // Arrange
+        var prices = List.of(
+                price(1, "2020-01-01T00:00:00", "2020-01-31T23:59:59", 0),
+                price(2, "2020-03-01T00:00:00", "2020-03-31T23:59:59", 0)
+        );
+
+        // Act & Assert
+        assertThat(PriceSegmentFlattener.segmentOrGapAt(prices, at("2020-02-15T00:00:00")))
+                .isEqualTo(PriceSegment.gap(at("2020-02-01T00:00:00"), at("2020-02-29T23:59:59")));
+        assertThat(PriceSegmentFlattener.segmentOrGapAt(prices, at("2019-12-31T23:59:59")))
+                .isEqualTo(PriceSegment.gap(LocalDateTime.MIN, at("2019-12-31T23:59:59")));
+        assertThat(PriceSegmentFlattener.segmentOrGapAt(prices, at("2020-04-01T00:00:00")))
+                .isEqualTo(PriceSegment.gap(at("2020-04-01T00:00:00"), LocalDateTime.MAX));
+        assertThat(PriceSegmentFlattener.segmentOrGapAt(prices, at("2020-03-31T23:59:59")).priced()).isTrue();
+        assertThat(PriceSegmentFlattener.segmentOrGapAt(List.of(), at("2020-02-15T00:00:00")))
+                .isEqualTo(PriceSegment.gap(LocalDateTime.MIN, LocalDateTime.MAX));
+    }
+
+    @Test
+    @DisplayName("Should return no segments for no prices and keep gaps between disjoint prices")
+    void shouldHandleEmptyInputAndGaps() {
+        // Arrange
+        var prices = List.of(
+                price(1, "2020-01-01T00:00:00", "2020-01-31T23:59:59", 0),
+                price(2, "2020-03-01T00:00:00", "2020-03-31T23:59:59", 0)
+        );
+
+        // Act
+        var segments = PriceSegmentFlattener.flatten(prices);
+
+        // Assert
+        assertThat(PriceSegmentFlattener.flatten(List.of())).isEmpty();
+        assertThat(segments).hasSize(2);
+        assertThat(segments.get(0).endDate()).isEqualTo(at("2020-01-31T23:59:59"));
+        assertThat(segments.get(1).startDate()).isEqualTo(at("2020-03-01T00:00:00"));
+    }
+
+    @Test
+    @DisplayName("Should produce ordered, non-overlapping segments matching a brute-force resolution")
+    void shouldMatchBruteForceOnRandomData() {
+        // Arrange
+        var random = new Random(7);
+        var base = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+        for (var round = 0; round < 200; round++) {
+            var prices = new ArrayList<Price>();
+            var rows = 1 + random.nextInt(30);
+            for (var i = 0; i < rows; i++) {
+                var start = base.plusHours(random.nextInt(500));
+                prices.add(Price.builder()
+                        .brandId(1).productId(1).priceList(i)
+                        .startDate(start)
+                        .endDate(start.plusHours(random.nextInt(200)).plusMinutes(59).plusSeconds(59))
+                        .priority(random.nextInt(3))
+                        .price(BigDecimal.ONE).currency("EUR")
+                        .build());
+            }
+
+            // Act
+            var segments = PriceSegmentFlattener.flatten(prices);
+
+            // Assert
+            for (var i = 1; i < segments.size(); i++) {
+                assertThat(segments.get(i).startDate()).isAfter(segments.get(i - 1).endDate());
+            }
+            for (var probe = 0; probe < 200; probe++) {
+                var instant = base.plusMinutes(random.nextInt(720 * 60));
+                var expected = prices.stream()
+                        .filter(p -> !p.startDate().isAfter(instant) && !p.endDate().isBefore(instant))
+                        .max(Price.PRECEDENCE)
+                        .orElse(null);
+                var actual = segments.stream()
+                        .filter(s -> !s.startDate().isAfter(instant) && !s.endDate().isBefore(instant))
+                        .map(PriceSegment::price)
+                        .findFirst()
+                        .orElse(null);
+                assertThat(actual).isEqualTo(expected);
+            }
+        }
+    }
+
+    static Price price(int priceList, String start, String end, int priority) {
+        return Price.builder()
+                .brandId(1)
+                .productId(35455)
+                .priceList(priceList)
+                .startDate(at(start))
+                .endDate(at(end))
+                .priority(priority)
+                .price(BigDecimal.TEN)
+                .currency("EUR")
+                .build();
+    }
+
+    static LocalDateTime at(String dateTime) {
+        return LocalDateTime.parse(dateTime);
+    }
+}
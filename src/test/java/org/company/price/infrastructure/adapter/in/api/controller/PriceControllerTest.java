@@ -1,26 +1,48 @@
 package org.company.price.infrastructure.adapter.in.api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.company.price.application.dto.PriceBatchItemDTO;
+import org.company.price.application.dto.PriceQueryDTO;
 import org.company.price.application.dto.PriceResponseDTO;
+import org.company.price.application.dto.PriceSegmentDTO;
+import org.company.price.application.dto.PriceSeriesQueryDTO;
 import org.company.price.application.port.PriceUseCasePort;
 import org.company.price.application.utils.ApplicationDateParser;
 import org.company.price.domain.exception.PriceNotFoundException;
 import org.company.price.infrastructure.adapter.in.api.error.GlobalExceptionHandler;
 import org.company.price.infrastructure.adapter.in.api.model.PriceResponse;
+import org.company.price.infrastructure.config.PriceApiProperties;
 import org.company.price.infrastructure.mapper.openapi.PriceApiMapper;
+import org.company.price.infrastructure.mapper.openapi.PriceApiMapperImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -29,6 +51,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -37,13 +60,16 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class PriceControllerTest {
 
+    static final PriceApiProperties PROPERTIES = new PriceApiProperties("annotated",
+            new PriceApiProperties.ResponseCache(true, DataSize.ofMegabytes(1)),
+            new PriceApiProperties.HttpCache(Duration.ofHours(1)));
+
     @Mock
     PriceUseCasePort priceUseCasePort;
 
-    @Mock
-    PriceApiMapper priceApiMapper;
+    @Spy
+    PriceApiMapper priceApiMapper = new PriceApiMapperImpl();
 
-    @InjectMocks
     PriceController priceController;
 
     private WebTestClient webTestClient;
@@ -51,6 +77,7 @@ class PriceControllerTest {
     @BeforeEach
     void setup() {
         // Arrange
+        priceController = new PriceController(priceUseCasePort, priceApiMapper, (PriceResponseBodyCache) null, PROPERTIES);
         var globalExceptionHandler = new GlobalExceptionHandler();
 
         webTestClient = WebTestClient.bindToController(priceController)
@@ -97,8 +124,8 @@ class PriceControllerTest {
         mockResponse.setPrice(expectedPrice);
         mockResponse.setCurrency("EUR");
 
-        when(priceUseCasePort.getApplicablePrice(anyInt(), anyInt(), any(String.class)))
-                .thenReturn(Mono.just(mockDto));
+        when(priceUseCasePort.getApplicableSegment(anyInt(), anyInt(), any(String.class)))
+                .thenReturn(Mono.just(segment(mockDto)));
         when(priceApiMapper.toPriceResponse(mockDto)).thenReturn(mockResponse);
 
         // Act
@@ -124,7 +151,7 @@ class PriceControllerTest {
                 });
 
         // Assert
-        verify(priceUseCasePort).getApplicablePrice(eq(brandId), eq(productId), any(String.class));
+        verify(priceUseCasePort).getApplicableSegment(eq(brandId), eq(productId), any(String.class));
         verify(priceApiMapper).toPriceResponse(mockDto);
     }
 
@@ -135,7 +162,7 @@ class PriceControllerTest {
         var productId = 99999;
         var dateIso = "15/06/2020 10:00:00";
 
-        when(priceUseCasePort.getApplicablePrice(anyInt(), anyInt(), anyString()))
+        when(priceUseCasePort.getApplicableSegment(anyInt(), anyInt(), anyString()))
                 .thenReturn(Mono.error(new PriceNotFoundException(
                         "Applicable price not found for the given product, brand and date."
                 )));
@@ -158,7 +185,373 @@ class PriceControllerTest {
                 .jsonPath("$.title").isEqualTo("Not Found");
 
         // Assert
-        verify(priceUseCasePort).getApplicablePrice(eq(brandId), eq(productId), any(String.class));
+        verify(priceUseCasePort).getApplicableSegment(eq(brandId), eq(productId), any(String.class));
+        verifyNoInteractions(priceApiMapper);
+    }
+
+    @Test
+    void shouldWriteTheCachedBodyOfARepeatedPriceWithoutMappingItAgain() {
+        // Arrange
+        var meterRegistry = new SimpleMeterRegistry();
+        var cache = new PriceResponseBodyCache(priceApiMapper, new ObjectMapper(), DataSize.ofMegabytes(1), meterRegistry);
+        var cachedClient = WebTestClient.bindToController(new PriceController(priceUseCasePort, priceApiMapper, cache, PROPERTIES))
+                .controllerAdvice(new GlobalExceptionHandler())
+                .build();
+        var dto = PriceResponseDTO.builder()
+                .brandId(1)
+                .productId(35455)
+                .priceList(2)
+                .startDate(LocalDateTime.of(2020, 6, 14, 15, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 18, 30))
+                .price(new BigDecimal("25.45"))
+                .currency("EUR")
+                .build();
+        when(priceUseCasePort.getApplicableSegment(anyInt(), anyInt(), anyString())).thenReturn(Mono.just(segment(dto)));
+        var expected = webTestClient.get()
+                .uri("/api/v1/prices?brandId=1&productId=35455&applicationDate=14/06/2020 16:00:00")
+                .exchange()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Act
+        var bodies = Stream.of("14/06/2020 16:00:00", "14/06/2020 17:00:00")
+                .map(date -> cachedClient.get()
+                        .uri("/api/v1/prices?brandId=1&productId=35455&applicationDate=" + date)
+                        .exchange()
+                        .expectStatus().isOk()
+                        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                        .expectBody(String.class)
+                        .returnResult()
+                        .getResponseBody())
+                .toList();
+
+        // Assert
+        assertThat(bodies).containsOnly(expected);
+        assertThat(expected).contains("\"startDate\":\"14/06/2020 15:00:00\"", "\"price\":25.45");
+        verify(priceApiMapper, times(2)).toPriceResponse(dto);
+        assertThat(meterRegistry.get("prices.api.response.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReportTheAgeOfAStalePriceInAHeader() {
+        // Arrange
+        var cache = new PriceResponseBodyCache(priceApiMapper, new ObjectMapper(), DataSize.ofMegabytes(1), new SimpleMeterRegistry());
+        var cachedClient = WebTestClient.bindToController(new PriceController(priceUseCasePort, priceApiMapper, cache, PROPERTIES))
+                .controllerAdvice(new GlobalExceptionHandler())
+                .build();
+        var fresh = PriceResponseDTO.builder()
+                .brandId(1)
+                .productId(35455)
+                .priceList(2)
+                .startDate(LocalDateTime.of(2020, 6, 14, 15, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 18, 30))
+                .price(new BigDecimal("25.45"))
+                .currency("EUR")
+                .build();
+        var stale = fresh.toBuilder().staleSince(Instant.now().minusSeconds(90)).build();
+        when(priceUseCasePort.getApplicableSegment(anyInt(), anyInt(), anyString()))
+                .thenReturn(Mono.just(segment(stale)))
+                .thenReturn(Mono.just(segment(stale)))
+                .thenReturn(Mono.just(segment(fresh)));
+
+        // Act & Assert
+        for (var client : List.of(webTestClient, cachedClient)) {
+            client.get()
+                    .uri("/api/v1/prices?brandId=1&productId=35455&applicationDate=14/06/2020 16:00:00")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().value(PriceResponseHeaders.STALENESS,
+                            age -> assertThat(Long.parseLong(age)).isBetween(90L, 95L))
+                    .expectBody()
+                    .jsonPath("$.price").isEqualTo(25.45);
+        }
+        webTestClient.get()
+                .uri("/api/v1/prices?brandId=1&productId=35455&applicationDate=14/06/2020 16:00:00")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(PriceResponseHeaders.STALENESS);
+    }
+
+    @Test
+    void shouldReturn404ProblemWhenTheResponseCacheIsEnabled() {
+        // Arrange
+        var cache = new PriceResponseBodyCache(priceApiMapper, new ObjectMapper(), DataSize.ofMegabytes(1), new SimpleMeterRegistry());
+        var cachedClient = WebTestClient.bindToController(new PriceController(priceUseCasePort, priceApiMapper, cache, PROPERTIES))
+                .controllerAdvice(new GlobalExceptionHandler())
+                .build();
+        when(priceUseCasePort.getApplicableSegment(anyInt(), anyInt(), anyString()))
+                .thenReturn(Mono.error(new PriceNotFoundException(99, 99999, "15/06/2020 10:00:00")));
+
+        // Act & Assert
+        cachedClient.get()
+                .uri("/api/v1/prices?brandId=99&productId=99999&applicationDate=15/06/2020 10:00:00")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.NOT_FOUND)
+                .expectHeader().contentType("application/problem+json");
         verifyNoInteractions(priceApiMapper);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldTagAFoundPriceAndKeepItFreshForTheMaxAgeOnceItsSegmentHasEnded() {
+        // Arrange
+        var dto = PriceResponseDTO.builder()
+                .brandId(1)
+                .productId(35455)
+                .priceList(2)
+                .startDate(LocalDateTime.of(2020, 6, 14, 15, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 18, 30))
+                .price(new BigDecimal("25.45"))
+                .currency("EUR")
+                .build();
+        when(priceUseCasePort.getApplicableSegment(anyInt(), anyInt(), anyString())).thenReturn(Mono.just(segment(dto)));
+        var before = Instant.now();
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/api/v1/prices?brandId=1&productId=35455&applicationDate=14/06/2020 16:00:00")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-35455-2-1592146800-1592159400-25.45-EUR\"")
+                .expectHeader().cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePublic())
+                .expectHeader().value(HttpHeaders.EXPIRES, expires -> assertThat(ZonedDateTime.parse(expires, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant())
+                        .isBetween(before.plusSeconds(3599), Instant.now().plusSeconds(3600)));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWithoutMappingThePriceWhenItsTagIsHeld() {
+        // Arrange
+        var cache = new PriceResponseBodyCache(priceApiMapper, new ObjectMapper(), DataSize.ofMegabytes(1), new SimpleMeterRegistry());
+        var cachedClient = WebTestClient.bindToController(new PriceController(priceUseCasePort, priceApiMapper, cache, PROPERTIES))
+                .controllerAdvice(new GlobalExceptionHandler())
+                .build();
+        var dto = PriceResponseDTO.builder()
+                .brandId(1)
+                .productId(35455)
+                .priceList(2)
+                .startDate(LocalDateTime.of(2020, 6, 14, 15, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 18, 30))
+                .price(new BigDecimal("25.45"))
+                .currency("EUR")
+                .build();
+        var etag = PriceResponseHeaders.etag(dto);
+        when(priceUseCasePort.getApplicableSegment(anyInt(), anyInt(), anyString())).thenReturn(Mono.just(segment(dto)));
+
+        // Act & Assert
+        for (var client : List.of(webTestClient, cachedClient)) {
+            client.get()
+                    .uri("/api/v1/prices?brandId=1&productId=35455&applicationDate=14/06/2020 16:00:00")
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag)
+                    .exchange()
+                    .expectStatus().isNotModified()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                    .expectHeader().exists(HttpHeaders.CACHE_CONTROL)
+                    .expectBody().isEmpty();
+        }
+        webTestClient.get()
+                .uri("/api/v1/prices?brandId=1&productId=35455&applicationDate=14/06/2020 16:00:00")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"other\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.price").isEqualTo(25.45);
+        verify(priceApiMapper, times(1)).toPriceResponse(dto);
+    }
+
+    @Test
+    void shouldReturnBatchResultsInRequestOrderWithNotFoundItems() {
+        // Arrange
+        var found = PriceResponseDTO.builder()
+                .brandId(1)
+                .productId(35455)
+                .priceList(2)
+                .price(new BigDecimal("25.45"))
+                .currency("EUR")
+                .build();
+
+        when(priceUseCasePort.getApplicablePrices(any())).thenReturn(Mono.just(List.of(
+                new PriceBatchItemDTO(1, 35455, "14/06/2020 16:00:00", found),
+                new PriceBatchItemDTO(1, 99999, "14/06/2020 16:00:00", null)
+        )));
+
+        // Act
+        webTestClient.post()
+                .uri("/api/v1/prices:batch")
+                .bodyValue(Map.of("items", List.of(
+                        Map.of("brandId", 1, "productId", 35455, "applicationDate", "14/06/2020 16:00:00"),
+                        Map.of("brandId", 1, "productId", 99999, "applicationDate", "14/06/2020 16:00:00")
+                )))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(2)
+                .jsonPath("$.items[0].status").isEqualTo("FOUND")
+                .jsonPath("$.items[0].price.price").isEqualTo(25.45)
+                .jsonPath("$.items[1].status").isEqualTo("NOT_FOUND")
+                .jsonPath("$.items[1].productId").isEqualTo(99999)
+                .jsonPath("$.items[1].price").doesNotExist();
+
+        // Assert
+        verify(priceUseCasePort).getApplicablePrices(List.of(
+                new PriceQueryDTO(1, 35455, "14/06/2020 16:00:00"),
+                new PriceQueryDTO(1, 99999, "14/06/2020 16:00:00")
+        ));
+    }
+
+    @Test
+    void shouldRejectEmptyBatchWith400() {
+        // Act & Assert
+        webTestClient.post()
+                .uri("/api/v1/prices:batch")
+                .bodyValue(Map.of("items", List.of()))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType("application/problem+json");
+
+        verifyNoInteractions(priceUseCasePort);
+    }
+
+    @Test
+    void shouldStreamASeriesOfOneProductInDateOrder() {
+        // Arrange
+        var found = PriceResponseDTO.builder()
+                .brandId(1)
+                .productId(35455)
+                .priceList(2)
+                .price(new BigDecimal("25.45"))
+                .currency("EUR")
+                .build();
+
+        when(priceUseCasePort.getPriceSeries(any())).thenReturn(Flux.just(
+                new PriceBatchItemDTO(1, 35455, "14/06/2020 10:00:00", null),
+                new PriceBatchItemDTO(1, 35455, "14/06/2020 16:00:00", found)
+        ));
+
+        // Act
+        webTestClient.post()
+                .uri("/api/v1/prices:series")
+                .bodyValue(Map.of("brandId", 1, "productId", 35455,
+                        "from", "14/06/2020 10:00:00", "to", "14/06/2020 16:00:00", "step", "PT6H"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].status").isEqualTo("NOT_FOUND")
+                .jsonPath("$[1].status").isEqualTo("FOUND")
+                .jsonPath("$[1].price.price").isEqualTo(25.45);
+
+        // Assert
+        verify(priceUseCasePort).getPriceSeries(PriceSeriesQueryDTO.builder()
+                .brandId(1)
+                .productId(35455)
+                .from(LocalDateTime.of(2020, 6, 14, 10, 0))
+                .to(LocalDateTime.of(2020, 6, 14, 16, 0))
+                .step(Duration.ofHours(6))
+                .build());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "14/06/2020 10:00:00 | 14/06/2020 16:00:00 | PT6H | 14/06/2020 10:00:00",
+            "                    | 14/06/2020 16:00:00 | PT6H |",
+            "14/06/2020 10:00:00 | 14/06/2020 16:00:00 | P1X  |",
+            "14/06/2020 10:00:00 | 14/06/2020 16:00:00 | PT0S |",
+            "14/06/2020 10:00:00 | 14/06/2020 16:00:00 | PT0.5S |",
+            "14/06/2020 16:00:00 | 14/06/2020 10:00:00 | PT6H |",
+            "14/06/2020 10:00:00 | 14/06/2021 10:00:00 | PT1M |",
+            "14/06/2020 10:00:00 | 14/06/2020 16:00:00 | P999999999D |",
+            "14/06/2020 10:00:00 | 14/06/2020 10:00:00 | PT1H |",
+            "                    |                     |      |"
+    })
+    void shouldRejectASeriesWithoutExactlyOneBoundedFormOfDatesWith400(String from, String to, String step, String listed) {
+        // Arrange
+        var body = new HashMap<String, Object>(Map.of("brandId", 1, "productId", 35455));
+        body.put("from", from);
+        body.put("to", to);
+        body.put("step", step);
+        if (listed != null) {
+            body.put("applicationDates", List.of(listed));
+        }
+
+        // Act & Assert
+        webTestClient.post()
+                .uri("/api/v1/prices:series")
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType("application/problem+json");
+
+        verifyNoInteractions(priceUseCasePort);
+    }
+
+    @Test
+    void shouldListTheEffectiveSegmentsOfAWindowInOrder() {
+        // Arrange
+        var promotion = PriceResponseDTO.builder()
+                .brandId(1)
+                .productId(35455)
+                .priceList(2)
+                .startDate(LocalDateTime.of(2020, 6, 14, 15, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 18, 30))
+                .price(new BigDecimal("25.45"))
+                .currency("EUR")
+                .build();
+        var base = promotion.toBuilder()
+                .priceList(1)
+                .startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                .endDate(LocalDateTime.of(2020, 12, 31, 23, 59, 59))
+                .price(new BigDecimal("35.50"))
+                .build();
+
+        when(priceUseCasePort.getPriceCalendar(1, 35455,
+                LocalDateTime.of(2020, 6, 14, 16, 0), LocalDateTime.of(2020, 6, 14, 20, 0))).thenReturn(Flux.just(
+                segment(promotion),
+                new PriceSegmentDTO(base, LocalDateTime.of(2020, 6, 14, 18, 30, 1), LocalDateTime.of(2020, 6, 14, 23, 59, 59))
+        ));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri(uri -> uri.path("/api/v1/prices:calendar")
+                        .queryParam("brandId", 1)
+                        .queryParam("productId", 35455)
+                        .queryParam("from", "14/06/2020 16:00:00")
+                        .queryParam("to", "14/06/2020 20:00:00")
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].startDate").isEqualTo("14/06/2020 15:00:00")
+                .jsonPath("$[0].endDate").isEqualTo("14/06/2020 18:30:00")
+                .jsonPath("$[0].price.priceList").isEqualTo(2)
+                .jsonPath("$[1].startDate").isEqualTo("14/06/2020 18:30:01")
+                .jsonPath("$[1].endDate").isEqualTo("14/06/2020 23:59:59")
+                .jsonPath("$[1].price.priceList").isEqualTo(1)
+                .jsonPath("$[1].price.price").isEqualTo(35.5);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "14/06/2020 20:00:00, 14/06/2020 16:00:00",
+            "31/02/2020 10:00:00, 14/06/2020 16:00:00"
+    })
+    void shouldRejectAMalformedOrReversedCalendarWindowWith400(String from, String to) {
+        // Act & Assert
+        webTestClient.get()
+                .uri(uri -> uri.path("/api/v1/prices:calendar")
+                        .queryParam("brandId", 1)
+                        .queryParam("productId", 35455)
+                        .queryParam("from", from)
+                        .queryParam("to", to)
+                        .build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType("application/problem+json");
+
+        verifyNoInteractions(priceUseCasePort);
+    }
+
+    private static PriceSegmentDTO segment(PriceResponseDTO price) {
+        return new PriceSegmentDTO(price, price.startDate(), price.endDate());
+    }
+}
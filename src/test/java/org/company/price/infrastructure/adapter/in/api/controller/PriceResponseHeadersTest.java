@@ -0,0 +1,101 @@
+package org.company.price.infrastructure.adapter.in.api.controller;
+
+import org.company.price.application.dto.PriceResponseDTO;
+import org.company.price.application.dto.PriceSegmentDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpHeaders;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceResponseHeadersTest {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2020, 6, 14, 16, 0);
+    static final Clock CLOCK = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    static final Duration MAX_AGE = Duration.ofHours(1);
+
+    static final PriceResponseDTO PRICE = PriceResponseDTO.builder()
+            .brandId(1)
+            .productId(35455)
+            .priceList(2)
+            .startDate(LocalDateTime.of(2020, 6, 14, 15, 0))
+            .endDate(LocalDateTime.of(2020, 6, 14, 18, 30))
+            .price(new BigDecimal("25.45"))
+            .currency("EUR")
+            .build();
+
+    @ParameterizedTest
+    @CsvSource({
+            "2020-06-14T16:09:59, 600",
+            "2020-06-14T18:30:00, 3600",
+            "2020-06-14T15:59:59, 3600",
+            "2020-06-13T00:00:00, 3600"
+    })
+    @DisplayName("Should keep an answer fresh until its segment ends, at most the max age, and for the max age once it has ended")
+    void shouldBoundFreshnessByTheSegmentEnd(LocalDateTime segmentEnd, long maxAgeSeconds) {
+        // Arrange
+        var segment = new PriceSegmentDTO(PRICE, PRICE.startDate(), segmentEnd);
+        var headers = new HttpHeaders();
+
+        // Act
+        PriceResponseHeaders.write(headers, segment, MAX_AGE, CLOCK);
+
+        // Assert
+        assertThat(headers.getCacheControl()).isEqualTo("max-age=" + maxAgeSeconds + ", public");
+        assertThat(headers.getExpires()).isEqualTo(CLOCK.millis() + maxAgeSeconds * 1000);
+        assertThat(headers.getETag()).isEqualTo("\"1-35455-2-1592146800-1592159400-25.45-EUR\"");
+        assertThat(headers.containsKey(PriceResponseHeaders.STALENESS)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should have a stale price revalidated on every use")
+    void shouldNotKeepStalePricesFresh() {
+        // Arrange
+        var stale = PRICE.toBuilder().staleSince(CLOCK.instant().minusSeconds(30)).build();
+        var headers = new HttpHeaders();
+
+        // Act
+        PriceResponseHeaders.write(headers, new PriceSegmentDTO(stale, stale.startDate(), stale.endDate()), MAX_AGE, CLOCK);
+
+        // Assert
+        assertThat(headers.getCacheControl()).isEqualTo("no-cache");
+        assertThat(headers.getExpires()).isEqualTo(-1);
+        assertThat(headers.getFirst(PriceResponseHeaders.STALENESS)).isEqualTo("30");
+        assertThat(headers.getETag()).isEqualTo(PriceResponseHeaders.etag(PRICE));
+    }
+
+    @Test
+    @DisplayName("Should give another tag to a price whose body differs")
+    void shouldTagEveryBodyApart() {
+        // Act & Assert
+        assertThat(PriceResponseHeaders.etag(PRICE))
+                .isNotEqualTo(PriceResponseHeaders.etag(PRICE.toBuilder().price(new BigDecimal("24.95")).build()))
+                .isNotEqualTo(PriceResponseHeaders.etag(PRICE.toBuilder().endDate(PRICE.endDate().plusDays(1)).build()))
+                .isNotEqualTo(PriceResponseHeaders.etag(PRICE.toBuilder().priceList(3).build()));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "'\"1-35455-2-1592146800-1592159400-25.45-EUR\"'                  | true",
+            "'W/\"1-35455-2-1592146800-1592159400-25.45-EUR\"'                | true",
+            "'\"a\", \"1-35455-2-1592146800-1592159400-25.45-EUR\"'           | true",
+            "'*'                                                              | true",
+            "'\"1-35455-2-1592146800-1592159400-24.95-EUR\"'                  | false",
+            "'1-35455-2-1592146800-1592159400-25.45-EUR'                      | false",
+            "''                                                               | false",
+            "                                                                 | false"
+    })
+    @DisplayName("Should match If-None-Match against the tag of the price with the weak comparison")
+    void shouldMatchIfNoneMatch(String ifNoneMatch, boolean notModified) {
+        // Act & Assert
+        assertThat(PriceResponseHeaders.notModified(ifNoneMatch, PriceResponseHeaders.etag(PRICE))).isEqualTo(notModified);
+    }
+}
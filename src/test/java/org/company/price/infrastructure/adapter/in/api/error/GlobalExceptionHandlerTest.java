@@ -18,10 +18,12 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.MissingRequestValueException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Set;
 
@@ -77,6 +79,26 @@ class GlobalExceptionHandlerTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("Should handle a missing query parameter as a 400 validation problem naming it")
+    void shouldHandleMissingParameter() {
+        // Arrange
+        var ex = new MissingRequestValueException("brandId", Integer.class, "query parameter", null);
+
+        // Act
+        Mono<ResponseEntity<ProblemDetails>> resultMono = handler.handleServerWebInput(ex, exchange);
+
+        // Assert
+        StepVerifier.create(resultMono)
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    assertThat(response.getBody()).isNotNull();
+                    assertThat(response.getBody().errors())
+                            .containsExactly(new ValidationError("brandId", null, "brandId is required"));
+                })
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName("Should handle ConstraintViolationException and return 400 BAD_REQUEST with constraint violations")
     void shouldHandleConstraintViolation() {
@@ -138,6 +160,28 @@ class GlobalExceptionHandlerTest {
                 .verifyComplete();
     }
     
+    @Test
+    @DisplayName("Should handle DateTimeParseException and return 400 BAD_REQUEST on applicationDate")
+    void shouldHandleInvalidApplicationDate() {
+        // Arrange
+        var ex = new DateTimeParseException("Unrecognized date/time format", "31/04/2020 10:00", 0);
+
+        // Act
+        Mono<ResponseEntity<ProblemDetails>> resultMono = handler.handleDateTimeParse(ex, exchange);
+
+        // Assert
+        StepVerifier.create(resultMono)
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    assertThat(response.getBody().errors()).singleElement()
+                            .satisfies(error -> {
+                                assertThat(error.field()).isEqualTo("applicationDate");
+                                assertThat(error.rejectedValue()).isEqualTo("31/04/2020 10:00");
+                            });
+                })
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName("Should handle generic Exception and return 500 INTERNAL_SERVER_ERROR")
     void shouldHandleGenericException() {
@@ -0,0 +1,55 @@
+package org.company.price.infrastructure.adapter.in.api.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.infrastructure.metrics.PriceLookupMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class PriceLookupOutcomeFilterTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    WebTestClient client = WebTestClient.bindToRouterFunction(
+                    RouterFunctions.route(RequestPredicates.GET("/api/v1/prices"),
+                                    request -> ServerResponse.status(Integer.parseInt(request.queryParam("status").orElseThrow())).build())
+                            .andRoute(RequestPredicates.GET("/api/v1/other"), request -> ServerResponse.ok().build()))
+            .webFilter(new PriceLookupOutcomeFilter(meterRegistry))
+            .build();
+
+    @ParameterizedTest
+    @CsvSource({"200, found", "304, not-modified", "404, not-found", "400, validation-error", "503, unavailable", "500, error"})
+    @DisplayName("Should count a lookup under the outcome of its response status")
+    void shouldCountTheOutcomeOfTheStatus(int status, String outcome) {
+        // Act
+        client.get().uri("/api/v1/prices?status=" + status).exchange();
+
+        // Assert
+        assertThat(meterRegistry.get(PriceLookupMetrics.OUTCOME_COUNTER).counters())
+                .allSatisfy(counter -> assertThat(counter.count())
+                        .as(counter.getId().getTag("outcome"))
+                        .isEqualTo(outcome.equals(counter.getId().getTag("outcome")) ? 1 : 0));
+    }
+
+    @Test
+    @DisplayName("Should register every outcome up front and leave other paths uncounted")
+    void shouldIgnoreOtherPaths() {
+        // Act
+        client.get().uri("/api/v1/other").exchange();
+
+        // Assert
+        assertThat(meterRegistry.get(PriceLookupMetrics.OUTCOME_COUNTER).counters())
+                .hasSize(6)
+                .allSatisfy(counter -> assertThat(counter.count()).isZero());
+    }
+}
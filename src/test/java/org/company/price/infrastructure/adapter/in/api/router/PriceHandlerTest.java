@@ -0,0 +1,232 @@
+package org.company.price.infrastructure.adapter.in.api.router;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.application.dto.PriceResponseDTO;
+import org.company.price.application.dto.PriceSegmentDTO;
+import org.company.price.application.port.PriceUseCasePort;
+import org.company.price.domain.exception.PriceNotFoundException;
+import org.company.price.infrastructure.adapter.in.api.controller.PriceResponseBodyCache;
+import org.company.price.infrastructure.adapter.in.api.controller.PriceResponseHeaders;
+import org.company.price.infrastructure.adapter.in.api.error.GlobalExceptionHandler;
+import org.company.price.infrastructure.adapter.in.api.error.ProblemDetails;
+import org.company.price.infrastructure.mapper.openapi.PriceApiMapper;
+import org.company.price.infrastructure.mapper.openapi.PriceApiMapperImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.server.EntityResponse;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class PriceHandlerTest {
+
+    static final PriceResponseDTO PRICE = PriceResponseDTO.builder()
+            .brandId(1)
+            .productId(35455)
+            .priceList(2)
+            .startDate(LocalDateTime.of(2020, 6, 14, 15, 0))
+            .endDate(LocalDateTime.of(2020, 6, 14, 18, 30))
+            .price(new BigDecimal("25.45"))
+            .currency("EUR")
+            .build();
+
+    static final PriceSegmentDTO SEGMENT = new PriceSegmentDTO(PRICE, PRICE.startDate(), PRICE.endDate());
+
+    @Mock
+    PriceUseCasePort priceUseCasePort;
+
+    PriceApiMapper priceApiMapper = new PriceApiMapperImpl();
+
+    static Stream<Arguments> invalidQueries() {
+        return Stream.of(
+                arguments("productId=35455&applicationDate=14/06/2020 16:00", "brandId", null, "brandId is required"),
+                arguments("brandId=&productId=35455&applicationDate=14/06/2020 16:00", "brandId", null, "brandId is required"),
+                arguments("brandId=1&productId=abc&applicationDate=14/06/2020 16:00", "productId", "abc", "productId must be a valid integer"),
+                arguments("brandId=1&productId=35455", "applicationDate", null, "applicationDate is required"),
+                arguments("brandId=1&productId=%41&applicationDate=14/06/2020 16:00", "productId", "A", "productId must be a valid integer")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidQueries")
+    @DisplayName("Should reject missing or malformed parameters with a validation problem, in parameter order")
+    void shouldRejectInvalidParameters(String query, String field, String rejectedValue, String message) {
+        // Act & Assert
+        client(null).get()
+                .uri(URI.create("/api/v1/prices?" + query.replace(" ", "%20")))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType("application/problem+json")
+                .expectBody()
+                .jsonPath("$.detail").isEqualTo("One or more parameters are invalid.")
+                .jsonPath("$.instance").isEqualTo("/api/v1/prices")
+                .jsonPath("$.errors.length()").isEqualTo(1)
+                .jsonPath("$.errors[0].field").isEqualTo(field)
+                .jsonPath("$.errors[0].rejectedValue").isEqualTo(rejectedValue)
+                .jsonPath("$.errors[0].message").isEqualTo(message);
+        verifyNoInteractions(priceUseCasePort);
+    }
+
+    @Test
+    @DisplayName("Should report a date outside the API pattern as the generated controller's constraint violation")
+    void shouldRejectDateOutsideThePattern() {
+        // Act & Assert
+        client(null).get()
+                .uri("/api/v1/prices?brandId=1&productId=35455&applicationDate=2020-06-14")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.detail").isEqualTo("One or more constraints were violated.")
+                .jsonPath("$.errors[0].field").isEqualTo("apiV1PricesGet.applicationDate")
+                .jsonPath("$.errors[0].rejectedValue").isEqualTo("2020-06-14");
+        verifyNoInteractions(priceUseCasePort);
+    }
+
+    @Test
+    @DisplayName("Should decode parameters before parsing them, as the annotated endpoint does")
+    void shouldDecodeParametersBeforeParsingThem() {
+        // Arrange
+        when(priceUseCasePort.getApplicableSegment(1, 35455, "14/06/2020 16:00:00")).thenReturn(Mono.just(SEGMENT));
+
+        // Act & Assert
+        client(null).get()
+                .uri(URI.create("/api/v1/prices?brandId=%31&productId=3545%35&applicationDate=14%2F06%2F2020+16%3A00%3A00"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.priceList").isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @MethodSource("malformedEscapes")
+    @DisplayName("Should reject a malformed escape as an invalid parameter instead of failing the request")
+    void shouldRejectMalformedEscapes(String query, String field, String rejectedValue) {
+        // Arrange
+        var request = MockServerRequest.builder()
+                .uri(URI.create("/api/v1/prices"))
+                .exchange(MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/prices")))
+                .build();
+        var handler = new PriceHandler(priceUseCasePort, priceApiMapper, null, new GlobalExceptionHandler(), Duration.ofHours(1));
+
+        // Act & Assert
+        StepVerifier.create(handler.getApplicablePrice(request, query))
+                .assertNext(response -> {
+                    assertThat(response.statusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    var error = ((EntityResponse<ProblemDetails>) response).entity().errors().get(0);
+                    assertThat(error.field()).isEqualTo(field);
+                    assertThat(error.rejectedValue()).isEqualTo(rejectedValue);
+                    assertThat(error.message()).isEqualTo(field + " must be a valid URL-encoded value");
+                })
+                .verifyComplete();
+        verifyNoInteractions(priceUseCasePort);
+    }
+
+    static Stream<Arguments> malformedEscapes() {
+        return Stream.of(
+                arguments("brandId=%zz&productId=35455&applicationDate=14/06/2020%2016:00", "brandId", "%zz"),
+                arguments("brandId=1&productId=35455&applicationDate=14/06/2020%2", "applicationDate", "14/06/2020%2")
+        );
+    }
+
+    @Test
+    @DisplayName("Should turn use case errors into the problems of GlobalExceptionHandler")
+    void shouldMapUseCaseErrors() {
+        // Arrange
+        when(priceUseCasePort.getApplicableSegment(anyInt(), anyInt(), anyString()))
+                .thenReturn(Mono.error(new PriceNotFoundException(1, 1, "14/06/2020 16:00")));
+
+        // Act & Assert
+        client(null).get()
+                .uri("/api/v1/prices?brandId=1&productId=1&applicationDate=14/06/2020 16:00")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.NOT_FOUND)
+                .expectHeader().contentType("application/problem+json")
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Not Found")
+                .jsonPath("$.status").isEqualTo(404);
+    }
+
+    @Test
+    @DisplayName("Should return the same body with and without the response body cache")
+    void shouldWriteThePriceWithAndWithoutTheCache() {
+        // Arrange
+        when(priceUseCasePort.getApplicableSegment(1, 35455, "14/06/2020 16:00:00")).thenReturn(Mono.just(SEGMENT));
+        var cache = new PriceResponseBodyCache(priceApiMapper, new ObjectMapper(), DataSize.ofMegabytes(1), new SimpleMeterRegistry());
+
+        // Act & Assert
+        for (var client : new WebTestClient[]{client(null), client(cache), client(cache)}) {
+            client.get()
+                    .uri("/api/v1/prices?brandId=1&productId=35455&applicationDate=14/06/2020 16:00:00")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                    .expectBody()
+                    .json("""
+                            {"brandId":1,"productId":35455,"priceList":2,"startDate":"14/06/2020 15:00:00",
+                             "endDate":"14/06/2020 18:30:00","price":25.45,"currency":"EUR"}
+                            """, true);
+        }
+        verify(priceUseCasePort, times(3)).getApplicableSegment(1, 35455, "14/06/2020 16:00:00");
+    }
+
+    @Test
+    @DisplayName("Should answer 304 with the caching headers and no body when the tag of the price is held")
+    void shouldAnswerNotModifiedWhenTheTagIsHeld() {
+        // Arrange
+        when(priceUseCasePort.getApplicableSegment(1, 35455, "14/06/2020 16:00:00")).thenReturn(Mono.just(SEGMENT));
+        var etag = PriceResponseHeaders.etag(PRICE);
+
+        // Act & Assert
+        client(null).get()
+                .uri("/api/v1/prices?brandId=1&productId=35455&applicationDate=14/06/2020 16:00:00")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectHeader().cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePublic())
+                .expectBody().isEmpty();
+    }
+
+    private WebTestClient client(PriceResponseBodyCache cache) {
+        var handler = new PriceHandler(priceUseCasePort, priceApiMapper, cache, new GlobalExceptionHandler(), Duration.ofHours(1));
+        return WebTestClient.bindToRouterFunction(
+                RouterFunctions.route(RequestPredicates.GET("/api/v1/prices"), handler::getApplicablePrice)
+        ).build();
+    }
+}
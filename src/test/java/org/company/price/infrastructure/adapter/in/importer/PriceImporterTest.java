@@ -0,0 +1,250 @@
+package org.company.price.infrastructure.adapter.in.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.infrastructure.adapter.out.PriceBatchWriter;
+import org.company.price.infrastructure.adapter.out.memory.ColumnarPriceRepositoryAdapter;
+import org.company.price.infrastructure.adapter.out.memory.InMemoryPriceRepositoryAdapter;
+import org.company.price.infrastructure.adapter.out.memory.PriceCatalogSnapshot;
+import org.company.price.infrastructure.adapter.out.memory.PriceChangeFeed;
+import org.company.price.infrastructure.adapter.out.memory.PriceChangeListener;
+import org.company.price.infrastructure.adapter.out.memory.PriceTableLoader;
+import org.company.price.infrastructure.config.PriceImportProperties;
+import org.company.price.infrastructure.config.PriceRepositoryProperties;
+import org.company.price.infrastructure.mapper.rd2.PriceEntityMapperImpl;
+import org.company.price.testdata.PriceDataset;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link PriceImporter} against a pooled H2 database created from {@code data.sql}.
+ */
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class PriceImporterTest {
+
+    static final int BATCH_SIZE = 100;
+    static final int CONCURRENCY = 2;
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    ObjectProvider<PriceChangeFeed> priceChangeFeed;
+
+    @Mock
+    ObjectProvider<PriceChangeListener> priceChangeListeners;
+
+    ConnectionPool pool;
+    DatabaseClient databaseClient;
+    PriceTableLoader loader;
+    SimpleMeterRegistry meterRegistry;
+    PriceChangeFeed feed;
+    InMemoryPriceRepositoryAdapter inMemoryAdapter;
+    PriceImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get("r2dbc:h2:mem:///price-import;DB_CLOSE_DELAY=-1"))
+                .maxSize(4)
+                .build());
+        var template = new R2dbcEntityTemplate(pool);
+        databaseClient = template.getDatabaseClient();
+        new ResourceDatabasePopulator(new ClassPathResource("data.sql")).populate(pool).block();
+        loader = new PriceTableLoader(template, new PriceEntityMapperImpl());
+        meterRegistry = new SimpleMeterRegistry();
+        feed = new PriceChangeFeed(loader, new PriceRepositoryProperties.Sync(true, Duration.ofSeconds(1), 1_000, 5_000), meterRegistry);
+        feed.init();
+        inMemoryAdapter = new InMemoryPriceRepositoryAdapter(loader);
+        inMemoryAdapter.load();
+        feed.register(inMemoryAdapter);
+        when(priceChangeFeed.getIfAvailable()).thenReturn(feed);
+        importer = new PriceImporter(new PriceBatchWriter(template), priceChangeFeed, priceChangeListeners,
+                new PriceImportProperties(null, null, BATCH_SIZE, CONCURRENCY, 2), new ObjectMapper(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        databaseClient.sql("DROP ALL OBJECTS").fetch().rowsUpdated().block();
+        pool.dispose();
+    }
+
+    @Test
+    @DisplayName("Should import the valid rows of a CSV file, report the others and rebuild the in-memory index once")
+    void shouldImportCsvFile() throws IOException {
+        // Arrange
+        var file = directory.resolve("prices.csv");
+        Files.write(file, List.of(
+                "brand_id,product_id,price_list,start_date,end_date,priority,price,curr",
+                "1,99,1,2020-01-01 00:00:00,2020-12-31 23:59:59,0,10.00,EUR",
+                "1,99,2,2020-06-01 00:00:00,2020-06-30 23:59:59,1,8.50,EUR",
+                "",
+                "1,99,3,2020-06-01 00:00:00,2020-06-30 23:59:59,x,8.50,EUR",
+                "1,98,1,2020-01-01 00:00:00,2020-12-31 23:59:59,0,-1,EUR",
+                "1,98,1,2020-01-01 00:00:00,2020-12-31 23:59:59,0,5,usd"
+        ));
+
+        // Act
+        var report = importer.importFile(file, PriceFileFormat.of(file)).block();
+
+        // Assert
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.rejected()).isEqualTo(3);
+        assertThat(report.errors()).containsExactly(
+                "line 5: priority must be an integer, was 'x'",
+                "line 6: price must be a non-negative DECIMAL(10, 2), was '-1'");
+        assertThat(report.rowsPerSecond()).isPositive();
+        assertThat(count()).isEqualTo(6);
+        var june = LocalDateTime.of(2020, 6, 15, 12, 0);
+        var price = inMemoryAdapter.findTopApplicablePrice(new PriceSearchCriteria(1, 99, june, june, "DESC", "priority", 1)).block();
+        assertThat(price.priceList()).isEqualTo(2);
+        assertThat(feed.watermark()).isEqualTo(6);
+        assertThat(feed.poll().block()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON lines")
+    void shouldImportNdjson() {
+        // Arrange
+        var lines = Flux.just(
+                "{\"brand_id\":2,\"product_id\":7,\"price_list\":1,\"start_date\":\"2020-01-01T00:00:00\","
+                        + "\"end_date\":\"2020-12-31T23:59:59\",\"priority\":0,\"price\":\"12.30\",\"curr\":\"USD\"}",
+                "{\"brand_id\":2,\"product_id\":7}");
+
+        // Act
+        var report = importer.importLines(lines, PriceFileFormat.NDJSON).block();
+
+        // Assert
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.rejected()).isEqualTo(1);
+        assertThat(inMemoryAdapter.findPrices(2, 7).collectList().block()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should fail without writing on a wrong CSV header, and resume the change feed")
+    void shouldFailOnWrongHeader() {
+        // Arrange
+        var lines = Flux.just("brand,product", "1,99,1,2020-01-01 00:00:00,2020-12-31 23:59:59,0,10.00,EUR");
+
+        // Act & Assert
+        assertThatThrownBy(() -> importer.importLines(lines, PriceFileFormat.CSV).block())
+                .hasMessageContaining("CSV header must be");
+        assertThat(count()).isEqualTo(4);
+        databaseClient.sql("UPDATE prices SET price = 1 WHERE price_list = 1").fetch().rowsUpdated().block();
+        assertThat(feed.poll().block()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should only read ahead of the writes by a bounded number of rows")
+    void shouldBoundRowsInFlight() {
+        // Arrange
+        var rows = 20_000;
+        var imported = meterRegistry.get("prices.import.rows").tag("result", "imported").counter();
+        var emitted = new AtomicLong();
+        var maxInFlight = new AtomicLong();
+        var body = Flux.range(0, rows)
+                .map(i -> "3," + (1 + i / 4) + "," + (1 + i % 4) + ",2020-01-01 00:00:00,2020-12-31 23:59:59," + i % 4 + ",9.99,EUR")
+                .doOnNext(line -> maxInFlight.accumulateAndGet(emitted.incrementAndGet() - (long) imported.count(), Math::max));
+        var lines = Flux.concat(Flux.just(PriceRowParser.CSV_HEADER), body);
+
+        // Act
+        var report = importer.importLines(lines, PriceFileFormat.CSV).block();
+
+        // Assert
+        assertThat(report.imported()).isEqualTo(rows);
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo((CONCURRENCY + 2L) * BATCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should import a generated dataset file without rejecting any row")
+    void shouldImportGeneratedDataset() {
+        // Arrange
+        var dataset = PriceDataset.builder().brands(2).productsPerBrand(100).minPriceLists(2).maxPriceLists(6).build();
+        var file = directory.resolve("generated.csv");
+        var rows = dataset.writeCsv(file);
+
+        // Act
+        var report = importer.importFile(file, PriceFileFormat.of(file)).block();
+
+        // Assert
+        assertThat(report.imported()).isEqualTo(rows);
+        assertThat(report.rejected()).isZero();
+        assertThat(inMemoryAdapter.findPrices(2, 100_042).collectList().block())
+                .containsExactlyInAnyOrderElementsOf(dataset.product(2, 100_042));
+    }
+
+    @Test
+    @DisplayName("Should rebuild the columnar catalog on resync and re-export its snapshot at the new version")
+    void shouldRebuildColumnarCatalogAndSnapshot() throws IOException {
+        // Arrange
+        var snapshot = directory.resolve("prices.snapshot");
+        var columnarAdapter = new ColumnarPriceRepositoryAdapter(loader,
+                new PriceRepositoryProperties.Snapshot(snapshot.toString(), Duration.ofDays(1), true, true),
+                new PriceRepositoryProperties.Sync(true, Duration.ofSeconds(1), 1_000, 5_000), Clock.systemUTC());
+        columnarAdapter.load();
+        feed.register(columnarAdapter);
+        var lines = Flux.just(PriceRowParser.CSV_HEADER, "1,99,1,2020-01-01 00:00:00,2020-12-31 23:59:59,0,10.00,EUR");
+
+        // Act
+        importer.importLines(lines, PriceFileFormat.CSV).block();
+
+        // Assert
+        assertThat(columnarAdapter.findPrices(1, 99).collectList().block()).hasSize(1);
+        var exported = PriceCatalogSnapshot.open(snapshot, true);
+        assertThat(exported.prices(1, 99)).hasSize(1);
+        assertThat(exported.version()).isEqualTo(feed.watermark());
+    }
+
+    @Test
+    @DisplayName("Should reload the change listeners directly when the change feed is disabled")
+    void shouldReloadListenersWithoutFeed() {
+        // Arrange
+        when(priceChangeFeed.getIfAvailable()).thenReturn(null);
+        when(priceChangeListeners.orderedStream()).thenReturn(Stream.of(inMemoryAdapter));
+        var lines = Flux.just(PriceRowParser.CSV_HEADER, "1,99,1,2020-01-01 00:00:00,2020-12-31 23:59:59,0,10.00,EUR");
+
+        // Act
+        var report = importer.importLines(lines, PriceFileFormat.CSV).block();
+
+        // Assert
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(inMemoryAdapter.findPrices(1, 99).collectList().block()).hasSize(1);
+    }
+
+    private long count() {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM prices").map(row -> row.get("total", Long.class)).one().block();
+    }
+}
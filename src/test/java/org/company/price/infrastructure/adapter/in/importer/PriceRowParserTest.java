@@ -0,0 +1,76 @@
+package org.company.price.infrastructure.adapter.in.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PriceRowParserTest {
+
+    final PriceRowParser parser = new PriceRowParser(new ObjectMapper());
+
+    @Test
+    @DisplayName("Should read the same price from a CSV line and an NDJSON line")
+    void shouldParseBothFormats() {
+        // Arrange
+        var csv = "1,35455,2,2020-06-14 15:00:00,2020-06-14T18:30:00,1,25.45,EUR";
+        var ndjson = """
+                {"brand_id":1,"product_id":35455,"price_list":2,"start_date":"2020-06-14 15:00:00",\
+                "end_date":"2020-06-14T18:30:00","priority":1,"price":25.45,"curr":"EUR"}""";
+
+        // Act
+        var fromCsv = parser.parse(PriceFileFormat.CSV, csv);
+        var fromNdjson = parser.parse(PriceFileFormat.NDJSON, ndjson);
+
+        // Assert
+        assertThat(fromCsv).isEqualTo(fromNdjson);
+        assertThat(fromCsv.startDate()).isEqualTo(LocalDateTime.of(2020, 6, 14, 15, 0));
+        assertThat(fromCsv.price()).isEqualTo(new BigDecimal("25.45"));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "1,35455,2,2020-06-14 15:00:00,2020-06-14 18:30:00,1,25.45        | expected 8 values",
+            "0,35455,2,2020-06-14 15:00:00,2020-06-14 18:30:00,1,25.45,EUR    | brand_id must be a positive integer",
+            "1,abc,2,2020-06-14 15:00:00,2020-06-14 18:30:00,1,25.45,EUR      | product_id must be an integer",
+            "1,35455,2,14/06/2020 15:00,2020-06-14 18:30:00,1,25.45,EUR       | start_date must be a date-time",
+            "1,35455,2,2020-06-14 19:00:00,2020-06-14 18:30:00,1,25.45,EUR    | end_date is before start_date",
+            "1,35455,2,2020-06-14 15:00:00,2020-06-14 18:30:00,-1,25.45,EUR   | priority must be a non-negative integer",
+            "1,35455,2,2020-06-14 15:00:00,2020-06-14 18:30:00,1,25.455,EUR   | price must be a non-negative DECIMAL(10, 2)",
+            "1,35455,2,2020-06-14 15:00:00,2020-06-14 18:30:00,1,123456789,EUR | price must be a non-negative DECIMAL(10, 2)",
+            "1,35455,2,2020-06-14 15:00:00,2020-06-14 18:30:00,1,25.45,euro   | curr must be a three-letter ISO currency code"
+    })
+    @DisplayName("Should reject rows the PRICES table would not hold, naming the column")
+    void shouldRejectInvalidRows(String line, String expectedMessage) {
+        // Act & Assert
+        assertThatThrownBy(() -> parser.parse(PriceFileFormat.CSV, line))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(expectedMessage);
+    }
+
+    @Test
+    @DisplayName("Should reject NDJSON lines that are malformed or miss a column")
+    void shouldRejectInvalidJson() {
+        // Act & Assert
+        assertThatThrownBy(() -> parser.parse(PriceFileFormat.NDJSON, "{\"brand_id\":1"))
+                .hasMessageContaining("malformed JSON");
+        assertThatThrownBy(() -> parser.parse(PriceFileFormat.NDJSON, "{\"brand_id\":1,\"product_id\":2}"))
+                .hasMessageContaining("price_list is missing");
+    }
+
+    @Test
+    @DisplayName("Should only accept the PRICES column names as CSV header")
+    void shouldCheckCsvHeader() {
+        // Act & Assert
+        parser.checkCsvHeader("BRAND_ID, PRODUCT_ID, PRICE_LIST, START_DATE, END_DATE, PRIORITY, PRICE, CURR");
+        assertThatThrownBy(() -> parser.checkCsvHeader("brand,product,list,start,end,priority,price,currency"))
+                .hasMessageContaining("CSV header must be");
+    }
+}
@@ -3,10 +3,13 @@ package org.company.price.infrastructure.adapter.out;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
 import org.company.price.domain.port.out.PriceRepositoryPort;
 import org.company.price.infrastructure.adapter.in.api.error.ServiceUnavailableException;
+import org.company.price.infrastructure.config.PriceRepositoryProperties;
 import org.company.price.infrastructure.mapper.rd2.PriceEntityMapper;
 import org.company.price.infrastructure.repository.entity.PriceEntity;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,17 +17,18 @@ import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration;
 import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration;
 import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.relational.core.query.Query;
 import org.springframework.test.context.TestPropertySource;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -34,13 +38,16 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+
 @SpringBootTest(classes = CircuitBreakerTest.TestConfig.class)
 @TestPropertySource(properties = {
         "resilience4j.circuitbreaker.instances.priceR2dbcCircuitBreaker.failureRateThreshold=1",
         "resilience4j.circuitbreaker.instances.priceR2dbcCircuitBreaker.minimumNumberOfCalls=1",
         "resilience4j.circuitbreaker.instances.priceR2dbcCircuitBreaker.waitDurationInOpenState=1s",
         "resilience4j.circuitbreaker.instances.priceR2dbcCircuitBreaker.slidingWindowSize=1",
-        "resilience4j.circuitbreaker.instances.priceR2dbcCircuitBreaker.recordExceptions=java.lang.RuntimeException"
+        "resilience4j.circuitbreaker.instances.priceR2dbcCircuitBreaker.recordExceptions=java.lang.RuntimeException",
+        "prices.repository.retry.max-attempts=1",
+        "prices.repository.retry.backoff=1ms"
 })
 class CircuitBreakerTest {
 
@@ -54,10 +61,11 @@ class CircuitBreakerTest {
             R2dbcDataAutoConfiguration.class,
             R2dbcRepositoriesAutoConfiguration.class
     })
-    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    @EnableConfigurationProperties(PriceRepositoryProperties.class)
     static class TestConfig {}
 
     @Autowired
+    @PriceRepositorySource
     private PriceRepositoryPort priceRepositoryPort;
 
     @Autowired
@@ -69,24 +77,24 @@ class CircuitBreakerTest {
     @MockBean
     private PriceEntityMapper priceEntityMapper;
 
+    @BeforeEach
+    void resetCircuitBreaker() {
+        circuitBreakerRegistry.circuitBreaker(ResilientPriceRepositoryAdapter.CIRCUIT_BREAKER_NAME).reset();
+    }
+
     @Test
     @DisplayName("Should open circuit after failure and then return ServiceUnavailableException from fallback")
     void shouldOpenCircuitAndCallFallback() {
 
         // Arrange
-        var applicationDate = LocalDateTime.of(2020, 6, 15, 10, 0, 0);
-
-        var criteria = new PriceSearchCriteria(
-                1, 35455, applicationDate, applicationDate,
-                "DESC", "priority", 1
-        );
+        var criteria = criteria(1);
 
         when(template.select(any(Query.class), eq(PriceEntity.class)))
                 .thenReturn(Flux.error(new RuntimeException("Simulated DB error")));
 
-        // Act (First call - fails, opens Circuit Breaker)
+        // Act (First call - fails and opens the Circuit Breaker, nothing to answer from)
         StepVerifier.create(priceRepositoryPort.findTopApplicablePrice(criteria))
-                .expectError(RuntimeException.class)
+                .expectError(ServiceUnavailableException.class)
                 .verify();
 
         // Assert (Check state transition)
@@ -100,10 +108,59 @@ class CircuitBreakerTest {
                 .expectError(ServiceUnavailableException.class)
                 .verify();
 
-        // Assert (Verify interactions)
-        verify(template, times(2))
+        // Assert (the retry of the first call and the second call are both rejected by the open circuit)
+        verify(template, times(1))
                 .select(any(Query.class), eq(PriceEntity.class));
 
         verifyNoInteractions(priceEntityMapper);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should serve the last known price marked stale while the circuit is open")
+    void shouldServeLastKnownPriceWhileOpen() {
+
+        // Arrange
+        var criteria = criteria(2);
+        var entity = new PriceEntity();
+        var price = Price.builder()
+                .brandId(2)
+                .productId(35455)
+                .priceList(1)
+                .startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                .endDate(LocalDateTime.of(2020, 12, 31, 23, 59, 59))
+                .priority(0)
+                .price(new BigDecimal("35.50"))
+                .currency("EUR")
+                .build();
+
+        when(template.select(any(Query.class), eq(PriceEntity.class)))
+                .thenReturn(Flux.just(entity))
+                .thenReturn(Flux.error(new RuntimeException("Simulated DB error")));
+        when(priceEntityMapper.toPrice(entity)).thenReturn(price);
+
+        // Act (First call - read from the database)
+        StepVerifier.create(priceRepositoryPort.findTopApplicablePrice(criteria))
+                .assertNext(found -> assertThat(found.stale()).isFalse())
+                .verifyComplete();
+
+        // Act (Second call - fails and opens the Circuit Breaker, answered from the last known prices)
+        StepVerifier.create(priceRepositoryPort.findTopApplicablePrice(criteria))
+                .assertNext(found -> {
+                    assertThat(found.stale()).isTrue();
+                    assertThat(found.price()).isEqualByComparingTo("35.50");
+                })
+                .verifyComplete();
+
+        // Assert
+        assertThat(circuitBreakerRegistry.circuitBreaker("priceR2dbcCircuitBreaker").getState())
+                .isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private static PriceSearchCriteria criteria(int brandId) {
+        var applicationDate = LocalDateTime.of(2020, 6, 15, 10, 0, 0);
+        return new PriceSearchCriteria(
+                brandId, 35455, applicationDate, applicationDate,
+                "DESC", "priority", 1
+        );
+    }
+}
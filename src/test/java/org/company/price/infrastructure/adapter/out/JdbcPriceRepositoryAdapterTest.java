@@ -0,0 +1,184 @@
+package org.company.price.infrastructure.adapter.out;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
+import org.company.price.infrastructure.adapter.in.api.error.ServiceUnavailableException;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class JdbcPriceRepositoryAdapterTest {
+
+    JdbcConnectionPool pool;
+    JdbcPriceRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        pool = JdbcConnectionPool.create("jdbc:h2:mem:jdbc-adapter;DB_CLOSE_DELAY=-1;MODE=LEGACY", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("data.sql")).execute(pool);
+        adapter = new JdbcPriceRepositoryAdapter(pool, 2, Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        try (var connection = pool.getConnection(); var statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        adapter.destroy();
+    }
+
+    @Test
+    @DisplayName("Should return the top applicable price by priority, as the R2DBC source does")
+    void shouldFindTopApplicablePrice() {
+        // Act
+        var result = adapter.findTopApplicablePrice(criteria(LocalDateTime.of(2020, 6, 14, 16, 0)));
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(price -> {
+                    assertThat(price.priceList()).isEqualTo(2);
+                    assertThat(price.price()).isEqualByComparingTo(new BigDecimal("25.45"));
+                    assertThat(price.startDate()).isEqualTo(LocalDateTime.of(2020, 6, 14, 15, 0));
+                    assertThat(price.currency()).isEqualTo("EUR");
+                    assertThat(price.stale()).isFalse();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should complete empty when no price applies")
+    void shouldCompleteEmptyWhenNoPriceApplies() {
+        // Act & Assert
+        StepVerifier.create(adapter.findTopApplicablePrice(criteria(LocalDateTime.of(2019, 1, 1, 0, 0))))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should answer a batch with the same prices as the single lookups, keyed by position")
+    void shouldFindTopApplicablePrices() {
+        // Arrange
+        var lookups = List.of(
+                criteria(LocalDateTime.of(2020, 6, 14, 10, 0)),
+                criteria(LocalDateTime.of(2019, 1, 1, 0, 0)),
+                criteria(LocalDateTime.of(2020, 6, 16, 21, 0)));
+
+        // Act
+        var result = adapter.findTopApplicablePrices(lookups).block();
+
+        // Assert
+        assertThat(result).containsOnlyKeys(0, 2);
+        assertThat(result.get(0)).isEqualTo(adapter.findTopApplicablePrice(lookups.get(0)).block());
+        assertThat(result.get(2)).isEqualTo(adapter.findTopApplicablePrice(lookups.get(2)).block());
+        assertThat(result.get(2).priceList()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should resolve the effective segment with the bounded query of the R2DBC source")
+    void shouldFindApplicableSegment() {
+        // Act & Assert
+        StepVerifier.create(adapter.findApplicableSegment(1, 35455, LocalDateTime.of(2020, 6, 14, 20, 0)))
+                .assertNext(segment -> {
+                    assertThat(segment.price().priceList()).isEqualTo(1);
+                    assertThat(segment.startDate()).isEqualTo(LocalDateTime.of(2020, 6, 14, 18, 30, 1));
+                    assertThat(segment.endDate()).isEqualTo(LocalDateTime.of(2020, 6, 14, 23, 59, 59));
+                })
+                .verifyComplete();
+        StepVerifier.create(adapter.findApplicableSegment(1, 35455, LocalDateTime.of(2019, 1, 1, 0, 0)))
+                .verifyComplete();
+        StepVerifier.create(adapter.findSegmentOrGap(1, 35455, LocalDateTime.of(2019, 1, 1, 0, 0)))
+                .expectNext(PriceSegment.gap(LocalDateTime.MIN, LocalDateTime.of(2020, 6, 13, 23, 59, 59)))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should return every row of a brand/product")
+    void shouldFindPrices() {
+        // Act & Assert
+        StepVerifier.create(adapter.findPrices(1, 35455).map(Price::priceList).collectList())
+                .assertNext(priceLists -> assertThat(priceLists).containsExactlyInAnyOrder(1, 2, 3, 4))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should run the blocking query on a virtual thread")
+    void shouldQueryOnVirtualThread() {
+        // Act
+        var thread = adapter.findPrices(1, 35455)
+                .then(Mono.fromCallable(Thread::currentThread))
+                .block();
+
+        // Assert
+        assertThat(thread.isVirtual()).isTrue();
+        assertThat(thread.getName()).startsWith("price-jdbc-");
+    }
+
+    @Test
+    @DisplayName("Should fail with ServiceUnavailableException when no connection frees up in time")
+    void shouldFailWhenNoConnectionIsAvailable() throws Exception {
+        // Arrange
+        var saturated = new JdbcPriceRepositoryAdapter(pool, 0, Duration.ofMillis(20), () -> {});
+
+        // Act & Assert
+        StepVerifier.create(saturated.findPrices(1, 35455))
+                .expectError(ServiceUnavailableException.class)
+                .verify(Duration.ofSeconds(5));
+        saturated.destroy();
+    }
+
+    @Test
+    @DisplayName("Should reject an order column that is not a PRICES column")
+    void shouldRejectUnknownOrderColumn() {
+        // Arrange
+        var criteria = criteria(LocalDateTime.of(2020, 6, 14, 10, 0)).toBuilder()
+                .orderByColumnName("priority; DROP TABLE prices")
+                .build();
+
+        // Act & Assert
+        StepVerifier.create(adapter.findTopApplicablePrice(criteria))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    private static PriceSearchCriteria criteria(LocalDateTime date) {
+        return PriceSearchCriteria.builder()
+                .brandId(1)
+                .productId(35455)
+                .applicationStart(date)
+                .applicationEnd(date)
+                .orderByDirection("DESC")
+                .orderByColumnName("priority")
+                .limit(1)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should derive the JDBC URL of the database the R2DBC URL names")
+    void shouldDeriveJdbcUrl() {
+        // Act & Assert
+        assertThat(JdbcPriceRepositoryAdapter.jdbcUrl("r2dbc:h2:mem:///pricesdb;DB_CLOSE_DELAY=-1;MODE=LEGACY"))
+                .isEqualTo("jdbc:h2:mem:pricesdb;DB_CLOSE_DELAY=-1;MODE=LEGACY");
+        assertThat(JdbcPriceRepositoryAdapter.jdbcUrl("r2dbc:h2:file:///./data/prices?options=MODE=LEGACY"))
+                .isEqualTo("jdbc:h2:file:./data/prices;MODE=LEGACY");
+        assertThatThrownBy(() -> JdbcPriceRepositoryAdapter.jdbcUrl("r2dbc:postgresql://localhost/prices"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("prices.repository.jdbc.url");
+    }
+}
\ No newline at end of file
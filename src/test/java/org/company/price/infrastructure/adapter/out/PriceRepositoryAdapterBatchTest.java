@@ -0,0 +1,86 @@
+package org.company.price.infrastructure.adapter.out;
+
+import io.r2dbc.spi.ConnectionFactories;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.infrastructure.mapper.rd2.PriceEntityMapperImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the single round trip batch query against an H2 database loaded with {@code data.sql}.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class PriceRepositoryAdapterBatchTest {
+
+    R2dbcEntityTemplate template;
+    PriceRepositoryAdapter priceRepositoryAdapter;
+
+    @BeforeEach
+    void setUp() {
+        var connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///batch-query;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("data.sql")).populate(connectionFactory).block();
+        template = new R2dbcEntityTemplate(connectionFactory);
+        priceRepositoryAdapter = new PriceRepositoryAdapter(template, new PriceEntityMapperImpl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        template.getDatabaseClient().sql("DROP ALL OBJECTS").fetch().rowsUpdated().block();
+    }
+
+    @Test
+    @DisplayName("Should resolve every tuple in one query, keyed by position and skipping misses")
+    void shouldResolveAllTuplesByPosition() {
+        // Arrange
+        var criteria = List.of(
+                criteria(35455, "2020-06-14T10:00:00"),
+                criteria(35455, "2020-06-14T16:00:00"),
+                criteria(99999, "2020-06-14T16:00:00"),
+                criteria(35455, "2020-06-15T10:00:00"),
+                criteria(35455, "2020-06-14T16:00:00"),
+                criteria(35455, "2019-01-01T00:00:00")
+        );
+
+        // Act
+        var result = priceRepositoryAdapter.findTopApplicablePrices(criteria);
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(pricesByPosition -> {
+                    assertThat(pricesByPosition).containsOnlyKeys(0, 1, 3, 4);
+                    assertThat(pricesByPosition.get(0).price()).isEqualByComparingTo(new BigDecimal("35.50"));
+                    assertThat(pricesByPosition.get(1).price()).isEqualByComparingTo(new BigDecimal("25.45"));
+                    assertThat(pricesByPosition.get(3).price()).isEqualByComparingTo(new BigDecimal("30.50"));
+                    assertThat(pricesByPosition.get(4)).isEqualTo(pricesByPosition.get(1));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should return an empty map without querying when no criteria are given")
+    void shouldHandleEmptyCriteria() {
+        // Act & Assert
+        StepVerifier.create(priceRepositoryAdapter.findTopApplicablePrices(List.of()))
+                .assertNext(pricesByPosition -> assertThat(pricesByPosition).isEmpty())
+                .verifyComplete();
+    }
+
+    static PriceSearchCriteria criteria(int productId, String applicationDate) {
+        var date = LocalDateTime.parse(applicationDate);
+        return new PriceSearchCriteria(1, productId, date, date, "DESC", "priority", 1);
+    }
+}
@@ -0,0 +1,102 @@
+package org.company.price.infrastructure.adapter.out;
+
+import io.r2dbc.spi.ConnectionFactories;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
+import org.company.price.domain.service.PriceSegmentFlattener;
+import org.company.price.infrastructure.mapper.rd2.PriceEntityMapperImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the bounded segment and gap queries against an H2 database loaded with {@code data.sql} and rows that
+ * exercise every precedence rule, and checks it against {@link PriceSegmentFlattener} over all rows.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class PriceRepositoryAdapterSegmentTest {
+
+    R2dbcEntityTemplate template;
+    PriceRepositoryAdapter priceRepositoryAdapter;
+
+    @BeforeEach
+    void setUp() {
+        var connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///segment-query;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("data.sql")).populate(connectionFactory).block();
+        template = new R2dbcEntityTemplate(connectionFactory);
+        priceRepositoryAdapter = new PriceRepositoryAdapter(template, new PriceEntityMapperImpl());
+        template.getDatabaseClient().sql("""
+                INSERT INTO prices (brand_id, product_id, price_list, start_date, end_date, priority, price, curr)
+                VALUES
+                (2, 100, 1, TIMESTAMP '2021-01-01 00:00:00', TIMESTAMP '2021-01-31 23:59:59', 0, 10.00, 'EUR'),
+                (2, 100, 2, TIMESTAMP '2021-01-05 00:00:00', TIMESTAMP '2021-01-10 23:59:59', 0, 11.00, 'EUR'),
+                (2, 100, 3, TIMESTAMP '2021-01-05 00:00:00', TIMESTAMP '2021-01-07 23:59:59', 0, 12.00, 'EUR'),
+                (2, 100, 4, TIMESTAMP '2020-12-01 00:00:00', TIMESTAMP '2021-01-03 11:59:59', 2, 13.00, 'EUR'),
+                (2, 100, 5, TIMESTAMP '2021-01-20 00:00:00', TIMESTAMP '2021-02-15 23:59:59', 1, 14.00, 'EUR'),
+                (2, 100, 6, TIMESTAMP '2021-01-12 00:00:00', TIMESTAMP '2021-01-12 23:59:59', -1, 15.00, 'EUR'),
+                (2, 100, 7, TIMESTAMP '2021-03-01 00:00:00', TIMESTAMP '2021-03-31 23:59:59', 0, 16.00, 'EUR')
+                """).fetch().rowsUpdated().block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        template.getDatabaseClient().sql("DROP ALL OBJECTS").fetch().rowsUpdated().block();
+    }
+
+    @Test
+    @DisplayName("Should resolve the segment or gap a flattening of every row gives, at and around each boundary")
+    void shouldMatchTheFlattenedSegments() {
+        for (var product : new int[][]{{1, 35455}, {2, 100}}) {
+            // Arrange
+            var rows = priceRepositoryAdapter.findPrices(product[0], product[1]).collectList().block();
+            var dates = new TreeSet<LocalDateTime>();
+            for (Price row : rows) {
+                for (var boundary : new LocalDateTime[]{row.startDate(), row.endDate()}) {
+                    dates.add(boundary.minusSeconds(1));
+                    dates.add(boundary);
+                    dates.add(boundary.plusSeconds(1));
+                }
+            }
+
+            for (var date : dates) {
+                // Act
+                var segment = priceRepositoryAdapter.findApplicableSegment(product[0], product[1], date).blockOptional();
+
+                var segmentOrGap = priceRepositoryAdapter.findSegmentOrGap(product[0], product[1], date).block();
+
+                // Assert
+                assertThat(segment).as("segment at %s", date).isEqualTo(PriceSegmentFlattener.segmentAt(rows, date));
+                assertThat(segmentOrGap).as("segment or gap at %s", date).isEqualTo(PriceSegmentFlattener.segmentOrGapAt(rows, date));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should complete empty when no price applies, and tell the gap up to the neighbouring rows")
+    void shouldResolveGaps() {
+        // Arrange
+        var date = LocalDateTime.of(2021, 2, 20, 0, 0);
+
+        // Act & Assert
+        StepVerifier.create(priceRepositoryAdapter.findApplicableSegment(2, 100, date))
+                .verifyComplete();
+        StepVerifier.create(priceRepositoryAdapter.findSegmentOrGap(2, 100, date))
+                .expectNext(PriceSegment.gap(LocalDateTime.of(2021, 2, 16, 0, 0), LocalDateTime.of(2021, 2, 28, 23, 59, 59)))
+                .verifyComplete();
+        StepVerifier.create(priceRepositoryAdapter.findSegmentOrGap(3, 1, date))
+                .expectNext(PriceSegment.gap(LocalDateTime.MIN, LocalDateTime.MAX))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,269 @@
+package org.company.price.infrastructure.adapter.out.decorator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.company.price.infrastructure.adapter.out.memory.PriceChanges;
+import org.company.price.infrastructure.adapter.out.memory.PriceKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class CachingPriceRepositoryTest {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    @Mock
+    PriceRepositoryPort delegate;
+
+    SimpleMeterRegistry meterRegistry;
+    AtomicLong nanos;
+    PriceSegment afternoon;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        nanos = new AtomicLong();
+        var price = Price.builder().brandId(1).productId(35455).priceList(2).price(BigDecimal.valueOf(25.45)).build();
+        afternoon = new PriceSegment(price, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30));
+    }
+
+    @Test
+    @DisplayName("Should answer any date inside the cached segment without calling the delegate")
+    void shouldServeDatesInsideTheSegment() {
+        // Arrange
+        var repository = repository(DataSize.ofMegabytes(1));
+        when(delegate.findSegmentOrGap(1, 35455, NOW)).thenReturn(Mono.just(afternoon));
+
+        // Act
+        var first = repository.findTopApplicablePrice(criteria(35455, NOW)).block();
+        var second = repository.findTopApplicablePrice(criteria(35455, LocalDateTime.of(2020, 6, 14, 18, 30))).block();
+        var third = repository.findTopApplicablePrice(criteria(35455, LocalDateTime.of(2020, 6, 14, 15, 0))).block();
+
+        // Assert
+        assertThat(List.of(first, second, third)).containsOnly(afternoon.price());
+        verify(delegate, times(1)).findSegmentOrGap(anyInt(), anyInt(), any());
+        assertThat(count("prices.repository.cache.requests", "result", "hit")).isEqualTo(2);
+        assertThat(count("prices.repository.cache.requests", "result", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should miss outside the cached segment and replace the entry")
+    void shouldMissOutsideTheSegment() {
+        // Arrange
+        var repository = repository(DataSize.ofMegabytes(1));
+        var evening = LocalDateTime.of(2020, 6, 14, 18, 30, 1);
+        var eveningSegment = new PriceSegment(afternoon.price(), evening, LocalDateTime.of(2020, 6, 14, 23, 59, 59));
+        when(delegate.findSegmentOrGap(1, 35455, NOW)).thenReturn(Mono.just(afternoon));
+        when(delegate.findSegmentOrGap(1, 35455, evening)).thenReturn(Mono.just(eveningSegment));
+
+        // Act
+        repository.findTopApplicablePrice(criteria(35455, NOW)).block();
+        repository.findTopApplicablePrice(criteria(35455, evening)).block();
+        repository.findTopApplicablePrice(criteria(35455, evening.plusHours(1))).block();
+
+        // Assert
+        verify(delegate, times(1)).findSegmentOrGap(1, 35455, evening);
+        assertThat(count("prices.repository.cache.requests", "result", "miss")).isEqualTo(2);
+        assertThat(count("prices.repository.cache.requests", "result", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should expire an entry exactly when its segment ends")
+    void shouldExpireAtSegmentEnd() {
+        // Arrange
+        var repository = repository(DataSize.ofMegabytes(1));
+        when(delegate.findSegmentOrGap(eq(1), eq(35455), any())).thenReturn(Mono.just(afternoon));
+        repository.findTopApplicablePrice(criteria(35455, NOW)).block();
+
+        // Act
+        nanos.addAndGet(Duration.ofMinutes(150).toNanos());
+        repository.findTopApplicablePrice(criteria(35455, NOW)).block();
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        repository.findTopApplicablePrice(criteria(35455, NOW)).block();
+
+        // Assert
+        verify(delegate, times(2)).findSegmentOrGap(eq(1), eq(35455), any());
+        assertThat(count("prices.repository.cache.requests", "result", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should cache the gap around a date without price and answer not found inside it")
+    void shouldCacheGaps() {
+        // Arrange
+        var repository = repository(DataSize.ofMegabytes(1));
+        var morning = LocalDateTime.of(2020, 6, 14, 10, 0);
+        var gap = PriceSegment.gap(LocalDateTime.MIN, LocalDateTime.of(2020, 6, 14, 14, 59, 59));
+        when(delegate.findSegmentOrGap(1, 35455, morning)).thenReturn(Mono.just(gap));
+
+        // Act
+        var first = repository.findTopApplicablePrice(criteria(35455, morning)).blockOptional();
+        var second = repository.findApplicableSegment(1, 35455, LocalDateTime.of(2019, 1, 1, 0, 0)).blockOptional();
+        var third = repository.findSegmentOrGap(1, 35455, LocalDateTime.of(2020, 6, 14, 14, 59, 59)).block();
+
+        // Assert
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        assertThat(third).isEqualTo(gap);
+        verify(delegate, times(1)).findSegmentOrGap(anyInt(), anyInt(), any());
+        assertThat(count("prices.repository.cache.requests", "result", "hit")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should expire a gap when the next price starts, and never an unbounded one")
+    void shouldExpireGapsWhenTheNextPriceStarts() {
+        // Arrange
+        var repository = repository(DataSize.ofMegabytes(1));
+        var bounded = PriceSegment.gap(LocalDateTime.of(2020, 6, 14, 12, 0), LocalDateTime.of(2020, 6, 14, 16, 59, 59));
+        var unbounded = PriceSegment.gap(LocalDateTime.of(2020, 6, 14, 12, 0), LocalDateTime.MAX);
+        when(delegate.findSegmentOrGap(1, 1, NOW)).thenReturn(Mono.just(bounded));
+        when(delegate.findSegmentOrGap(1, 2, NOW)).thenReturn(Mono.just(unbounded));
+        repository.findSegmentOrGap(1, 1, NOW).block();
+        repository.findSegmentOrGap(1, 2, NOW).block();
+
+        // Act
+        nanos.addAndGet(Duration.ofHours(1).toNanos());
+        repository.findSegmentOrGap(1, 1, NOW).block();
+        repository.findSegmentOrGap(1, 2, NOW).block();
+
+        // Assert
+        verify(delegate, times(2)).findSegmentOrGap(1, 1, NOW);
+        verify(delegate, times(1)).findSegmentOrGap(1, 2, NOW);
+    }
+
+    @Test
+    @DisplayName("Should evict by size once the memory budget is exceeded")
+    void shouldEvictBeyondMemoryBudget() {
+        // Arrange
+        var repository = repository(DataSize.ofBytes(CachingPriceRepository.ENTRY_BYTES * 2L));
+        when(delegate.findSegmentOrGap(eq(1), anyInt(), any())).thenReturn(Mono.just(afternoon));
+
+        // Act
+        for (var productId = 1; productId <= 10; productId++) {
+            repository.findTopApplicablePrice(criteria(productId, NOW)).block();
+        }
+
+        // Assert
+        assertThat(meterRegistry.get("prices.repository.cache.size").gauge().value()).isLessThanOrEqualTo(2);
+        assertThat(meterRegistry.get("prices.repository.cache.memory").gauge().value())
+                .isLessThanOrEqualTo(CachingPriceRepository.ENTRY_BYTES * 2);
+        assertThat(count("prices.repository.cache.evictions", "cause", "size")).isGreaterThanOrEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Should serve cached batch items and forward only the others, keeping their positions")
+    void shouldForwardOnlyBatchMisses() {
+        // Arrange
+        var repository = repository(DataSize.ofMegabytes(1));
+        var other = afternoon.price().toBuilder().productId(99).build();
+        when(delegate.findSegmentOrGap(1, 35455, NOW)).thenReturn(Mono.just(afternoon));
+        when(delegate.findTopApplicablePrices(List.of(criteria(99, NOW)))).thenReturn(Mono.just(Map.of(0, other)));
+        repository.findTopApplicablePrice(criteria(35455, NOW)).block();
+
+        // Act
+        var result = repository.findTopApplicablePrices(List.of(criteria(35455, NOW), criteria(99, NOW))).block();
+
+        // Assert
+        assertThat(result).containsExactlyInAnyOrderEntriesOf(Map.of(0, afternoon.price(), 1, other));
+    }
+
+    @Test
+    @DisplayName("Should not cache range lookups")
+    void shouldBypassRangeLookups() {
+        // Arrange
+        var repository = repository(DataSize.ofMegabytes(1));
+        var range = criteria(35455, NOW).toBuilder().applicationEnd(NOW.plusHours(1)).build();
+        when(delegate.findTopApplicablePrice(range)).thenReturn(Mono.just(afternoon.price()));
+
+        // Act
+        var price = repository.findTopApplicablePrice(range).block();
+
+        // Assert
+        assertThat(price).isEqualTo(afternoon.price());
+        verify(delegate, never()).findSegmentOrGap(anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should drop the entries of changed brand/products and not cache answers read before the change")
+    void shouldInvalidateChangedKeys() {
+        // Arrange
+        var repository = repository(DataSize.ofMegabytes(1));
+        var changes = new PriceChanges(Map.of(new PriceKey(1, 35455), List.of(afternoon.price())), 5, 1);
+        var inFlight = Sinks.<PriceSegment>one();
+        when(delegate.findSegmentOrGap(1, 35455, NOW))
+                .thenReturn(Mono.just(afternoon), inFlight.asMono(), Mono.just(afternoon));
+        repository.findTopApplicablePrice(criteria(35455, NOW)).block();
+
+        // Act
+        repository.apply(changes);
+        var racing = repository.findTopApplicablePrice(criteria(35455, NOW)).toFuture();
+        repository.apply(changes);
+        inFlight.tryEmitValue(afternoon);
+        racing.join();
+        repository.findTopApplicablePrice(criteria(35455, NOW)).block();
+
+        // Assert
+        verify(delegate, times(3)).findSegmentOrGap(1, 35455, NOW);
+        assertThat(count("prices.repository.cache.requests", "result", "hit")).isZero();
+    }
+
+    private CachingPriceRepository repository(DataSize maxMemory) {
+        var clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return NOW.toInstant(ZoneOffset.UTC).plusNanos(nanos.get());
+            }
+        };
+        return new CachingPriceRepository(delegate, maxMemory, meterRegistry, clock, nanos::get);
+    }
+
+    private static PriceSearchCriteria criteria(int productId, LocalDateTime applicationDate) {
+        return new PriceSearchCriteria(1, productId, applicationDate, applicationDate, "DESC", "priority", 1);
+    }
+
+    private double count(String name, String tag, String value) {
+        return meterRegistry.get(name).tag(tag, value).counter().count();
+    }
+}
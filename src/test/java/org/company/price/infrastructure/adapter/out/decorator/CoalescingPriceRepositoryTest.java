@@ -0,0 +1,181 @@
+package org.company.price.infrastructure.adapter.out.decorator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class CoalescingPriceRepositoryTest {
+
+    static final LocalDateTime APPLICATION_DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    @Mock
+    PriceRepositoryPort delegate;
+
+    SimpleMeterRegistry meterRegistry;
+    CoalescingPriceRepository repository;
+    PriceSearchCriteria criteria;
+    Price price;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new CoalescingPriceRepository(delegate, meterRegistry);
+        criteria = new PriceSearchCriteria(1, 35455, APPLICATION_DATE, APPLICATION_DATE, "DESC", "priority", 1);
+        price = Price.builder().brandId(1).productId(35455).priceList(2).build();
+    }
+
+    @Test
+    @DisplayName("Should share one delegate call among concurrent identical lookups")
+    void shouldShareInFlightLookup() {
+        // Arrange
+        var sink = Sinks.<Price>one();
+        when(delegate.findTopApplicablePrice(criteria)).thenReturn(sink.asMono());
+        var received = new ArrayList<Price>();
+
+        // Act
+        for (var i = 0; i < 10; i++) {
+            repository.findTopApplicablePrice(criteria).subscribe(received::add);
+        }
+        sink.tryEmitValue(price);
+
+        // Assert
+        assertThat(received).hasSize(10).containsOnly(price);
+        verify(delegate, times(1)).findTopApplicablePrice(criteria);
+        assertThat(count("executed")).isEqualTo(1);
+        assertThat(count("coalesced")).isEqualTo(9);
+        assertThat(meterRegistry.get("prices.repository.coalescing.ratio").gauge().value()).isEqualTo(0.9);
+    }
+
+    @Test
+    @DisplayName("Should not cache: a lookup after completion reaches the delegate again")
+    void shouldCallDelegateAgainAfterCompletion() {
+        // Arrange
+        when(delegate.findTopApplicablePrice(criteria)).thenReturn(Mono.just(price));
+
+        // Act
+        StepVerifier.create(repository.findTopApplicablePrice(criteria)).expectNext(price).verifyComplete();
+        StepVerifier.create(repository.findTopApplicablePrice(criteria)).expectNext(price).verifyComplete();
+
+        // Assert
+        verify(delegate, times(2)).findTopApplicablePrice(criteria);
+        assertThat(count("coalesced")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should answer a lookup issued while the previous identical one is delivering its result")
+    void shouldAnswerLookupIssuedDuringDelivery() {
+        // Arrange
+        when(delegate.findTopApplicablePrice(criteria)).thenReturn(Mono.just(price));
+        var next = new AtomicReference<Price>();
+        var nextCompleted = new AtomicBoolean();
+
+        // Act: the next request arrives as soon as the first answer is written, before its flight has finished
+        var first = repository.findTopApplicablePrice(criteria)
+                .doOnNext(delivered -> repository.findTopApplicablePrice(criteria)
+                        .subscribe(next::set, error -> {}, () -> nextCompleted.set(true)))
+                .block();
+
+        // Assert
+        assertThat(first).isEqualTo(price);
+        assertThat(next).hasValue(price);
+        assertThat(nextCompleted).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should cancel the shared call only once every subscriber has cancelled")
+    void shouldCancelUpstreamWhenAllSubscribersCancel() {
+        // Arrange
+        var upstreamCancelled = new AtomicBoolean();
+        when(delegate.findTopApplicablePrice(criteria))
+                .thenReturn(Mono.<Price>never().doOnCancel(() -> upstreamCancelled.set(true)));
+
+        // Act
+        var first = repository.findTopApplicablePrice(criteria).subscribe();
+        var second = repository.findTopApplicablePrice(criteria).subscribe();
+        first.dispose();
+
+        // Assert
+        assertThat(upstreamCancelled).isFalse();
+
+        // Act
+        second.dispose();
+
+        // Assert
+        assertThat(upstreamCancelled).isTrue();
+        repository.findTopApplicablePrice(criteria).subscribe().dispose();
+        verify(delegate, times(2)).findTopApplicablePrice(criteria);
+    }
+
+    @Test
+    @DisplayName("Should propagate the delegate error to every subscriber")
+    void shouldShareErrors() {
+        // Arrange
+        var sink = Sinks.<Price>one();
+        when(delegate.findTopApplicablePrice(any())).thenReturn(sink.asMono());
+        var first = repository.findTopApplicablePrice(criteria);
+        var second = repository.findTopApplicablePrice(criteria);
+
+        // Act & Assert
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> sink.tryEmitError(new IllegalStateException("db down")))
+                .expectErrorMessage("db down")
+                .verify();
+        verify(delegate, times(1)).findTopApplicablePrice(criteria);
+    }
+
+    @Test
+    @DisplayName("Should share one delegate call among concurrent segment lookups of the same date only")
+    void shouldShareInFlightSegmentLookup() {
+        // Arrange
+        var sink = Sinks.<PriceSegment>one();
+        var segment = new PriceSegment(price, APPLICATION_DATE, APPLICATION_DATE.plusHours(1));
+        var otherDate = APPLICATION_DATE.plusMinutes(1);
+        when(delegate.findApplicableSegment(1, 35455, APPLICATION_DATE)).thenReturn(sink.asMono());
+        when(delegate.findApplicableSegment(1, 35455, otherDate)).thenReturn(Mono.just(segment));
+        var received = new ArrayList<PriceSegment>();
+
+        // Act
+        for (var i = 0; i < 5; i++) {
+            repository.findApplicableSegment(1, 35455, APPLICATION_DATE).subscribe(received::add);
+        }
+        repository.findApplicableSegment(1, 35455, otherDate).subscribe(received::add);
+        sink.tryEmitValue(segment);
+
+        // Assert
+        assertThat(received).hasSize(6).containsOnly(segment);
+        verify(delegate, times(1)).findApplicableSegment(1, 35455, APPLICATION_DATE);
+        verify(delegate, times(1)).findApplicableSegment(1, 35455, otherDate);
+        assertThat(count("executed")).isEqualTo(2);
+        assertThat(count("coalesced")).isEqualTo(4);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("prices.repository.coalescing.requests").tag("outcome", outcome).counter().count();
+    }
+}
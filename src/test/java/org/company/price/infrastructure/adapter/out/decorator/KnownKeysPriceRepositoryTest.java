@@ -0,0 +1,95 @@
+package org.company.price.infrastructure.adapter.out.decorator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.company.price.infrastructure.adapter.out.memory.KnownPriceKeys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class KnownKeysPriceRepositoryTest {
+
+    static final LocalDateTime APPLICATION_DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    @Mock
+    PriceRepositoryPort delegate;
+
+    @Mock
+    KnownPriceKeys knownPriceKeys;
+
+    SimpleMeterRegistry meterRegistry;
+    KnownKeysPriceRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new KnownKeysPriceRepository(delegate, knownPriceKeys, meterRegistry);
+        lenient().when(knownPriceKeys.mightContain(1, 35455)).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should answer unknown products empty without reaching the delegate")
+    void shouldRejectUnknownProducts() {
+        // Arrange
+        when(knownPriceKeys.mightContain(1, 99999)).thenReturn(false);
+
+        // Act & Assert
+        StepVerifier.create(repository.findTopApplicablePrice(criteria(99999))).verifyComplete();
+        verify(delegate, never()).findTopApplicablePrice(any());
+        assertThat(meterRegistry.get("prices.repository.known.keys.requests").tag("result", "rejected").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should forward known products to the delegate")
+    void shouldForwardKnownProducts() {
+        // Arrange
+        var price = Price.builder().brandId(1).productId(35455).build();
+        when(delegate.findTopApplicablePrice(criteria(35455))).thenReturn(Mono.just(price));
+
+        // Act & Assert
+        StepVerifier.create(repository.findTopApplicablePrice(criteria(35455))).expectNext(price).verifyComplete();
+        assertThat(meterRegistry.get("prices.repository.known.keys.requests").tag("result", "passed").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should forward only the known batch items and keep their positions")
+    void shouldFilterBatchItems() {
+        // Arrange
+        var price = Price.builder().brandId(1).productId(35455).build();
+        when(knownPriceKeys.mightContain(1, 99999)).thenReturn(false);
+        when(delegate.findTopApplicablePrices(List.of(criteria(35455)))).thenReturn(Mono.just(Map.of(0, price)));
+
+        // Act & Assert
+        StepVerifier.create(repository.findTopApplicablePrices(List.of(criteria(99999), criteria(35455))))
+                .expectNext(Map.of(1, price))
+                .verifyComplete();
+    }
+
+    private static PriceSearchCriteria criteria(int productId) {
+        return new PriceSearchCriteria(1, productId, APPLICATION_DATE, APPLICATION_DATE, "DESC", "priority", 1);
+    }
+}
@@ -0,0 +1,75 @@
+package org.company.price.infrastructure.adapter.out.decorator;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.company.price.domain.model.PriceSegment;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.company.price.infrastructure.metrics.PriceLookupMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class TimedPriceRepositoryTest {
+
+    static final LocalDateTime APPLICATION_DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    @Mock
+    PriceRepositoryPort delegate;
+
+    Timer timer;
+    TimedPriceRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        timer = PriceLookupMetrics.stageTimer(new SimpleMeterRegistry(), PriceLookupMetrics.SOURCE);
+        repository = new TimedPriceRepository(delegate, timer);
+    }
+
+    @Test
+    @DisplayName("Should record a lookup once it completes, not when it is assembled")
+    void shouldRecordOnCompletion() {
+        // Arrange
+        var criteria = PriceSearchCriteria.builder().brandId(1).productId(35455)
+                .applicationStart(APPLICATION_DATE).applicationEnd(APPLICATION_DATE).build();
+        var price = Price.builder().brandId(1).productId(35455).build();
+        when(delegate.findTopApplicablePrice(criteria)).thenReturn(Mono.just(price));
+
+        // Act
+        var lookup = repository.findTopApplicablePrice(criteria);
+
+        // Assert
+        assertThat(timer.count()).isZero();
+        StepVerifier.create(lookup).expectNext(price).verifyComplete();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should pass segment lookups to the delegate instead of deriving them from its rows")
+    void shouldDelegateSegmentLookups() {
+        // Arrange
+        var segment = new PriceSegment(Price.builder().brandId(1).productId(35455).build(), APPLICATION_DATE, APPLICATION_DATE.plusHours(1));
+        when(delegate.findApplicableSegment(1, 35455, APPLICATION_DATE)).thenReturn(Mono.just(segment));
+
+        // Act & Assert
+        StepVerifier.create(repository.findApplicableSegment(1, 35455, APPLICATION_DATE))
+                .expectNext(segment)
+                .verifyComplete();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,125 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import org.company.price.domain.model.Price;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.company.price.infrastructure.adapter.out.memory.PriceIntervalIndexTest.SAMPLE_PRICES;
+
+class ColumnarPriceCatalogTest {
+
+    @ParameterizedTest
+    @MethodSource("org.company.price.infrastructure.adapter.out.memory.PriceIntervalIndexTest#sampleScenarios")
+    @DisplayName("Should resolve the sample scenarios to the expected price list")
+    void shouldResolveSampleScenarios(String applicationDate, int expectedPriceList) {
+        // Arrange
+        var catalog = catalog(SAMPLE_PRICES);
+        var date = LocalDateTime.parse(applicationDate);
+
+        // Act
+        var result = catalog.find(1, 35455, date, date);
+
+        // Assert
+        assertThat(result).isNotNull();
+        assertThat(result.priceList()).isEqualTo(expectedPriceList);
+        assertThat(SAMPLE_PRICES).contains(result);
+    }
+
+    @Test
+    @DisplayName("Should materialize the stored rows unchanged and answer nothing for unknown keys")
+    void shouldRoundTripRows() {
+        // Arrange
+        var catalog = catalog(SAMPLE_PRICES);
+
+        // Act & Assert
+        assertThat(catalog.prices(1, 35455)).containsExactlyInAnyOrderElementsOf(SAMPLE_PRICES);
+        assertThat(catalog.prices(1, 1)).isEmpty();
+        assertThat(catalog.find(2, 35455, LocalDateTime.parse("2020-06-14T10:00:00"), LocalDateTime.parse("2020-06-14T10:00:00")))
+                .isNull();
+        assertThat(catalog.size()).isEqualTo(4);
+        assertThat(catalog.keyCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should match a brute-force scan on shuffled, overlapping multi-product data")
+    void shouldMatchBruteForceOnRandomData() {
+        // Arrange
+        var random = new Random(9);
+        var base = LocalDateTime.of(2020, 1, 1, 0, 0);
+        var prices = new ArrayList<Price>();
+        for (var productId = 1; productId <= 50; productId++) {
+            var rows = 1 + random.nextInt(20);
+            for (var i = 0; i < rows; i++) {
+                var start = base.plusHours(random.nextInt(1_000));
+                prices.add(Price.builder()
+                        .brandId(1 + productId % 3).productId(productId).priceList(i)
+                        .startDate(start).endDate(start.plusHours(random.nextInt(300)))
+                        .priority(random.nextInt(4))
+                        .price(BigDecimal.valueOf(random.nextInt(10_000), 2)).currency(i % 2 == 0 ? "EUR" : "USD")
+                        .build());
+            }
+        }
+        Collections.shuffle(prices, random);
+        var catalog = catalog(prices);
+
+        for (var probe = 0; probe < 2_000; probe++) {
+            var productId = 1 + random.nextInt(51);
+            var brandId = 1 + productId % 3;
+            var at = base.plusHours(random.nextInt(1_400));
+
+            // Act
+            var result = catalog.find(brandId, productId, at, at);
+
+            // Assert
+            var expected = prices.stream()
+                    .filter(p -> p.productId() == productId)
+                    .filter(p -> !p.startDate().isAfter(at) && !p.endDate().isBefore(at))
+                    .max(Price.PRECEDENCE)
+                    .orElse(null);
+            assertThat(result).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Should store each series key once and each row in 36 bytes of primitive columns")
+    void shouldStoreRowsInPrimitiveColumns() {
+        // Arrange
+        var rows = 4_000;
+        var year = LocalDateTime.of(2020, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        var builder = ColumnarPriceCatalog.builder(rows);
+
+        // Act
+        for (var row = 0; row < rows; row++) {
+            var promotion = row % 4;
+            var start = year + promotion * 90L * 86_400;
+            builder.add(1, 100_000 + row / 4, promotion + 1, start, start + 30L * 86_400, promotion == 0 ? 0 : 1,
+                    1_000 + row % 9_000, "EUR");
+        }
+        var catalog = builder.build();
+
+        // Assert
+        assertThat(catalog.size()).isEqualTo(rows);
+        assertThat(catalog.keyCount()).isEqualTo(rows / 4);
+        // per row: price list, priority (4 each), start, end, price (8 each), currency (1), plus a quarter
+        // of the series key (8) and offset (4); array headers are left to the allowance
+        assertThat(catalog.footprintBytes()).isBetween(36L * rows, 36L * rows + 256);
+        assertThat(catalog.findRow(1, 100_000 + 567, year + 95L * 86_400, year + 95L * 86_400)).isEqualTo(567 * 4 + 1);
+    }
+
+    private static ColumnarPriceCatalog catalog(Iterable<Price> prices) {
+        var builder = ColumnarPriceCatalog.builder();
+        prices.forEach(builder::add);
+        return builder.build();
+    }
+}
@@ -0,0 +1,91 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.infrastructure.mapper.rd2.PriceEntityMapper;
+import org.company.price.infrastructure.mapper.rd2.PriceEntityMapperImpl;
+import org.company.price.infrastructure.repository.entity.PriceEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class InMemoryPriceRepositoryAdapterTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    R2dbcEntityTemplate template;
+
+    @Spy
+    PriceEntityMapper priceEntityMapper = new PriceEntityMapperImpl();
+
+    InMemoryPriceRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        when(template.select(PriceEntity.class).all()).thenReturn(Flux.just(
+                entity(1, "2020-06-14T00:00:00", "2020-12-31T23:59:59", 0, "35.50"),
+                entity(2, "2020-06-14T15:00:00", "2020-06-14T18:30:00", 1, "25.45")
+        ));
+        adapter = new InMemoryPriceRepositoryAdapter(new PriceTableLoader(template, priceEntityMapper));
+        adapter.load();
+    }
+
+    @Test
+    @DisplayName("Should return the highest priority price covering the application date")
+    void shouldReturnTopApplicablePrice() {
+        // Arrange
+        var criteria = criteria(1, 35455, "2020-06-14T16:00:00");
+
+        // Act
+        var result = adapter.findTopApplicablePrice(criteria);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(price -> price.priceList() == 2
+                        && price.price().compareTo(new BigDecimal("25.45")) == 0)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should return Mono.empty for an unknown brand/product or an uncovered date")
+    void shouldReturnEmptyWhenNothingApplies() {
+        // Act & Assert
+        StepVerifier.create(adapter.findTopApplicablePrice(criteria(2, 35455, "2020-06-14T16:00:00")))
+                .verifyComplete();
+        StepVerifier.create(adapter.findTopApplicablePrice(criteria(1, 35455, "2019-06-14T16:00:00")))
+                .verifyComplete();
+    }
+
+    static PriceSearchCriteria criteria(int brandId, int productId, String applicationDate) {
+        var date = LocalDateTime.parse(applicationDate);
+        return new PriceSearchCriteria(brandId, productId, date, date, "DESC", "priority", 1);
+    }
+
+    static PriceEntity entity(int priceList, String start, String end, int priority, String amount) {
+        return PriceEntity.builder()
+                .brandId(1)
+                .productId(35455)
+                .priceList(priceList)
+                .startDate(LocalDateTime.parse(start))
+                .endDate(LocalDateTime.parse(end))
+                .priority(priority)
+                .price(new BigDecimal(amount))
+                .currency("EUR")
+                .build();
+    }
+}
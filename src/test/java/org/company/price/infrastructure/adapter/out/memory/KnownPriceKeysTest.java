@@ -0,0 +1,78 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.infrastructure.config.PriceRepositoryProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class KnownPriceKeysTest {
+
+    @Mock
+    PriceTableLoader priceTableLoader;
+
+    KnownPriceKeys knownPriceKeys;
+
+    @BeforeEach
+    void setUp() {
+        knownPriceKeys = new KnownPriceKeys(priceTableLoader,
+                new PriceRepositoryProperties.KnownKeys(true, 0.01, Duration.ofMinutes(5)));
+    }
+
+    @Test
+    @DisplayName("Should keep the keys applied while a reload reads the table")
+    void shouldKeepKeysAppliedDuringReload() {
+        // Arrange
+        when(priceTableLoader.loadKeys()).thenReturn(Flux.just(new PriceKey(1, 35455)));
+        knownPriceKeys.reload().block();
+        var table = Sinks.many().unicast().<PriceKey>onBackpressureBuffer();
+        when(priceTableLoader.loadKeys()).thenReturn(table.asFlux());
+        var added = IntStream.rangeClosed(1, 20).mapToObj(productId -> new PriceKey(7, productId)).toList();
+
+        // Act
+        var reloaded = knownPriceKeys.reload().toFuture();
+        knownPriceKeys.apply(changes(added));
+        table.tryEmitNext(new PriceKey(1, 35455));
+        table.tryEmitComplete();
+
+        // Assert
+        assertThat(reloaded.join()).isEqualTo(1);
+        assertThat(added).allMatch(key -> knownPriceKeys.mightContain(key.brandId(), key.productId()));
+        assertThat(knownPriceKeys.mightContain(1, 35455)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should apply keys to the reloaded filter once the reload is over")
+    void shouldApplyKeysAfterReload() {
+        // Arrange
+        when(priceTableLoader.loadKeys()).thenReturn(Flux.just(new PriceKey(1, 35455)));
+        knownPriceKeys.reload().block();
+
+        // Act
+        knownPriceKeys.apply(changes(List.of(new PriceKey(7, 1))));
+
+        // Assert
+        assertThat(knownPriceKeys.mightContain(7, 1)).isTrue();
+        assertThat(knownPriceKeys.size()).isEqualTo(2);
+    }
+
+    private static PriceChanges changes(List<PriceKey> keys) {
+        return new PriceChanges(keys.stream().collect(Collectors.toMap(key -> key, key -> List.of())), 1, keys.size());
+    }
+}
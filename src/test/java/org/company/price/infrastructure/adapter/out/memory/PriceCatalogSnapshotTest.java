@@ -0,0 +1,296 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.company.price.infrastructure.config.PriceRepositoryProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.company.price.infrastructure.adapter.out.memory.PriceIntervalIndexTest.SAMPLE_PRICES;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class PriceCatalogSnapshotTest {
+
+    static final Clock CLOCK = Clock.fixed(Instant.parse("2020-06-14T10:00:00Z"), ZoneOffset.UTC);
+    static final PriceRepositoryProperties.Sync SYNC = new PriceRepositoryProperties.Sync(true, Duration.ofSeconds(1), 1_000, 5_000);
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    PriceTableLoader priceTableLoader;
+
+    @ParameterizedTest
+    @MethodSource("org.company.price.infrastructure.adapter.out.memory.PriceIntervalIndexTest#sampleScenarios")
+    @DisplayName("Should resolve the sample scenarios from the mapped file")
+    void shouldResolveSampleScenarios(String applicationDate, int expectedPriceList) throws IOException {
+        // Arrange
+        var mapped = writeAndOpen(catalog(SAMPLE_PRICES));
+        var date = LocalDateTime.parse(applicationDate);
+
+        // Act
+        var result = mapped.find(1, 35455, date, date);
+
+        // Assert
+        assertThat(result).isNotNull();
+        assertThat(result.priceList()).isEqualTo(expectedPriceList);
+        assertThat(SAMPLE_PRICES).contains(result);
+    }
+
+    @Test
+    @DisplayName("Should answer exactly like the heap catalog it was written from")
+    void shouldMatchTheHeapCatalog() throws IOException {
+        // Arrange
+        var random = new Random(11);
+        var base = LocalDateTime.of(2020, 1, 1, 0, 0);
+        var prices = new ArrayList<Price>();
+        for (var productId = 1; productId <= 50; productId++) {
+            for (var i = 0; i < 1 + random.nextInt(20); i++) {
+                var start = base.plusHours(random.nextInt(1_000));
+                prices.add(Price.builder()
+                        .brandId(1 + productId % 3).productId(productId).priceList(i)
+                        .startDate(start).endDate(start.plusHours(random.nextInt(300)))
+                        .priority(random.nextInt(4))
+                        .price(BigDecimal.valueOf(random.nextInt(10_000), 2)).currency(i % 3 == 0 ? "EUR" : "USD")
+                        .build());
+            }
+        }
+        var heap = catalog(prices, 42);
+
+        // Act
+        var mapped = writeAndOpen(heap);
+
+        // Assert
+        assertThat(mapped.size()).isEqualTo(heap.size());
+        assertThat(mapped.keyCount()).isEqualTo(heap.keyCount());
+        assertThat(mapped.createdAt()).isEqualTo(CLOCK.instant());
+        assertThat(mapped.version()).isEqualTo(42);
+        for (var productId = 0; productId <= 51; productId++) {
+            var brandId = 1 + productId % 3;
+            assertThat(mapped.prices(brandId, productId)).isEqualTo(heap.prices(brandId, productId));
+            for (var probe = 0; probe < 40; probe++) {
+                var at = base.plusHours(random.nextInt(1_400));
+                assertThat(mapped.find(brandId, productId, at, at)).isEqualTo(heap.find(brandId, productId, at, at));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a snapshot whose body does not match its checksum")
+    void shouldRejectCorruptBody() throws IOException {
+        // Arrange
+        var path = directory.resolve("prices.snapshot");
+        PriceCatalogSnapshot.write(catalog(SAMPLE_PRICES), path, CLOCK);
+        corrupt(path, PriceCatalogSnapshot.HEADER_BYTES + 20);
+
+        // Act & Assert
+        assertThatThrownBy(() -> PriceCatalogSnapshot.open(path, true))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    @Test
+    @DisplayName("Should reject truncated snapshots and snapshots of another format version")
+    void shouldRejectTruncatedOrForeignSnapshots() throws IOException {
+        // Arrange
+        var truncated = directory.resolve("truncated.snapshot");
+        PriceCatalogSnapshot.write(catalog(SAMPLE_PRICES), truncated, CLOCK);
+        try (var file = new RandomAccessFile(truncated.toFile(), "rw")) {
+            file.setLength(file.length() - 8);
+        }
+        var foreign = directory.resolve("foreign.snapshot");
+        PriceCatalogSnapshot.write(catalog(SAMPLE_PRICES), foreign, CLOCK);
+        try (var channel = FileChannel.open(foreign, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, PriceCatalogSnapshot.FORMAT_VERSION + 1), 4);
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> PriceCatalogSnapshot.open(truncated, false)).hasMessageContaining("truncated");
+        assertThatThrownBy(() -> PriceCatalogSnapshot.open(foreign, false)).hasMessageContaining("format version");
+    }
+
+    @Test
+    @DisplayName("Should start from a valid snapshot without loading the table")
+    void shouldServeFromValidSnapshot() throws IOException {
+        // Arrange
+        var path = directory.resolve("prices.snapshot");
+        PriceCatalogSnapshot.write(catalog(SAMPLE_PRICES), path, CLOCK);
+        when(priceTableLoader.loadVersions(0, 5_000)).thenReturn(Mono.just(List.of()));
+        when(priceTableLoader.loadChanges(List.of())).thenReturn(Mono.just(new PriceChanges(Map.of(), 0, 0)));
+        var adapter = adapter(path);
+
+        // Act
+        adapter.load();
+
+        // Assert
+        verify(priceTableLoader, never()).loadCatalog();
+        assertThat(adapter.findPrices(1, 35455).collectList().block()).containsExactlyInAnyOrderElementsOf(SAMPLE_PRICES);
+    }
+
+    @Test
+    @DisplayName("Should catch a mapped snapshot up with the rows written since its table version")
+    void shouldCatchUpFromSnapshotVersion() throws IOException {
+        // Arrange
+        var path = directory.resolve("prices.snapshot");
+        PriceCatalogSnapshot.write(catalog(SAMPLE_PRICES, 5_000), path, CLOCK);
+        var updated = SAMPLE_PRICES.get(0).toBuilder().price(new BigDecimal("99.99")).build();
+        when(priceTableLoader.loadVersions(4_000, 5_000)).thenReturn(Mono.just(List.of(4_500L, 5_001L)));
+        when(priceTableLoader.loadChanges(List.of(4_500L, 5_001L)))
+                .thenReturn(Mono.just(new PriceChanges(Map.of(new PriceKey(1, 35455), List.of(updated)), 5_001, 2)));
+        var adapter = adapter(path);
+
+        // Act
+        adapter.load();
+
+        // Assert
+        verify(priceTableLoader, never()).loadCatalog();
+        assertThat(adapter.findPrices(1, 35455).collectList().block()).containsExactly(updated);
+    }
+
+    @Test
+    @DisplayName("Should catch a mapped snapshot up one batch of versions at a time")
+    void shouldCatchUpInBatches() throws IOException {
+        // Arrange
+        var path = directory.resolve("prices.snapshot");
+        PriceCatalogSnapshot.write(catalog(SAMPLE_PRICES, 5_000), path, CLOCK);
+        var first = SAMPLE_PRICES.get(0).toBuilder().price(new BigDecimal("99.99")).build();
+        var added = SAMPLE_PRICES.get(0).toBuilder().productId(99).build();
+        when(priceTableLoader.loadVersions(4_000, 2)).thenReturn(Mono.just(List.of(4_500L, 5_001L)));
+        when(priceTableLoader.loadVersions(5_001, 2)).thenReturn(Mono.just(List.of(5_002L)));
+        when(priceTableLoader.loadChanges(List.of(4_500L, 5_001L)))
+                .thenReturn(Mono.just(new PriceChanges(Map.of(new PriceKey(1, 35455), List.of(first)), 5_001, 2)));
+        when(priceTableLoader.loadChanges(List.of(5_002L)))
+                .thenReturn(Mono.just(new PriceChanges(Map.of(new PriceKey(1, 99), List.of(added)), 5_002, 1)));
+        var adapter = new ColumnarPriceRepositoryAdapter(priceTableLoader,
+                new PriceRepositoryProperties.Snapshot(path.toString(), Duration.ofDays(1), true, true),
+                new PriceRepositoryProperties.Sync(true, Duration.ofSeconds(1), 1_000, 2), CLOCK);
+
+        // Act
+        adapter.load();
+
+        // Assert
+        assertThat(adapter.findPrices(1, 35455).collectList().block()).containsExactly(first);
+        assertThat(adapter.findPrices(1, 99).collectList().block()).containsExactly(added);
+    }
+
+    @Test
+    @DisplayName("Should serve applied series over the catalog until a reload folds them in")
+    void shouldServeAppliedSeriesUntilReload() {
+        // Arrange
+        var adapter = new ColumnarPriceRepositoryAdapter(priceTableLoader,
+                new PriceRepositoryProperties.Snapshot(null, Duration.ofDays(1), true, false), SYNC, CLOCK);
+        when(priceTableLoader.loadCatalog()).thenReturn(Mono.fromSupplier(() -> catalog(SAMPLE_PRICES)));
+        adapter.load();
+        var updated = SAMPLE_PRICES.get(0).toBuilder().price(new BigDecimal("99.99")).build();
+        var date = updated.startDate();
+        var criteria = new PriceSearchCriteria(1, 35455, date, date, "DESC", "priority", 1);
+
+        // Act
+        adapter.apply(new PriceChanges(Map.of(new PriceKey(1, 35455), List.of(updated)), 7, 1));
+        var applied = adapter.findTopApplicablePrice(criteria).block();
+        adapter.reload().block();
+        var reloaded = adapter.findTopApplicablePrice(criteria).block();
+
+        // Assert
+        assertThat(applied).isEqualTo(updated);
+        assertThat(reloaded).isEqualTo(SAMPLE_PRICES.get(0));
+        assertThat(adapter.findPrices(1, 35455).collectList().block()).containsExactlyInAnyOrderElementsOf(SAMPLE_PRICES);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database on a corrupt snapshot and export a fresh one")
+    void shouldFallBackOnCorruptSnapshot() throws IOException {
+        // Arrange
+        var path = directory.resolve("prices.snapshot");
+        PriceCatalogSnapshot.write(catalog(SAMPLE_PRICES), path, CLOCK);
+        corrupt(path, PriceCatalogSnapshot.HEADER_BYTES + 20);
+        when(priceTableLoader.loadCatalog()).thenReturn(Mono.fromSupplier(() -> catalog(SAMPLE_PRICES)));
+        var adapter = adapter(path);
+
+        // Act
+        adapter.load();
+
+        // Assert
+        verify(priceTableLoader).loadCatalog();
+        assertThat(adapter.findPrices(1, 35455).collectList().block()).containsExactlyInAnyOrderElementsOf(SAMPLE_PRICES);
+        assertThat(PriceCatalogSnapshot.open(path, true).size()).isEqualTo(SAMPLE_PRICES.size());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database when the snapshot is older than the maximum age")
+    void shouldFallBackOnStaleSnapshot() throws IOException {
+        // Arrange
+        var path = directory.resolve("prices.snapshot");
+        PriceCatalogSnapshot.write(catalog(SAMPLE_PRICES), path, Clock.offset(CLOCK, Duration.ofDays(-2)));
+        when(priceTableLoader.loadCatalog()).thenReturn(Mono.fromSupplier(() -> catalog(SAMPLE_PRICES)));
+        var adapter = adapter(path);
+
+        // Act
+        adapter.load();
+
+        // Assert
+        verify(priceTableLoader).loadCatalog();
+        assertThat(PriceCatalogSnapshot.open(path, true).createdAt()).isEqualTo(CLOCK.instant());
+    }
+
+    private ColumnarPriceRepositoryAdapter adapter(Path path) {
+        var settings = new PriceRepositoryProperties.Snapshot(path.toString(), Duration.ofDays(1), true, true);
+        return new ColumnarPriceRepositoryAdapter(priceTableLoader, settings, SYNC, CLOCK);
+    }
+
+    private MappedPriceCatalog writeAndOpen(ColumnarPriceCatalog catalog) throws IOException {
+        var path = directory.resolve("prices.snapshot");
+        PriceCatalogSnapshot.write(catalog, path, CLOCK);
+        return PriceCatalogSnapshot.open(path, true);
+    }
+
+    private static void corrupt(Path path, long position) throws IOException {
+        var bytes = Files.readAllBytes(path);
+        bytes[(int) position] ^= 0x5A;
+        Files.write(path, bytes);
+    }
+
+    private static ColumnarPriceCatalog catalog(Iterable<Price> prices) {
+        return catalog(prices, 0);
+    }
+
+    private static ColumnarPriceCatalog catalog(Iterable<Price> prices, long version) {
+        var builder = ColumnarPriceCatalog.builder().version(version);
+        prices.forEach(builder::add);
+        return builder.build();
+    }
+}
@@ -0,0 +1,232 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.company.price.infrastructure.config.PriceRepositoryProperties;
+import org.company.price.infrastructure.mapper.rd2.PriceEntityMapperImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link PriceChangeFeed} against an H2 database created from {@code data.sql}.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class PriceChangeFeedTest {
+
+    static final LocalDateTime AFTERNOON = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    ConnectionFactory connectionFactory;
+    DatabaseClient databaseClient;
+    PriceTableLoader loader;
+    SimpleMeterRegistry meterRegistry;
+    PriceChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///change-feed;DB_CLOSE_DELAY=-1");
+        databaseClient = DatabaseClient.create(connectionFactory);
+        new ResourceDatabasePopulator(new ClassPathResource("data.sql")).populate(connectionFactory).block();
+        loader = new PriceTableLoader(new R2dbcEntityTemplate(connectionFactory), new PriceEntityMapperImpl());
+        meterRegistry = new SimpleMeterRegistry();
+        feed = new PriceChangeFeed(loader, new PriceRepositoryProperties.Sync(true, Duration.ofSeconds(1), 1_000, 5_000), meterRegistry);
+        feed.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        databaseClient.sql("DROP ALL OBJECTS").fetch().rowsUpdated().block();
+    }
+
+    @Test
+    @DisplayName("Should hand over only the series changed since the watermark, whole")
+    void shouldApplyOnlyChangedSeries() {
+        // Arrange
+        var batches = new ArrayList<PriceChanges>();
+        feed.register(new PriceChangeListener() {
+            @Override
+            public void apply(PriceChanges changes) {
+                batches.add(changes);
+            }
+
+            @Override
+            public Mono<Integer> reload() {
+                return Mono.just(0);
+            }
+        });
+        var initialVersion = feed.watermark();
+        execute("INSERT INTO prices (brand_id, product_id, price_list, start_date, end_date, priority, price, curr) "
+                + "VALUES (1, 99, 1, TIMESTAMP '2020-01-01 00:00:00', TIMESTAMP '2020-12-31 23:59:59', 0, 9.99, 'EUR')");
+        execute("UPDATE prices SET price = 26.45 WHERE product_id = 35455 AND price_list = 2");
+
+        // Act
+        var changed = feed.poll().block();
+        var unchanged = feed.poll().block();
+
+        // Assert
+        assertThat(changed).isEqualTo(2);
+        assertThat(unchanged).isZero();
+        assertThat(batches).hasSize(1);
+        var series = batches.get(0).series();
+        assertThat(series.keySet()).containsExactlyInAnyOrder(new PriceKey(1, 35455), new PriceKey(1, 99));
+        assertThat(series.get(new PriceKey(1, 35455))).hasSize(4)
+                .anySatisfy(price -> assertThat(price.price()).isEqualByComparingTo("26.45"));
+        assertThat(feed.watermark()).isEqualTo(initialVersion + 2);
+        assertThat(meterRegistry.get("prices.repository.sync.rows").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("prices.repository.sync.version").gauge().value()).isEqualTo(initialVersion + 2);
+    }
+
+    @Test
+    @DisplayName("Should apply a row committed after a higher version was already applied")
+    void shouldApplyRowsCommittedOutOfVersionOrder() {
+        // Arrange
+        var batches = new ArrayList<PriceChanges>();
+        feed.register(new PriceChangeListener() {
+            @Override
+            public void apply(PriceChanges changes) {
+                batches.add(changes);
+            }
+
+            @Override
+            public Mono<Integer> reload() {
+                return Mono.just(0);
+            }
+        });
+        var initialVersion = feed.watermark();
+        var slow = Mono.from(connectionFactory.create()).block();
+        Mono.from(slow.beginTransaction()).block();
+        Mono.from(slow.createStatement("UPDATE prices SET price = 26.45 WHERE product_id = 35455 AND price_list = 2")
+                .execute()).flatMap(result -> Mono.from(result.getRowsUpdated())).block();
+        execute("INSERT INTO prices (brand_id, product_id, price_list, start_date, end_date, priority, price, curr) "
+                + "VALUES (1, 99, 1, TIMESTAMP '2020-01-01 00:00:00', TIMESTAMP '2020-12-31 23:59:59', 0, 9.99, 'EUR')");
+
+        // Act
+        var first = feed.poll().block();
+        Mono.from(slow.commitTransaction()).then(Mono.from(slow.close())).block();
+        var second = feed.poll().block();
+        var third = feed.poll().block();
+
+        // Assert
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(1);
+        assertThat(third).isZero();
+        assertThat(batches).extracting(batch -> batch.series().keySet())
+                .containsExactly(Set.of(new PriceKey(1, 99)), Set.of(new PriceKey(1, 35455)));
+        assertThat(batches.get(1).series().get(new PriceKey(1, 35455)))
+                .anySatisfy(price -> assertThat(price.price()).isEqualByComparingTo("26.45"));
+        assertThat(feed.watermark()).isEqualTo(initialVersion + 2);
+    }
+
+    @Test
+    @DisplayName("Should work through a backlog one batch of versions per poll")
+    void shouldPageThroughBacklog() {
+        // Arrange
+        var paged = new PriceChangeFeed(loader, new PriceRepositoryProperties.Sync(true, Duration.ofSeconds(1), 1_000, 2), meterRegistry);
+        paged.init();
+        var batches = new ArrayList<PriceChanges>();
+        paged.register(new PriceChangeListener() {
+            @Override
+            public void apply(PriceChanges changes) {
+                batches.add(changes);
+            }
+
+            @Override
+            public Mono<Integer> reload() {
+                return Mono.just(0);
+            }
+        });
+        var initialVersion = paged.watermark();
+        for (var productId = 101; productId <= 105; productId++) {
+            execute("INSERT INTO prices (brand_id, product_id, price_list, start_date, end_date, priority, price, curr) "
+                    + "VALUES (1, " + productId + ", 1, TIMESTAMP '2020-01-01 00:00:00', TIMESTAMP '2020-12-31 23:59:59', 0, 9.99, 'EUR')");
+        }
+
+        // Act
+        var polls = List.of(paged.poll().block(), paged.poll().block(), paged.poll().block(), paged.poll().block());
+
+        // Assert
+        assertThat(polls).containsExactly(2, 2, 1, 0);
+        assertThat(batches).extracting(PriceChanges::version)
+                .containsExactly(initialVersion + 2, initialVersion + 4, initialVersion + 5);
+        assertThat(paged.watermark()).isEqualTo(initialVersion + 5);
+    }
+
+    @Test
+    @DisplayName("Should keep concurrent readers answering while updates are swapped into the index")
+    void shouldSwapAtomicallyUnderConcurrentReaders() throws InterruptedException {
+        // Arrange
+        var adapter = new InMemoryPriceRepositoryAdapter(loader);
+        adapter.load();
+        feed.register(adapter);
+        var criteria = new PriceSearchCriteria(1, 35455, AFTERNOON, AFTERNOON, "DESC", "priority", 1);
+        var updates = 50;
+        var readers = 4;
+        var running = new AtomicBoolean(true);
+        var reads = new AtomicInteger();
+        var failures = new ConcurrentLinkedQueue<String>();
+        var started = new CountDownLatch(readers);
+        var executor = Executors.newFixedThreadPool(readers);
+        for (var reader = 0; reader < readers; reader++) {
+            executor.execute(() -> {
+                var last = BigDecimal.ZERO;
+                started.countDown();
+                while (running.get()) {
+                    Price price = adapter.findTopApplicablePrice(criteria).block();
+                    if (price == null || price.priceList() != 2 || price.price().compareTo(last) < 0) {
+                        failures.add("read " + price + " after " + last);
+                        return;
+                    }
+                    last = price.price();
+                    reads.incrementAndGet();
+                }
+            });
+        }
+        started.await();
+
+        // Act
+        for (var update = 0; update < updates; update++) {
+            execute("UPDATE prices SET price = price + 1 WHERE product_id = 35455 AND price_list = 2");
+            feed.poll().block();
+        }
+        running.set(false);
+        executor.shutdown();
+
+        // Assert
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(failures).isEmpty();
+        assertThat(reads.get()).isPositive();
+        assertThat(adapter.findTopApplicablePrice(criteria).block().price()).isEqualByComparingTo("75.45");
+        assertThat(meterRegistry.get("prices.repository.sync.rows").counter().count()).isEqualTo(updates);
+        assertThat(meterRegistry.get("prices.repository.sync.lag").timeGauge().value(TimeUnit.SECONDS)).isLessThan(5);
+    }
+
+    private void execute(String sql) {
+        databaseClient.sql(sql).fetch().rowsUpdated().block();
+    }
+}
@@ -0,0 +1,122 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import org.company.price.domain.model.Price;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class PriceIntervalIndexTest {
+
+    static final List<Price> SAMPLE_PRICES = List.of(
+            price(1, "2020-06-14T00:00:00", "2020-12-31T23:59:59", 0, "35.50"),
+            price(2, "2020-06-14T15:00:00", "2020-06-14T18:30:00", 1, "25.45"),
+            price(3, "2020-06-15T00:00:00", "2020-06-15T11:00:00", 1, "30.50"),
+            price(4, "2020-06-15T16:00:00", "2020-12-31T23:59:59", 1, "38.95")
+    );
+
+    static Stream<Arguments> sampleScenarios() {
+        return Stream.of(
+                arguments("2020-06-14T10:00:00", 1),
+                arguments("2020-06-14T16:00:00", 2),
+                arguments("2020-06-14T21:00:00", 1),
+                arguments("2020-06-15T10:00:00", 3),
+                arguments("2020-06-16T21:00:00", 4)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("sampleScenarios")
+    @DisplayName("Should resolve the sample scenarios to the expected price list")
+    void shouldResolveSampleScenarios(String applicationDate, int expectedPriceList) {
+        // Arrange
+        var index = PriceIntervalIndex.of(SAMPLE_PRICES);
+        var date = LocalDateTime.parse(applicationDate);
+
+        // Act
+        var result = index.find(date, date);
+
+        // Assert
+        assertThat(result).isNotNull();
+        assertThat(result.priceList()).isEqualTo(expectedPriceList);
+    }
+
+    @Test
+    @DisplayName("Should treat start and end dates as inclusive and return null outside every range")
+    void shouldHonourInclusiveBoundaries() {
+        // Arrange
+        var index = PriceIntervalIndex.of(SAMPLE_PRICES);
+
+        // Act & Assert
+        assertThat(index.find(LocalDateTime.parse("2020-06-14T18:30:00"), LocalDateTime.parse("2020-06-14T18:30:00"))
+                .priceList()).isEqualTo(2);
+        assertThat(index.find(LocalDateTime.parse("2020-06-14T18:30:01"), LocalDateTime.parse("2020-06-14T18:30:01"))
+                .priceList()).isEqualTo(1);
+        assertThat(index.find(LocalDateTime.parse("2020-06-13T23:59:59"), LocalDateTime.parse("2020-06-13T23:59:59")))
+                .isNull();
+        assertThat(index.find(LocalDateTime.parse("2021-01-01T00:00:00"), LocalDateTime.parse("2021-01-01T00:00:00")))
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("Should match a brute-force scan on randomized overlapping data")
+    void shouldMatchBruteForceOnRandomData() {
+        // Arrange
+        var random = new Random(42);
+        var base = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+        for (var round = 0; round < 200; round++) {
+            var prices = new ArrayList<Price>();
+            var rows = 1 + random.nextInt(40);
+            for (var i = 0; i < rows; i++) {
+                var start = base.plusHours(random.nextInt(1_000));
+                var end = start.plusHours(random.nextInt(300));
+                prices.add(Price.builder()
+                        .brandId(1).productId(1).priceList(i)
+                        .startDate(start).endDate(end)
+                        .priority(random.nextInt(4))
+                        .price(BigDecimal.ONE).currency("EUR")
+                        .build());
+            }
+            var index = PriceIntervalIndex.of(prices);
+
+            for (var probe = 0; probe < 100; probe++) {
+                var at = base.plusHours(random.nextInt(1_400)).plusMinutes(random.nextInt(2) * 30L);
+
+                // Act
+                var result = index.find(at, at);
+
+                // Assert
+                var expected = prices.stream()
+                        .filter(p -> !p.startDate().isAfter(at) && !p.endDate().isBefore(at))
+                        .max(Price.PRECEDENCE)
+                        .orElse(null);
+                assertThat(result).isEqualTo(expected);
+            }
+        }
+    }
+
+    static Price price(int priceList, String start, String end, int priority, String amount) {
+        return Price.builder()
+                .brandId(1)
+                .productId(35455)
+                .priceList(priceList)
+                .startDate(LocalDateTime.parse(start))
+                .endDate(LocalDateTime.parse(end))
+                .priority(priority)
+                .price(new BigDecimal(amount))
+                .currency("EUR")
+                .build();
+    }
+}
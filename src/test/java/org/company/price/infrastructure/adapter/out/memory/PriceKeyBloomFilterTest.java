@@ -0,0 +1,79 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceKeyBloomFilterTest {
+
+    @Test
+    @DisplayName("Should never reject a key it was built with")
+    void shouldHaveNoFalseNegatives() {
+        // Arrange
+        var keys = keys(1, 100_000);
+
+        // Act
+        var filter = PriceKeyBloomFilter.of(keys, 0.01);
+
+        // Assert
+        assertThat(filter.size()).isEqualTo(100_000);
+        assertThat(keys).allMatch(key -> filter.mightContain(key.brandId(), key.productId()));
+    }
+
+    @Test
+    @DisplayName("Should keep the false-positive rate close to the configured one")
+    void shouldBoundFalsePositiveRate() {
+        // Arrange
+        var filter = PriceKeyBloomFilter.of(keys(1, 100_000), 0.01);
+
+        // Act
+        var falsePositives = 0;
+        for (var productId = 1; productId <= 100_000; productId++) {
+            if (filter.mightContain(2, productId)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("Should reject every key when built from an empty table")
+    void shouldRejectEverythingWhenEmpty() {
+        // Act
+        var filter = PriceKeyBloomFilter.of(List.of(), 0.01);
+
+        // Assert
+        assertThat(filter.mightContain(1, 35455)).isFalse();
+        assertThat(filter.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should accept added keys in a copy and leave the original untouched")
+    void shouldAddKeysToACopy() {
+        // Arrange
+        var filter = PriceKeyBloomFilter.of(keys(1, 1_000), 0.01);
+
+        // Act
+        var extended = filter.with(List.of(new PriceKey(7, 35455), new PriceKey(1, 10)));
+
+        // Assert
+        assertThat(extended.mightContain(7, 35455)).isTrue();
+        assertThat(extended.size()).isEqualTo(1_001);
+        assertThat(keys(1, 1_000)).allMatch(key -> extended.mightContain(key.brandId(), key.productId()));
+        assertThat(filter.size()).isEqualTo(1_000);
+    }
+
+    private static List<PriceKey> keys(int brandId, int count) {
+        var keys = new ArrayList<PriceKey>(count);
+        for (var productId = 1; productId <= count; productId++) {
+            keys.add(new PriceKey(brandId, productId));
+        }
+        return keys;
+    }
+}
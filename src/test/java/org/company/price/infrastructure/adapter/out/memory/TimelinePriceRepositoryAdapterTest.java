@@ -0,0 +1,168 @@
+package org.company.price.infrastructure.adapter.out.memory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.application.mapper.PriceMapperImpl;
+import org.company.price.application.service.PriceService;
+import org.company.price.domain.exception.PriceNotFoundException;
+import org.company.price.infrastructure.adapter.out.PriceRepositoryAdapter;
+import org.company.price.infrastructure.mapper.rd2.PriceEntityMapperImpl;
+import org.company.price.infrastructure.metrics.MicrometerPriceLookupObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Equivalence of {@link PriceService} answers when backed by the R2DBC query and by the timeline,
+ * on the same H2 database.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class TimelinePriceRepositoryAdapterTest {
+
+    static final DateTimeFormatter API_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+    ConnectionFactory connectionFactory;
+    DatabaseClient databaseClient;
+    PriceService r2dbcService;
+    PriceService timelineService;
+    PriceRepositoryAdapter r2dbcAdapter;
+    TimelinePriceRepositoryAdapter timelineAdapter;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///timeline-equivalence;DB_CLOSE_DELAY=-1");
+        databaseClient = DatabaseClient.create(connectionFactory);
+        new ResourceDatabasePopulator(new ClassPathResource("data.sql")).populate(connectionFactory).block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        databaseClient.sql("DROP ALL OBJECTS").fetch().rowsUpdated().block();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "14/06/2020 10:00:00, 35.50",
+            "14/06/2020 16:00:00, 25.45",
+            "14/06/2020 21:00:00, 35.50",
+            "15/06/2020 10:00:00, 30.50",
+            "16/06/2020 21:00:00, 38.95"
+    })
+    @DisplayName("Should answer the price.feature scenarios exactly like the R2DBC query")
+    void shouldMatchFeatureScenarios(String applicationDate, BigDecimal expectedPrice) {
+        // Arrange
+        createServices();
+
+        // Act
+        var expected = r2dbcService.getApplicablePrice(1, 35455, applicationDate).block();
+        var actual = timelineService.getApplicablePrice(1, 35455, applicationDate).block();
+
+        // Assert
+        assertThat(actual).isEqualTo(expected);
+        assertThat(actual.price()).isEqualByComparingTo(expectedPrice);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "14/06/2020 10:00:00",
+            "14/06/2020 16:00:00",
+            "15/06/2020 10:00:00",
+            "15/06/2020 13:30:00",
+            "16/06/2020 21:00:00"
+    })
+    @DisplayName("Should resolve the same effective segment from the table rows as the timeline")
+    void shouldMatchTimelineSegments(String applicationDate) {
+        // Arrange
+        createServices();
+        var date = LocalDateTime.parse(applicationDate, API_FORMAT);
+
+        // Act
+        var expected = timelineAdapter.findApplicableSegment(1, 35455, date).block();
+        var actual = r2dbcAdapter.findApplicableSegment(1, 35455, date).block();
+
+        // Assert
+        assertThat(actual).isNotNull().isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should answer randomized overlapping data exactly like the R2DBC query")
+    void shouldMatchRandomizedData() {
+        // Arrange
+        var random = new Random(2020);
+        var base = LocalDateTime.of(2020, 1, 1, 0, 0);
+        for (var productId = 1; productId <= 20; productId++) {
+            var rows = 1 + random.nextInt(12);
+            var priorities = new ArrayList<Integer>();
+            for (var p = 0; p < rows; p++) {
+                priorities.add(p);
+            }
+            Collections.shuffle(priorities, random);
+            for (var row = 0; row < rows; row++) {
+                var start = base.plusHours(random.nextInt(2_000));
+                var end = start.plusHours(random.nextInt(600)).plusMinutes(59).plusSeconds(59);
+                insert(productId, row + 1, start, end, priorities.get(row), 10 + random.nextInt(90));
+            }
+        }
+        createServices();
+
+        for (var probe = 0; probe < 400; probe++) {
+            var productId = 1 + random.nextInt(21);
+            var applicationDate = base.plusMinutes(random.nextInt(2_700 * 60)).format(API_FORMAT);
+
+            // Act
+            var expected = r2dbcService.getApplicablePrice(1, productId, applicationDate)
+                    .onErrorResume(PriceNotFoundException.class, e -> Mono.empty())
+                    .block();
+            var actual = timelineService.getApplicablePrice(1, productId, applicationDate)
+                    .onErrorResume(PriceNotFoundException.class, e -> Mono.empty())
+                    .block();
+
+            // Assert
+            assertThat(actual).as("product %d at %s", productId, applicationDate).isEqualTo(expected);
+        }
+    }
+
+    private void createServices() {
+        var template = new R2dbcEntityTemplate(connectionFactory);
+        var entityMapper = new PriceEntityMapperImpl();
+        timelineAdapter = new TimelinePriceRepositoryAdapter(new PriceTableLoader(template, entityMapper));
+        timelineAdapter.load();
+        r2dbcAdapter = new PriceRepositoryAdapter(template, entityMapper);
+        r2dbcService = new PriceService(r2dbcAdapter, new PriceMapperImpl(), new MicrometerPriceLookupObserver(new SimpleMeterRegistry()));
+        timelineService = new PriceService(timelineAdapter, new PriceMapperImpl(), new MicrometerPriceLookupObserver(new SimpleMeterRegistry()));
+    }
+
+    private void insert(int productId, int priceList, LocalDateTime start, LocalDateTime end, int priority, int price) {
+        databaseClient.sql("INSERT INTO prices (brand_id, product_id, price_list, start_date, end_date, priority, price, curr) "
+                        + "VALUES (1, :productId, :priceList, :startDate, :endDate, :priority, :price, 'EUR')")
+                .bind("productId", productId)
+                .bind("priceList", priceList)
+                .bind("startDate", start)
+                .bind("endDate", end)
+                .bind("priority", priority)
+                .bind("price", BigDecimal.valueOf(price))
+                .fetch()
+                .rowsUpdated()
+                .block();
+    }
+}
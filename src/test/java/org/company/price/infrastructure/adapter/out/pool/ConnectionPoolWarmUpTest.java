@@ -0,0 +1,91 @@
+package org.company.price.infrastructure.adapter.out.pool;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.port.out.PriceRepositoryPort;
+import org.company.price.testdata.DatabaseScripts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class ConnectionPoolWarmUpTest {
+
+    @Mock
+    PriceRepositoryPort priceRepository;
+
+    SimpleMeterRegistry meterRegistry;
+    MeteredConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        var connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///pool-warm-up;DB_CLOSE_DELAY=-1");
+        pool = new MeteredConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(3)
+                .maxSize(3)
+                .metricsRecorder(new ConnectionPoolMetricsRecorder("test", meterRegistry))
+                .build(), "test", meterRegistry);
+        // opened up front: the first acquire would otherwise open the rest in the background, after
+        // the allocation counts are read
+        pool.warmup().block();
+        DatabaseScripts.run(pool, new ClassPathResource("data.sql"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.dispose();
+    }
+
+    @Test
+    @DisplayName("Should open the initial connections and run the lookups once per connection on the first row")
+    void shouldRunLookupsOncePerConnection() {
+        // Arrange
+        var criteria = ArgumentCaptor.forClass(PriceSearchCriteria.class);
+        when(priceRepository.findTopApplicablePrice(any())).thenReturn(Mono.empty());
+        when(priceRepository.findPrices(anyInt(), anyInt())).thenReturn(Flux.empty());
+
+        // Act
+        new ConnectionPoolWarmUp(pool, priceRepository).warmUp();
+
+        // Assert
+        verify(priceRepository, times(3)).findTopApplicablePrice(criteria.capture());
+        verify(priceRepository, times(3)).findPrices(1, 35455);
+        assertThat(criteria.getValue().applicationStart()).isEqualTo(LocalDateTime.of(2020, 6, 14, 0, 0));
+        assertThat(criteria.getValue().limit()).isEqualTo(1);
+        assertThat(pool.getMetrics().orElseThrow().allocatedSize()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should time every acquire and every connection opened")
+    void shouldTimeAcquiresAndAllocations() {
+        // Act
+        pool.create().flatMap(connection -> Mono.from(connection.close())).block();
+
+        // Assert
+        assertThat(meterRegistry.get("r2dbc.pool.acquire").tag("result", "success").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("r2dbc.pool.allocation").tag("result", "success").timer().count()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,148 @@
+package org.company.price.infrastructure.adapter.out.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.application.dto.PriceSearchCriteria;
+import org.company.price.domain.model.Price;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class LastKnownPricesTest {
+
+    static final Instant READ_AT = Instant.parse("2025-01-01T12:00:00Z");
+
+    SimpleMeterRegistry meterRegistry;
+    LastKnownPrices lastKnownPrices;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lastKnownPrices = new LastKnownPrices(DataSize.ofMegabytes(1), meterRegistry, Clock.fixed(READ_AT, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should answer a point lookup with the top remembered price, stamped when it was read")
+    void shouldAnswerFromRememberedPrices() {
+        // Arrange
+        lastKnownPrices.remember(price(1, 0, "35.50", 14, 30));
+        lastKnownPrices.remember(price(2, 1, "25.45", 14, 15));
+
+        // Act & Assert
+        StepVerifier.create(lastKnownPrices.topApplicablePrice(criteria(14), IllegalStateException::new))
+                .assertNext(price -> {
+                    assertThat(price.priceList()).isEqualTo(2);
+                    assertThat(price.staleSince()).isEqualTo(READ_AT);
+                })
+                .verifyComplete();
+        assertThat(meterRegistry.get("prices.repository.last.known.good.requests").tag("result", "hit").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail with the given error when point lookups cannot tell the answer")
+    void shouldFailWhenIncompleteEntryHasNoCoveringPrice() {
+        // Arrange
+        lastKnownPrices.remember(price(2, 1, "25.45", 14, 15));
+
+        // Act & Assert
+        StepVerifier.create(lastKnownPrices.topApplicablePrice(criteria(20), IllegalStateException::new))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(lastKnownPrices.prices(1, 35455, IllegalStateException::new))
+                .expectError(IllegalStateException.class)
+                .verify();
+        assertThat(meterRegistry.get("prices.repository.last.known.good.requests").tag("result", "miss").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should answer not found from a complete entry when no remembered row covers the date")
+    void shouldAnswerEmptyFromCompleteEntry() {
+        // Arrange
+        lastKnownPrices.rememberAll(1, 35455, List.of(price(2, 1, "25.45", 14, 15)));
+
+        // Act & Assert
+        StepVerifier.create(lastKnownPrices.topApplicablePrice(criteria(20), IllegalStateException::new))
+                .verifyComplete();
+        StepVerifier.create(lastKnownPrices.prices(1, 35455, IllegalStateException::new))
+                .assertNext(rows -> assertThat(rows).singleElement().satisfies(row -> assertThat(row.stale()).isTrue()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should replace a remembered row read again instead of keeping both")
+    void shouldReplaceSameRow() {
+        // Arrange
+        lastKnownPrices.remember(price(1, 0, "35.50", 14, 30));
+
+        // Act
+        lastKnownPrices.remember(price(1, 0, "36.00", 14, 30));
+
+        // Assert
+        StepVerifier.create(lastKnownPrices.topApplicablePrice(criteria(14), IllegalStateException::new))
+                .assertNext(price -> assertThat(price.price()).isEqualByComparingTo("36.00"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should tell the segment exactly from a complete entry, and only the date from looked up prices")
+    void shouldAnswerSegments() {
+        // Arrange
+        var date = LocalDateTime.of(2020, 6, 14, 16, 0);
+        lastKnownPrices.rememberAll(1, 35455, List.of(price(1, 0, "35.50", 10, 30), price(2, 1, "25.45", 14, 15)));
+        lastKnownPrices.remember(price(2, 1, "25.45", 14, 15).toBuilder().productId(1).build());
+
+        // Act & Assert
+        StepVerifier.create(lastKnownPrices.segment(1, 35455, date, IllegalStateException::new))
+                .assertNext(segment -> {
+                    assertThat(segment.price().priceList()).isEqualTo(2);
+                    assertThat(segment.price().stale()).isTrue();
+                    assertThat(segment.startDate()).isEqualTo(LocalDateTime.of(2020, 6, 14, 0, 0));
+                    assertThat(segment.endDate()).isEqualTo(LocalDateTime.of(2020, 6, 15, 23, 59, 59));
+                })
+                .verifyComplete();
+        StepVerifier.create(lastKnownPrices.segment(1, 1, date, IllegalStateException::new))
+                .assertNext(segment -> {
+                    assertThat(segment.price().priceList()).isEqualTo(2);
+                    assertThat(segment.startDate()).isEqualTo(date);
+                    assertThat(segment.endDate()).isEqualTo(date);
+                })
+                .verifyComplete();
+        StepVerifier.create(lastKnownPrices.segment(1, 1, date.plusDays(3), IllegalStateException::new))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    private static PriceSearchCriteria criteria(int day) {
+        var applicationDate = LocalDateTime.of(2020, 6, day, 16, 0);
+        return PriceSearchCriteria.builder().brandId(1).productId(35455)
+                .applicationStart(applicationDate).applicationEnd(applicationDate).build();
+    }
+
+    private static Price price(int priceList, int priority, String amount, int startDay, int endDay) {
+        return Price.builder()
+                .brandId(1)
+                .productId(35455)
+                .priceList(priceList)
+                .startDate(LocalDateTime.of(2020, 6, startDay, 0, 0))
+                .endDate(LocalDateTime.of(2020, 6, endDay, 23, 59, 59))
+                .priority(priority)
+                .price(new BigDecimal(amount))
+                .currency("EUR")
+                .build();
+    }
+}
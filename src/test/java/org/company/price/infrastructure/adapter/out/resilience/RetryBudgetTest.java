@@ -0,0 +1,49 @@
+package org.company.price.infrastructure.adapter.out.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetTest {
+
+    @Test
+    @DisplayName("Should grant the floor plus the ratio of the calls, then deny")
+    void shouldCapRetriesToRatioOfCalls() {
+        // Arrange
+        var budget = new RetryBudget(0.1, 2, () -> 0L);
+        for (int i = 0; i < 30; i++) {
+            budget.call();
+        }
+
+        // Act
+        int granted = 0;
+        while (budget.tryRetry()) {
+            granted++;
+        }
+
+        // Assert
+        assertThat(granted).isEqualTo(5);
+        assertThat(budget.tryRetry()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should refill the budget once the window elapses")
+    void shouldRefillAfterWindow() {
+        // Arrange
+        var now = new AtomicLong();
+        var budget = new RetryBudget(0.0, 1, now::get);
+        assertThat(budget.tryRetry()).isTrue();
+        assertThat(budget.tryRetry()).isFalse();
+
+        // Act
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // Assert
+        assertThat(budget.tryRetry()).isTrue();
+        assertThat(budget.tryRetry()).isFalse();
+    }
+}
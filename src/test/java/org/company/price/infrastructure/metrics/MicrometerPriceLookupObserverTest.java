@@ -0,0 +1,39 @@
+package org.company.price.infrastructure.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.company.price.application.port.PriceLookupObserver.Stage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicrometerPriceLookupObserverTest {
+
+    @Test
+    @DisplayName("Should time every use case stage into its stage timer, a Mono once it terminates")
+    void shouldTimeStagesIntoTheirTimers() {
+        // Arrange
+        var meterRegistry = new SimpleMeterRegistry();
+        var observer = new MicrometerPriceLookupObserver(meterRegistry);
+
+        // Act
+        var parsed = observer.observe(Stage.PARSE, () -> "parsed");
+        var lookup = observer.observe(Stage.REPOSITORY, Mono.just("found"));
+
+        // Assert
+        assertThat(parsed).isEqualTo("parsed");
+        assertThat(meterRegistry.get(PriceLookupMetrics.STAGE_TIMER).tag("stage", PriceLookupMetrics.PARSE).timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(PriceLookupMetrics.STAGE_TIMER).tag("stage", PriceLookupMetrics.REPOSITORY).timer().count())
+                .isZero();
+        StepVerifier.create(lookup).expectNext("found").verifyComplete();
+        assertThat(meterRegistry.get(PriceLookupMetrics.STAGE_TIMER).tag("stage", PriceLookupMetrics.REPOSITORY).timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(PriceLookupMetrics.STAGE_TIMER).timers())
+                .extracting(timer -> timer.getId().getTag("stage"))
+                .containsExactlyInAnyOrder(PriceLookupMetrics.PARSE, PriceLookupMetrics.REPOSITORY,
+                        PriceLookupMetrics.SCAN, PriceLookupMetrics.MAPPING);
+    }
+}
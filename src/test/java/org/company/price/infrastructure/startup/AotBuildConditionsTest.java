@@ -0,0 +1,51 @@
+package org.company.price.infrastructure.startup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AotBuildConditionsTest {
+
+    @Test
+    @DisplayName("Should resolve missing condition properties to the value they stand for, and file paths to their presence")
+    void shouldResolveConditionProperties() {
+        // Arrange
+        var environment = new MockEnvironment()
+                .withProperty("prices.repository.type", "JDBC")
+                .withProperty("prices.import.file", "/data/prices.csv");
+
+        // Act
+        var resolved = AotBuildConditions.resolve(environment);
+
+        // Assert
+        assertThat(resolved).containsOnlyKeys(AotBuildConditions.CONDITIONS.keySet());
+        assertThat(resolved)
+                .containsEntry("prices.repository.type", "jdbc")
+                .containsEntry("prices.repository.sync.enabled", "true")
+                .containsEntry("prices.import.file", "true")
+                .containsEntry("spring.threads.virtual.enabled", "false");
+    }
+
+    @Test
+    @DisplayName("Should fail with every property whose runtime value differs from the one built with")
+    void shouldFailOnMismatch() {
+        // Arrange
+        var built = AotBuildConditions.resolve(new MockEnvironment());
+        var runtime = AotBuildConditions.resolve(new MockEnvironment()
+                .withProperty("prices.repository.type", "jdbc")
+                .withProperty("spring.threads.virtual.enabled", "true")
+                .withProperty("prices.repository.sync.enabled", "true"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> AotBuildConditions.check(built, runtime))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("prices.repository.type=jdbc (built with r2dbc)")
+                .hasMessageContaining("spring.threads.virtual.enabled=true (built with false)")
+                .hasMessageNotContaining("prices.repository.sync.enabled");
+        assertThatNoException().isThrownBy(() -> AotBuildConditions.check(built, AotBuildConditions.resolve(new MockEnvironment())));
+    }
+}
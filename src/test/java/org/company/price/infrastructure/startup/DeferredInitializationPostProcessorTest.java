@@ -0,0 +1,67 @@
+package org.company.price.infrastructure.startup;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeferredInitializationPostProcessorTest {
+
+    @Test
+    @DisplayName("Should defer the beans of the listed packages until first use and create the others at startup")
+    void shouldDeferListedPackages() {
+        // Arrange
+        try (var context = new AnnotationConfigApplicationContext()) {
+            context.register(Beans.class);
+            context.addBeanFactoryPostProcessor(new DeferredInitializationPostProcessor(List.of("io.swagger")));
+
+            // Act
+            context.refresh();
+
+            // Assert
+            var beanFactory = context.getBeanFactory();
+            assertThat(beanFactory.getBeanDefinition("openApi").isLazyInit()).isTrue();
+            assertThat(beanFactory.containsSingleton("openApi")).isFalse();
+            assertThat(beanFactory.containsSingleton("greeting")).isTrue();
+            assertThat(context.getBean("openApi", OpenAPI.class)).isNotNull();
+            assertThat(beanFactory.containsSingleton("openApi")).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should defer every bean declared by a configuration class of a listed package")
+    void shouldDeferBeansDeclaredInListedPackages() {
+        // Arrange
+        try (var context = new AnnotationConfigApplicationContext()) {
+            context.register(Beans.class);
+            context.addBeanFactoryPostProcessor(new DeferredInitializationPostProcessor(List.of(Beans.class.getPackageName())));
+
+            // Act
+            context.refresh();
+
+            // Assert
+            assertThat(context.getBeanFactory().containsSingleton("greeting")).isFalse();
+            assertThat(context.getBeanFactory().containsSingleton("openApi")).isFalse();
+        }
+    }
+
+    @Configuration
+    static class Beans {
+
+        @Bean
+        OpenAPI openApi() {
+            return new OpenAPI();
+        }
+
+        @Bean
+        String greeting() {
+            return "hello";
+        }
+    }
+}
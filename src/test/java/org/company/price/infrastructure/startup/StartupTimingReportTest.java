@@ -0,0 +1,108 @@
+package org.company.price.infrastructure.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultBootstrapContext;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.event.ApplicationStartingEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class StartupTimingReportTest {
+
+    static final String[] ARGS = {};
+
+    StartupTimingReport report;
+    SpringApplication application;
+    GenericApplicationContext context;
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        report = new StartupTimingReport();
+        application = new SpringApplication();
+        meterRegistry = new SimpleMeterRegistry();
+        context = new GenericApplicationContext();
+        context.registerBean(MeterRegistry.class, () -> meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should time every phase in order and publish them once the first request is answered")
+    void shouldReportPhasesOnFirstRequest() {
+        // Arrange
+        boot();
+
+        // Act
+        answer();
+        answer();
+
+        // Assert
+        assertThat(report.phases().keySet()).containsExactly("jvm", "environment", "context", "refresh", "runners", "first-request");
+        assertThat(report.phases().values()).allSatisfy(millis -> assertThat(millis).isNotNegative());
+        assertThat(meterRegistry.find(StartupTimingReport.PHASE_GAUGE).timeGauges()).hasSize(6);
+        assertThat(meterRegistry.get(StartupTimingReport.FIRST_REQUEST_GAUGE).timeGauge().value(TimeUnit.MILLISECONDS))
+                .isCloseTo(report.phases().values().stream().mapToLong(Long::longValue).sum(), within(1e-6));
+    }
+
+    @Test
+    @DisplayName("Should add itself to the context as a web filter once the context is prepared")
+    void shouldRegisterItselfInTheContext() {
+        // Act
+        boot();
+
+        // Assert
+        assertThat(context.getBean(StartupTimingReport.class)).isSameAs(report);
+        assertThat(report.phases()).doesNotContainKey("first-request");
+        assertThat(meterRegistry.find(StartupTimingReport.PHASE_GAUGE).timeGauges()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should buffer the startup steps of the context only when profiling is enabled")
+    void shouldBufferStartupStepsWhenProfiling() {
+        // Arrange
+        var profiled = new SpringApplication();
+        var environment = new MockEnvironment().withProperty("prices.startup.profiling.enabled", "true");
+
+        // Act
+        report.onApplicationEvent(new ApplicationEnvironmentPreparedEvent(new DefaultBootstrapContext(), profiled, ARGS, environment));
+        report.onApplicationEvent(new ApplicationEnvironmentPreparedEvent(new DefaultBootstrapContext(), application, ARGS, new MockEnvironment()));
+
+        // Assert
+        assertThat(profiled.getApplicationStartup()).isInstanceOf(BufferingApplicationStartup.class);
+        assertThat(application.getApplicationStartup()).isNotInstanceOf(BufferingApplicationStartup.class);
+    }
+
+    private void boot() {
+        var bootstrapContext = new DefaultBootstrapContext();
+        report.onApplicationEvent(new ApplicationStartingEvent(bootstrapContext, application, ARGS));
+        report.onApplicationEvent(new ApplicationEnvironmentPreparedEvent(bootstrapContext, application, ARGS, new MockEnvironment()));
+        report.onApplicationEvent(new ApplicationPreparedEvent(application, ARGS, context));
+        context.refresh();
+        report.onApplicationEvent(new ApplicationStartedEvent(application, ARGS, context, Duration.ZERO));
+        report.onApplicationEvent(new ApplicationReadyEvent(application, ARGS, context, Duration.ZERO));
+    }
+
+    private void answer() {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/prices"));
+        report.filter(exchange, filtered -> filtered.getResponse().setComplete()).block();
+    }
+}
@@ -0,0 +1,34 @@
+package org.company.price.testdata;
+
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.experimental.UtilityClass;
+import org.springframework.core.io.Resource;
+import org.springframework.r2dbc.connection.init.ScriptUtils;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs SQL scripts on one connection of a pool, released by the calling thread, so that the pool is
+ * at rest when the call returns.
+ * <p>
+ * {@code ResourceDatabasePopulator.populate(pool)} reads a file or classpath script through an
+ * asynchronous file channel, and so releases its connection on that channel's thread. The pool
+ * (reactor-pool 1.0) completes a release before it is done with it: the releasing thread still
+ * drains the pool and, finding it disposed, destroys the slot it has just recycled. A caller that
+ * acquires that connection again and disposes the pool in between has it destroyed twice, once by
+ * the disposal and once through the stale slot, which returns its permit twice ("Too many permits
+ * returned") and drops the idle count below zero ("unexpected decrement below 0").
+ */
+@UtilityClass
+public final class DatabaseScripts {
+
+    public static void run(ConnectionFactory connectionFactory, Resource... scripts) {
+        var connection = Mono.from(connectionFactory.create()).block();
+        try {
+            for (var script : scripts) {
+                ScriptUtils.executeSqlScript(connection, script).block();
+            }
+        } finally {
+            Mono.from(connection.close()).block();
+        }
+    }
+}
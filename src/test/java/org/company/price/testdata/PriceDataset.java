@@ -0,0 +1,311 @@
+package org.company.price.testdata;
+
+import lombok.Builder;
+import org.company.price.domain.model.Price;
+import org.company.price.infrastructure.adapter.out.PriceBatchWriter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic synthetic contents of the PRICES table, shaped like the sample data at any scale.
+ * <p>
+ * Every product of every brand gets between {@code minPriceLists} and {@code maxPriceLists} rows:
+ * price list 1 is a base price covering the whole span at priority 0, the others are promotions
+ * spread over the span in order, one per equal slot, each starting in the first half of its slot.
+ * A promotion overlaps the next one with probability {@code overlap}, and otherwise ends within its
+ * own slot. Promotion priorities are drawn from {@code priorityWeights}, the weight of each priority
+ * at its index: {@code [0, 3, 1]} gives priority 1 three times out of four and 2 otherwise.
+ * <p>
+ * The rows of a product only depend on the seed and the product's position, so the same dataset is
+ * generated whatever is read of it and in whatever order. Rows are generated one product at a time
+ * as they are consumed, so writing 100M rows holds no more than a product's worth of them.
+ * <p>
+ * Also runs from the command line, writing a CSV or SQL file (see {@link #main(String[])}).
+ */
+@Builder(toBuilder = true)
+public record PriceDataset(
+        long seed,
+        int brands,
+        int productsPerBrand,
+        int firstProductId,
+        int minPriceLists,
+        int maxPriceLists,
+        double overlap,
+        List<Integer> priorityWeights,
+        LocalDateTime from,
+        LocalDateTime to,
+        String currency
+) {
+
+    /**
+     * Header of the CSV files read by the bulk import.
+     */
+    public static final String CSV_HEADER = "brand_id,product_id,price_list,start_date,end_date,priority,price,curr";
+    static final String INSERT = "INSERT INTO prices (brand_id, product_id, price_list, start_date, end_date, priority, price, curr) VALUES";
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    public PriceDataset {
+        if (brands < 1 || productsPerBrand < 1) {
+            throw new IllegalArgumentException("brands and productsPerBrand must be positive");
+        }
+        if (minPriceLists < 1 || maxPriceLists < minPriceLists) {
+            throw new IllegalArgumentException("Expected 1 <= minPriceLists <= maxPriceLists, got " + minPriceLists + ".." + maxPriceLists);
+        }
+        if (overlap < 0 || overlap > 1) {
+            throw new IllegalArgumentException("overlap must be between 0 and 1, got " + overlap);
+        }
+        if (priorityWeights.isEmpty() || priorityWeights.stream().anyMatch(weight -> weight < 0)
+                || priorityWeights.stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("priorityWeights needs a positive weight and no negative one: " + priorityWeights);
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        priorityWeights = List.copyOf(priorityWeights);
+    }
+
+    /**
+     * Defaults: one brand of 1000 products, four rows each like the sample product, over 2020.
+     */
+    public static class PriceDatasetBuilder {
+        private long seed = 42;
+        private int brands = 1;
+        private int productsPerBrand = 1000;
+        private int firstProductId = 100_000;
+        private int minPriceLists = 4;
+        private int maxPriceLists = 4;
+        private double overlap = 0.25;
+        private List<Integer> priorityWeights = List.of(0, 1);
+        private LocalDateTime from = LocalDateTime.of(2020, 1, 1, 0, 0);
+        private LocalDateTime to = LocalDateTime.of(2021, 1, 1, 0, 0);
+        private String currency = "EUR";
+    }
+
+    /**
+     * Rows of the whole dataset when every product has the average number of price lists.
+     */
+    public long expectedRows() {
+        return (long) brands * productsPerBrand * (minPriceLists + maxPriceLists) / 2;
+    }
+
+    /**
+     * Every row, brand by brand and product by product, generated as it is consumed.
+     */
+    public Stream<Price> stream() {
+        // one flattened source element per product: an iterator over a flatMap buffers all the rows
+        // of the current source element
+        return LongStream.range(0, (long) brands * productsPerBrand)
+                .mapToObj(index -> product((int) (index / productsPerBrand) + 1, firstProductId + (int) (index % productsPerBrand)))
+                .flatMap(List::stream);
+    }
+
+    public Flux<Price> flux() {
+        return Flux.fromStream(this::stream);
+    }
+
+    /**
+     * The rows of one product, the same whenever they are generated.
+     */
+    public List<Price> product(int brandId, int productId) {
+        var index = (long) (brandId - 1) * productsPerBrand + (productId - firstProductId);
+        var random = new SplittableRandom(mix(seed + index * GOLDEN_GAMMA));
+        var priceLists = minPriceLists + random.nextInt(maxPriceLists - minPriceLists + 1);
+        var base = 500 + random.nextLong(49_501);
+
+        var rows = new ArrayList<Price>(priceLists);
+        rows.add(new Price(brandId, productId, 1, from, to.minusSeconds(1), 0, BigDecimal.valueOf(base, 2), currency));
+        if (priceLists == 1) {
+            return rows;
+        }
+        var span = ChronoUnit.MINUTES.between(from, to);
+        var slot = span / (priceLists - 1);
+        for (var promotion = 0; promotion < priceLists - 1; promotion++) {
+            var slotStart = promotion * slot;
+            var slotEnd = slotStart + slot;
+            var start = slotStart + random.nextLong(Math.max(slot / 2, 1));
+            var end = random.nextDouble() < overlap
+                    // past the first half of the next slot, where the next promotion has started
+                    ? Math.min(span, slotEnd + slot / 2 + random.nextLong(Math.max(slot / 2, 1)))
+                    : start + 1 + random.nextLong(Math.max(slotEnd - start, 1));
+            var discount = 50 + random.nextInt(46);
+            rows.add(new Price(brandId, productId, promotion + 2,
+                    from.plusMinutes(start), from.plusMinutes(end).minusSeconds(1), priority(random),
+                    BigDecimal.valueOf(base * discount / 100, 2), currency));
+        }
+        return rows;
+    }
+
+    /**
+     * Writes every row as a CSV file the bulk import reads ({@code prices.import.file}). Returns the
+     * rows written.
+     */
+    public long writeCsv(Path file) {
+        var line = new StringBuilder(128);
+        var rows = 0L;
+        try (var out = Files.newBufferedWriter(file)) {
+            out.write(CSV_HEADER);
+            out.write('\n');
+            for (var iterator = stream().iterator(); iterator.hasNext(); rows++) {
+                line.setLength(0);
+                appendCsv(line, iterator.next());
+                out.append(line.append('\n'));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return rows;
+    }
+
+    /**
+     * Writes every row as multi-row INSERT statements of up to {@code rowsPerStatement} rows, to run
+     * against the schema of {@code data.sql}. Returns the rows written.
+     */
+    public long writeSql(Path file, int rowsPerStatement) {
+        var line = new StringBuilder(160);
+        var rows = 0L;
+        try (var out = Files.newBufferedWriter(file)) {
+            for (var iterator = stream().iterator(); iterator.hasNext(); rows++) {
+                line.setLength(0);
+                if (rows % rowsPerStatement == 0) {
+                    line.append(rows == 0 ? "" : ";\n").append(INSERT).append('\n');
+                } else {
+                    line.append(",\n");
+                }
+                appendSql(line, iterator.next());
+                out.append(line);
+            }
+            if (rows > 0) {
+                out.write(";\n");
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return rows;
+    }
+
+    /**
+     * Inserts every row through the bulk writer of the import, in batches of {@code batchSize} rows
+     * with at most {@code concurrency} batches in flight, then refreshes the table statistics. Emits
+     * the rows inserted.
+     */
+    public Mono<Long> insert(PriceBatchWriter writer, int batchSize, int concurrency) {
+        return flux()
+                .buffer(batchSize)
+                .flatMap(writer::insert, concurrency)
+                .reduce(0L, Long::sum)
+                .flatMap(rows -> writer.analyze().thenReturn(rows));
+    }
+
+    private int priority(SplittableRandom random) {
+        var total = priorityWeights.stream().mapToInt(Integer::intValue).sum();
+        var draw = random.nextInt(total);
+        for (var priority = 0; ; priority++) {
+            draw -= priorityWeights.get(priority);
+            if (draw < 0) {
+                return priority;
+            }
+        }
+    }
+
+    private static void appendCsv(StringBuilder line, Price price) {
+        line.append(price.brandId()).append(',').append(price.productId()).append(',').append(price.priceList()).append(',');
+        appendDate(line, price.startDate());
+        line.append(',');
+        appendDate(line, price.endDate());
+        line.append(',').append(price.priority()).append(',').append(price.price().toPlainString()).append(',').append(price.currency());
+    }
+
+    private static void appendSql(StringBuilder line, Price price) {
+        line.append('(').append(price.brandId()).append(", ").append(price.productId()).append(", ").append(price.priceList())
+                .append(", TIMESTAMP '");
+        appendDate(line, price.startDate());
+        line.append("', TIMESTAMP '");
+        appendDate(line, price.endDate());
+        line.append("', ").append(price.priority()).append(", ").append(price.price().toPlainString())
+                .append(", '").append(price.currency()).append("')");
+    }
+
+    /**
+     * {@code yyyy-MM-dd HH:mm:ss}, without a formatter: formatting dominates writing large files.
+     */
+    private static void appendDate(StringBuilder line, LocalDateTime date) {
+        line.append(date.getYear()).append('-');
+        pad(line, date.getMonthValue()).append('-');
+        pad(line, date.getDayOfMonth()).append(' ');
+        pad(line, date.getHour()).append(':');
+        pad(line, date.getMinute()).append(':');
+        pad(line, date.getSecond());
+    }
+
+    private static StringBuilder pad(StringBuilder line, int value) {
+        return (value < 10 ? line.append('0') : line).append(value);
+    }
+
+    /**
+     * Stafford's mix13, so the random streams of neighbouring products are unrelated.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Writes a dataset to a file:
+     * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.company.price.testdata.PriceDataset
+     * -Dexec.args="--brands=10 --products-per-brand=250000 --price-lists=2..6 --out=target/prices.csv"}.
+     * The format follows the extension of {@code --out}: {@code .csv} or {@code .sql}.
+     */
+    public static void main(String[] args) {
+        var builder = PriceDataset.builder();
+        Path out = null;
+        var rowsPerStatement = 1000;
+        for (var arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            var name = arg.substring(2, arg.indexOf('='));
+            var value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "seed" -> builder.seed(Long.parseLong(value));
+                case "brands" -> builder.brands(Integer.parseInt(value));
+                case "products-per-brand" -> builder.productsPerBrand(Integer.parseInt(value));
+                case "first-product-id" -> builder.firstProductId(Integer.parseInt(value));
+                case "price-lists" -> {
+                    var range = value.split("\\.\\.");
+                    builder.minPriceLists(Integer.parseInt(range[0])).maxPriceLists(Integer.parseInt(range[range.length - 1]));
+                }
+                case "overlap" -> builder.overlap(Double.parseDouble(value));
+                case "priority-weights" -> builder.priorityWeights(Arrays.stream(value.split(",")).map(String::trim).map(Integer::valueOf).toList());
+                case "from" -> builder.from(LocalDateTime.parse(value));
+                case "to" -> builder.to(LocalDateTime.parse(value));
+                case "currency" -> builder.currency(value);
+                case "rows-per-statement" -> rowsPerStatement = Integer.parseInt(value);
+                case "out" -> out = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("--out=<file>.csv or --out=<file>.sql is required");
+        }
+        var dataset = builder.build();
+        var startedAt = System.nanoTime();
+        var rows = out.toString().endsWith(".sql") ? dataset.writeSql(out, rowsPerStatement) : dataset.writeCsv(out);
+        System.out.printf("Wrote %,d rows to %s in %.1f s%n", rows, out.toAbsolutePath(), (System.nanoTime() - startedAt) / 1e9);
+    }
+}
@@ -0,0 +1,200 @@
+package org.company.price.testdata;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.company.price.domain.model.Price;
+import org.company.price.infrastructure.adapter.out.PriceBatchWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class PriceDatasetTest {
+
+    static final String SUMS = "SELECT COUNT(*) AS total, SUM(product_id * price_list + priority) AS keys, SUM(price) AS prices,"
+            + " MIN(start_date) AS first_start, MAX(end_date) AS last_end FROM prices WHERE product_id >= 100000";
+
+    @TempDir
+    Path directory;
+
+    ConnectionPool pool;
+    DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get("r2dbc:h2:mem:///price-dataset;DB_CLOSE_DELAY=-1"))
+                .maxSize(4)
+                .build());
+        databaseClient = DatabaseClient.create(pool);
+        DatabaseScripts.run(pool, new ClassPathResource("data.sql"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        databaseClient.sql("DROP ALL OBJECTS").fetch().rowsUpdated().block();
+        pool.dispose();
+    }
+
+    @Test
+    @DisplayName("Should generate the same rows for the same seed, and the same product alone as within the whole dataset")
+    void shouldBeDeterministic() {
+        // Arrange
+        var dataset = PriceDataset.builder().brands(3).productsPerBrand(50).minPriceLists(2).maxPriceLists(6).build();
+
+        // Act
+        var rows = dataset.stream().toList();
+        var again = dataset.stream().toList();
+        var reseeded = dataset.toBuilder().seed(7).build().stream().toList();
+
+        // Assert
+        assertThat(again).isEqualTo(rows);
+        assertThat(reseeded).isNotEqualTo(rows);
+        assertThat(dataset.product(2, 100_010)).isEqualTo(rows.stream()
+                .filter(price -> price.brandId() == 2 && price.productId() == 100_010).toList());
+        assertThat(rows).hasSizeBetween(3 * 50 * 2, 3 * 50 * 6);
+        assertThat(rows).extracting(Price::brandId).containsOnly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("Should give every product a base price over the whole span and promotions inside it")
+    void shouldShapeProducts() {
+        // Arrange
+        var from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        var to = LocalDateTime.of(2024, 4, 1, 0, 0);
+        var dataset = PriceDataset.builder().productsPerBrand(200).from(from).to(to).build();
+
+        // Act
+        var products = dataset.stream().toList();
+
+        // Assert
+        assertThat(products).hasSize(800);
+        assertThat(dataset.expectedRows()).isEqualTo(800);
+        assertThat(products).filteredOn(price -> price.priceList() == 1)
+                .hasSize(200)
+                .allSatisfy(base -> {
+                    assertThat(base.startDate()).isEqualTo(from);
+                    assertThat(base.endDate()).isEqualTo(to.minusSeconds(1));
+                    assertThat(base.priority()).isZero();
+                });
+        assertThat(products).filteredOn(price -> price.priceList() > 1).allSatisfy(promotion -> {
+            assertThat(promotion.startDate()).isAfterOrEqualTo(from);
+            assertThat(promotion.endDate()).isAfter(promotion.startDate()).isBefore(to);
+            assertThat(promotion.priority()).isEqualTo(1);
+            assertThat(promotion.price()).isLessThan(dataset.product(1, promotion.productId()).getFirst().price());
+        });
+    }
+
+    @Test
+    @DisplayName("Should overlap successive promotions as often as the overlap density says")
+    void shouldFollowOverlapDensity() {
+        // Arrange
+        var dataset = PriceDataset.builder().productsPerBrand(500).minPriceLists(5).maxPriceLists(5);
+
+        // Act & Assert
+        assertThat(overlappingPromotions(dataset.overlap(0).build())).isZero();
+        assertThat(overlappingPromotions(dataset.overlap(1).build())).isEqualTo(500 * 3);
+        assertThat(overlappingPromotions(dataset.overlap(0.5).build())).isBetween(600L, 900L);
+    }
+
+    @Test
+    @DisplayName("Should draw promotion priorities from their weights")
+    void shouldDrawPriorities() {
+        // Arrange
+        var dataset = PriceDataset.builder().productsPerBrand(1000).priorityWeights(List.of(0, 3, 1)).build();
+
+        // Act
+        var promotions = dataset.stream().filter(price -> price.priceList() > 1).toList();
+
+        // Assert
+        assertThat(promotions).extracting(Price::priority).containsOnly(1, 2);
+        assertThat(promotions.stream().filter(price -> price.priority() == 2).count()).isBetween(600L, 900L);
+    }
+
+    @Test
+    @DisplayName("Should generate rows lazily, product by product")
+    void shouldGenerateLazily() {
+        // Arrange: 100M rows
+        var dataset = PriceDataset.builder().brands(100).productsPerBrand(250_000).build();
+
+        // Act
+        var first = dataset.stream().limit(10).toList();
+        var iterator = dataset.stream().iterator();
+        iterator.next();
+
+        // Assert
+        assertThat(dataset.expectedRows()).isEqualTo(100_000_000L);
+        assertThat(first).hasSize(10);
+        assertThat(iterator.hasNext()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should load the same table from the SQL file as from direct R2DBC inserts")
+    void shouldWriteSqlAndInsertTheSameRows() {
+        // Arrange
+        var dataset = PriceDataset.builder().brands(2).productsPerBrand(300).minPriceLists(1).maxPriceLists(5).build();
+        var file = directory.resolve("prices.sql");
+
+        // Act
+        var written = dataset.writeSql(file, 250);
+        DatabaseScripts.run(pool, new FileSystemResource(file));
+        var fromSql = databaseClient.sql(SUMS).fetch().one().block();
+        databaseClient.sql("DELETE FROM prices WHERE product_id >= 100000").fetch().rowsUpdated().block();
+        var inserted = dataset.insert(new PriceBatchWriter(new R2dbcEntityTemplate(pool)), 100, 2).block();
+        var fromR2dbc = databaseClient.sql(SUMS).fetch().one().block();
+
+        // Assert
+        assertThat(written).isEqualTo(dataset.stream().count());
+        assertThat(inserted).isEqualTo(written);
+        assertThat(((Number) fromSql.get("total")).longValue()).isEqualTo(written);
+        assertThat(fromR2dbc).isEqualTo(fromSql);
+    }
+
+    @Test
+    @DisplayName("Should write a CSV file with the import header and one line per row")
+    void shouldWriteCsv() throws Exception {
+        // Arrange
+        var dataset = PriceDataset.builder().productsPerBrand(10).build();
+        var file = directory.resolve("prices.csv");
+
+        // Act
+        var written = dataset.writeCsv(file);
+
+        // Assert
+        var lines = Files.readAllLines(file);
+        assertThat(written).isEqualTo(40);
+        assertThat(lines).hasSize(41);
+        assertThat(lines.getFirst()).isEqualTo(PriceDataset.CSV_HEADER);
+        var base = dataset.product(1, 100_000).getFirst();
+        assertThat(lines.get(1)).isEqualTo("1,100000,1,2020-01-01 00:00:00,2020-12-31 23:59:59,0," + base.price().toPlainString() + ",EUR");
+    }
+
+    private static long overlappingPromotions(PriceDataset dataset) {
+        var rows = dataset.stream().filter(price -> price.priceList() > 1).toList();
+        var overlapping = 0L;
+        for (var i = 1; i < rows.size(); i++) {
+            var previous = rows.get(i - 1);
+            var next = rows.get(i);
+            if (previous.productId().equals(next.productId()) && !previous.endDate().isBefore(next.startDate())) {
+                overlapping++;
+            }
+        }
+        return overlapping;
+    }
+}